@@ -21,7 +21,14 @@ CREATE TABLE bid_list (
                           deal_type VARCHAR(125),
                           source_list_id VARCHAR(125),
                           side VARCHAR(125),
-                          PRIMARY KEY (bid_list_id)
+                          PRIMARY KEY (bid_list_id),
+                          -- List page filters: one index per criterion, ending with the id so that the
+                          -- default keyset order (and the account/type sorts) is read straight from the index.
+                          KEY idx_bid_list_account (account, bid_list_id),
+                          KEY idx_bid_list_type (type, bid_list_id),
+                          KEY idx_bid_list_status (status, bid_list_id),
+                          KEY idx_bid_list_book (book, bid_list_id),
+                          KEY idx_bid_list_date (bid_list_date, bid_list_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE trade (
@@ -46,7 +53,53 @@ CREATE TABLE trade (
                        deal_type VARCHAR(125),
                        source_list_id VARCHAR(125),
                        side VARCHAR(125),
-                       PRIMARY KEY (trade_id)
+                       PRIMARY KEY (trade_id),
+                       -- Trade analytics: per-security time windows and the next-trade lookup of the TWAP
+                       KEY idx_trade_security_date (security, trade_date),
+                       -- Date-range reads and the archival job's scan for aged trades
+                       KEY idx_trade_date (trade_date),
+                       -- End-of-day settlement: confirmed trades traded before the cut-off
+                       KEY idx_trade_status_date (status, trade_date),
+                       -- Idempotent ingestion: a trade resent by upstream keeps its source_list_id
+                       UNIQUE KEY uk_trade_source_list_id (source_list_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Trades older than app.trade.archive.retention-days, moved out of trade by the archival job.
+-- A separate table rather than MySQL partitions: a partitioned table cannot keep the unique source_list_id key.
+CREATE TABLE trade_archive (
+                       trade_id INT(4) NOT NULL,
+                       account VARCHAR(30) NOT NULL,
+                       type VARCHAR(30) NOT NULL,
+                       buy_quantity DOUBLE,
+                       sell_quantity DOUBLE,
+                       buy_price DOUBLE,
+                       sell_price DOUBLE,
+                       trade_date TIMESTAMP NULL DEFAULT NULL,
+                       security VARCHAR(125),
+                       status VARCHAR(10),
+                       trader VARCHAR(125),
+                       benchmark VARCHAR(125),
+                       book VARCHAR(125),
+                       creation_name VARCHAR(125),
+                       creation_date TIMESTAMP NULL DEFAULT NULL,
+                       revision_name VARCHAR(125),
+                       revision_date TIMESTAMP NULL DEFAULT NULL,
+                       deal_name VARCHAR(125),
+                       deal_type VARCHAR(125),
+                       source_list_id VARCHAR(125),
+                       side VARCHAR(125),
+                       PRIMARY KEY (trade_id),
+                       KEY idx_trade_archive_date (trade_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Append-only amendment log of trade: the previous value of the changed fields, as a JSON object
+CREATE TABLE trade_revision (
+                       trade_id INT(4) NOT NULL,
+                       revision INT NOT NULL,
+                       revision_date TIMESTAMP NULL DEFAULT NULL,
+                       revision_name VARCHAR(125),
+                       changes VARCHAR(4000) NOT NULL,
+                       PRIMARY KEY (trade_id, revision)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE curve_point (
@@ -56,7 +109,9 @@ CREATE TABLE curve_point (
                              term DOUBLE,
                              value DOUBLE,
                              creation_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                             PRIMARY KEY (id)
+                             PRIMARY KEY (id),
+                             -- As-of reads: the version of a curve standing at a date, then its points by term
+                             KEY idx_curve_point_curve_as_of_term (curve_id, as_of_date, term)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE rating (
@@ -93,3 +148,23 @@ INSERT INTO users(fullname, username, password, role)
 VALUES
     ('Administrator', 'admin', '$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa', 'ADMIN'),
     ('User',          'user',  '$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa', 'USER');
+
+-- MySQL has no sequences: Hibernate keeps each pooled id generator in a one-row table.
+-- With the pooled-lo optimizer next_val is the first id of the next block, so seed it past existing rows.
+CREATE TABLE bid_list_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO bid_list_seq SELECT COALESCE(MAX(bid_list_id), 0) + 1 FROM bid_list;
+
+CREATE TABLE trade_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO trade_seq SELECT COALESCE(MAX(trade_id), 0) + 1 FROM trade;
+
+CREATE TABLE curve_point_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO curve_point_seq SELECT COALESCE(MAX(id), 0) + 1 FROM curve_point;
+
+CREATE TABLE rating_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO rating_seq SELECT COALESCE(MAX(id), 0) + 1 FROM rating;
+
+CREATE TABLE rule_name_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO rule_name_seq SELECT COALESCE(MAX(id), 0) + 1 FROM rule_name;
+
+CREATE TABLE users_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO users_seq SELECT COALESCE(MAX(id), 0) + 1 FROM users;
@@ -0,0 +1,38 @@
+-- Upgrades a database created by an earlier doc/data.sql, which spring.jpa.hibernate.ddl-auto=update
+-- extends with new tables and columns but never migrates existing rows.
+-- Run it once with the application stopped, before starting the new version; every step can be run again.
+
+-- Trades stored before the status lifecycle have a null or free-form status, which no transition starts from.
+-- Known statuses are normalized to their upper-case name; anything else is taken as a trade booked NEW.
+UPDATE trade SET status = UPPER(TRIM(status))
+WHERE UPPER(TRIM(status)) IN ('NEW', 'CONFIRMED', 'SETTLED', 'CANCELLED');
+UPDATE trade SET status = 'NEW'
+WHERE status IS NULL OR status NOT IN ('NEW', 'CONFIRMED', 'SETTLED', 'CANCELLED');
+
+-- Ids now come from pooled generators kept in one-row *_seq tables. Left to ddl-auto=update, Hibernate creates
+-- them at their initial value and the first inserts reuse ids already taken, so they fail on the primary key.
+-- Each table is created if missing and moved past the highest existing id; one already ahead is left alone.
+CREATE TABLE IF NOT EXISTS bid_list_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO bid_list_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM bid_list_seq);
+UPDATE bid_list_seq SET next_val = (SELECT COALESCE(MAX(bid_list_id), 0) + 1 FROM bid_list)
+WHERE next_val IS NULL OR next_val <= (SELECT COALESCE(MAX(bid_list_id), 0) FROM bid_list);
+CREATE TABLE IF NOT EXISTS trade_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO trade_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM trade_seq);
+UPDATE trade_seq SET next_val = (SELECT COALESCE(MAX(trade_id), 0) + 1 FROM trade)
+WHERE next_val IS NULL OR next_val <= (SELECT COALESCE(MAX(trade_id), 0) FROM trade);
+CREATE TABLE IF NOT EXISTS curve_point_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO curve_point_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM curve_point_seq);
+UPDATE curve_point_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 1 FROM curve_point)
+WHERE next_val IS NULL OR next_val <= (SELECT COALESCE(MAX(id), 0) FROM curve_point);
+CREATE TABLE IF NOT EXISTS rating_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO rating_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM rating_seq);
+UPDATE rating_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 1 FROM rating)
+WHERE next_val IS NULL OR next_val <= (SELECT COALESCE(MAX(id), 0) FROM rating);
+CREATE TABLE IF NOT EXISTS rule_name_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO rule_name_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM rule_name_seq);
+UPDATE rule_name_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 1 FROM rule_name)
+WHERE next_val IS NULL OR next_val <= (SELECT COALESCE(MAX(id), 0) FROM rule_name);
+CREATE TABLE IF NOT EXISTS users_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO users_seq SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM users_seq);
+UPDATE users_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 1 FROM users)
+WHERE next_val IS NULL OR next_val <= (SELECT COALESCE(MAX(id), 0) FROM users);
@@ -2,6 +2,7 @@ package com.nnk.springboot.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -57,9 +58,16 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> {
                 auth.requestMatchers("/", "/login", "/error", "/css/**", "/js/**", "/images/**").permitAll();
                 auth.requestMatchers("/user/**").hasRole("ADMIN");
-                auth.requestMatchers("/bidList/**", "/curvePoint/**").hasAnyRole("ADMIN", "USER");
+                auth.requestMatchers("/bidList/**", "/curvePoint/**", "/orderBook/**", "/position/**").hasAnyRole("ADMIN", "USER");
                 auth.anyRequest().hasRole("ADMIN");
             })
+            // La capture de trades est appelée par l'OMS (HTTP Basic, corps JSON) et non par un formulaire :
+            // pas de jeton CSRF. Elle n'accepte que du JSON, qu'un formulaire d'un autre site ne peut pas envoyer.
+            // Il en va de même du remplacement d'une courbe, appelé par les systèmes de marché, et des scénarios
+            // de courbe, demandés par les moteurs de risque : tous deux n'acceptent que du JSON.
+            .csrf(csrf -> csrf.ignoringRequestMatchers("/trade/capture", "/curvePoint/replace/*",
+                "/curvePoint/scenarios"))
+            .httpBasic(Customizer.withDefaults())
             .formLogin(form -> form
                 .loginPage("/login")
                 .defaultSuccessUrl("/bidList/list", true)
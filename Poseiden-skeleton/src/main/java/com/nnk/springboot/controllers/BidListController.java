@@ -1,11 +1,24 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListFilter;
+import com.nnk.springboot.dto.BidListSummary;
+import com.nnk.springboot.dto.BulkResult;
+import com.nnk.springboot.dto.FileFormat;
+import com.nnk.springboot.dto.ImportReport;
+import com.nnk.springboot.dto.KeysetPage;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.IBidListImportService;
 import com.nnk.springboot.services.IBidListService;
+import com.nnk.springboot.services.IExportService;
 import jakarta.validation.Valid;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -14,8 +27,12 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.Principal;
 import java.util.List;
 
@@ -25,15 +42,31 @@ public class BidListController {
 
     private static final Logger logger = LoggerFactory.getLogger(BidListController.class);
     private final IBidListService bidListService;
+    private final IBidListImportService bidListImportService;
+    private final IExportService exportService;
 
-    public BidListController(IBidListService bidListService) {
+    public BidListController(IBidListService bidListService,
+                             IBidListImportService bidListImportService,
+                             IExportService exportService) {
         this.bidListService = bidListService;
+        this.bidListImportService = bidListImportService;
+        this.exportService = exportService;
     }
 
     @GetMapping("/list")
-    public String home(Model model, Authentication authentication) {
-        List<BidList> bidLists = bidListService.findAll();
-        model.addAttribute("bidLists", bidLists);
+    public String home(@ModelAttribute("filter") BidListFilter filter,
+                       @RequestParam(required = false) Integer after,
+                       @RequestParam(required = false) String afterKey,
+                       @RequestParam(defaultValue = "bidListId") String sort,
+                       @RequestParam(defaultValue = "asc") String dir,
+                       @RequestParam(defaultValue = "" + BidListService.DEFAULT_PAGE_SIZE) int size,
+                       Model model, Authentication authentication) {
+        KeysetPage<BidListSummary> page = bidListService.findSummaryPage(filter, sort, dir, after, afterKey, size);
+        model.addAttribute("bidLists", page.content());
+        model.addAttribute("page", page);
+        model.addAttribute("sort", sort);
+        model.addAttribute("dir", dir);
+        model.addAttribute("size", size);
         model.addAttribute("currentUsername", authentication.getName());
         model.addAttribute("currentRoles", authentication.getAuthorities());
         return "bidList/list";
@@ -45,6 +78,56 @@ public class BidListController {
         return "bidList/add";
     }
 
+    @GetMapping("/import")
+    public String importForm() {
+        return "bidList/import";
+    }
+
+    @PostMapping("/import")
+    public String importBids(@RequestParam("file") MultipartFile file, Model model, Principal principal) {
+        if (file.isEmpty()) {
+            model.addAttribute("errorMessage", "Please choose a non-empty file to import");
+            return "bidList/import";
+        }
+        logger.info("User {} is importing BidList file {} ({} bytes)",
+            principal.getName(), file.getOriginalFilename(), file.getSize());
+
+        try (InputStream input = file.getInputStream()) {
+            ImportReport report = bidListImportService.importBids(
+                input, FileFormat.fromFilename(file.getOriginalFilename()), principal.getName());
+            model.addAttribute("report", report);
+        } catch (IllegalArgumentException e) {
+            logger.warn("BidList import rejected: {}", e.getMessage());
+            model.addAttribute("errorMessage", e.getMessage());
+        } catch (IOException e) {
+            logger.error("Error reading BidList import file", e);
+            model.addAttribute("errorMessage", "Could not read the uploaded file");
+        }
+        return "bidList/import";
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBidLists(@RequestParam(defaultValue = "csv") String format,
+                                                                Principal principal) {
+        FileFormat fileFormat;
+        try {
+            fileFormat = FileFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            logger.warn("BidList export rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        logger.info("User {} is exporting BidLists as {}", principal.getName(), fileFormat);
+        StreamingResponseBody body = output -> {
+            long rows = exportService.exportBidLists(fileFormat, output);
+            logger.info("BidList export finished: {} rows", rows);
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(fileFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("bidlists." + fileFormat.getExtension()).build().toString())
+            .body(body);
+    }
+
     @PostMapping("/validate")
     public String validate(@Valid @ModelAttribute BidList bidList,
                           BindingResult result,
@@ -148,4 +231,33 @@ public class BidListController {
         }
         return "redirect:/bidList/list";
     }
-}
\ No newline at end of file
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResult> bulkDelete(@RequestParam List<Integer> ids,
+                                                 @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            BulkResult result = bidListService.deleteAll(ids, userDetails);
+            logger.info("Bulk delete of {} BidLists by User={}: {} deleted",
+                ids.size(), userDetails.getUsername(), result.succeeded());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Bulk delete rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/bulk/status")
+    public ResponseEntity<BulkResult> bulkStatus(@RequestParam List<Integer> ids,
+                                                 @RequestParam String status,
+                                                 @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            BulkResult result = bidListService.updateStatus(ids, status, userDetails);
+            logger.info("Bulk status {} on {} BidLists by User={}: {} updated",
+                status, ids.size(), userDetails.getUsername(), result.succeeded());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Bulk status update rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
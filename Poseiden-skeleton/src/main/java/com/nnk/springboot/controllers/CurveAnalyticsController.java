@@ -0,0 +1,41 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.CurveAnalytics;
+import com.nnk.springboot.services.ICurveAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Read-only JSON view of a curve bootstrapped into discount factors, zero rates and forward rates, for the
+ * pricing screens.
+ */
+@RestController
+@RequestMapping("/curvePoint/analytics")
+public class CurveAnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurveAnalyticsController.class);
+
+    private final ICurveAnalyticsService curveAnalyticsService;
+
+    public CurveAnalyticsController(ICurveAnalyticsService curveAnalyticsService) {
+        this.curveAnalyticsService = curveAnalyticsService;
+    }
+
+    @GetMapping("/{curveId}")
+    public ResponseEntity<CurveAnalytics> analytics(@PathVariable Integer curveId) {
+        try {
+            return ResponseEntity.ok(curveAnalyticsService.analytics(curveId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            logger.warn("Curve {} cannot be bootstrapped: {}", curveId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.dto.CurveNode;
+import com.nnk.springboot.dto.CurveReplaceReport;
 import com.nnk.springboot.services.ICurvePointService;
 import jakarta.validation.Valid;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -17,6 +23,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Controller
@@ -155,4 +162,32 @@ public class CurvePointController {
         
         return "redirect:/curvePoint/list";
     }
-}
\ No newline at end of file
+
+    /**
+     * Replaces a whole curve with the points posted as a JSON array of {@code {"term": .., "value": ..}},
+     * e.g. {@code POST /curvePoint/replace/7?asOfDate=2024-03-01T17:00:00}. {@code asOfDate} defaults to now;
+     * only the version of that date is replaced, earlier ones stay readable as of their date.
+     */
+    @PostMapping(value = "/replace/{curveId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CurveReplaceReport> replaceCurve(
+            @PathVariable Integer curveId,
+            @RequestBody List<CurveNode> points,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOfDate,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        LocalDateTime version = asOfDate == null ? LocalDateTime.now() : asOfDate;
+        long start = System.nanoTime();
+        try {
+            int replaced = curvePointService.replaceCurve(curveId, points, version, userDetails);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            logger.info("Curve {} replaced by User={}: {} points as of {} in {} ms",
+                curveId, userDetails.getUsername(), replaced, version, elapsedMillis);
+            return ResponseEntity.ok(new CurveReplaceReport(curveId, replaced, version, elapsedMillis));
+        } catch (AccessDeniedException e) {
+            logger.warn("Unauthorized replacement of curve {} by user {}", curveId, userDetails.getUsername());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException | ConstraintViolationException e) {
+            logger.warn("Curve replacement rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.ScenarioRequest;
+import com.nnk.springboot.services.CurveScenarios;
+import com.nnk.springboot.services.ICurveScenarioService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.security.Principal;
+
+/**
+ * Curve scenarios for risk: POST a {@link ScenarioRequest} as JSON, e.g.
+ * {@code {"curveId": 7, "types": ["PARALLEL", "TWIST"], "maxBp": 200, "stepBp": 1, "terms": [0.5, 1, 2, 5]}},
+ * and read back one NDJSON line per shifted curve as they are computed.
+ */
+@RestController
+@RequestMapping("/curvePoint/scenarios")
+public class CurveScenarioController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurveScenarioController.class);
+
+    private final ICurveScenarioService curveScenarioService;
+
+    public CurveScenarioController(ICurveScenarioService curveScenarioService) {
+        this.curveScenarioService = curveScenarioService;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> scenarios(@RequestBody ScenarioRequest request, Principal principal) {
+        CurveScenarios scenarios;
+        try {
+            scenarios = curveScenarioService.prepare(request);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Scenario run rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        logger.info("User {} is running {} scenarios on curve {}",
+            principal.getName(), scenarios.size(), request.curveId());
+        StreamingResponseBody body = output -> {
+            long start = System.nanoTime();
+            long evaluated = curveScenarioService.stream(scenarios, output);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            logger.info("Scenario run on curve {} finished: {} scenarios in {} ms",
+                request.curveId(), evaluated, elapsedMillis);
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+}
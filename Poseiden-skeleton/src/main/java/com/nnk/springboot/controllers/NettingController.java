@@ -0,0 +1,32 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.NettingReport;
+import com.nnk.springboot.services.INettingService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * Netting report of a day per account, book and security, e.g. {@code /trade/netting?day=2024-03-01}.
+ * {@code day} defaults to today.
+ */
+@RestController
+@RequestMapping("/trade/netting")
+public class NettingController {
+
+    private final INettingService nettingService;
+
+    public NettingController(INettingService nettingService) {
+        this.nettingService = nettingService;
+    }
+
+    @GetMapping
+    public NettingReport netting(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        return nettingService.findNetting(day == null ? LocalDate.now() : day);
+    }
+}
@@ -0,0 +1,45 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.OrderBookSnapshot;
+import com.nnk.springboot.dto.TopOfBook;
+import com.nnk.springboot.services.IOrderBookService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Read-only JSON views of the in-memory order book, for the pricing screens.
+ */
+@RestController
+@RequestMapping("/orderBook")
+public class OrderBookController {
+
+    private static final int DEFAULT_DEPTH = 10;
+
+    private final IOrderBookService orderBookService;
+
+    public OrderBookController(IOrderBookService orderBookService) {
+        this.orderBookService = orderBookService;
+    }
+
+    @GetMapping
+    public List<TopOfBook> topOfBooks() {
+        return orderBookService.findAllTopOfBook();
+    }
+
+    @GetMapping("/{security}")
+    public ResponseEntity<TopOfBook> topOfBook(@PathVariable String security) {
+        return ResponseEntity.of(orderBookService.findTopOfBook(security));
+    }
+
+    @GetMapping("/{security}/depth")
+    public ResponseEntity<OrderBookSnapshot> depth(@PathVariable String security,
+                                                   @RequestParam(defaultValue = "" + DEFAULT_DEPTH) int levels) {
+        return ResponseEntity.of(orderBookService.findDepth(security, levels));
+    }
+}
@@ -0,0 +1,40 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.Position;
+import com.nnk.springboot.services.IPositionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Read-only JSON views of the in-memory positions, for the risk screens.
+ */
+@RestController
+@RequestMapping("/position")
+public class PositionController {
+
+    private final IPositionService positionService;
+
+    public PositionController(IPositionService positionService) {
+        this.positionService = positionService;
+    }
+
+    @GetMapping
+    public List<Position> positions(@RequestParam(required = false) String account,
+                                    @RequestParam(required = false) String book,
+                                    @RequestParam(required = false) String security) {
+        return positionService.findPositions(account, book, security);
+    }
+
+    @GetMapping("/{account}/{security}")
+    public ResponseEntity<Position> position(@PathVariable String account,
+                                             @PathVariable String security,
+                                             @RequestParam(required = false) String book) {
+        return ResponseEntity.of(positionService.findPosition(account, book, security));
+    }
+}
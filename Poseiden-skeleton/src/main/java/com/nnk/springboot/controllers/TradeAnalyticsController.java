@@ -0,0 +1,49 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.BucketWidth;
+import com.nnk.springboot.dto.TradeBucket;
+import com.nnk.springboot.services.ITradeAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * VWAP/TWAP time series of a security, e.g.
+ * {@code /trade/analytics?security=BOND&bucket=5m&from=2024-01-01T09:00&to=2024-01-01T18:00}.
+ * {@code to} defaults to now.
+ */
+@RestController
+@RequestMapping("/trade/analytics")
+public class TradeAnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeAnalyticsController.class);
+
+    private final ITradeAnalyticsService tradeAnalyticsService;
+
+    public TradeAnalyticsController(ITradeAnalyticsService tradeAnalyticsService) {
+        this.tradeAnalyticsService = tradeAnalyticsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TradeBucket>> buckets(
+            @RequestParam String security,
+            @RequestParam(defaultValue = "5m") String bucket,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(tradeAnalyticsService.findBuckets(security, BucketWidth.fromParameter(bucket),
+                    from, to == null ? LocalDateTime.now() : to));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Trade analytics request rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
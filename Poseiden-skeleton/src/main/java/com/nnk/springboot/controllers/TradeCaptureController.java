@@ -0,0 +1,47 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.CaptureReport;
+import com.nnk.springboot.services.ITradeCaptureService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.security.Principal;
+
+/**
+ * Trade capture for order management systems: POST a stream of trades as NDJSON
+ * ({@code application/x-ndjson}) or as a JSON array ({@code application/json}) and read back
+ * one NDJSON acknowledgement per trade.
+ */
+@RestController
+@RequestMapping("/trade/capture")
+public class TradeCaptureController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeCaptureController.class);
+
+    private final ITradeCaptureService tradeCaptureService;
+
+    public TradeCaptureController(ITradeCaptureService tradeCaptureService) {
+        this.tradeCaptureService = tradeCaptureService;
+    }
+
+    @PostMapping(consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> capture(InputStream input, Principal principal) {
+        String username = principal.getName();
+        logger.info("User {} is capturing Trades", username);
+        StreamingResponseBody body = output -> {
+            CaptureReport report = tradeCaptureService.capture(input, username, output);
+            logger.info("Trade capture finished: {} created, {} duplicates, {} rejected",
+                report.created(), report.duplicates(), report.rejected());
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+}
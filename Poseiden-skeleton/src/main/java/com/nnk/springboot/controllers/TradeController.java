@@ -1,17 +1,34 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.BulkResult;
+import com.nnk.springboot.dto.FileFormat;
+import com.nnk.springboot.dto.MatchReport;
+import com.nnk.springboot.dto.SettlementReport;
+import com.nnk.springboot.dto.TradeCreation;
+import com.nnk.springboot.services.IExportService;
+import com.nnk.springboot.services.IMatchingService;
 import com.nnk.springboot.services.ITradeService;
 import jakarta.validation.Valid;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Controller
@@ -20,9 +37,14 @@ public class TradeController {
 
     private static final Logger logger = LoggerFactory.getLogger(TradeController.class);
     private final ITradeService tradeService;
+    private final IExportService exportService;
+    private final IMatchingService matchingService;
 
-    public TradeController(ITradeService tradeService) {
+    public TradeController(ITradeService tradeService, IExportService exportService,
+                           IMatchingService matchingService) {
         this.tradeService = tradeService;
+        this.exportService = exportService;
+        this.matchingService = matchingService;
     }
 
     @GetMapping("/list")
@@ -32,6 +54,28 @@ public class TradeController {
         return "trade/list";
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTrades(@RequestParam(defaultValue = "csv") String format,
+                                                              Principal principal) {
+        FileFormat fileFormat;
+        try {
+            fileFormat = FileFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Trade export rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        logger.info("User {} is exporting Trades as {}", principal.getName(), fileFormat);
+        StreamingResponseBody body = output -> {
+            long rows = exportService.exportTrades(fileFormat, output);
+            logger.info("Trade export finished: {} rows", rows);
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(fileFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("trades." + fileFormat.getExtension()).build().toString())
+            .body(body);
+    }
+
     @GetMapping("/add")
     public String addTradeForm(Model model) {
         model.addAttribute("trade", new Trade());
@@ -51,8 +95,15 @@ public class TradeController {
         }
 
         try {
-            Trade saved = tradeService.create(trade);
-            logger.info("Trade created: ID={}", saved.getTradeId());
+            TradeCreation creation = tradeService.create(trade);
+            Integer tradeId = creation.tradeId();
+            if (creation.duplicate()) {
+                logger.info("Trade not created, sourceListId {} already booked: ID={}", trade.getSourceListId(), tradeId);
+                ra.addFlashAttribute("errorMessage", "Trade not created: sourceListId " + trade.getSourceListId()
+                        + " is already booked as trade " + tradeId);
+                return "redirect:/trade/list";
+            }
+            logger.info("Trade created: ID={}", tradeId);
             ra.addFlashAttribute("successMessage", "Trade created successfully");
             return "redirect:/trade/list";
         } catch (ConstraintViolationException e) {
@@ -128,4 +179,59 @@ public class TradeController {
         }
         return "redirect:/trade/list";
     }
-}
\ No newline at end of file
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResult> bulkDelete(@RequestParam List<Integer> ids, Principal principal) {
+        try {
+            BulkResult result = tradeService.deleteAll(ids);
+            logger.info("Bulk delete of {} Trades by User={}: {} deleted",
+                ids.size(), principal.getName(), result.succeeded());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Bulk delete rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/bulk/status")
+    public ResponseEntity<BulkResult> bulkStatus(@RequestParam List<Integer> ids,
+                                                 @RequestParam String status,
+                                                 Principal principal) {
+        try {
+            BulkResult result = tradeService.updateStatus(ids, status, principal.getName());
+            logger.info("Bulk status {} on {} Trades by User={}: {} updated",
+                status, ids.size(), principal.getName(), result.succeeded());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Bulk status update rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * End-of-day settlement of the confirmed trades traded before {@code before} (default: now).
+     */
+    @PostMapping("/settle")
+    public ResponseEntity<SettlementReport> settle(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            Principal principal) {
+        LocalDateTime tradedBefore = before == null ? LocalDateTime.now() : before;
+        long start = System.nanoTime();
+        long settled = tradeService.settleAll(tradedBefore, principal.getName());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Settlement of trades traded before {} by User={}: {} settled in {} ms",
+            tradedBefore, principal.getName(), settled, elapsedMillis);
+        return ResponseEntity.ok(new SettlementReport(settled, tradedBefore, elapsedMillis));
+    }
+
+    @PostMapping("/match")
+    public ResponseEntity<MatchReport> match(Principal principal) {
+        logger.info("User {} started a matching run", principal.getName());
+        try {
+            return ResponseEntity.ok(matchingService.match(principal.getName()));
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            logger.warn("Matching run aborted: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.ReconciliationKey;
+import com.nnk.springboot.dto.ReconciliationReport;
+import com.nnk.springboot.services.ITradeReconciliationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+
+/**
+ * Evening reconciliation: {@code POST /trade/reconcile} with a counterparty CSV file sorted by
+ * {@code key} (sourceListId by default, or tradeId) returns the matched trades and the breaks.
+ */
+@RestController
+public class TradeReconciliationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeReconciliationController.class);
+
+    private final ITradeReconciliationService tradeReconciliationService;
+
+    public TradeReconciliationController(ITradeReconciliationService tradeReconciliationService) {
+        this.tradeReconciliationService = tradeReconciliationService;
+    }
+
+    @PostMapping("/trade/reconcile")
+    public ResponseEntity<ReconciliationReport> reconcile(@RequestParam("file") MultipartFile file,
+                                                          @RequestParam(defaultValue = "sourceListId") String key,
+                                                          Principal principal) {
+        logger.info("User {} is reconciling trades against {} ({} bytes) by {}",
+            principal.getName(), file.getOriginalFilename(), file.getSize(), key);
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(tradeReconciliationService.reconcile(input, ReconciliationKey.fromParameter(key)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Trade reconciliation rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            logger.error("Trade reconciliation aborted: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IOException e) {
+            logger.error("Error reading trade reconciliation file", e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeAmendment;
+import com.nnk.springboot.services.ITradeRevisionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Amendment history of a trade: {@code /trade/12/revisions} lists the revisions,
+ * {@code /trade/12/revisions/3} returns the trade as it was right after revision 3 (0 = as booked).
+ */
+@RestController
+@RequestMapping("/trade/{id}/revisions")
+public class TradeRevisionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeRevisionController.class);
+
+    private final ITradeRevisionService tradeRevisionService;
+
+    public TradeRevisionController(ITradeRevisionService tradeRevisionService) {
+        this.tradeRevisionService = tradeRevisionService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TradeAmendment>> revisions(@PathVariable Integer id) {
+        return ResponseEntity.ok(tradeRevisionService.findRevisions(id));
+    }
+
+    @GetMapping("/{revision}")
+    public ResponseEntity<Trade> asOf(@PathVariable Integer id, @PathVariable int revision) {
+        try {
+            return ResponseEntity.of(tradeRevisionService.findAsOf(id, revision));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Trade revision request rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.SnapshotQuery;
+import com.nnk.springboot.dto.SnapshotReport;
+import com.nnk.springboot.dto.TradeDimension;
+import com.nnk.springboot.services.ITradeSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dashboard totals computed on the in-memory trade snapshot, e.g.
+ * {@code /trade/snapshot?groupBy=security&book=B1&from=2024-01-01T00:00}. Every filter is optional.
+ */
+@RestController
+@RequestMapping("/trade/snapshot")
+public class TradeSnapshotController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeSnapshotController.class);
+
+    private final ITradeSnapshotService tradeSnapshotService;
+
+    public TradeSnapshotController(ITradeSnapshotService tradeSnapshotService) {
+        this.tradeSnapshotService = tradeSnapshotService;
+    }
+
+    @GetMapping
+    public ResponseEntity<SnapshotReport> aggregate(
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(required = false) String account,
+            @RequestParam(required = false) String book,
+            @RequestParam(required = false) String security,
+            @RequestParam(required = false) String trader,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            TradeDimension dimension = groupBy == null ? null : TradeDimension.fromParameter(groupBy);
+            return ResponseEntity.ok(tradeSnapshotService.aggregate(
+                    new SnapshotQuery(dimension, account, book, security, trader, from, to)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Trade snapshot request rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
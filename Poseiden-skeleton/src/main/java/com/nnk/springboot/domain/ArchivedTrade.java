@@ -0,0 +1,130 @@
+package com.nnk.springboot.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A trade moved out of the trade table by the archival job. Same columns and trade id as the trade it was;
+ * rows are only written by the archival insert-select and are read-only afterwards.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "trade_archive", indexes = {
+    // Date-range reads that reach past the retention period
+    @Index(name = "idx_trade_archive_date", columnList = "trade_date")
+})
+public class ArchivedTrade {
+
+    @Id
+    @Column(name = "trade_id")
+    private Integer tradeId;
+
+    @Column(name = "account", nullable = false, length = 30)
+    private String account;
+
+    @Column(name = "type", nullable = false, length = 30)
+    private String type;
+
+    @Column(name = "buy_quantity")
+    private Double buyQuantity;
+
+    @Column(name = "sell_quantity")
+    private Double sellQuantity;
+
+    @Column(name = "buy_price")
+    private Double buyPrice;
+
+    @Column(name = "sell_price")
+    private Double sellPrice;
+
+    @Column(name = "trade_date")
+    private LocalDateTime tradeDate;
+
+    @Column(name = "security", length = 125)
+    private String security;
+
+    @Column(name = "status", length = 10)
+    private String status;
+
+    @Column(name = "trader", length = 125)
+    private String trader;
+
+    @Column(name = "benchmark", length = 125)
+    private String benchmark;
+
+    @Column(name = "book", length = 125)
+    private String book;
+
+    @Column(name = "creation_name", length = 125)
+    private String creationName;
+
+    @Column(name = "creation_date")
+    private LocalDateTime creationDate;
+
+    @Column(name = "revision_name", length = 125)
+    private String revisionName;
+
+    @Column(name = "revision_date")
+    private LocalDateTime revisionDate;
+
+    @Column(name = "deal_name", length = 125)
+    private String dealName;
+
+    @Column(name = "deal_type", length = 125)
+    private String dealType;
+
+    @Column(name = "source_list_id", length = 125)
+    private String sourceListId;
+
+    @Column(name = "side", length = 125)
+    private String side;
+
+    /**
+     * Detached copy as a {@link Trade}, so callers see archived and live trades alike.
+     */
+    public Trade toTrade() {
+        Trade trade = new Trade();
+        trade.setTradeId(tradeId);
+        trade.setAccount(account);
+        trade.setType(type);
+        trade.setBuyQuantity(buyQuantity);
+        trade.setSellQuantity(sellQuantity);
+        trade.setBuyPrice(buyPrice);
+        trade.setSellPrice(sellPrice);
+        trade.setTradeDate(tradeDate);
+        trade.setSecurity(security);
+        trade.setStatus(status);
+        trade.setTrader(trader);
+        trade.setBenchmark(benchmark);
+        trade.setBook(book);
+        trade.setCreationName(creationName);
+        trade.setCreationDate(creationDate);
+        trade.setRevisionName(revisionName);
+        trade.setRevisionDate(revisionDate);
+        trade.setDealName(dealName);
+        trade.setDealType(dealType);
+        trade.setSourceListId(sourceListId);
+        trade.setSide(side);
+        return trade;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ArchivedTrade)) return false;
+        ArchivedTrade trade = (ArchivedTrade) o;
+        return tradeId != null && tradeId.equals(trade.tradeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tradeId);
+    }
+}
@@ -17,11 +17,18 @@ import java.util.Objects;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "bid_list")
+@Table(name = "bid_list", indexes = {
+    @Index(name = "idx_bid_list_account", columnList = "account, bid_list_id"),
+    @Index(name = "idx_bid_list_type", columnList = "type, bid_list_id"),
+    @Index(name = "idx_bid_list_status", columnList = "status, bid_list_id"),
+    @Index(name = "idx_bid_list_book", columnList = "book, bid_list_id"),
+    @Index(name = "idx_bid_list_date", columnList = "bid_list_date, bid_list_id")
+})
 public class BidList {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bid_list_seq")
+    @SequenceGenerator(name = "bid_list_seq", sequenceName = "bid_list_seq", allocationSize = 50)
     @Column(name = "bid_list_id")
     private Integer bidListId;
 
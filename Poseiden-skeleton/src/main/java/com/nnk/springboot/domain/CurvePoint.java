@@ -16,11 +16,15 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "curve_point")
+@Table(name = "curve_point", indexes = {
+    // As-of reads: the points of a curve dated up to a given time, newest first
+    @Index(name = "idx_curve_point_curve_as_of_term", columnList = "curve_id, as_of_date, term")
+})
 public class CurvePoint {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "curve_point_seq")
+    @SequenceGenerator(name = "curve_point_seq", sequenceName = "curve_point_seq", allocationSize = 50)
     @Column(name = "Id")
     private Integer id;
 
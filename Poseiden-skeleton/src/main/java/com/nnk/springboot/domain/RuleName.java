@@ -18,7 +18,8 @@ import java.util.Objects;
 public class RuleName {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rule_name_seq")
+    @SequenceGenerator(name = "rule_name_seq", sequenceName = "rule_name_seq", allocationSize = 50)
     @Column(name = "Id")
     private Integer id;
 
@@ -16,12 +16,22 @@ import java.util.Objects;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "trade")
+@Table(name = "trade", indexes = {
+    // Trade analytics: per-security time windows and the next-trade lookup of the TWAP
+    @Index(name = "idx_trade_security_date", columnList = "security, trade_date"),
+    // Date-range reads and the archival job's scan for aged trades
+    @Index(name = "idx_trade_date", columnList = "trade_date"),
+    // End-of-day settlement: confirmed trades traded before the cut-off
+    @Index(name = "idx_trade_status_date", columnList = "status, trade_date"),
+    // Idempotent ingestion: a trade resent by upstream keeps its sourceListId
+    @Index(name = "uk_trade_source_list_id", columnList = "source_list_id", unique = true)
+})
 @ValidTradeData
 public class Trade {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_seq")
+    @SequenceGenerator(name = "trade_seq", sequenceName = "trade_seq", allocationSize = 50)
     @Column(name = "trade_id")
     private Integer tradeId;
 
@@ -0,0 +1,57 @@
+package com.nnk.springboot.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One amendment of a trade, append-only. Revisions of a trade are numbered from 1; revision 0 is the trade
+ * as booked. {@code changes} is a JSON object holding, for the fields the amendment changed, their value
+ * before it; {@code revisionName} and {@code revisionDate} are who made the amendment and when.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "trade_revision", indexes = {
+    // Per-trade lookups and the next revision number: the generated primary key orders its columns by
+    // property name, (revision, trade_id). doc/data.sql declares it as (trade_id, revision) instead.
+    @Index(name = "idx_trade_revision_trade", columnList = "trade_id, revision")
+})
+@IdClass(TradeRevision.Key.class)
+public class TradeRevision {
+
+    @Id
+    @Column(name = "trade_id")
+    private Integer tradeId;
+
+    @Id
+    @Column(name = "revision")
+    private Integer revision;
+
+    @Column(name = "revision_date")
+    private LocalDateTime revisionDate;
+
+    @Column(name = "revision_name", length = 125)
+    private String revisionName;
+
+    @Column(name = "changes", nullable = false, length = 4000)
+    private String changes;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Integer tradeId;
+        private Integer revision;
+    }
+}
@@ -0,0 +1,55 @@
+package com.nnk.springboot.domain;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Lifecycle of a trade, stored by name in trade.status. A trade is booked NEW, then CONFIRMED, then SETTLED;
+ * a NEW or CONFIRMED trade can be CANCELLED. SETTLED and CANCELLED are final.
+ */
+public enum TradeStatus {
+    NEW,
+    CONFIRMED,
+    SETTLED,
+    CANCELLED;
+
+    public boolean canMoveTo(TradeStatus next) {
+        return switch (this) {
+            case NEW -> next == CONFIRMED || next == CANCELLED;
+            case CONFIRMED -> next == SETTLED || next == CANCELLED;
+            case SETTLED, CANCELLED -> false;
+        };
+    }
+
+    /**
+     * Statuses a trade can be moved to this one from.
+     */
+    public Set<TradeStatus> sources() {
+        Set<TradeStatus> sources = EnumSet.noneOf(TradeStatus.class);
+        Arrays.stream(values()).filter(status -> status.canMoveTo(this)).forEach(sources::add);
+        return sources;
+    }
+
+    /**
+     * Parses a status name, case-insensitive.
+     */
+    public static TradeStatus fromParameter(String value) {
+        for (TradeStatus status : values()) {
+            if (status.name().equalsIgnoreCase(value == null ? "" : value.trim())) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown trade status: " + value);
+    }
+
+    /**
+     * Status of a trade being booked: NEW, whether or not it was given.
+     */
+    public static String booked(String value) {
+        if (value != null && !value.isBlank() && fromParameter(value) != NEW) {
+            throw new IllegalArgumentException("A trade is booked as " + NEW + ", not " + value.trim());
+        }
+        return NEW.name();
+    }
+}
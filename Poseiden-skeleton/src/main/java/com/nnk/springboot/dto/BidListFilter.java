@@ -0,0 +1,81 @@
+package com.nnk.springboot.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Optional criteria of the bid list page, bound from the query string.
+ * Blank fields are ignored; the date range applies to bidListDate and includes both days.
+ */
+public class BidListFilter {
+
+    private String account;
+    private String type;
+    private String status;
+    private String book;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    public BidListFilter() {
+    }
+
+    public BidListFilter(String account, String type, String status, String book, LocalDate from, LocalDate to) {
+        this.account = account;
+        this.type = type;
+        this.status = status;
+        this.book = book;
+        this.from = from;
+        this.to = to;
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getBook() {
+        return book;
+    }
+
+    public void setBook(String book) {
+        this.book = book;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+}
@@ -0,0 +1,30 @@
+package com.nnk.springboot.dto;
+
+import com.nnk.springboot.domain.BidList;
+
+/**
+ * Order book contribution of one bid list row: its bid and ask price/quantity for a security.
+ */
+public record BidListQuote(Integer bidListId, String security, Double bid, Double bidQuantity,
+                           Double ask, Double askQuantity) {
+
+    public static BidListQuote of(BidList bidList) {
+        return new BidListQuote(bidList.getBidListId(), bidList.getSecurity(), bidList.getBid(),
+                bidList.getBidQuantity(), bidList.getAsk(), bidList.getAskQuantity());
+    }
+
+    public boolean hasBid() {
+        return bid != null && bidQuantity != null && bidQuantity > 0;
+    }
+
+    public boolean hasAsk() {
+        return ask != null && askQuantity != null && askQuantity > 0;
+    }
+
+    /**
+     * A row only enters the book when it names a security and quotes at least one side.
+     */
+    public boolean isQuoted() {
+        return security != null && !security.isBlank() && (hasBid() || hasAsk());
+    }
+}
@@ -0,0 +1,19 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Closed projection of the columns shown on the bid list page.
+ * Spring Data selects only these columns and returns read-only views,
+ * so no entity is attached to the persistence context.
+ */
+public interface BidListSummary {
+
+    Integer getBidListId();
+
+    String getAccount();
+
+    String getType();
+
+    Double getBidQuantity();
+
+    String getCreationName();
+}
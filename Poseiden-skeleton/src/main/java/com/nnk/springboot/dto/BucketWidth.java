@@ -0,0 +1,40 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Time bucket sizes offered by the trade analytics. Every width divides a day, so buckets always
+ * start on a round minute, hour or day.
+ */
+public enum BucketWidth {
+    MINUTE("1m", 60),
+    FIVE_MINUTES("5m", 300),
+    HOUR("1h", 3_600),
+    DAY("1d", 86_400);
+
+    private final String label;
+    private final long seconds;
+
+    BucketWidth(String label, long seconds) {
+        this.label = label;
+        this.seconds = seconds;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * Parses a {@code bucket} request parameter ("1m", "5m", "1h" or "1d", case-insensitive).
+     */
+    public static BucketWidth fromParameter(String value) {
+        for (BucketWidth width : values()) {
+            if (width.label.equalsIgnoreCase(value == null ? "" : value.trim())) {
+                return width;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported bucket: " + value);
+    }
+}
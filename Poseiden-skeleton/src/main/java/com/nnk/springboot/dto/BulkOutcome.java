@@ -0,0 +1,12 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Result of a bulk operation for one requested id.
+ */
+public enum BulkOutcome {
+    DONE,
+    NOT_FOUND,
+    FORBIDDEN,
+    INVALID,
+    ILLEGAL_TRANSITION
+}
@@ -0,0 +1,17 @@
+package com.nnk.springboot.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-id outcomes of a bulk operation, in request order, with the number of ids actually processed.
+ */
+public record BulkResult(int succeeded, int failed, Map<Integer, BulkOutcome> outcomes) {
+
+    public static BulkResult of(Map<Integer, BulkOutcome> outcomes) {
+        int succeeded = (int) outcomes.values().stream().filter(o -> o == BulkOutcome.DONE).count();
+        return new BulkResult(succeeded, outcomes.size() - succeeded,
+                Collections.unmodifiableMap(new LinkedHashMap<>(outcomes)));
+    }
+}
@@ -0,0 +1,7 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Totals of one trade capture request; the per-record outcome is in the acknowledgements.
+ */
+public record CaptureReport(long received, long created, long duplicates, long rejected) {
+}
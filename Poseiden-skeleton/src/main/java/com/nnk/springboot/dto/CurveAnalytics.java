@@ -0,0 +1,14 @@
+package com.nnk.springboot.dto;
+
+import java.util.List;
+
+/**
+ * A curve bootstrapped from its par yields, one pillar per positive term. Rates are in the units of the curve
+ * values (percent by default) and continuously compounded, except the par rates as stored; each forward rate
+ * runs from the previous pillar, or today, to its own.
+ */
+public record CurveAnalytics(Integer curveId, int points, List<Pillar> pillars) {
+
+    public record Pillar(double term, double parRate, double discountFactor, double zeroRate, double forwardRate) {
+    }
+}
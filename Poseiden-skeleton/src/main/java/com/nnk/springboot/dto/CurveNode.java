@@ -0,0 +1,21 @@
+package com.nnk.springboot.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+/**
+ * A point of a curve as the interpolation needs it: its term and value. Also the shape of a posted point
+ * when a whole curve is replaced, hence the constraints of {@code CurvePoint}.
+ */
+public record CurveNode(
+        @NotNull(message = "Term is mandatory")
+        @DecimalMin(value = "0.0", inclusive = true, message = "Term must be positive or zero")
+        @Digits(integer = 10, fraction = 4, message = "Term must be a valid number with max 4 decimal places")
+        BigDecimal term,
+        @NotNull(message = "Value is mandatory")
+        @Digits(integer = 10, fraction = 4, message = "Value must be a valid number with max 4 decimal places")
+        BigDecimal value) {
+}
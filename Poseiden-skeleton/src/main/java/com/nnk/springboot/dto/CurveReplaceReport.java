@@ -0,0 +1,9 @@
+package com.nnk.springboot.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a curve replacement: the points written for the version {@code asOfDate}.
+ */
+public record CurveReplaceReport(Integer curveId, int points, LocalDateTime asOfDate, long elapsedMillis) {
+}
@@ -0,0 +1,47 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Line-oriented file formats accepted by the bulk import and produced by the exports.
+ */
+public enum FileFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    FileFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parses a {@code format} request parameter ("csv" or "ndjson", case-insensitive).
+     */
+    public static FileFormat fromParameter(String value) {
+        for (FileFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value == null ? "" : value.trim())) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported format: " + value);
+    }
+
+    public static FileFormat fromFilename(String filename) {
+        if (filename != null) {
+            String lower = filename.toLowerCase();
+            if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl") || lower.endsWith(".json")) {
+                return NDJSON;
+            }
+        }
+        return CSV;
+    }
+}
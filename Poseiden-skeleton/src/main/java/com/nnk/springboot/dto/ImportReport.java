@@ -0,0 +1,13 @@
+package com.nnk.springboot.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Only the first errors are kept in {@code errors};
+ * {@code rejected} always holds the full count.
+ */
+public record ImportReport(long rowsRead, long imported, long rejected, List<RowError> errors) {
+
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.nnk.springboot.dto;
+
+/**
+ * How a curve is read between its terms.
+ */
+public enum Interpolation {
+    LINEAR,
+    MONOTONE_CUBIC
+}
@@ -0,0 +1,11 @@
+package com.nnk.springboot.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) scroll.
+ * The next page is requested with {@code after=nextAfter} and {@code afterKey=nextAfterKey},
+ * so the database seeks directly to the cursor instead of skipping an OFFSET.
+ */
+public record KeysetPage<T>(List<T> content, boolean hasNext, Integer nextAfter, String nextAfterKey) {
+}
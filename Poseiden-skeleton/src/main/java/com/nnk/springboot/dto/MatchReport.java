@@ -0,0 +1,9 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Outcome of a matching run: rows read from bid_list, rows that could not take part,
+ * fills found, trades written (two per fill) and bid lists whose quantities were reduced.
+ */
+public record MatchReport(long rowsRead, long rowsSkipped, int fills, int tradesCreated, int bidListsUpdated,
+                          int shards, long elapsedMillis) {
+}
@@ -0,0 +1,11 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Buys netted against sells of an account in a security within a book. Net quantity and net notional
+ * are bought minus sold: positive for a net buyer, who pays {@code netNotional}.
+ * A side only counts when it has both a positive quantity and a price, as in {@link TradeFill}.
+ */
+public record NettingLine(String account, String book, String security, long trades,
+                          double buyQuantity, double sellQuantity, double netQuantity,
+                          double buyNotional, double sellNotional, double netNotional) {
+}
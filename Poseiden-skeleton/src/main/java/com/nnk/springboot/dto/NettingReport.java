@@ -0,0 +1,10 @@
+package com.nnk.springboot.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Netting of the trades of one day, one line per (account, book, security).
+ */
+public record NettingReport(LocalDate day, long trades, List<NettingLine> lines) {
+}
@@ -0,0 +1,17 @@
+package com.nnk.springboot.dto;
+
+import java.util.List;
+
+/**
+ * Immutable view of a security's book: bids from the highest price, asks from the lowest.
+ */
+public record OrderBookSnapshot(TopOfBook top, List<PriceLevel> bids, List<PriceLevel> asks) {
+
+    public OrderBookSnapshot limit(int levels) {
+        if (bids.size() <= levels && asks.size() <= levels) {
+            return this;
+        }
+        return new OrderBookSnapshot(top, bids.subList(0, Math.min(levels, bids.size())),
+                asks.subList(0, Math.min(levels, asks.size())));
+    }
+}
@@ -0,0 +1,14 @@
+package com.nnk.springboot.dto;
+
+import java.time.Instant;
+
+/**
+ * Position of an account in a security within a book.
+ * Average cost is the average buy price of a long position, or the average sell price of a short one
+ * (null when flat). Realized P&L is the matched quantity, min(bought, sold), times the difference
+ * between the average sell and the average buy price.
+ */
+public record Position(String account, String book, String security, double netQuantity, Double averageCost,
+                       double realizedPnl, double boughtQuantity, double soldQuantity, long trades,
+                       Instant updatedAt) {
+}
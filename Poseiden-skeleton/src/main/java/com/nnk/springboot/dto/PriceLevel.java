@@ -0,0 +1,7 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Aggregated quantity and number of bid list rows at one price.
+ */
+public record PriceLevel(double price, double quantity, int orders) {
+}
@@ -0,0 +1,31 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Key joining the trades to the counterparty file, named after the file column holding it.
+ */
+public enum ReconciliationKey {
+    SOURCE_LIST_ID("sourceListId"),
+    TRADE_ID("tradeId");
+
+    private final String column;
+
+    ReconciliationKey(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Parses a {@code key} request parameter: the column name, case-insensitive.
+     */
+    public static ReconciliationKey fromParameter(String value) {
+        for (ReconciliationKey key : values()) {
+            if (key.column.equalsIgnoreCase(value == null ? "" : value.trim())) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported reconciliation key: " + value);
+    }
+}
@@ -0,0 +1,31 @@
+package com.nnk.springboot.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a reconciliation: trades and file rows read, and how they paired up. Only the first breaks
+ * and rejected rows are kept in {@code breaks} and {@code errors}; the counters always hold the full counts.
+ */
+public record ReconciliationReport(ReconciliationKey key, long tradesRead, long rowsRead,
+                                   long matched, long mismatched, long missingFromFile, long missingFromTrades,
+                                   long rejected, List<Break> breaks, List<ImportReport.RowError> errors) {
+
+    public enum BreakType {
+        /** Booked on both sides with different terms. */
+        MISMATCH,
+        /** Booked here, absent from the counterparty file. */
+        MISSING_FROM_FILE,
+        /** In the counterparty file, not booked here. */
+        MISSING_FROM_TRADES
+    }
+
+    /**
+     * One unreconciled trade. {@code tradeId} is null when it is missing from the trades,
+     * {@code line} when it is missing from the file.
+     */
+    public record Break(BreakType type, String key, Integer tradeId, Long line, List<FieldBreak> fields) {
+    }
+
+    public record FieldBreak(String field, Double trade, Double counterparty) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.nnk.springboot.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A scenario run: the curve (as of {@code asOf}, default current), the shapes to apply (default all), shifts
+ * from {@code -maxBp} to {@code +maxBp} by {@code stepBp}, and the terms at which every shifted curve is read
+ * (default interpolation: linear).
+ */
+public record ScenarioRequest(Integer curveId, LocalDateTime asOf, List<ScenarioType> types,
+                              double maxBp, double stepBp, List<Double> terms, Interpolation interpolation) {
+}
@@ -0,0 +1,7 @@
+package com.nnk.springboot.dto;
+
+/**
+ * One shifted curve read at the requested terms: {@code values[i]} is its value at the i-th term.
+ */
+public record ScenarioResult(int scenario, ScenarioType type, double shiftBp, double[] values) {
+}
@@ -0,0 +1,20 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Shapes of the curve shifts of the scenario engine. {@link #weight} spreads a shift over the curve's span,
+ * {@code x} being 0 at the first term and 1 at the last: a twist of +10bp lowers the short end by 5bp and
+ * raises the long end by 5bp, a butterfly of +10bp raises both wings by 10bp and lowers the belly by 10bp.
+ */
+public enum ScenarioType {
+    PARALLEL,
+    TWIST,
+    BUTTERFLY;
+
+    public double weight(double x) {
+        return switch (this) {
+            case PARALLEL -> 1;
+            case TWIST -> x - 0.5;
+            case BUTTERFLY -> 4 * Math.abs(x - 0.5) - 1;
+        };
+    }
+}
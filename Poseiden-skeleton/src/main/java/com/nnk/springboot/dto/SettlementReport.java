@@ -0,0 +1,9 @@
+package com.nnk.springboot.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of an end-of-day settlement: confirmed trades traded before the cut-off that were settled.
+ */
+public record SettlementReport(long settled, LocalDateTime tradedBefore, long elapsedMillis) {
+}
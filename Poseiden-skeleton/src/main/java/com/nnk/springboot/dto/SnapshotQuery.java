@@ -0,0 +1,11 @@
+package com.nnk.springboot.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregation over the in-memory trade snapshot: the trades matching every given filter (null: any value)
+ * and traded in [from, to), grouped by {@code groupBy} (null: one group of all the matching trades).
+ */
+public record SnapshotQuery(TradeDimension groupBy, String account, String book, String security, String trader,
+                            LocalDateTime from, LocalDateTime to) {
+}
@@ -0,0 +1,11 @@
+package com.nnk.springboot.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result of a {@link SnapshotQuery}, with the time of the refresh it was computed on
+ * and the number of trades the snapshot holds.
+ */
+public record SnapshotReport(Instant refreshedAt, int snapshotTrades, List<TradeAggregate> groups) {
+}
@@ -0,0 +1,17 @@
+package com.nnk.springboot.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+/**
+ * Best bid and best ask of a security, with the number of levels and total quantity on each side.
+ */
+public record TopOfBook(String security, PriceLevel bestBid, PriceLevel bestAsk,
+                        int bidLevels, int askLevels, double bidDepth, double askDepth, Instant updatedAt) {
+
+    @JsonProperty
+    public Double spread() {
+        return bestBid == null || bestAsk == null ? null : bestAsk.price() - bestBid.price();
+    }
+}
@@ -0,0 +1,27 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Acknowledgement of one record of a trade capture stream. {@code index} is the 1-based position of the
+ * record in the request; {@code sourceListId} echoes the client's own reference when it could be read.
+ * A DUPLICATE carries the id of the trade already booked with that sourceListId.
+ */
+public record TradeAck(long index, String sourceListId, Status status, Integer tradeId, String error) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        REJECTED
+    }
+
+    public static TradeAck created(long index, String sourceListId, Integer tradeId) {
+        return new TradeAck(index, sourceListId, Status.CREATED, tradeId, null);
+    }
+
+    public static TradeAck duplicate(long index, String sourceListId, Integer tradeId) {
+        return new TradeAck(index, sourceListId, Status.DUPLICATE, tradeId, null);
+    }
+
+    public static TradeAck rejected(long index, String sourceListId, String error) {
+        return new TradeAck(index, sourceListId, Status.REJECTED, null, error);
+    }
+}
@@ -0,0 +1,10 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Totals of a group of trades: {@code key} is the value of the grouping column (null without grouping).
+ * A side only counts when it has both a positive quantity and a price, as in {@link TradeFill};
+ * {@code vwap} is the notional over the quantity of both sides, null when neither counts.
+ */
+public record TradeAggregate(String key, long trades, double buyQuantity, double buyNotional,
+                             double sellQuantity, double sellNotional, Double vwap) {
+}
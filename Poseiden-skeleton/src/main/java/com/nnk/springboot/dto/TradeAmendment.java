@@ -0,0 +1,11 @@
+package com.nnk.springboot.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One entry of a trade's revision log: who amended which fields, and when.
+ */
+public record TradeAmendment(int revision, LocalDateTime revisionDate, String revisionName,
+                             List<String> changedFields) {
+}
@@ -0,0 +1,11 @@
+package com.nnk.springboot.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trading activity of a security in [start, end). VWAP and TWAP are null when the bucket has no trades;
+ * an open bucket (end after now) is still filling up.
+ */
+public record TradeBucket(LocalDateTime start, LocalDateTime end, long trades, double volume,
+                          Double vwap, Double twap, boolean closed) {
+}
@@ -0,0 +1,20 @@
+package com.nnk.springboot.dto;
+
+/**
+ * One GROUP BY row of the trade analytics query. {@code bucket} counts buckets from the query origin;
+ * {@code priceSeconds} and {@code seconds} are the sums behind the TWAP.
+ */
+public interface TradeBucketRow {
+
+    Number getBucket();
+
+    Number getTrades();
+
+    Number getVolume();
+
+    Number getNotional();
+
+    Number getPriceSeconds();
+
+    Number getSeconds();
+}
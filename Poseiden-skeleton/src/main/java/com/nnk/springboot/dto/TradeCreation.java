@@ -0,0 +1,18 @@
+package com.nnk.springboot.dto;
+
+import com.nnk.springboot.domain.Trade;
+
+/**
+ * Outcome of a single trade creation. A {@code duplicate} creation wrote nothing: {@code tradeId} is the id of
+ * the trade already booked with the same sourceListId, which is not loaded, so {@code trade} is null.
+ */
+public record TradeCreation(Integer tradeId, Trade trade, boolean duplicate) {
+
+    public static TradeCreation created(Trade trade) {
+        return new TradeCreation(trade.getTradeId(), trade, false);
+    }
+
+    public static TradeCreation duplicate(Integer tradeId) {
+        return new TradeCreation(tradeId, null, true);
+    }
+}
@@ -0,0 +1,23 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Trade columns the in-memory trade snapshot can group by.
+ */
+public enum TradeDimension {
+    ACCOUNT,
+    BOOK,
+    SECURITY,
+    TRADER;
+
+    /**
+     * Parses a {@code groupBy} request parameter ("account", "book", "security" or "trader", case-insensitive).
+     */
+    public static TradeDimension fromParameter(String value) {
+        for (TradeDimension dimension : values()) {
+            if (dimension.name().equalsIgnoreCase(value == null ? "" : value.trim())) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported dimension: " + value);
+    }
+}
@@ -0,0 +1,29 @@
+package com.nnk.springboot.dto;
+
+import com.nnk.springboot.domain.Trade;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contribution of one trade to positions and analytics: what it bought and sold, at which price and date,
+ * for which account, book and security.
+ * A side only counts when it has both a positive quantity and a price.
+ */
+public record TradeFill(Integer tradeId, String account, String book, String security,
+                        Double buyQuantity, Double buyPrice, Double sellQuantity, Double sellPrice,
+                        LocalDateTime tradeDate) {
+
+    public static TradeFill of(Trade trade) {
+        return new TradeFill(trade.getTradeId(), trade.getAccount(), trade.getBook(), trade.getSecurity(),
+                trade.getBuyQuantity(), trade.getBuyPrice(), trade.getSellQuantity(), trade.getSellPrice(),
+                trade.getTradeDate());
+    }
+
+    public boolean hasBuy() {
+        return buyQuantity != null && buyQuantity > 0 && buyPrice != null;
+    }
+
+    public boolean hasSell() {
+        return sellQuantity != null && sellQuantity > 0 && sellPrice != null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.nnk.springboot.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a trade held by the in-memory trade snapshot.
+ */
+public record TradeSnapshotRow(Integer tradeId, String account, String book, String security, String trader,
+                               Double buyQuantity, Double buyPrice, Double sellQuantity, Double sellPrice,
+                               LocalDateTime tradeDate) {
+}
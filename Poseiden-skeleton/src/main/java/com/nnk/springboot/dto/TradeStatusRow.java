@@ -0,0 +1,11 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Id and current status of a trade, read before a bulk status change.
+ */
+public interface TradeStatusRow {
+
+    Integer getTradeId();
+
+    String getStatus();
+}
@@ -0,0 +1,8 @@
+package com.nnk.springboot.dto;
+
+/**
+ * The economic terms of a trade checked by the reconciliation against the counterparty file.
+ */
+public record TradeTerms(Integer tradeId, String sourceListId,
+                         Double buyQuantity, Double buyPrice, Double sellQuantity, Double sellPrice) {
+}
@@ -0,0 +1,65 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.ArchivedTrade;
+import com.nnk.springboot.dto.TradeFill;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+
+public interface ArchivedTradeRepository extends JpaRepository<ArchivedTrade, Integer> {
+
+    String COLUMNS = "tradeId, account, type, buyQuantity, sellQuantity, buyPrice, sellPrice, tradeDate, security,"
+            + " status, trader, benchmark, book, creationName, creationDate, revisionName, revisionDate,"
+            + " dealName, dealType, sourceListId, side";
+
+    /**
+     * Copies the given trades traded before {@code before} into the archive, in one INSERT ... SELECT.
+     */
+    @Modifying
+    @Query("insert into ArchivedTrade (" + COLUMNS + ") select t.tradeId, t.account, t.type, t.buyQuantity,"
+            + " t.sellQuantity, t.buyPrice, t.sellPrice, t.tradeDate, t.security, t.status, t.trader, t.benchmark,"
+            + " t.book, t.creationName, t.creationDate, t.revisionName, t.revisionDate, t.dealName, t.dealType,"
+            + " t.sourceListId, t.side"
+            + " from Trade t where t.tradeId in :ids and t.tradeDate < :before")
+    int copyFromTrades(@Param("ids") Collection<Integer> ids, @Param("before") LocalDateTime before);
+
+    @Query("select a from ArchivedTrade a where a.tradeDate >= :from and a.tradeDate < :to")
+    List<ArchivedTrade> findByTradeDate(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select max(a.tradeDate) from ArchivedTrade a")
+    LocalDateTime findMaxTradeDate();
+
+    /**
+     * Same as {@link TradeRepository#streamFills(Integer, Integer)} over the archive.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryConstants.STREAM_FETCH_SIZE))
+    @Query("select new com.nnk.springboot.dto.TradeFill(a.tradeId, a.account, a.book, a.security,"
+            + " a.buyQuantity, a.buyPrice, a.sellQuantity, a.sellPrice, a.tradeDate)"
+            + " from ArchivedTrade a where a.tradeId between :from and :to and a.status <> 'CANCELLED'")
+    Stream<TradeFill> streamFills(@Param("from") Integer from, @Param("to") Integer to);
+
+    /**
+     * Same as {@link TradeRepository#streamFillsByTradeDate(LocalDateTime, LocalDateTime)} over the archive.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryConstants.STREAM_FETCH_SIZE))
+    @Query("select new com.nnk.springboot.dto.TradeFill(a.tradeId, a.account, a.book, a.security,"
+            + " a.buyQuantity, a.buyPrice, a.sellQuantity, a.sellPrice, a.tradeDate)"
+            + " from ArchivedTrade a where a.tradeDate >= :from and a.tradeDate < :to and a.status <> 'CANCELLED'")
+    Stream<TradeFill> streamFillsByTradeDate(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select min(a.tradeId) from ArchivedTrade a")
+    Integer findMinId();
+
+    @Query("select max(a.tradeId) from ArchivedTrade a")
+    Integer findMaxId();
+}
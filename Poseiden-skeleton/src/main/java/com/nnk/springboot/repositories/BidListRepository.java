@@ -1,9 +1,90 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListQuote;
+import com.nnk.springboot.dto.BidListSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
-public interface BidListRepository extends JpaRepository<BidList, Integer> {
 
+public interface BidListRepository extends JpaRepository<BidList, Integer>,
+        JpaSpecificationExecutor<BidList>, BidListRepositoryCustom {
+
+    /**
+     * Cursor over the whole table, read in fetch-size batches. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from BidList b order by b.bidListId")
+    Stream<BidList> streamAll();
+
+    /**
+     * Cursor over the order book columns of every row that names a security. Same rules as {@link #streamAll()}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryConstants.STREAM_FETCH_SIZE))
+    @Query("select new com.nnk.springboot.dto.BidListQuote(b.bidListId, b.security, b.bid, b.bidQuantity, b.ask, b.askQuantity)"
+            + " from BidList b where b.security is not null")
+    Stream<BidListQuote> streamQuotes();
+
+    /**
+     * Cursor over the rows quoting a positive price and quantity on at least one side, oldest first
+     * (the time priority of the matching engine). Same rules as {@link #streamAll()}.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from BidList b where b.security is not null"
+            + " and ((b.bid > 0 and b.bidQuantity > 0) or (b.ask > 0 and b.askQuantity > 0))"
+            + " order by b.creationDate, b.bidListId")
+    Stream<BidList> streamMatchable();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from BidList b where b.bidListId in :ids")
+    List<BidList> findAllForUpdate(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Deletes the row in one statement if {@code username} created it or {@code admin} is set.
+     * Returns the number of rows deleted (0 when the row is missing or not allowed).
+     */
+    @Modifying
+    @Query("delete from BidList b where b.bidListId = :id and (:admin = true or b.creationName = :username)")
+    int deleteIfAllowed(@Param("id") Integer id, @Param("username") String username, @Param("admin") boolean admin);
+
+    List<BidListSummary> findSummariesByBidListIdIn(Collection<Integer> ids);
+
+    /**
+     * Reads the owners of the rows and locks them until the transaction ends, so a bulk write that follows
+     * sees the rows as they were read.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b.bidListId as bidListId, b.creationName as creationName from BidList b where b.bidListId in :ids")
+    List<BidListSummary> findSummariesForUpdate(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query("delete from BidList b where b.bidListId in :ids and (:admin = true or b.creationName = :username)")
+    int deleteAllIfAllowed(@Param("ids") Collection<Integer> ids, @Param("username") String username,
+                           @Param("admin") boolean admin);
+
+    @Modifying
+    @Query("update BidList b set b.status = :status, b.revisionName = :username, b.revisionDate = :now"
+            + " where b.bidListId in :ids and (:admin = true or b.creationName = :username)")
+    int updateStatusIfAllowed(@Param("ids") Collection<Integer> ids, @Param("status") String status,
+                              @Param("username") String username, @Param("admin") boolean admin,
+                              @Param("now") LocalDateTime now);
 }
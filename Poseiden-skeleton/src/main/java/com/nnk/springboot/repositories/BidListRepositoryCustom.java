@@ -0,0 +1,18 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListSummary;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BidListRepositoryCustom {
+
+    /**
+     * Keyset scroll over the rows matching {@code spec}, selecting only the {@link BidListSummary} columns.
+     * The sort must be total (end with the id) and {@code position} must hold a key for every sorted property.
+     */
+    Window<BidListSummary> findSummaries(Specification<BidList> spec, KeysetScrollPosition position, Sort sort, Limit limit);
+}
@@ -0,0 +1,139 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Criteria implementation of {@link BidListRepositoryCustom}. Derived scroll queries cannot take a
+ * Specification, and the fluent {@code findBy(spec, ...)} API loads whole entities, so the
+ * projection, the filter and the keyset predicate are assembled here in a single query.
+ */
+class BidListRepositoryImpl implements BidListRepositoryCustom {
+
+    private static final Map<String, Function<BidListSummary, Object>> SUMMARY_PROPERTIES = Map.of(
+            "bidListId", BidListSummary::getBidListId,
+            "account", BidListSummary::getAccount,
+            "type", BidListSummary::getType,
+            "bidQuantity", BidListSummary::getBidQuantity,
+            "creationName", BidListSummary::getCreationName);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Window<BidListSummary> findSummaries(Specification<BidList> spec, KeysetScrollPosition position,
+                                                Sort sort, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<BidList> root = query.from(BidList.class);
+        query.multiselect(root.get("bidListId"), root.get("account"), root.get("type"),
+                root.get("bidQuantity"), root.get("creationName"));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (!position.isInitial()) {
+            predicates.add(after(cb, root, sort, position.getKeys()));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(sort.stream()
+                .map(order -> order.isAscending() ? cb.asc(root.get(order.getProperty())) : cb.desc(root.get(order.getProperty())))
+                .toList());
+
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE - 1;
+        List<BidListSummary> rows = entityManager.createQuery(query)
+                .setMaxResults(max + 1)
+                .getResultStream()
+                .map(Row::new)
+                .map(BidListSummary.class::cast)
+                .toList();
+
+        boolean hasNext = rows.size() > max;
+        List<BidListSummary> content = hasNext ? rows.subList(0, max) : rows;
+        return Window.from(content, index -> keysOf(content.get(index), sort), hasNext);
+    }
+
+    /**
+     * Rows strictly after {@code keys} in sort order:
+     * (p1 > k1) or (p1 = k1 and p2 > k2) or ..., with "<" for descending properties.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder cb, Root<BidList> root, Sort sort, Map<String, ?> keys) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalPrefix = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<Comparable> path = root.get(order.getProperty());
+            Comparable key = (Comparable) keys.get(order.getProperty());
+            Predicate beyond = order.isAscending() ? cb.greaterThan(path, key) : cb.lessThan(path, key);
+            List<Predicate> terms = new ArrayList<>(equalPrefix);
+            terms.add(beyond);
+            alternatives.add(cb.and(terms.toArray(Predicate[]::new)));
+            equalPrefix.add(cb.equal(path, key));
+        }
+        return cb.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    private static ScrollPosition keysOf(BidListSummary row, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            keys.put(order.getProperty(), SUMMARY_PROPERTIES.get(order.getProperty()).apply(row));
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private record Row(Integer bidListId, String account, String type, Double bidQuantity, String creationName)
+            implements BidListSummary {
+
+        Row(Tuple tuple) {
+            this(tuple.get(0, Integer.class), tuple.get(1, String.class), tuple.get(2, String.class),
+                    tuple.get(3, Double.class), tuple.get(4, String.class));
+        }
+
+        @Override
+        public Integer getBidListId() {
+            return bidListId;
+        }
+
+        @Override
+        public String getAccount() {
+            return account;
+        }
+
+        @Override
+        public String getType() {
+            return type;
+        }
+
+        @Override
+        public Double getBidQuantity() {
+            return bidQuantity;
+        }
+
+        @Override
+        public String getCreationName() {
+            return creationName;
+        }
+    }
+}
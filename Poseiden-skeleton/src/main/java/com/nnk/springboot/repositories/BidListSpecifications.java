@@ -0,0 +1,54 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Filter predicates of the bid list page. Each criterion is an equality or a range on a column
+ * that leads one of the bid_list indexes (see doc/data.sql), so filtered pages are index seeks.
+ */
+public final class BidListSpecifications {
+
+    private BidListSpecifications() {
+    }
+
+    public static Specification<BidList> matching(BidListFilter filter) {
+        Specification<BidList> spec = Specification.unrestricted();
+        if (filter == null) {
+            return spec;
+        }
+        return spec
+                .and(equalTo("account", filter.getAccount()))
+                .and(equalTo("type", filter.getType()))
+                .and(equalTo("status", filter.getStatus()))
+                .and(equalTo("book", filter.getBook()))
+                .and(bidListDateFrom(filter.getFrom()))
+                .and(bidListDateTo(filter.getTo()));
+    }
+
+    public static Specification<BidList> equalTo(String property, String value) {
+        if (value == null || value.isBlank()) {
+            return Specification.unrestricted();
+        }
+        return (root, query, cb) -> cb.equal(root.get(property), value.trim());
+    }
+
+    public static Specification<BidList> bidListDateFrom(LocalDate from) {
+        if (from == null) {
+            return Specification.unrestricted();
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("bidListDate"), from.atStartOfDay());
+    }
+
+    public static Specification<BidList> bidListDateTo(LocalDate to) {
+        if (to == null) {
+            return Specification.unrestricted();
+        }
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        return (root, query, cb) -> cb.lessThan(root.get("bidListDate"), end);
+    }
+}
@@ -1,9 +1,56 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.dto.CurveNode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface CurvePointRepository extends JpaRepository<CurvePoint, Integer> {
 
+    /**
+     * Deletes the row in one statement if {@code username} created it or {@code admin} is set.
+     * Returns the number of rows deleted (0 when the row is missing or not allowed).
+     */
+    @Modifying
+    @Query("delete from CurvePoint c where c.id = :id and (:admin = true or c.creationName = :username)")
+    int deleteIfAllowed(@Param("id") Integer id, @Param("username") String username, @Param("admin") boolean admin);
+
+    /**
+     * Deletes the points of one version of the curve; the points of other asOfDates are kept.
+     */
+    @Modifying
+    @Query("delete from CurvePoint c where c.curveId = :curveId and c.asOfDate = :asOfDate")
+    int deleteByCurveIdAndAsOfDate(@Param("curveId") Integer curveId, @Param("asOfDate") LocalDateTime asOfDate);
+
+    @Query("select count(c) > 0 from CurvePoint c where c.curveId = :curveId"
+            + " and (c.creationName is null or c.creationName <> :username)")
+    boolean existsPointNotCreatedBy(@Param("curveId") Integer curveId, @Param("username") String username);
+
+    @Query("select c.curveId from CurvePoint c where c.id = :id")
+    Optional<Integer> findCurveIdById(@Param("id") Integer id);
+
+    /**
+     * The complete points, by term, of the version of a curve that stood at {@code asOf}: the one with the latest
+     * asOfDate dated {@code asOf} or before. Both the version lookup and its points are ranges of
+     * idx_curve_point_curve_as_of_term; earlier versions are not read.
+     */
+    @Query("select new com.nnk.springboot.dto.CurveNode(c.term, c.value) from CurvePoint c"
+            + " where c.curveId = :curveId and c.asOfDate = (select max(v.asOfDate) from CurvePoint v"
+            + " where v.curveId = :curveId and v.asOfDate <= :asOf)"
+            + " and c.term is not null and c.value is not null"
+            + " order by c.term, c.id")
+    List<CurveNode> findNodesAsOf(@Param("curveId") Integer curveId, @Param("asOf") LocalDateTime asOf);
+
+    /**
+     * The asOfDate of the first version of a curve dated after {@code asOf}, which takes over from the version
+     * standing at {@code asOf}.
+     */
+    @Query("select min(c.asOfDate) from CurvePoint c where c.curveId = :curveId and c.asOfDate > :asOf")
+    Optional<LocalDateTime> findNextAsOfDate(@Param("curveId") Integer curveId, @Param("asOf") LocalDateTime asOf);
 }
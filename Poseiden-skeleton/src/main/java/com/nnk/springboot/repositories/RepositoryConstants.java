@@ -0,0 +1,13 @@
+package com.nnk.springboot.repositories;
+
+public final class RepositoryConstants {
+
+    /**
+     * JDBC fetch size of the streaming queries. MySQL Connector/J only honours it
+     * when the connection URL sets useCursorFetch=true.
+     */
+    public static final int STREAM_FETCH_SIZE = 1000;
+
+    private RepositoryConstants() {
+    }
+}
@@ -1,8 +1,188 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeBucketRow;
+import com.nnk.springboot.dto.TradeFill;
+import com.nnk.springboot.dto.TradeSnapshotRow;
+import com.nnk.springboot.dto.TradeStatusRow;
+import com.nnk.springboot.dto.TradeTerms;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface TradeRepository extends JpaRepository<Trade, Integer> {
+
+    // A cancelled trade stays in the table but no longer counts in positions, netting, snapshot or analytics
+    String COUNTED = "t.status <> 'CANCELLED'";
+
+    /**
+     * Cursor over the whole table, read in fetch-size batches. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Trade t order by t.tradeId")
+    Stream<Trade> streamAll();
+
+    /**
+     * Cursor over the terms of the trades having a sourceListId, by sourceListId. Same rules as {@link #streamAll()}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryConstants.STREAM_FETCH_SIZE))
+    @Query("select new com.nnk.springboot.dto.TradeTerms(t.tradeId, t.sourceListId,"
+            + " t.buyQuantity, t.buyPrice, t.sellQuantity, t.sellPrice)"
+            + " from Trade t where t.sourceListId is not null order by t.sourceListId")
+    Stream<TradeTerms> streamTermsBySourceListId();
+
+    /**
+     * Cursor over the terms of every trade, by tradeId. Same rules as {@link #streamAll()}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryConstants.STREAM_FETCH_SIZE))
+    @Query("select new com.nnk.springboot.dto.TradeTerms(t.tradeId, t.sourceListId,"
+            + " t.buyQuantity, t.buyPrice, t.sellQuantity, t.sellPrice)"
+            + " from Trade t order by t.tradeId")
+    Stream<TradeTerms> streamTermsByTradeId();
+
+    /**
+     * Cursor over the columns of the in-memory trade snapshot of the counted trades, by tradeId. Same rules as
+     * {@link #streamAll()}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryConstants.STREAM_FETCH_SIZE))
+    @Query("select new com.nnk.springboot.dto.TradeSnapshotRow(t.tradeId, t.account, t.book, t.security, t.trader,"
+            + " t.buyQuantity, t.buyPrice, t.sellQuantity, t.sellPrice, t.tradeDate)"
+            + " from Trade t where " + COUNTED + " order by t.tradeId")
+    Stream<TradeSnapshotRow> streamSnapshotRows();
+
+    @Query("select new com.nnk.springboot.dto.TradeSnapshotRow(t.tradeId, t.account, t.book, t.security, t.trader,"
+            + " t.buyQuantity, t.buyPrice, t.sellQuantity, t.sellPrice, t.tradeDate)"
+            + " from Trade t where t.tradeId in :ids and " + COUNTED + " order by t.tradeId")
+    List<TradeSnapshotRow> findSnapshotRows(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Cursor over the position columns of the counted trades whose id is in [from, to]. Same rules as
+     * {@link #streamAll()}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryConstants.STREAM_FETCH_SIZE))
+    @Query("select new com.nnk.springboot.dto.TradeFill(t.tradeId, t.account, t.book, t.security,"
+            + " t.buyQuantity, t.buyPrice, t.sellQuantity, t.sellPrice, t.tradeDate)"
+            + " from Trade t where t.tradeId between :from and :to and " + COUNTED)
+    Stream<TradeFill> streamFills(@Param("from") Integer from, @Param("to") Integer to);
+
+    /**
+     * Cursor over the position columns of the counted trades traded in [from, to). Same rules as
+     * {@link #streamAll()}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryConstants.STREAM_FETCH_SIZE))
+    @Query("select new com.nnk.springboot.dto.TradeFill(t.tradeId, t.account, t.book, t.security,"
+            + " t.buyQuantity, t.buyPrice, t.sellQuantity, t.sellPrice, t.tradeDate)"
+            + " from Trade t where t.tradeDate >= :from and t.tradeDate < :to and " + COUNTED)
+    Stream<TradeFill> streamFillsByTradeDate(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Price, quantity and TWAP weight (seconds) of a trade in aggregateBuckets
+    String PRICE = "coalesce(t.buyPrice, t.sellPrice)";
+    String QUANTITY = "case when t.buyPrice is not null then t.buyQuantity else t.sellQuantity end";
+    String SECONDS = "least("
+            + "((least(coalesce((select min(n.tradeDate) from Trade n"
+            + " where n.security = t.security and n.tradeDate > t.tradeDate and n.status <> 'CANCELLED'),"
+            + " :now), :now) - t.tradeDate) by second),"
+            + " (floor(((t.tradeDate - :origin) by second) / :width) + 1) * :width - ((t.tradeDate - :origin) by second))";
+
+    /**
+     * Trade count, volume, notional and time-weighted price of a security per bucket of {@code width} seconds
+     * counted from {@code origin}, for the counted trades in [origin, to). A trade's price is its buy price, or its
+     * sell price when it has no buy side. Its time weight runs until the next trade of the security, capped
+     * at the end of its bucket and at {@code now}. Reads the (security, trade_date) index, including one
+     * index seek per trade for the next trade.
+     */
+    @Query("select floor(((t.tradeDate - :origin) by second) / :width) as bucket,"
+            + " count(t) as trades,"
+            + " sum(" + QUANTITY + ") as volume,"
+            + " sum(" + QUANTITY + " * " + PRICE + ") as notional,"
+            + " sum(" + PRICE + " * " + SECONDS + ") as priceSeconds,"
+            + " sum(" + SECONDS + ") as seconds"
+            + " from Trade t where t.security = :security and t.tradeDate >= :origin and t.tradeDate < :to"
+            + " and " + COUNTED + " and " + PRICE + " is not null and " + QUANTITY + " > 0"
+            + " group by 1 order by 1")
+    List<TradeBucketRow> aggregateBuckets(@Param("security") String security,
+                                          @Param("origin") LocalDateTime origin,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("width") long width,
+                                          @Param("now") LocalDateTime now);
+
+    /**
+     * Loads a trade and locks its row until the transaction ends, so its amendments are applied one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Trade t where t.tradeId = :id")
+    Optional<Trade> findByIdForUpdate(@Param("id") Integer id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.tradeId as tradeId, t.status as status from Trade t where t.tradeId in :ids")
+    List<TradeStatusRow> findStatusesForUpdate(@Param("ids") Collection<Integer> ids);
+
+    @Query("select min(t.tradeId) from Trade t")
+    Integer findMinId();
+
+    @Query("select max(t.tradeId) from Trade t")
+    Integer findMaxId();
+
+    @Query("select t.tradeId from Trade t where t.tradeId in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.tradeId from Trade t where t.tradeId in :ids")
+    List<Integer> findExistingIdsForUpdate(@Param("ids") Collection<Integer> ids);
+
+    Optional<Trade> findBySourceListId(String sourceListId);
+
+    List<Trade> findBySourceListIdIn(Collection<String> sourceListIds);
+
+    @Query("select t from Trade t where t.tradeDate >= :from and t.tradeDate < :to")
+    List<Trade> findByTradeDate(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Ids of up to {@code limit} trades traded before {@code before}, oldest first, read from the trade_date index.
+     */
+    @Query("select t.tradeId from Trade t where t.tradeDate < :before order by t.tradeDate")
+    List<Integer> findIdsTradedBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    @Modifying
+    @Query("delete from Trade t where t.tradeId in :ids and t.tradeDate < :before")
+    int deleteTradedBefore(@Param("ids") Collection<Integer> ids, @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("delete from Trade t where t.tradeId in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Ids of up to {@code limit} trades in {@code status} traded before {@code before}, locked until the
+     * transaction ends. Reads the (status, trade_date) index.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.tradeId from Trade t where t.status = :status and t.tradeDate < :before")
+    List<Integer> findIdsByStatusForUpdate(@Param("status") String status, @Param("before") LocalDateTime before,
+                                           Limit limit);
+
+    /**
+     * Moves the given trades from status {@code from} to {@code to}; trades in another status are left as is.
+     */
+    @Modifying
+    @Query("update Trade t set t.status = :to, t.revisionName = :username, t.revisionDate = :now"
+            + " where t.tradeId in :ids and t.status = :from")
+    int updateStatus(@Param("ids") Collection<Integer> ids, @Param("from") String from, @Param("to") String to,
+                     @Param("username") String username, @Param("now") LocalDateTime now);
 }
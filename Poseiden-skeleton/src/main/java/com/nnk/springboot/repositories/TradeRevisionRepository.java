@@ -0,0 +1,34 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.TradeRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+
+public interface TradeRevisionRepository extends JpaRepository<TradeRevision, TradeRevision.Key> {
+
+    @Query("select coalesce(max(r.revision), 0) from TradeRevision r where r.tradeId = :tradeId")
+    int findLastRevision(@Param("tradeId") Integer tradeId);
+
+    List<TradeRevision> findByTradeIdOrderByRevision(Integer tradeId);
+
+    List<TradeRevision> findByTradeIdAndRevisionGreaterThanEqualOrderByRevisionDesc(Integer tradeId, Integer revision);
+
+    /**
+     * Appends the same amendment to each of the given trades, numbered after its last revision,
+     * in one INSERT ... SELECT.
+     */
+    @Modifying
+    @Query("insert into TradeRevision (tradeId, revision, revisionDate, revisionName, changes)"
+            + " select t.tradeId, (select coalesce(max(r.revision), 0) + 1 from TradeRevision r"
+            + " where r.tradeId = t.tradeId), :now, :username, :changes"
+            + " from Trade t where t.tradeId in :ids")
+    int appendToTrades(@Param("ids") Collection<Integer> ids, @Param("changes") String changes,
+                       @Param("username") String username, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,19 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListQuote;
+
+/**
+ * Published inside the transaction that saves or deletes a bid list row.
+ * {@code quote} is null when the row was deleted.
+ */
+public record BidListChangedEvent(Integer bidListId, BidListQuote quote) {
+
+    public static BidListChangedEvent saved(BidList bidList) {
+        return new BidListChangedEvent(bidList.getBidListId(), BidListQuote.of(bidList));
+    }
+
+    public static BidListChangedEvent deleted(Integer bidListId) {
+        return new BidListChangedEvent(bidListId, null);
+    }
+}
@@ -0,0 +1,247 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.FileFormat;
+import com.nnk.springboot.dto.ImportReport;
+import com.nnk.springboot.repositories.BidListRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a CSV or NDJSON file of bids into bid_list.
+ * Rows are parsed and validated one at a time; valid rows are written in chunks,
+ * each chunk in its own transaction so a bad chunk never rolls back the rest of the file.
+ * Hibernate groups the inserts of a chunk into JDBC batches (hibernate.jdbc.batch_size).
+ */
+@Service
+public class BidListImportService implements IBidListImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidListImportService.class);
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Map<String, BiConsumer<BidList, String>> CSV_COLUMNS = Map.ofEntries(
+            Map.entry("account", BidList::setAccount),
+            Map.entry("type", BidList::setType),
+            Map.entry("bidQuantity", (b, v) -> b.setBidQuantity(Double.valueOf(v))),
+            Map.entry("askQuantity", (b, v) -> b.setAskQuantity(Double.valueOf(v))),
+            Map.entry("bid", (b, v) -> b.setBid(Double.valueOf(v))),
+            Map.entry("ask", (b, v) -> b.setAsk(Double.valueOf(v))),
+            Map.entry("benchmark", BidList::setBenchmark),
+            Map.entry("commentary", BidList::setCommentary),
+            Map.entry("security", BidList::setSecurity),
+            Map.entry("status", BidList::setStatus),
+            Map.entry("trader", BidList::setTrader),
+            Map.entry("book", BidList::setBook),
+            Map.entry("dealName", BidList::setDealName),
+            Map.entry("dealType", BidList::setDealType),
+            Map.entry("sourceListId", BidList::setSourceListId),
+            Map.entry("side", BidList::setSide));
+
+    private final BidListRepository bidListRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader jsonReader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public BidListImportService(BidListRepository bidListRepository,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${app.bidlist.import.chunk-size:1000}") int chunkSize) {
+        this.bidListRepository = bidListRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.jsonReader = objectMapper.readerFor(BidList.class);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public ImportReport importBids(InputStream input, FileFormat format, String username) throws IOException {
+        Run run = new Run();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        List<String> header = null;
+        if (format == FileFormat.CSV) {
+            String headerLine = reader.readLine();
+            lineNumber++;
+            if (headerLine == null) {
+                return run.report();
+            }
+            header = parseHeader(headerLine);
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            run.rowsRead++;
+            BidList bidList;
+            try {
+                bidList = format == FileFormat.CSV ? fromCsv(header, line) : fromJson(line);
+            } catch (IllegalArgumentException e) {
+                run.reject(lineNumber, e.getMessage());
+                continue;
+            }
+
+            Set<ConstraintViolation<BidList>> violations = validator.validate(bidList);
+            if (!violations.isEmpty()) {
+                run.reject(lineNumber, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+
+            bidList.setBidListId(null);
+            bidList.setCreationName(username);
+            chunk.add(new Row(lineNumber, bidList));
+            if (chunk.size() >= chunkSize) {
+                write(chunk, run);
+            }
+        }
+        write(chunk, run);
+
+        logger.info("BidList import by {}: read={}, imported={}, rejected={}",
+                username, run.rowsRead, run.imported, run.rejected);
+        return run.report();
+    }
+
+    private List<String> parseHeader(String headerLine) {
+        List<String> header = Csv.split(headerLine.startsWith("\uFEFF") ? headerLine.substring(1) : headerLine)
+                .stream().map(String::trim).toList();
+        for (String column : header) {
+            if (!CSV_COLUMNS.containsKey(column)) {
+                throw new IllegalArgumentException("Unknown column in header: " + column);
+            }
+        }
+        return header;
+    }
+
+    private BidList fromCsv(List<String> header, String line) {
+        List<String> fields = Csv.split(line);
+        if (fields.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " fields but found " + fields.size());
+        }
+        BidList bidList = new BidList();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            try {
+                CSV_COLUMNS.get(header.get(i)).accept(bidList, value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(header.get(i) + ": not a number '" + value + "'");
+            }
+        }
+        return bidList;
+    }
+
+    private BidList fromJson(String line) {
+        try {
+            return jsonReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Writes a chunk in one transaction. If the chunk fails, its rows are retried one by one
+     * so only the offending rows are reported.
+     */
+    private void write(List<Row> chunk, Run run) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<BidList> entities = chunk.stream().map(Row::bidList).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                bidListRepository.saveAll(entities)
+                        .forEach(saved -> eventPublisher.publishEvent(BidListChangedEvent.saved(saved)));
+                detachWritten();
+            });
+            run.imported += chunk.size();
+        } catch (DataAccessException e) {
+            logger.warn("Import chunk of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+            for (Row row : chunk) {
+                row.bidList().setBidListId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        eventPublisher.publishEvent(BidListChangedEvent.saved(bidListRepository.save(row.bidList())));
+                        detachWritten();
+                    });
+                    run.imported++;
+                } catch (DataAccessException rowFailure) {
+                    run.reject(row.line(), NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Flushes the written bids and detaches them: with open-in-view the request's EntityManager outlives the
+     * chunk's transaction, and would otherwise keep every imported bid of the file managed.
+     */
+    private void detachWritten() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private record Row(long line, BidList bidList) {
+    }
+
+    private static final class Run {
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        ImportReport report() {
+            return new ImportReport(rowsRead, imported, rejected, List.copyOf(errors));
+        }
+    }
+}
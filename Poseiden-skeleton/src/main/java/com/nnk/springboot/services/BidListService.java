@@ -1,27 +1,53 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListFilter;
+import com.nnk.springboot.dto.BidListSummary;
+import com.nnk.springboot.dto.BulkOutcome;
+import com.nnk.springboot.dto.BulkResult;
+import com.nnk.springboot.dto.KeysetPage;
 import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.BidListSpecifications;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Validated
 @Transactional
 public class BidListService implements IBidListService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String ID_PROPERTY = "bidListId";
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(ID_PROPERTY, "account", "type");
+
     private final BidListRepository bidListRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BidListService(BidListRepository bidListRepository) {
+    public BidListService(BidListRepository bidListRepository, ApplicationEventPublisher eventPublisher) {
         this.bidListRepository = bidListRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -30,6 +56,58 @@ public class BidListService implements IBidListService {
         return bidListRepository.findAll();
     }
 
+    /**
+     * Keyset pagination: the page starts strictly after the row identified by
+     * (afterKey, afterId) in the requested order, so each page costs an index seek
+     * whatever its depth. The id is always appended to the sort to keep the order total.
+     * Only the list columns are selected, through the {@link BidListSummary} projection,
+     * and the optional filter is applied in the same query.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<BidListSummary> findSummaryPage(BidListFilter filter, String sortBy, String direction, Integer afterId, String afterKey, int size) {
+        String property = sortBy != null && SORTABLE_PROPERTIES.contains(sortBy) ? sortBy : ID_PROPERTY;
+        Sort.Direction dir = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC);
+        int limit = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        Sort sort = Sort.by(dir, property);
+        if (!ID_PROPERTY.equals(property)) {
+            sort = sort.and(Sort.by(dir, ID_PROPERTY));
+        }
+
+        Window<BidListSummary> window = bidListRepository.findSummaries(BidListSpecifications.matching(filter),
+                startPosition(property, afterId, afterKey), sort, Limit.of(limit));
+        List<BidListSummary> content = window.getContent();
+        if (!window.hasNext() || content.isEmpty()) {
+            return new KeysetPage<>(content, false, null, null);
+        }
+        BidListSummary last = content.get(content.size() - 1);
+        return new KeysetPage<>(content, true, last.getBidListId(), sortKey(last, property));
+    }
+
+    private KeysetScrollPosition startPosition(String property, Integer afterId, String afterKey) {
+        if (afterId == null || afterId <= 0) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (!ID_PROPERTY.equals(property)) {
+            if (afterKey == null) {
+                return ScrollPosition.keyset();
+            }
+            keys.put(property, afterKey);
+        }
+        keys.put(ID_PROPERTY, afterId);
+        return ScrollPosition.forward(keys);
+    }
+
+    private String sortKey(BidListSummary bidList, String property) {
+        return switch (property) {
+            case "account" -> bidList.getAccount();
+            case "type" -> bidList.getType();
+            default -> null;
+        };
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<BidList> findById(@NotNull Integer id) {
@@ -46,7 +124,9 @@ public class BidListService implements IBidListService {
         }
         bidList.setBidListId(null);
         bidList.setCreationDate(LocalDateTime.now());
-        return bidListRepository.save(bidList);
+        BidList saved = bidListRepository.save(bidList);
+        eventPublisher.publishEvent(BidListChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
@@ -59,28 +139,107 @@ public class BidListService implements IBidListService {
         }
         bidList.setBidListId(id);
         bidList.setRevisionDate(LocalDateTime.now());
-        return bidListRepository.save(bidList);
+        BidList saved = bidListRepository.save(bidList);
+        eventPublisher.publishEvent(BidListChangedEvent.saved(saved));
+        return saved;
     }
 
+    /**
+     * Deletes with a single conditional DELETE (owner or admin). When nothing is deleted,
+     * an existence probe tells a missing row from a forbidden one.
+     */
     @Override
-    public void deleteById(Integer id, org.springframework.security.core.userdetails.UserDetails userDetails) {
-    if (id == null || id <= 0) {
-        throw new IllegalArgumentException("Invalid ID: " + id);
+    public void deleteById(Integer id, UserDetails userDetails) {
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("Invalid ID: " + id);
+        }
+
+        if (bidListRepository.deleteIfAllowed(id, userDetails.getUsername(), isAdmin(userDetails)) == 0) {
+            if (!bidListRepository.existsById(id)) {
+                throw new IllegalArgumentException("BidList not found with id: " + id);
+            }
+            throw new AccessDeniedException("You are not authorized to delete this BidList");
+        }
+        eventPublisher.publishEvent(BidListChangedEvent.deleted(id));
     }
 
-    BidList bidList = bidListRepository.findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("BidList not found with id: " + id));
+    /**
+     * Bulk delete; only the rows actually deleted (DONE) are announced to the order book.
+     */
+    @Override
+    public BulkResult deleteAll(List<Integer> ids, UserDetails userDetails) {
+        BulkResult result = applyToAllowed(ids, userDetails, true, bidListRepository::deleteAllIfAllowed);
+        result.outcomes().forEach((id, outcome) -> {
+            if (outcome == BulkOutcome.DONE) {
+                eventPublisher.publishEvent(BidListChangedEvent.deleted(id));
+            }
+        });
+        return result;
+    }
 
-    String currentUsername = userDetails.getUsername();
-    boolean isAdmin = userDetails.getAuthorities().stream()
-            .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    @Override
+    public BulkResult updateStatus(List<Integer> ids, String status, UserDetails userDetails) {
+        String checked = BulkIds.checkStatus(status, 10);
+        LocalDateTime now = LocalDateTime.now();
+        return applyToAllowed(ids, userDetails, false, (allowed, username, admin) ->
+                bidListRepository.updateStatusIfAllowed(allowed, checked, username, admin, now));
+    }
+
+    /**
+     * Runs a set-based write per chunk of ids. One locking projection query classifies the chunk
+     * (missing, not owned, allowed), then a single UPDATE/DELETE covers the allowed ids.
+     * The write repeats the owner/admin condition, so a concurrent change of owner is never overridden.
+     * When it reports fewer rows than allowed, the chunk is read again and the ids it did not reach are
+     * reported NOT_FOUND or FORBIDDEN instead of DONE.
+     */
+    private BulkResult applyToAllowed(List<Integer> ids, UserDetails userDetails, boolean deleting, BulkWrite write) {
+        Map<Integer, BulkOutcome> outcomes = BulkIds.prepare(ids);
+        String username = userDetails.getUsername();
+        boolean admin = isAdmin(userDetails);
 
-    boolean isOwner = bidList.getCreationName() != null && bidList.getCreationName().equals(currentUsername);
+        for (List<Integer> chunk : BulkIds.pendingChunks(outcomes)) {
+            List<Integer> allowed = new ArrayList<>(chunk.size());
+            for (BidListSummary row : bidListRepository.findSummariesForUpdate(chunk)) {
+                boolean permitted = admin || username.equals(row.getCreationName());
+                outcomes.put(row.getBidListId(), permitted ? BulkOutcome.DONE : BulkOutcome.FORBIDDEN);
+                if (permitted) {
+                    allowed.add(row.getBidListId());
+                }
+            }
+            chunk.forEach(id -> outcomes.putIfAbsent(id, BulkOutcome.NOT_FOUND));
+            if (!allowed.isEmpty() && write.apply(allowed, username, admin) < allowed.size()) {
+                recheck(allowed, outcomes, username, admin, deleting);
+            }
+        }
+        return BulkResult.of(outcomes);
+    }
+
+    /**
+     * Outcomes of the allowed ids as the rows stand after the write. A deleted row is gone, a row still
+     * there was refused by the owner condition; an updated row is still there and still allowed (the
+     * database may not count a row the UPDATE left unchanged).
+     */
+    private void recheck(List<Integer> allowed, Map<Integer, BulkOutcome> outcomes, String username,
+                         boolean admin, boolean deleting) {
+        Map<Integer, BidListSummary> rows = new HashMap<>();
+        bidListRepository.findSummariesByBidListIdIn(allowed).forEach(row -> rows.put(row.getBidListId(), row));
+        for (Integer id : allowed) {
+            BidListSummary row = rows.get(id);
+            if (row == null) {
+                outcomes.put(id, deleting ? BulkOutcome.DONE : BulkOutcome.NOT_FOUND);
+            } else if (deleting || !(admin || username.equals(row.getCreationName()))) {
+                outcomes.put(id, BulkOutcome.FORBIDDEN);
+            }
+        }
+    }
 
-    if (!isOwner && !isAdmin) {
-        throw new AccessDeniedException("You are not authorized to delete this BidList");
+    private static boolean isAdmin(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
     }
 
-    bidListRepository.delete(bidList);
+    @FunctionalInterface
+    private interface BulkWrite {
+        int apply(List<Integer> ids, String username, boolean admin);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.BulkOutcome;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Id handling shared by the bulk operations: request size limit, de-duplication and IN-list chunking.
+ */
+final class BulkIds {
+
+    static final int MAX_IDS = 5000;
+    static final int CHUNK_SIZE = 1000;
+
+    private BulkIds() {
+    }
+
+    /**
+     * Returns the distinct ids in request order; non-positive ids are already marked INVALID,
+     * the others map to null until processed.
+     */
+    static Map<Integer, BulkOutcome> prepare(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required");
+        }
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " ids can be processed at once");
+        }
+        Map<Integer, BulkOutcome> outcomes = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            if (id != null) {
+                outcomes.putIfAbsent(id, id > 0 ? null : BulkOutcome.INVALID);
+            }
+        }
+        return outcomes;
+    }
+
+    static List<List<Integer>> pendingChunks(Map<Integer, BulkOutcome> outcomes) {
+        List<Integer> pending = outcomes.entrySet().stream()
+                .filter(e -> e.getValue() == null)
+                .map(Map.Entry::getKey)
+                .toList();
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += CHUNK_SIZE) {
+            chunks.add(pending.subList(from, Math.min(pending.size(), from + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    static String checkStatus(String status, int maxLength) {
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("Status is mandatory");
+        }
+        String trimmed = status.trim();
+        if (trimmed.length() > maxLength) {
+            throw new IllegalArgumentException("Status must be less than " + maxLength + " characters");
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,168 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.CurveNode;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable copy of a curve as sorted {@code double} terms and values, converted from the stored
+ * {@code BigDecimal}s once. Lookups are a binary search and a few multiplications, without allocation, so
+ * any number of threads can share a curve. Outside its terms a curve is flat (first or last value).
+ */
+public final class Curve {
+
+    private static final Curve EMPTY = new Curve(new double[0], new double[0]);
+
+    private final double[] terms;
+    private final double[] values;
+    // Tangents at each term for the monotone cubic, computed once
+    private final double[] slopes;
+
+    private Curve(double[] terms, double[] values) {
+        this.terms = terms;
+        this.values = values;
+        this.slopes = monotoneSlopes(terms, values);
+    }
+
+    public static Curve empty() {
+        return EMPTY;
+    }
+
+    /**
+     * A curve through {@code nodes}, ordered by term. Of several nodes sharing a term the last one is kept.
+     */
+    public static Curve of(List<CurveNode> nodes) {
+        double[] terms = new double[nodes.size()];
+        double[] values = new double[nodes.size()];
+        int size = 0;
+        for (CurveNode node : nodes) {
+            double term = node.term().doubleValue();
+            if (size > 0 && terms[size - 1] == term) {
+                size--;
+            } else if (size > 0 && terms[size - 1] > term) {
+                throw new IllegalArgumentException("Curve nodes must be ordered by term");
+            }
+            terms[size] = term;
+            values[size] = node.value().doubleValue();
+            size++;
+        }
+        return size == 0 ? EMPTY : new Curve(Arrays.copyOf(terms, size), Arrays.copyOf(values, size));
+    }
+
+    /**
+     * A curve on the same terms with other values, one per term. The array is handed over, not copied.
+     */
+    Curve withValues(double[] values) {
+        if (values.length != terms.length) {
+            throw new IllegalArgumentException("Expected " + terms.length + " values, got " + values.length);
+        }
+        return new Curve(terms, values);
+    }
+
+    /**
+     * Whether {@code other} has the same terms and values, as when the same points are read again.
+     */
+    boolean hasSameNodes(Curve other) {
+        return other == this || (Arrays.equals(terms, other.terms) && Arrays.equals(values, other.values));
+    }
+
+    public boolean isEmpty() {
+        return terms.length == 0;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public double term(int i) {
+        return terms[i];
+    }
+
+    public double value(int i) {
+        return values[i];
+    }
+
+    public double linear(double term) {
+        int k = segment(term);
+        if (k < 0) {
+            return outside(term);
+        }
+        double h = terms[k + 1] - terms[k];
+        return values[k] + (term - terms[k]) / h * (values[k + 1] - values[k]);
+    }
+
+    /**
+     * Cubic Hermite interpolation with Fritsch-Carlson tangents: smooth, and never overshoots the values on
+     * either side, so a monotone stretch of the curve stays monotone.
+     */
+    public double monotoneCubic(double term) {
+        int k = segment(term);
+        if (k < 0) {
+            return outside(term);
+        }
+        double h = terms[k + 1] - terms[k];
+        double t = (term - terms[k]) / h;
+        double t2 = t * t;
+        double t3 = t2 * t;
+        return (2 * t3 - 3 * t2 + 1) * values[k]
+                + (t3 - 2 * t2 + t) * h * slopes[k]
+                + (-2 * t3 + 3 * t2) * values[k + 1]
+                + (t3 - t2) * h * slopes[k + 1];
+    }
+
+    /**
+     * Index of the segment holding {@code term}, or -1 when the term is outside the curve (or NaN).
+     */
+    private int segment(double term) {
+        int last = terms.length - 1;
+        if (last < 1 || !(term > terms[0] && term < terms[last])) {
+            return -1;
+        }
+        int i = Arrays.binarySearch(terms, term);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    private double outside(double term) {
+        if (terms.length == 0) {
+            throw new IllegalStateException("The curve has no points");
+        }
+        if (term != term) {
+            return Double.NaN;
+        }
+        return term <= terms[0] ? values[0] : values[values.length - 1];
+    }
+
+    private static double[] monotoneSlopes(double[] terms, double[] values) {
+        int n = terms.length;
+        double[] slopes = new double[n];
+        if (n < 2) {
+            return slopes;
+        }
+        double[] secants = new double[n - 1];
+        for (int k = 0; k < n - 1; k++) {
+            secants[k] = (values[k + 1] - values[k]) / (terms[k + 1] - terms[k]);
+        }
+        slopes[0] = secants[0];
+        slopes[n - 1] = secants[n - 2];
+        for (int k = 1; k < n - 1; k++) {
+            slopes[k] = secants[k - 1] * secants[k] <= 0 ? 0 : (secants[k - 1] + secants[k]) / 2;
+        }
+        for (int k = 0; k < n - 1; k++) {
+            if (secants[k] == 0) {
+                slopes[k] = 0;
+                slopes[k + 1] = 0;
+                continue;
+            }
+            double a = slopes[k] / secants[k];
+            double b = slopes[k + 1] / secants[k];
+            double norm = a * a + b * b;
+            if (norm > 9) {
+                double scale = 3 / Math.sqrt(norm);
+                slopes[k] = scale * a * secants[k];
+                slopes[k + 1] = scale * b * secants[k];
+            }
+        }
+        return slopes;
+    }
+}
@@ -0,0 +1,55 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.CurveAnalytics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Curve analytics over the stored curves: the {@link CurveBootstrap} of each curve, kept until the curve
+ * changes. The version of a curve is the {@link Curve} that {@link CurveCache} holds for it, which only
+ * CurvePointService writes replace; a bootstrap is computed again only once its curve has been replaced with
+ * different points, so curves nobody wrote to are never recomputed.
+ */
+@Service
+public class CurveAnalyticsService implements ICurveAnalyticsService {
+
+    private final CurveCache curveCache;
+    private final double rateUnit;
+    private final ConcurrentHashMap<Integer, CurveBootstrap> bootstraps = new ConcurrentHashMap<>();
+
+    public CurveAnalyticsService(CurveCache curveCache, @Value("${app.curve.rate-unit:0.01}") double rateUnit) {
+        this.curveCache = curveCache;
+        this.rateUnit = rateUnit;
+    }
+
+    @Override
+    public CurveBootstrap bootstrap(Integer curveId) {
+        Curve curve = curveCache.get(curveId);
+        if (curve.isEmpty()) {
+            throw new IllegalArgumentException("Curve " + curveId + " has no points");
+        }
+        CurveBootstrap known = bootstraps.get(curveId);
+        if (known != null && known.source().hasSameNodes(curve)) {
+            return known;
+        }
+        CurveBootstrap computed = CurveBootstrap.of(curve, rateUnit);
+        bootstraps.put(curveId, computed);
+        return computed;
+    }
+
+    @Override
+    public CurveAnalytics analytics(Integer curveId) {
+        CurveBootstrap bootstrap = bootstrap(curveId);
+        List<CurveAnalytics.Pillar> pillars = new ArrayList<>(bootstrap.size());
+        for (int i = 0; i < bootstrap.size(); i++) {
+            pillars.add(new CurveAnalytics.Pillar(bootstrap.term(i), bootstrap.parRate(i) / rateUnit,
+                    bootstrap.discountFactor(i), bootstrap.zeroRate(i) / rateUnit,
+                    bootstrap.forwardRate(i) / rateUnit));
+        }
+        return new CurveAnalytics(curveId, pillars.size(), pillars);
+    }
+}
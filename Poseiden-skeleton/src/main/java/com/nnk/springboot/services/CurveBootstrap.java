@@ -0,0 +1,222 @@
+package com.nnk.springboot.services;
+
+import java.util.Arrays;
+
+/**
+ * Discount factors, zero rates and forward rates bootstrapped from a {@link Curve} of par yields, one pillar
+ * per positive term (in years). A pillar up to one year pays once, at simple interest; a longer one is a bond
+ * paying annual coupons back from its term, the first period being short. Between pillars discount factors
+ * are log-linear (flat forwards); beyond the last one the zero rate stays flat. Rates here are decimals,
+ * continuously compounded. Immutable, built once per version of the curve.
+ */
+public final class CurveBootstrap {
+
+    // Bisection halves the bracket each time: 200 halvings reach TOLERANCE for discount factors down to 1e-45
+    static final int MAX_ITERATIONS = 200;
+    static final double TOLERANCE = 1e-15;
+
+    // The curve this was bootstrapped from
+    private final Curve source;
+    private final double[] terms;
+    private final double[] parRates;
+    private final double[] discountFactors;
+    private final double[] zeroRates;
+    // From the previous pillar (or today) to each pillar
+    private final double[] forwardRates;
+
+    private CurveBootstrap(Curve source, double[] terms, double[] parRates, double[] discountFactors) {
+        this.source = source;
+        this.terms = terms;
+        this.parRates = parRates;
+        this.discountFactors = discountFactors;
+        this.zeroRates = new double[terms.length];
+        this.forwardRates = new double[terms.length];
+        for (int k = 0; k < terms.length; k++) {
+            double logDf = Math.log(discountFactors[k]);
+            zeroRates[k] = -logDf / terms[k];
+            forwardRates[k] = k == 0 ? zeroRates[0]
+                    : (Math.log(discountFactors[k - 1]) - logDf) / (terms[k] - terms[k - 1]);
+        }
+    }
+
+    /**
+     * Bootstraps {@code curve}, whose values are par yields where 1.0 stands for {@code rateUnit} (0.01:
+     * values in percent). Points at term zero or before carry no discounting and are skipped.
+     *
+     * @throws IllegalStateException when no positive discount factor prices a pillar at par
+     */
+    public static CurveBootstrap of(Curve curve, double rateUnit) {
+        if (curve.isEmpty()) {
+            throw new IllegalStateException("The curve has no points");
+        }
+        int first = 0;
+        while (first < curve.size() && !(curve.term(first) > 0)) {
+            first++;
+        }
+        int n = curve.size() - first;
+        if (n == 0) {
+            throw new IllegalStateException("The curve has no point beyond term zero");
+        }
+        double[] terms = new double[n];
+        double[] parRates = new double[n];
+        double[] discountFactors = new double[n];
+        for (int k = 0; k < n; k++) {
+            terms[k] = curve.term(first + k);
+            parRates[k] = curve.value(first + k) * rateUnit;
+            double df = terms[k] <= 1
+                    ? 1 / (1 + parRates[k] * terms[k])
+                    : solve(terms, discountFactors, k, parRates[k]);
+            if (!(df > 0) || Double.isInfinite(df)) {
+                throw new IllegalStateException("The curve cannot be bootstrapped at term " + terms[k]
+                        + ": discount factor " + df);
+            }
+            discountFactors[k] = df;
+        }
+        return new CurveBootstrap(curve, terms, parRates, discountFactors);
+    }
+
+    /**
+     * Discount factor of pillar {@code k}, a bond paying {@code coupon} a year: it prices at par, so
+     * {@code df * (1 + coupon) + coupon * annuity of the earlier coupons = 1}. Coupons past pillar
+     * {@code k - 1} are discounted on the line to {@code df} itself, so {@code df} is found by bisection between
+     * a discount factor pricing the bond under par and one pricing it over par. A fixed-point iteration on the
+     * same equation diverges on steep curves, where many coupons fall on that line.
+     */
+    private static double solve(double[] terms, double[] discountFactors, int k, double coupon) {
+        double term = terms[k];
+        if (!(coupon > -1)) {
+            throw new IllegalStateException("The curve cannot be bootstrapped at term " + term
+                    + ": par yield " + coupon);
+        }
+        // At df = 0 only the coupons up to pillar k - 1 are worth anything
+        double low = 0;
+        if (!(priceOverPar(terms, discountFactors, k, coupon, low) < 0)) {
+            throw new IllegalStateException("The curve cannot be bootstrapped at term " + term
+                    + ": the earlier coupons alone are worth par");
+        }
+        // Worth par at least, unless the coupon is negative
+        double high = 1 / (1 + coupon);
+        for (int doubling = 0; priceOverPar(terms, discountFactors, k, coupon, high) < 0; doubling++) {
+            if (doubling == MAX_ITERATIONS) {
+                throw new IllegalStateException("The curve cannot be bootstrapped at term " + term
+                        + ": no discount factor prices the bond at par");
+            }
+            low = high;
+            high *= 2;
+        }
+        for (int iteration = 0; high - low > TOLERANCE * high; iteration++) {
+            if (iteration == MAX_ITERATIONS) {
+                throw new IllegalStateException("The curve cannot be bootstrapped at term " + term
+                        + ": no convergence in " + MAX_ITERATIONS + " iterations");
+            }
+            double middle = 0.5 * (low + high);
+            if (priceOverPar(terms, discountFactors, k, coupon, middle) < 0) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return 0.5 * (low + high);
+    }
+
+    /**
+     * Price less par of the bond of pillar {@code k} when its own discount factor is {@code df}.
+     */
+    private static double priceOverPar(double[] terms, double[] discountFactors, int k, double coupon, double df) {
+        double term = terms[k];
+        int periods = (int) Math.ceil(term);
+        double stub = term - (periods - 1);
+        double logDf = Math.log(df);
+        double annuity = 0;
+        for (int i = 1; i < periods; i++) {
+            double time = stub + (i - 1);
+            annuity += (i == 1 ? stub : 1) * Math.exp(logDiscount(terms, discountFactors, k, logDf, time));
+        }
+        return df * (1 + coupon) + coupon * annuity - 1;
+    }
+
+    /**
+     * Log of the discount factor at {@code time} on the pillars before {@code k} plus pillar {@code k} at
+     * {@code logDfK}, linear between them and from today.
+     */
+    private static double logDiscount(double[] terms, double[] discountFactors, int k, double logDfK, double time) {
+        int i = Arrays.binarySearch(terms, 0, k, time);
+        if (i >= 0) {
+            return Math.log(discountFactors[i]);
+        }
+        int next = -i - 1;
+        double fromTerm = next == 0 ? 0 : terms[next - 1];
+        double fromLog = next == 0 ? 0 : Math.log(discountFactors[next - 1]);
+        double toLog = next == k ? logDfK : Math.log(discountFactors[next]);
+        return fromLog + (time - fromTerm) / (terms[next] - fromTerm) * (toLog - fromLog);
+    }
+
+    Curve source() {
+        return source;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public double term(int i) {
+        return terms[i];
+    }
+
+    public double parRate(int i) {
+        return parRates[i];
+    }
+
+    public double discountFactor(int i) {
+        return discountFactors[i];
+    }
+
+    public double zeroRate(int i) {
+        return zeroRates[i];
+    }
+
+    public double forwardRate(int i) {
+        return forwardRates[i];
+    }
+
+    /**
+     * Discount factor at any {@code time} in years: 1 today and before.
+     */
+    public double discountFactorAt(double time) {
+        if (time != time) {
+            return Double.NaN;
+        }
+        if (time <= 0) {
+            return 1;
+        }
+        int last = terms.length - 1;
+        if (time >= terms[last]) {
+            return Math.exp(-zeroRates[last] * time);
+        }
+        int i = Arrays.binarySearch(terms, time);
+        if (i >= 0) {
+            return discountFactors[i];
+        }
+        int next = -i - 1;
+        double fromTerm = next == 0 ? 0 : terms[next - 1];
+        double fromLog = next == 0 ? 0 : Math.log(discountFactors[next - 1]);
+        return Math.exp(fromLog - forwardRates[next] * (time - fromTerm));
+    }
+
+    /**
+     * Zero rate to {@code time}; up to the first pillar it is the first pillar's.
+     */
+    public double zeroRateAt(double time) {
+        return time > 0 ? -Math.log(discountFactorAt(time)) / time : zeroRates[0];
+    }
+
+    /**
+     * Forward rate from {@code start} to {@code end}.
+     */
+    public double forwardRateAt(double start, double end) {
+        if (!(end > start)) {
+            throw new IllegalArgumentException("The forward period must end after it starts");
+        }
+        return Math.log(discountFactorAt(start) / discountFactorAt(end)) / (end - start);
+    }
+}
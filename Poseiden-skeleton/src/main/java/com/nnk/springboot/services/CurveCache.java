@@ -0,0 +1,134 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.repositories.CurvePointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Curves by curveId as {@link Curve}s, read from the database on first use and dropped once a write to
+ * their points commits. Reads never lock: pricing code should fetch a curve once and interpolate on it as
+ * often as needed. A curve is one version, all its points sharing one asOfDate: the current curve is the
+ * latest version dated now or before, kept until a later version takes over. Curves as of a past date are
+ * kept apart, in a small LRU for the revaluation runs that ask for the same dates over and over.
+ */
+@Component
+public class CurveCache {
+
+    private final CurvePointRepository curvePointRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ConcurrentHashMap<Integer, Current> curves = new ConcurrentHashMap<>();
+
+    // Least recently used first; guarded by itself
+    private final Map<AsOf, Curve> history;
+
+    // Counts invalidations, so a load that read the points before a write committed is not cached after it
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record AsOf(Integer curveId, LocalDateTime asOf) {
+    }
+
+    // The current version of a curve, until the asOfDate of the next one (null when there is none)
+    private record Current(Curve curve, LocalDateTime until) {
+
+        boolean isCurrentAt(LocalDateTime now) {
+            return until == null || now.isBefore(until);
+        }
+    }
+
+    public CurveCache(CurvePointRepository curvePointRepository, PlatformTransactionManager transactionManager,
+                      @Value("${app.curve.history.cache-size:64}") int historyCapacity) {
+        this.curvePointRepository = curvePointRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        int capacity = Math.max(1, historyCapacity);
+        this.history = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AsOf, Curve> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * The current curve: its latest version dated now or before. Empty when it has no such version.
+     */
+    public Curve get(Integer curveId) {
+        if (curveId == null) {
+            throw new IllegalArgumentException("The curve ID is mandatory");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Current current = curves.get(curveId);
+        if (current != null && current.isCurrentAt(now)) {
+            return current.curve();
+        }
+        long seen = invalidations.get();
+        Current loaded = readOnlyTransaction.execute(status -> new Current(
+                Curve.of(curvePointRepository.findNodesAsOf(curveId, now)),
+                curvePointRepository.findNextAsOfDate(curveId, now).orElse(null)));
+        curves.compute(curveId, (id, cached) ->
+                invalidations.get() != seen || (cached != null && cached.isCurrentAt(now)) ? cached : loaded);
+        return loaded.curve();
+    }
+
+    /**
+     * The curve as it stood at {@code asOf}: its latest version dated {@code asOf} or before.
+     * Empty when the curve had no version yet.
+     */
+    public Curve getAsOf(Integer curveId, LocalDateTime asOf) {
+        if (curveId == null || asOf == null) {
+            throw new IllegalArgumentException("The curve ID and the as-of date are mandatory");
+        }
+        AsOf key = new AsOf(curveId, asOf);
+        long seen;
+        synchronized (history) {
+            Curve curve = history.get(key);
+            if (curve != null) {
+                return curve;
+            }
+            seen = invalidations.get();
+        }
+        Curve loaded = Curve.of(curvePointRepository.findNodesAsOf(curveId, asOf));
+        synchronized (history) {
+            if (invalidations.get() == seen) {
+                history.putIfAbsent(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Follows curve writes once their transaction has committed. A replaced current curve is swapped in at once:
+     * readers get either the old version or the new one, never a mix. A write may be back-dated, so the
+     * curve's past versions are dropped too.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCurveChanged(CurveChangedEvent event) {
+        if (event.curveId() == null) {
+            invalidations.incrementAndGet();
+            curves.clear();
+        } else {
+            curves.compute(event.curveId(), (id, cached) -> {
+                invalidations.incrementAndGet();
+                return event.curve() == null ? null : new Current(event.curve(), event.until());
+            });
+        }
+        synchronized (history) {
+            history.keySet().removeIf(key -> event.curveId() == null || key.curveId().equals(event.curveId()));
+        }
+    }
+
+    int historySize() {
+        synchronized (history) {
+            return history.size();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.nnk.springboot.services;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published inside the transaction that writes curve points. {@code curveId} is the curve written, null when
+ * the write does not tell which (a single-statement delete): caches then drop every curve. {@code curve} is
+ * set when the write replaced the current version of the curve, so caches can swap it in rather than read it
+ * again; {@code until} is then the asOfDate of the next version, which takes over at that time (null when none).
+ */
+public record CurveChangedEvent(Integer curveId, Curve curve, LocalDateTime until) {
+
+    public CurveChangedEvent(Integer curveId) {
+        this(curveId, null, null);
+    }
+
+    public static CurveChangedEvent replaced(Integer curveId, Curve curve, LocalDateTime until) {
+        return new CurveChangedEvent(curveId, curve, until);
+    }
+
+    public static CurveChangedEvent all() {
+        return new CurveChangedEvent(null);
+    }
+}
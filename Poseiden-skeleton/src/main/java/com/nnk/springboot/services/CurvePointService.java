@@ -1,9 +1,11 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.dto.CurveNode;
 import com.nnk.springboot.repositories.CurvePointRepository;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -11,6 +13,7 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,10 +22,14 @@ import java.util.Optional;
 @Transactional
 public class CurvePointService implements ICurvePointService {
 
+    static final int MAX_CURVE_POINTS = 1000;
+
     private final CurvePointRepository curvePointRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CurvePointService(CurvePointRepository curvePointRepository) {
+    public CurvePointService(CurvePointRepository curvePointRepository, ApplicationEventPublisher eventPublisher) {
         this.curvePointRepository = curvePointRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -52,9 +59,15 @@ public class CurvePointService implements ICurvePointService {
             curvePoint.setAsOfDate(LocalDateTime.now());
         }
 
-        return curvePointRepository.save(curvePoint);
+        CurvePoint saved = curvePointRepository.save(curvePoint);
+        eventPublisher.publishEvent(new CurveChangedEvent(saved.getCurveId()));
+        return saved;
     }
 
+    /**
+     * A point can move to another curve: both curves are reported changed. A point without a curve id
+     * belongs to no curve, so leaving or joining that side reports nothing.
+     */
     @Override
     public CurvePoint update(@NotNull Integer id, @Valid CurvePoint curvePoint) {
         if (id == null || id <= 0) {
@@ -63,34 +76,98 @@ public class CurvePointService implements ICurvePointService {
         if (!curvePointRepository.existsById(id)) {
             throw new IllegalArgumentException("CurvePoint not found with id: " + id);
         }
+        Integer previousCurveId = curvePointRepository.findCurveIdById(id).orElse(null);
         curvePoint.setId(id);
-        return curvePointRepository.save(curvePoint);
+        CurvePoint saved = curvePointRepository.save(curvePoint);
+        if (previousCurveId != null) {
+            eventPublisher.publishEvent(new CurveChangedEvent(previousCurveId));
+        }
+        if (saved.getCurveId() != null && !saved.getCurveId().equals(previousCurveId)) {
+            eventPublisher.publishEvent(new CurveChangedEvent(saved.getCurveId()));
+        }
+        return saved;
+    }
+
+    /**
+     * Writes the curve as of {@code asOfDate} (default: now) in one transaction: a single DELETE of the points
+     * already stamped with that date, then the new points inserted in JDBC batches (hibernate.jdbc.batch_size).
+     * Points of other dates are kept, so the curve can still be read as of an earlier version. Like a delete,
+     * it takes an admin or the creator of every point of the curve. When the version written is the current one
+     * (dated now or before, and no later version dated now or before), the cached curve is swapped for it once
+     * committed; a future-dated or back-dated version only drops the cached curve.
+     */
+    @Override
+    public int replaceCurve(@NotNull Integer curveId, List<@Valid CurveNode> points, LocalDateTime asOfDate,
+                            UserDetails userDetails) {
+        if (curveId == null || curveId <= 0) {
+            throw new IllegalArgumentException("Invalid curve ID: " + curveId);
+        }
+        if (points == null || points.isEmpty()) {
+            throw new IllegalArgumentException("At least one point is required");
+        }
+        if (points.size() > MAX_CURVE_POINTS) {
+            throw new IllegalArgumentException("A curve holds at most " + MAX_CURVE_POINTS + " points");
+        }
+        List<CurveNode> sorted = points.stream().sorted(Comparator.comparing(CurveNode::term)).toList();
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).term().compareTo(sorted.get(i - 1).term()) == 0) {
+                throw new IllegalArgumentException("Term " + sorted.get(i).term() + " is given twice");
+            }
+        }
+
+        String username = userDetails.getUsername();
+        boolean isAdmin = userDetails.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        if (!isAdmin && curvePointRepository.existsPointNotCreatedBy(curveId, username)) {
+            throw new AccessDeniedException("You are not authorized to replace this curve");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime version = asOfDate == null ? now : asOfDate;
+        curvePointRepository.deleteByCurveIdAndAsOfDate(curveId, version);
+        List<CurvePoint> curvePoints = sorted.stream().map(node -> {
+            CurvePoint curvePoint = new CurvePoint(curveId, node.term(), node.value());
+            curvePoint.setAsOfDate(version);
+            curvePoint.setCreationDate(now);
+            curvePoint.setCreationName(username);
+            return curvePoint;
+        }).toList();
+        curvePointRepository.saveAll(curvePoints);
+        LocalDateTime next = curvePointRepository.findNextAsOfDate(curveId, version).orElse(null);
+        if (version.isAfter(now) || (next != null && !next.isAfter(now))) {
+            eventPublisher.publishEvent(new CurveChangedEvent(curveId));
+        } else {
+            eventPublisher.publishEvent(CurveChangedEvent.replaced(curveId, Curve.of(sorted), next));
+        }
+        return curvePoints.size();
     }
 
+    /**
+     * Deletes with a single conditional DELETE (owner or admin). When nothing is deleted,
+     * an existence probe tells a missing row from a forbidden one. The DELETE does not tell the
+     * curve, so cached curves are all dropped.
+     */
     @Override
     public void deleteById(Integer id, UserDetails userDetails) {
         if (id == null || id <= 0) {
             throw new IllegalArgumentException("Invalid ID: " + id);
         }
 
-        CurvePoint curvePoint = curvePointRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("CurvePoint not found with id: " + id));
-
-        String currentUsername = userDetails.getUsername();
-        
         boolean isAdmin = userDetails.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
 
-        boolean isOwner = curvePoint.getCreationName() != null && 
-                        curvePoint.getCreationName().equals(currentUsername);
-
-        if (!isOwner && !isAdmin) {
-            throw new AccessDeniedException("You are not authorized to delete this CurvePoint");
-        }
+        int deleted;
         try {
-            curvePointRepository.delete(curvePoint);
+            deleted = curvePointRepository.deleteIfAllowed(id, userDetails.getUsername(), isAdmin);
         } catch (Exception e) {
             throw new RuntimeException("Error occurred while deleting CurvePoint", e);
         }
+        if (deleted == 0) {
+            if (!curvePointRepository.existsById(id)) {
+                throw new IllegalArgumentException("CurvePoint not found with id: " + id);
+            }
+            throw new AccessDeniedException("You are not authorized to delete this CurvePoint");
+        }
+        eventPublisher.publishEvent(CurveChangedEvent.all());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.nnk.springboot.dto.Interpolation;
+import com.nnk.springboot.dto.ScenarioRequest;
+import com.nnk.springboot.dto.ScenarioType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Scenario engine over the stored curves: builds the {@link CurveScenarios} of a request from the cached
+ * curve, then evaluates them on every core a chunk at a time and writes each chunk as NDJSON as soon as it
+ * is done, one {@code ScenarioResult} per line in scenario order. Nothing is stored.
+ */
+@Service
+public class CurveScenarioService implements ICurveScenarioService {
+
+    static final int MAX_SCENARIOS = 100_000;
+    static final int MAX_TERMS = 10_000;
+    static final int CHUNK_SIZE = 256;
+
+    private final CurveCache curveCache;
+    private final ObjectMapper objectMapper;
+    private final double basisPoint;
+
+    public CurveScenarioService(CurveCache curveCache, ObjectMapper objectMapper,
+                                @Value("${app.curve.scenario.basis-point:0.01}") double basisPoint) {
+        this.curveCache = curveCache;
+        this.objectMapper = objectMapper;
+        this.basisPoint = basisPoint;
+    }
+
+    @Override
+    public CurveScenarios prepare(ScenarioRequest request) {
+        if (request == null || request.curveId() == null) {
+            throw new IllegalArgumentException("The curve ID is mandatory");
+        }
+        List<Double> terms = request.terms();
+        if (terms == null || terms.isEmpty() || terms.size() > MAX_TERMS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_TERMS + " terms are required");
+        }
+        if (terms.stream().anyMatch(term -> term == null || !Double.isFinite(term) || term < 0)) {
+            throw new IllegalArgumentException("Terms must be positive or zero");
+        }
+        if (!(request.maxBp() >= 0) || !Double.isFinite(request.maxBp())
+                || (request.maxBp() > 0 && !(request.stepBp() > 0))) {
+            throw new IllegalArgumentException("maxBp must be positive or zero and stepBp positive");
+        }
+        List<ScenarioType> types = request.types() == null || request.types().isEmpty()
+                ? List.of(ScenarioType.values())
+                : request.types().stream().filter(Objects::nonNull).distinct().toList();
+        long count = 2 * request.maxBp() / request.stepBp() >= MAX_SCENARIOS ? Long.MAX_VALUE
+                : CurveScenarios.count(types.size(), request.maxBp(), request.stepBp());
+        if (count > MAX_SCENARIOS) {
+            throw new IllegalArgumentException("At most " + MAX_SCENARIOS + " scenarios can be run at once");
+        }
+
+        Curve base = request.asOf() == null
+                ? curveCache.get(request.curveId())
+                : curveCache.getAsOf(request.curveId(), request.asOf());
+        if (base.isEmpty()) {
+            throw new IllegalArgumentException("Curve " + request.curveId() + " has no points");
+        }
+        double[] at = terms.stream().mapToDouble(Double::doubleValue).toArray();
+        Interpolation interpolation = request.interpolation() == null ? Interpolation.LINEAR : request.interpolation();
+        return new CurveScenarios(base, at, interpolation, types, request.maxBp(), request.stepBp(), basisPoint);
+    }
+
+    @Override
+    public long stream(CurveScenarios scenarios, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        // Writing the doubles costs more than computing them: use Jackson's faster double formatting
+        SequenceWriter json = objectMapper.writer()
+                .with(StreamWriteFeature.USE_FAST_DOUBLE_WRITER)
+                .withRootValueSeparator("\n")
+                .writeValues(writer);
+        for (int from = 0; from < scenarios.size(); from += CHUNK_SIZE) {
+            json.writeAll(scenarios.evaluate(from, Math.min(scenarios.size(), from + CHUNK_SIZE), true));
+            json.flush();
+        }
+        writer.write('\n');
+        writer.flush();
+        return scenarios.size();
+    }
+}
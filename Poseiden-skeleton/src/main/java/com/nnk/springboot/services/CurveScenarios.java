@@ -0,0 +1,95 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.Interpolation;
+import com.nnk.springboot.dto.ScenarioResult;
+import com.nnk.springboot.dto.ScenarioType;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A grid of shifted versions of one curve, read at fixed terms: for each {@link ScenarioType}, shifts from
+ * {@code -maxBp} to {@code +maxBp} by {@code stepBp}, numbered type by type. A scenario adds
+ * {@code shift * weight(x)} to every value of the base curve, {@code x} being the node's position over the
+ * curve's span, then interpolates the shifted curve. Scenarios only read shared arrays, so any number of
+ * threads can evaluate them.
+ */
+public final class CurveScenarios {
+
+    private final Curve base;
+    private final double[] terms;
+    private final Interpolation interpolation;
+    private final ScenarioType[] types;
+    private final double[] shiftsBp;
+    private final double basisPoint;
+    // Position of each node over the curve's span: 0 at the first term, 1 at the last
+    private final double[] positions;
+
+    /**
+     * {@code basisPoint} is the size of one basis point in the units of the curve values.
+     */
+    public CurveScenarios(Curve base, double[] terms, Interpolation interpolation, List<ScenarioType> types,
+                          double maxBp, double stepBp, double basisPoint) {
+        if (base.isEmpty()) {
+            throw new IllegalArgumentException("The curve has no points");
+        }
+        this.base = base;
+        this.terms = terms.clone();
+        this.interpolation = interpolation;
+        this.types = types.toArray(ScenarioType[]::new);
+        this.basisPoint = basisPoint;
+        int shifts = maxBp == 0 ? 1 : (int) Math.floor(2 * maxBp / stepBp + 1e-9) + 1;
+        this.shiftsBp = new double[shifts];
+        for (int k = 0; k < shifts; k++) {
+            shiftsBp[k] = -maxBp + k * stepBp;
+        }
+        double first = base.term(0);
+        double span = base.term(base.size() - 1) - first;
+        this.positions = new double[base.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = span == 0 ? 0 : (base.term(i) - first) / span;
+        }
+    }
+
+    /**
+     * Number of scenarios a grid of these dimensions holds, without building it.
+     */
+    public static long count(int types, double maxBp, double stepBp) {
+        return types * (maxBp == 0 ? 1 : (long) Math.floor(2 * maxBp / stepBp + 1e-9) + 1);
+    }
+
+    public int size() {
+        return types.length * shiftsBp.length;
+    }
+
+    public ScenarioResult evaluate(int scenario) {
+        ScenarioType type = types[scenario / shiftsBp.length];
+        double shiftBp = shiftsBp[scenario % shiftsBp.length];
+        double shift = shiftBp * basisPoint;
+        double[] values = new double[base.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = base.value(i) + shift * type.weight(positions[i]);
+        }
+        Curve shifted = base.withValues(values);
+        double[] read = new double[terms.length];
+        if (interpolation == Interpolation.MONOTONE_CUBIC) {
+            for (int j = 0; j < read.length; j++) {
+                read[j] = shifted.monotoneCubic(terms[j]);
+            }
+        } else {
+            for (int j = 0; j < read.length; j++) {
+                read[j] = shifted.linear(terms[j]);
+            }
+        }
+        return new ScenarioResult(scenario, type, shiftBp, read);
+    }
+
+    /**
+     * Scenarios {@code from} (inclusive) to {@code to} (exclusive) in scenario order, evaluated on the
+     * fork-join common pool when {@code parallel} is set.
+     */
+    public List<ScenarioResult> evaluate(int from, int to, boolean parallel) {
+        IntStream scenarios = IntStream.range(from, to);
+        return (parallel ? scenarios.parallel() : scenarios).mapToObj(this::evaluate).toList();
+    }
+}
@@ -0,0 +1,147 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.FileFormat;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables to an output stream row by row. Rows come from a fetch-size cursor
+ * and are detached once written, so memory use does not depend on the table size.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService implements IExportService {
+
+    private static final Map<String, Function<BidList, Object>> BID_LIST_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<Trade, Object>> TRADE_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        BID_LIST_COLUMNS.put("bidListId", BidList::getBidListId);
+        BID_LIST_COLUMNS.put("account", BidList::getAccount);
+        BID_LIST_COLUMNS.put("type", BidList::getType);
+        BID_LIST_COLUMNS.put("bidQuantity", BidList::getBidQuantity);
+        BID_LIST_COLUMNS.put("askQuantity", BidList::getAskQuantity);
+        BID_LIST_COLUMNS.put("bid", BidList::getBid);
+        BID_LIST_COLUMNS.put("ask", BidList::getAsk);
+        BID_LIST_COLUMNS.put("benchmark", BidList::getBenchmark);
+        BID_LIST_COLUMNS.put("bidListDate", BidList::getBidListDate);
+        BID_LIST_COLUMNS.put("commentary", BidList::getCommentary);
+        BID_LIST_COLUMNS.put("security", BidList::getSecurity);
+        BID_LIST_COLUMNS.put("status", BidList::getStatus);
+        BID_LIST_COLUMNS.put("trader", BidList::getTrader);
+        BID_LIST_COLUMNS.put("book", BidList::getBook);
+        BID_LIST_COLUMNS.put("creationName", BidList::getCreationName);
+        BID_LIST_COLUMNS.put("creationDate", BidList::getCreationDate);
+        BID_LIST_COLUMNS.put("revisionName", BidList::getRevisionName);
+        BID_LIST_COLUMNS.put("revisionDate", BidList::getRevisionDate);
+        BID_LIST_COLUMNS.put("dealName", BidList::getDealName);
+        BID_LIST_COLUMNS.put("dealType", BidList::getDealType);
+        BID_LIST_COLUMNS.put("sourceListId", BidList::getSourceListId);
+        BID_LIST_COLUMNS.put("side", BidList::getSide);
+
+        TRADE_COLUMNS.put("tradeId", Trade::getTradeId);
+        TRADE_COLUMNS.put("account", Trade::getAccount);
+        TRADE_COLUMNS.put("type", Trade::getType);
+        TRADE_COLUMNS.put("buyQuantity", Trade::getBuyQuantity);
+        TRADE_COLUMNS.put("sellQuantity", Trade::getSellQuantity);
+        TRADE_COLUMNS.put("buyPrice", Trade::getBuyPrice);
+        TRADE_COLUMNS.put("sellPrice", Trade::getSellPrice);
+        TRADE_COLUMNS.put("tradeDate", Trade::getTradeDate);
+        TRADE_COLUMNS.put("security", Trade::getSecurity);
+        TRADE_COLUMNS.put("status", Trade::getStatus);
+        TRADE_COLUMNS.put("trader", Trade::getTrader);
+        TRADE_COLUMNS.put("benchmark", Trade::getBenchmark);
+        TRADE_COLUMNS.put("book", Trade::getBook);
+        TRADE_COLUMNS.put("creationName", Trade::getCreationName);
+        TRADE_COLUMNS.put("creationDate", Trade::getCreationDate);
+        TRADE_COLUMNS.put("revisionName", Trade::getRevisionName);
+        TRADE_COLUMNS.put("revisionDate", Trade::getRevisionDate);
+        TRADE_COLUMNS.put("dealName", Trade::getDealName);
+        TRADE_COLUMNS.put("dealType", Trade::getDealType);
+        TRADE_COLUMNS.put("sourceListId", Trade::getSourceListId);
+        TRADE_COLUMNS.put("side", Trade::getSide);
+    }
+
+    private final BidListRepository bidListRepository;
+    private final TradeRepository tradeRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(BidListRepository bidListRepository,
+                         TradeRepository tradeRepository,
+                         EntityManager entityManager,
+                         ObjectMapper objectMapper) {
+        this.bidListRepository = bidListRepository;
+        this.tradeRepository = tradeRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public long exportBidLists(FileFormat format, OutputStream output) throws IOException {
+        try (Stream<BidList> rows = bidListRepository.streamAll()) {
+            return write(rows, BID_LIST_COLUMNS, format, output);
+        }
+    }
+
+    @Override
+    public long exportTrades(FileFormat format, OutputStream output) throws IOException {
+        try (Stream<Trade> rows = tradeRepository.streamAll()) {
+            return write(rows, TRADE_COLUMNS, format, output);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, Map<String, Function<T, Object>> columns,
+                           FileFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        long count = 0;
+        if (format == FileFormat.NDJSON) {
+            SequenceWriter json = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+            for (Iterator<T> it = rows.iterator(); it.hasNext(); count++) {
+                T row = it.next();
+                Map<String, Object> values = new LinkedHashMap<>();
+                columns.forEach((name, getter) -> values.put(name, getter.apply(row)));
+                json.write(values);
+                entityManager.detach(row);
+            }
+            json.flush();
+            writer.write('\n');
+        } else {
+            writer.write(String.join(",", columns.keySet()));
+            writer.write('\n');
+            for (Iterator<T> it = rows.iterator(); it.hasNext(); count++) {
+                T row = it.next();
+                StringBuilder line = new StringBuilder(256);
+                for (Function<T, Object> getter : columns.values()) {
+                    if (!line.isEmpty()) {
+                        line.append(',');
+                    }
+                    line.append(Csv.escape(getter.apply(row)));
+                }
+                writer.write(line.append('\n').toString());
+                entityManager.detach(row);
+            }
+        }
+        writer.flush();
+        return count;
+    }
+}
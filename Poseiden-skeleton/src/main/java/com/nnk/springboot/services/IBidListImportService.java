@@ -0,0 +1,12 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.FileFormat;
+import com.nnk.springboot.dto.ImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IBidListImportService {
+
+    ImportReport importBids(InputStream input, FileFormat format, String username) throws IOException;
+}
@@ -1,6 +1,10 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListFilter;
+import com.nnk.springboot.dto.BidListSummary;
+import com.nnk.springboot.dto.BulkResult;
+import com.nnk.springboot.dto.KeysetPage;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
@@ -13,6 +17,8 @@ public interface IBidListService {
 
     List<BidList> findAll();
 
+    KeysetPage<BidListSummary> findSummaryPage(BidListFilter filter, String sortBy, String direction, Integer afterId, String afterKey, int size);
+
     Optional<BidList> findById(@NotNull Integer id);
 
     BidList create(@Valid BidList bidList);
@@ -20,4 +26,8 @@ public interface IBidListService {
     BidList update(@NotNull Integer id, @Valid BidList bidList);
 
     void deleteById(Integer id, UserDetails userDetails);
-}
\ No newline at end of file
+
+    BulkResult deleteAll(List<Integer> ids, UserDetails userDetails);
+
+    BulkResult updateStatus(List<Integer> ids, String status, UserDetails userDetails);
+}
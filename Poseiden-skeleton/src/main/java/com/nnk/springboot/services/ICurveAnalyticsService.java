@@ -0,0 +1,10 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.CurveAnalytics;
+
+public interface ICurveAnalyticsService {
+
+    CurveBootstrap bootstrap(Integer curveId);
+
+    CurveAnalytics analytics(Integer curveId);
+}
@@ -1,9 +1,11 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.dto.CurveNode;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +22,7 @@ public interface ICurvePointService {
     CurvePoint update(@NotNull Integer id, @Valid CurvePoint curvePoint);
 
     void deleteById(Integer id, UserDetails userDetails);
+
+    int replaceCurve(@NotNull Integer curveId, List<@Valid CurveNode> points, LocalDateTime asOfDate,
+                     UserDetails userDetails);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.ScenarioRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ICurveScenarioService {
+
+    CurveScenarios prepare(ScenarioRequest request);
+
+    long stream(CurveScenarios scenarios, OutputStream output) throws IOException;
+}
@@ -0,0 +1,13 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.FileFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IExportService {
+
+    long exportBidLists(FileFormat format, OutputStream output) throws IOException;
+
+    long exportTrades(FileFormat format, OutputStream output) throws IOException;
+}
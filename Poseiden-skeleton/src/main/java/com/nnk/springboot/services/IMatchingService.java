@@ -0,0 +1,8 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.MatchReport;
+
+public interface IMatchingService {
+
+    MatchReport match(String username);
+}
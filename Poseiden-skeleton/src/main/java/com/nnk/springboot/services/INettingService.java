@@ -0,0 +1,10 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.NettingReport;
+
+import java.time.LocalDate;
+
+public interface INettingService {
+
+    NettingReport findNetting(LocalDate day);
+}
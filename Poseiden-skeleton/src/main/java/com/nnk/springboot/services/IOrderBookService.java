@@ -0,0 +1,16 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.OrderBookSnapshot;
+import com.nnk.springboot.dto.TopOfBook;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IOrderBookService {
+
+    Optional<TopOfBook> findTopOfBook(String security);
+
+    Optional<OrderBookSnapshot> findDepth(String security, int levels);
+
+    List<TopOfBook> findAllTopOfBook();
+}
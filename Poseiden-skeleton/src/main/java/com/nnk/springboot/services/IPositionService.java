@@ -0,0 +1,13 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.Position;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IPositionService {
+
+    List<Position> findPositions(String account, String book, String security);
+
+    Optional<Position> findPosition(String account, String book, String security);
+}
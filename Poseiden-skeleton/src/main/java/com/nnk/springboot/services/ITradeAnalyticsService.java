@@ -0,0 +1,12 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.BucketWidth;
+import com.nnk.springboot.dto.TradeBucket;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ITradeAnalyticsService {
+
+    List<TradeBucket> findBuckets(String security, BucketWidth width, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,13 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ITradeArchiveService {
+
+    long archive();
+
+    List<Trade> findByTradeDate(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.CaptureReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ITradeCaptureService {
+
+    CaptureReport capture(InputStream input, String username, OutputStream acks) throws IOException;
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.ReconciliationKey;
+import com.nnk.springboot.dto.ReconciliationReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ITradeReconciliationService {
+
+    ReconciliationReport reconcile(InputStream input, ReconciliationKey key) throws IOException;
+}
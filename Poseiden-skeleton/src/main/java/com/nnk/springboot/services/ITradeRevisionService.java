@@ -0,0 +1,20 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeAmendment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ITradeRevisionService {
+
+    void recordUpdate(Trade current, Trade next);
+
+    void recordStatusChange(Map<Integer, String> previousStatuses, String status, String username, LocalDateTime now);
+
+    List<TradeAmendment> findRevisions(Integer tradeId);
+
+    Optional<Trade> findAsOf(Integer tradeId, int revision);
+}
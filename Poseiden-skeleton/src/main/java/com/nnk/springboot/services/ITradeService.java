@@ -1,9 +1,12 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.BulkResult;
+import com.nnk.springboot.dto.TradeCreation;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,9 +16,19 @@ public interface ITradeService {
 
     Optional<Trade> findById(@NotNull Integer id);
 
-    Trade create(@Valid Trade trade);
+    List<Trade> findByTradeDate(LocalDateTime from, LocalDateTime to);
+
+    TradeCreation create(@Valid Trade trade);
+
+    List<Trade> createAll(@NotNull List<@Valid Trade> trades);
 
     Trade update(@NotNull Integer id, @Valid Trade trade);
 
     void deleteById(@NotNull Integer id);
-}
\ No newline at end of file
+
+    BulkResult deleteAll(List<Integer> ids);
+
+    BulkResult updateStatus(List<Integer> ids, String status, String username);
+
+    long settleAll(@NotNull LocalDateTime tradedBefore, String username);
+}
@@ -0,0 +1,9 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.SnapshotQuery;
+import com.nnk.springboot.dto.SnapshotReport;
+
+public interface ITradeSnapshotService {
+
+    SnapshotReport aggregate(SnapshotQuery query);
+}
@@ -0,0 +1,158 @@
+package com.nnk.springboot.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Continuous price-time priority matching, sharded by security.
+ * Each security hashes to one shard and a shard is matched by a single thread, so a book only ever has
+ * one writer and needs no locking. Orders are matched in the order they are given (their time priority);
+ * a crossing order trades at the price of the resting order, best price first, oldest first within a price.
+ */
+public final class MatchingEngine implements AutoCloseable {
+
+    public enum Side { BUY, SELL }
+
+    public record Order(int orderId, String security, Side side, double price, double quantity) {
+    }
+
+    public record Fill(String security, int buyOrderId, int sellOrderId, double price, double quantity) {
+    }
+
+    private final int shards;
+    private final double minQuantity;
+    private final ExecutorService executor;
+
+    /**
+     * @param shards      number of shards, i.e. threads matching in parallel
+     * @param minQuantity orders and residuals below this quantity are not matched
+     */
+    public MatchingEngine(int shards, double minQuantity) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = shards;
+        this.minQuantity = minQuantity;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(shards, task -> {
+            Thread thread = new Thread(task, "matching-shard-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    /**
+     * Matches the orders against empty books and returns the fills, grouped by shard and in match order within a shard.
+     */
+    public List<Fill> match(Collection<Order> orders) {
+        List<List<Order>> partitions = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            partitions.add(new ArrayList<>(orders.size() / shards + 16));
+        }
+        for (Order order : orders) {
+            partitions.get(Math.floorMod(order.security().hashCode(), shards)).add(order);
+        }
+
+        List<Future<List<Fill>>> results = new ArrayList<>(shards);
+        for (List<Order> partition : partitions) {
+            if (!partition.isEmpty()) {
+                results.add(executor.submit(() -> matchShard(partition)));
+            }
+        }
+
+        List<Fill> fills = new ArrayList<>();
+        for (Future<List<Fill>> result : results) {
+            try {
+                fills.addAll(result.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Matching interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Matching failed", e.getCause());
+            }
+        }
+        return fills;
+    }
+
+    private List<Fill> matchShard(List<Order> orders) {
+        Map<String, Book> books = new HashMap<>();
+        List<Fill> fills = new ArrayList<>();
+        for (Order order : orders) {
+            if (order.quantity() >= minQuantity) {
+                books.computeIfAbsent(order.security(), security -> new Book()).match(order, fills);
+            }
+        }
+        return fills;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Resting orders of one security: price levels best first, each level a FIFO queue.
+     */
+    private final class Book {
+        private final TreeMap<Double, ArrayDeque<Resting>> bids = new TreeMap<>(Comparator.reverseOrder());
+        private final TreeMap<Double, ArrayDeque<Resting>> asks = new TreeMap<>();
+
+        void match(Order order, List<Fill> fills) {
+            boolean buy = order.side() == Side.BUY;
+            TreeMap<Double, ArrayDeque<Resting>> opposite = buy ? asks : bids;
+            double remaining = order.quantity();
+
+            while (remaining >= minQuantity && !opposite.isEmpty()) {
+                Map.Entry<Double, ArrayDeque<Resting>> best = opposite.firstEntry();
+                double price = best.getKey();
+                if (buy ? price > order.price() : price < order.price()) {
+                    break;
+                }
+                ArrayDeque<Resting> queue = best.getValue();
+                Resting resting = queue.peekFirst();
+                double quantity = Math.min(remaining, resting.remaining);
+                fills.add(buy
+                        ? new Fill(order.security(), order.orderId(), resting.orderId, price, quantity)
+                        : new Fill(order.security(), resting.orderId, order.orderId(), price, quantity));
+                remaining -= quantity;
+                resting.remaining -= quantity;
+                if (resting.remaining < minQuantity) {
+                    queue.pollFirst();
+                    if (queue.isEmpty()) {
+                        opposite.pollFirstEntry();
+                    }
+                }
+            }
+
+            if (remaining >= minQuantity) {
+                (buy ? bids : asks).computeIfAbsent(order.price(), p -> new ArrayDeque<>())
+                        .addLast(new Resting(order.orderId(), remaining));
+            }
+        }
+    }
+
+    private static final class Resting {
+        private final int orderId;
+        private double remaining;
+
+        Resting(int orderId, double remaining) {
+            this.orderId = orderId;
+            this.remaining = remaining;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.BidListQuote;
+import com.nnk.springboot.dto.MatchReport;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.services.MatchingEngine.Fill;
+import com.nnk.springboot.services.MatchingEngine.Order;
+import com.nnk.springboot.services.MatchingEngine.Side;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Crosses the bids and asks of bid_list and books the fills as trades.
+ * Rows are read through a cursor, oldest first, and matched in memory by {@link MatchingEngine}.
+ * The write runs in one transaction: the filled rows are locked and checked against what was read,
+ * their quantities reduced, then two trades per fill (buyer and seller side) are saved in batches.
+ * A row changed by someone else in the meantime rolls the whole run back.
+ */
+@Service
+public class MatchingService implements IMatchingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchingService.class);
+
+    // Smallest quantity and price a Trade accepts
+    static final double MIN_QUANTITY = 0.01;
+    static final double MIN_PRICE = 0.0001;
+    static final String DEAL_TYPE = "MATCH";
+
+    private static final Pattern TRADE_ACCOUNT = Pattern.compile("[A-Za-z0-9]{1,30}");
+    private static final int LOCK_CHUNK_SIZE = 1000;
+
+    private final BidListRepository bidListRepository;
+    private final ITradeService tradeService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transactionTemplate;
+    private final MatchingEngine engine;
+    private final int tradeBatchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public MatchingService(BidListRepository bidListRepository,
+                           ITradeService tradeService,
+                           EntityManager entityManager,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.matching.shards:0}") int shards,
+                           @Value("${app.matching.trade-batch-size:1000}") int tradeBatchSize) {
+        this.bidListRepository = bidListRepository;
+        this.tradeService = tradeService;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.engine = new MatchingEngine(shards > 0 ? shards : Runtime.getRuntime().availableProcessors(), MIN_QUANTITY);
+        this.tradeBatchSize = Math.max(1, tradeBatchSize);
+    }
+
+    @PreDestroy
+    public void close() {
+        engine.close();
+    }
+
+    @Override
+    public MatchReport match(String username) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A matching run is already in progress");
+        }
+        try {
+            long start = System.nanoTime();
+            Map<Integer, Row> rows = new HashMap<>();
+            List<Order> orders = new ArrayList<>();
+            long[] read = {0, 0};
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<BidList> matchable = bidListRepository.streamMatchable()) {
+                    matchable.forEach(bidList -> {
+                        read[0]++;
+                        if (!addOrders(bidList, rows, orders)) {
+                            read[1]++;
+                        }
+                        entityManager.detach(bidList);
+                    });
+                }
+            });
+
+            List<Fill> fills = engine.match(orders);
+            Written written = fills.isEmpty() ? new Written(0, 0)
+                    : transactionTemplate.execute(status -> write(rows, fills, username));
+
+            MatchReport report = new MatchReport(read[0], read[1], fills.size(), written.tradesCreated(),
+                    written.bidListsUpdated(), engine.getShards(), (System.nanoTime() - start) / 1_000_000);
+            logger.info("Matching run by {}: {}", username, report);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Turns each quoted side of a row into an order. Returns false when the row cannot be booked as a trade
+     * (account rejected by Trade, or a bid at or above its own ask).
+     */
+    private static boolean addOrders(BidList bidList, Map<Integer, Row> rows, List<Order> orders) {
+        BidListQuote quote = BidListQuote.of(bidList);
+        if (!quote.isQuoted() || bidList.getAccount() == null || !TRADE_ACCOUNT.matcher(bidList.getAccount()).matches()
+                || quote.hasBid() && quote.hasAsk() && quote.bid() >= quote.ask()) {
+            return false;
+        }
+        int size = orders.size();
+        if (quote.hasBid() && quote.bid() >= MIN_PRICE) {
+            orders.add(new Order(quote.bidListId(), quote.security(), Side.BUY, quote.bid(), quote.bidQuantity()));
+        }
+        if (quote.hasAsk() && quote.ask() >= MIN_PRICE) {
+            orders.add(new Order(quote.bidListId(), quote.security(), Side.SELL, quote.ask(), quote.askQuantity()));
+        }
+        if (orders.size() == size) {
+            return false;
+        }
+        rows.put(quote.bidListId(), new Row(quote, bidList.getAccount(), bidList.getType(),
+                bidList.getBook(), bidList.getTrader()));
+        return true;
+    }
+
+    private Written write(Map<Integer, Row> rows, List<Fill> fills, String username) {
+        // Filled quantity per row: [bought, sold]
+        Map<Integer, double[]> filled = new HashMap<>();
+        for (Fill fill : fills) {
+            filled.computeIfAbsent(fill.buyOrderId(), id -> new double[2])[0] += fill.quantity();
+            filled.computeIfAbsent(fill.sellOrderId(), id -> new double[2])[1] += fill.quantity();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> ids = new ArrayList<>(filled.keySet());
+        for (int from = 0; from < ids.size(); from += LOCK_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + LOCK_CHUNK_SIZE, ids.size()));
+            List<BidList> locked = bidListRepository.findAllForUpdate(chunk);
+            if (locked.size() != chunk.size()) {
+                throw new OptimisticLockingFailureException("Bid lists were deleted during matching");
+            }
+            for (BidList bidList : locked) {
+                if (!rows.get(bidList.getBidListId()).quote().equals(BidListQuote.of(bidList))) {
+                    throw new OptimisticLockingFailureException(
+                            "BidList " + bidList.getBidListId() + " changed during matching");
+                }
+                double[] quantities = filled.get(bidList.getBidListId());
+                if (quantities[0] > 0) {
+                    bidList.setBidQuantity(residual(bidList.getBidQuantity(), quantities[0]));
+                }
+                if (quantities[1] > 0) {
+                    bidList.setAskQuantity(residual(bidList.getAskQuantity(), quantities[1]));
+                }
+                bidList.setRevisionName(username);
+                bidList.setRevisionDate(now);
+                eventPublisher.publishEvent(BidListChangedEvent.saved(bidList));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        // sourceListId is unique per trade: run id, fill number and side
+        String run = DEAL_TYPE + "-" + UUID.randomUUID() + "-";
+        List<Trade> batch = new ArrayList<>(tradeBatchSize);
+        int created = 0;
+        for (int i = 0; i < fills.size(); i++) {
+            Fill fill = fills.get(i);
+            batch.add(trade(rows.get(fill.buyOrderId()), Side.BUY, fill, username, now, run + i + "-B"));
+            batch.add(trade(rows.get(fill.sellOrderId()), Side.SELL, fill, username, now, run + i + "-S"));
+            if (batch.size() >= tradeBatchSize) {
+                created += saveTrades(batch);
+                batch = new ArrayList<>(tradeBatchSize);
+            }
+        }
+        created += saveTrades(batch);
+        return new Written(ids.size(), created);
+    }
+
+    private int saveTrades(List<Trade> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int saved = tradeService.createAll(batch).size();
+        entityManager.flush();
+        entityManager.clear();
+        return saved;
+    }
+
+    /**
+     * Quantity left after the fills, without the rounding noise of summing doubles.
+     */
+    private static double residual(double quantity, double filled) {
+        double left = quantity - filled;
+        return left < 1e-9 ? 0.0 : left;
+    }
+
+    private static Trade trade(Row row, Side side, Fill fill, String username, LocalDateTime now,
+                               String sourceListId) {
+        Trade trade = new Trade(row.account(), row.type());
+        if (side == Side.BUY) {
+            trade.setBuyQuantity(fill.quantity());
+            trade.setBuyPrice(fill.price());
+        } else {
+            trade.setSellQuantity(fill.quantity());
+            trade.setSellPrice(fill.price());
+        }
+        trade.setSecurity(fill.security());
+        trade.setBook(row.book());
+        trade.setTrader(row.trader());
+        trade.setSide(side.name());
+        trade.setTradeDate(now);
+        trade.setCreationName(username);
+        trade.setDealType(DEAL_TYPE);
+        trade.setDealName(fill.buyOrderId() + "/" + fill.sellOrderId());
+        trade.setSourceListId(sourceListId);
+        return trade;
+    }
+
+    /**
+     * What the run read from a row: the quote it matched and the fields copied to its trades.
+     */
+    private record Written(int bidListsUpdated, int tradesCreated) {
+    }
+
+    private record Row(BidListQuote quote, String account, String type, String book, String trader) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.NettingReport;
+import com.nnk.springboot.dto.TradeFill;
+import com.nnk.springboot.repositories.ArchivedTradeRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Nets the buys and sells of a day per (account, book, security). The day's trades, live and archived, are
+ * streamed into a {@link NettingSnapshot} and summed in parallel. Both tables are read in one repeatable-read
+ * transaction, so a trade archived meanwhile is counted once. Cancelled trades are left out.
+ */
+@Service
+public class NettingService implements INettingService {
+
+    private final TradeRepository tradeRepository;
+    private final ArchivedTradeRepository archivedTradeRepository;
+
+    public NettingService(TradeRepository tradeRepository, ArchivedTradeRepository archivedTradeRepository) {
+        this.tradeRepository = tradeRepository;
+        this.archivedTradeRepository = archivedTradeRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public NettingReport findNetting(LocalDate day) {
+        if (day == null) {
+            throw new IllegalArgumentException("The day is mandatory");
+        }
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+        NettingSnapshot snapshot = new NettingSnapshot();
+        try (Stream<TradeFill> rows = tradeRepository.streamFillsByTradeDate(from, to)) {
+            rows.forEach(snapshot::add);
+        }
+        try (Stream<TradeFill> rows = archivedTradeRepository.streamFillsByTradeDate(from, to)) {
+            rows.forEach(snapshot::add);
+        }
+        return new NettingReport(day, snapshot.size(), snapshot.net(true));
+    }
+}
@@ -0,0 +1,136 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.NettingLine;
+import com.nnk.springboot.dto.TradeFill;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Columnar copy of the fills to net: one int and four doubles per trade, in parallel arrays.
+ * The (account, book, security) of a trade is stored as the index of its group, so the strings are held once
+ * per group, not once per trade. {@link #net} sums the columns with a parallel reduction: each split of the
+ * trades accumulates into its own primitive arrays, one slot per group, and the splits are added together.
+ * Not thread-safe while filling; {@link #net} may be called concurrently once filled.
+ */
+public final class NettingSnapshot {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final Comparator<Key> KEY_ORDER =
+            Comparator.comparing(Key::account, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Key::book, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Key::security, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final Map<Key, Integer> groupIndexes = new HashMap<>();
+    private final List<Key> groups = new ArrayList<>();
+
+    private int size;
+    private int[] group = new int[INITIAL_CAPACITY];
+    private double[] buyQuantity = new double[INITIAL_CAPACITY];
+    private double[] buyNotional = new double[INITIAL_CAPACITY];
+    private double[] sellQuantity = new double[INITIAL_CAPACITY];
+    private double[] sellNotional = new double[INITIAL_CAPACITY];
+
+    public void add(TradeFill fill) {
+        if (size == group.length) {
+            int capacity = size * 2;
+            group = Arrays.copyOf(group, capacity);
+            buyQuantity = Arrays.copyOf(buyQuantity, capacity);
+            buyNotional = Arrays.copyOf(buyNotional, capacity);
+            sellQuantity = Arrays.copyOf(sellQuantity, capacity);
+            sellNotional = Arrays.copyOf(sellNotional, capacity);
+        }
+        group[size] = groupIndexes.computeIfAbsent(new Key(fill.account(), fill.book(), fill.security()), key -> {
+            groups.add(key);
+            return groups.size() - 1;
+        });
+        if (fill.hasBuy()) {
+            buyQuantity[size] = fill.buyQuantity();
+            buyNotional[size] = fill.buyQuantity() * fill.buyPrice();
+        }
+        if (fill.hasSell()) {
+            sellQuantity[size] = fill.sellQuantity();
+            sellNotional[size] = fill.sellQuantity() * fill.sellPrice();
+        }
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * One line per group, by account, book then security. The sums of a parallel run may differ from a
+     * sequential one in the last bits, as the trades are added in another order.
+     */
+    public List<NettingLine> net(boolean parallel) {
+        IntStream trades = IntStream.range(0, size);
+        Sums sums = (parallel ? trades.parallel() : trades)
+                .collect(() -> new Sums(groups.size()), this::accumulate, Sums::merge);
+
+        List<Integer> order = new ArrayList<>(groups.size());
+        for (int i = 0; i < groups.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing(groups::get, KEY_ORDER));
+
+        List<NettingLine> lines = new ArrayList<>(groups.size());
+        for (int i : order) {
+            Key key = groups.get(i);
+            double bought = sums.buyQuantity[i];
+            double sold = sums.sellQuantity[i];
+            double paid = sums.buyNotional[i];
+            double received = sums.sellNotional[i];
+            lines.add(new NettingLine(key.account(), key.book(), key.security(), sums.trades[i],
+                    bought, sold, bought - sold, paid, received, paid - received));
+        }
+        return lines;
+    }
+
+    private void accumulate(Sums sums, int trade) {
+        int i = group[trade];
+        sums.trades[i]++;
+        sums.buyQuantity[i] += buyQuantity[trade];
+        sums.buyNotional[i] += buyNotional[trade];
+        sums.sellQuantity[i] += sellQuantity[trade];
+        sums.sellNotional[i] += sellNotional[trade];
+    }
+
+    private record Key(String account, String book, String security) {
+    }
+
+    /**
+     * Per-group totals of one split of the trades.
+     */
+    private static final class Sums {
+        private final long[] trades;
+        private final double[] buyQuantity;
+        private final double[] buyNotional;
+        private final double[] sellQuantity;
+        private final double[] sellNotional;
+
+        Sums(int groups) {
+            trades = new long[groups];
+            buyQuantity = new double[groups];
+            buyNotional = new double[groups];
+            sellQuantity = new double[groups];
+            sellNotional = new double[groups];
+        }
+
+        void merge(Sums other) {
+            for (int i = 0; i < trades.length; i++) {
+                trades[i] += other.trades[i];
+                buyQuantity[i] += other.buyQuantity[i];
+                buyNotional[i] += other.buyNotional[i];
+                sellQuantity[i] += other.sellQuantity[i];
+                sellNotional[i] += other.sellNotional[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.BidListQuote;
+import com.nnk.springboot.dto.OrderBookSnapshot;
+import com.nnk.springboot.dto.PriceLevel;
+import com.nnk.springboot.dto.TopOfBook;
+import com.nnk.springboot.repositories.BidListRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory bid/ask book per security, built from the bid list rows.
+ * Writers (committed changes, startup load) serialize on this object and then publish a new immutable
+ * {@link OrderBookSnapshot} for each security they touched. Readers only look up the latest snapshot
+ * in a concurrent map, so they never lock and never reach the database.
+ */
+@Service
+public class OrderBookService implements IOrderBookService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderBookService.class);
+
+    private final BidListRepository bidListRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<String, OrderBookSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    // Writer state, guarded by this
+    private final Map<Integer, BidListQuote> quotes = new HashMap<>();
+    private final Map<String, Book> books = new HashMap<>();
+    private Set<Integer> changedWhileLoading;
+
+    public OrderBookService(BidListRepository bidListRepository, PlatformTransactionManager transactionManager) {
+        this.bidListRepository = bidListRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public Optional<TopOfBook> findTopOfBook(String security) {
+        return Optional.ofNullable(snapshots.get(security)).map(OrderBookSnapshot::top);
+    }
+
+    @Override
+    public Optional<OrderBookSnapshot> findDepth(String security, int levels) {
+        return Optional.ofNullable(snapshots.get(security)).map(snapshot -> snapshot.limit(Math.max(1, levels)));
+    }
+
+    @Override
+    public List<TopOfBook> findAllTopOfBook() {
+        return snapshots.values().stream()
+                .map(OrderBookSnapshot::top)
+                .sorted(Comparator.comparing(TopOfBook::security))
+                .toList();
+    }
+
+    /**
+     * Loads every quoted row once the application is up. Rows changed by a commit while the load
+     * is running keep the committed version instead of the one read by the load.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            changedWhileLoading = new HashSet<>();
+        }
+        long[] loaded = {0};
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<BidListQuote> rows = bidListRepository.streamQuotes()) {
+                rows.forEach(quote -> {
+                    synchronized (this) {
+                        if (!changedWhileLoading.contains(quote.bidListId()) && quote.isQuoted()) {
+                            put(quote.bidListId(), quote);
+                            loaded[0]++;
+                        }
+                    }
+                });
+            }
+        });
+        synchronized (this) {
+            changedWhileLoading = null;
+            books.keySet().forEach(this::publish);
+        }
+        logger.info("Order book loaded: {} quotes over {} securities", loaded[0], snapshots.size());
+    }
+
+    /**
+     * Applies a bid list change once its transaction has committed, so the book never shows rolled back data.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBidListChanged(BidListChangedEvent event) {
+        if (event.bidListId() == null) {
+            return;
+        }
+        if (changedWhileLoading != null) {
+            changedWhileLoading.add(event.bidListId());
+        }
+        BidListQuote next = event.quote() != null && event.quote().isQuoted() ? event.quote() : null;
+        Set<String> touched = put(event.bidListId(), next);
+        touched.forEach(this::publish);
+    }
+
+    /**
+     * Replaces the contribution of one row and returns the securities whose book changed.
+     */
+    private Set<String> put(Integer bidListId, BidListQuote next) {
+        Set<String> touched = new HashSet<>(2);
+        BidListQuote previous = next == null ? quotes.remove(bidListId) : quotes.put(bidListId, next);
+        if (previous != null) {
+            Book book = books.get(previous.security());
+            book.add(previous, -1);
+            if (book.isEmpty()) {
+                books.remove(previous.security());
+            }
+            touched.add(previous.security());
+        }
+        if (next != null) {
+            books.computeIfAbsent(next.security(), security -> new Book()).add(next, 1);
+            touched.add(next.security());
+        }
+        return touched;
+    }
+
+    private void publish(String security) {
+        Book book = books.get(security);
+        if (book == null) {
+            snapshots.remove(security);
+            return;
+        }
+        List<PriceLevel> bids = book.levels(book.bids);
+        List<PriceLevel> asks = book.levels(book.asks);
+        TopOfBook top = new TopOfBook(security,
+                bids.isEmpty() ? null : bids.get(0),
+                asks.isEmpty() ? null : asks.get(0),
+                bids.size(), asks.size(), total(bids), total(asks), Instant.now());
+        snapshots.put(security, new OrderBookSnapshot(top, bids, asks));
+    }
+
+    private static double total(List<PriceLevel> levels) {
+        double total = 0;
+        for (PriceLevel level : levels) {
+            total += level.quantity();
+        }
+        return total;
+    }
+
+    /**
+     * Mutable price levels of one security, only touched by writers.
+     */
+    private static final class Book {
+        private final TreeMap<Double, Level> bids = new TreeMap<>(Comparator.reverseOrder());
+        private final TreeMap<Double, Level> asks = new TreeMap<>();
+
+        void add(BidListQuote quote, int sign) {
+            if (quote.hasBid()) {
+                adjust(bids, quote.bid(), quote.bidQuantity(), sign);
+            }
+            if (quote.hasAsk()) {
+                adjust(asks, quote.ask(), quote.askQuantity(), sign);
+            }
+        }
+
+        private static void adjust(TreeMap<Double, Level> side, double price, double quantity, int sign) {
+            Level level = side.computeIfAbsent(price, p -> new Level());
+            level.quantity += sign * quantity;
+            level.orders += sign;
+            if (level.orders <= 0) {
+                side.remove(price);
+            }
+        }
+
+        boolean isEmpty() {
+            return bids.isEmpty() && asks.isEmpty();
+        }
+
+        List<PriceLevel> levels(TreeMap<Double, Level> side) {
+            List<PriceLevel> levels = new ArrayList<>(side.size());
+            side.forEach((price, level) -> levels.add(new PriceLevel(price, level.quantity, level.orders)));
+            return List.copyOf(levels);
+        }
+    }
+
+    private static final class Level {
+        private double quantity;
+        private int orders;
+    }
+}
@@ -0,0 +1,280 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.Position;
+import com.nnk.springboot.dto.TradeFill;
+import com.nnk.springboot.repositories.ArchivedTradeRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * In-memory positions per (account, book, security), built from the trade rows.
+ * Each position only keeps the quantity and notional bought and sold, as exact decimals, so a trade
+ * is folded in or taken out by adding or subtracting its own contribution: an update or a delete never
+ * replays other trades. Writers serialize on this object and publish an immutable {@link Position};
+ * readers only look up the published positions, so a request never reaches the database.
+ * Archived trades still count: the startup load reads the archive as well, and archival changes nothing here.
+ * Cancelled trades do not: the load skips them, and a cancellation takes the trade out like a delete.
+ */
+@Service
+public class PositionService implements IPositionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PositionService.class);
+
+    private final TradeRepository tradeRepository;
+    private final ArchivedTradeRepository archivedTradeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int loadThreads;
+
+    private final Map<Key, Position> positions = new ConcurrentHashMap<>();
+
+    // Writer state, guarded by this
+    private final Map<Integer, TradeFill> fills = new HashMap<>();
+    private final Map<Key, Totals> totals = new HashMap<>();
+    private Set<Integer> changedWhileLoading;
+
+    public PositionService(TradeRepository tradeRepository,
+                           ArchivedTradeRepository archivedTradeRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.position.load-threads:4}") int loadThreads) {
+        this.tradeRepository = tradeRepository;
+        this.archivedTradeRepository = archivedTradeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.loadThreads = Math.max(1, loadThreads);
+    }
+
+    @Override
+    public List<Position> findPositions(String account, String book, String security) {
+        return positions.values().stream()
+                .filter(p -> account == null || account.equals(p.account()))
+                .filter(p -> book == null || book.equals(p.book()))
+                .filter(p -> security == null || security.equals(p.security()))
+                .sorted(Comparator.comparing(Position::account, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Position::book, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Position::security, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    @Override
+    public Optional<Position> findPosition(String account, String book, String security) {
+        return Optional.ofNullable(positions.get(new Key(account, book, security)));
+    }
+
+    /**
+     * Rebuilds every position once the application is up. The trade ids, live and archived, are split into
+     * ranges read and folded in parallel, each in its own read-only transaction; the partial totals are then summed.
+     * Trades changed by a commit while the load is running keep the committed version.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            changedWhileLoading = new HashSet<>();
+        }
+        Integer min = readOnlyTransaction.execute(status ->
+                bound(tradeRepository.findMinId(), archivedTradeRepository.findMinId(), Math::min));
+        Integer max = readOnlyTransaction.execute(status ->
+                bound(tradeRepository.findMaxId(), archivedTradeRepository.findMaxId(), Math::max));
+        long loaded = 0;
+        if (min != null && max != null) {
+            long span = (long) max - min + 1;
+            int ranges = (int) Math.min(loadThreads, span);
+            long step = (span + ranges - 1) / ranges;
+            ExecutorService executor = Executors.newFixedThreadPool(ranges);
+            try {
+                List<Future<Partial>> partials = new ArrayList<>(ranges);
+                for (long from = min; from <= max; from += step) {
+                    int lower = (int) from;
+                    int upper = (int) Math.min(max, from + step - 1);
+                    partials.add(executor.submit(() -> readRange(lower, upper)));
+                }
+                for (Future<Partial> partial : partials) {
+                    loaded += merge(partial.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Position load interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Position load failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        synchronized (this) {
+            changedWhileLoading = null;
+            List.copyOf(totals.keySet()).forEach(this::publish);
+        }
+        logger.info("Positions loaded: {} trades over {} positions", loaded, positions.size());
+    }
+
+    private static Integer bound(Integer live, Integer archived, BinaryOperator<Integer> pick) {
+        return live == null ? archived : archived == null ? live : pick.apply(live, archived);
+    }
+
+    private Partial readRange(int from, int to) {
+        Partial partial = new Partial();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TradeFill> rows = tradeRepository.streamFills(from, to)) {
+                rows.forEach(partial::add);
+            }
+            try (Stream<TradeFill> rows = archivedTradeRepository.streamFills(from, to)) {
+                rows.forEach(partial::add);
+            }
+        });
+        return partial;
+    }
+
+    private synchronized long merge(Partial partial) {
+        for (Integer tradeId : changedWhileLoading) {
+            TradeFill stale = partial.fills.remove(tradeId);
+            if (stale != null) {
+                partial.totals.get(Key.of(stale)).add(stale, -1);
+            }
+        }
+        fills.putAll(partial.fills);
+        partial.totals.forEach((key, part) -> totals.computeIfAbsent(key, k -> new Totals()).add(part));
+        totals.values().removeIf(Totals::isEmpty);
+        return partial.fills.size();
+    }
+
+    /**
+     * Applies a trade change once its transaction has committed, so positions never show rolled back trades.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTradeChanged(TradeChangedEvent event) {
+        if (event.tradeId() == null) {
+            return;
+        }
+        if (changedWhileLoading != null) {
+            changedWhileLoading.add(event.tradeId());
+        }
+        TradeFill next = event.fill();
+        TradeFill previous = next == null ? fills.remove(event.tradeId()) : fills.put(event.tradeId(), next);
+        Set<Key> touched = new HashSet<>(2);
+        if (previous != null) {
+            Key key = Key.of(previous);
+            totals.get(key).add(previous, -1);
+            touched.add(key);
+        }
+        if (next != null) {
+            Key key = Key.of(next);
+            totals.computeIfAbsent(key, k -> new Totals()).add(next, 1);
+            touched.add(key);
+        }
+        touched.forEach(this::publish);
+    }
+
+    private void publish(Key key) {
+        Totals position = totals.get(key);
+        if (position == null || position.isEmpty()) {
+            totals.remove(key);
+            positions.remove(key);
+            return;
+        }
+        positions.put(key, position.toPosition(key));
+    }
+
+    private record Key(String account, String book, String security) {
+
+        static Key of(TradeFill fill) {
+            return new Key(fill.account(), fill.book(), fill.security());
+        }
+    }
+
+    /**
+     * Trades and totals read from one id range by the startup load.
+     */
+    private static final class Partial {
+        private final Map<Integer, TradeFill> fills = new HashMap<>();
+        private final Map<Key, Totals> totals = new HashMap<>();
+
+        void add(TradeFill fill) {
+            // A trade archived during the load can be read from both tables
+            if (fills.putIfAbsent(fill.tradeId(), fill) == null) {
+                totals.computeIfAbsent(Key.of(fill), key -> new Totals()).add(fill, 1);
+            }
+        }
+    }
+
+    /**
+     * Sums of one position. BigDecimal keeps adding then removing a trade exact.
+     */
+    private static final class Totals {
+        private long trades;
+        private BigDecimal bought = BigDecimal.ZERO;
+        private BigDecimal boughtNotional = BigDecimal.ZERO;
+        private BigDecimal sold = BigDecimal.ZERO;
+        private BigDecimal soldNotional = BigDecimal.ZERO;
+
+        void add(TradeFill fill, int sign) {
+            trades += sign;
+            if (fill.hasBuy()) {
+                BigDecimal quantity = BigDecimal.valueOf(fill.buyQuantity());
+                BigDecimal notional = quantity.multiply(BigDecimal.valueOf(fill.buyPrice()));
+                bought = sign > 0 ? bought.add(quantity) : bought.subtract(quantity);
+                boughtNotional = sign > 0 ? boughtNotional.add(notional) : boughtNotional.subtract(notional);
+            }
+            if (fill.hasSell()) {
+                BigDecimal quantity = BigDecimal.valueOf(fill.sellQuantity());
+                BigDecimal notional = quantity.multiply(BigDecimal.valueOf(fill.sellPrice()));
+                sold = sign > 0 ? sold.add(quantity) : sold.subtract(quantity);
+                soldNotional = sign > 0 ? soldNotional.add(notional) : soldNotional.subtract(notional);
+            }
+        }
+
+        void add(Totals other) {
+            trades += other.trades;
+            bought = bought.add(other.bought);
+            boughtNotional = boughtNotional.add(other.boughtNotional);
+            sold = sold.add(other.sold);
+            soldNotional = soldNotional.add(other.soldNotional);
+        }
+
+        boolean isEmpty() {
+            return trades == 0;
+        }
+
+        Position toPosition(Key key) {
+            BigDecimal averageBuy = average(boughtNotional, bought);
+            BigDecimal averageSell = average(soldNotional, sold);
+            BigDecimal net = bought.subtract(sold);
+            BigDecimal realized = averageBuy == null || averageSell == null
+                    ? BigDecimal.ZERO
+                    : bought.min(sold).multiply(averageSell.subtract(averageBuy), MathContext.DECIMAL64);
+            BigDecimal averageCost = net.signum() > 0 ? averageBuy : net.signum() < 0 ? averageSell : null;
+            return new Position(key.account(), key.book(), key.security(), net.doubleValue(),
+                    averageCost == null ? null : averageCost.doubleValue(), realized.doubleValue(),
+                    bought.doubleValue(), sold.doubleValue(), trades, Instant.now());
+        }
+
+        private static BigDecimal average(BigDecimal notional, BigDecimal quantity) {
+            return quantity.signum() == 0 ? null : notional.divide(quantity, MathContext.DECIMAL64);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.nnk.springboot.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of the sourceListId -> tradeId of recently committed trades, so a resent trade is recognized
+ * without a database round trip. Entries are only learned from committed trades and dropped when the trade
+ * is updated or deleted, so a hit always names an existing trade with that sourceListId. A miss proves nothing:
+ * the unique index on source_list_id stays the authority.
+ */
+@Component
+public class SourceListIdCache {
+
+    private final int capacity;
+    private final Map<String, Integer> tradeIds;
+    private final Map<Integer, String> sourceListIds = new HashMap<>();
+
+    public SourceListIdCache(@Value("${app.trade.dedupe.cache-size:100000}") int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.tradeIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                if (size() <= SourceListIdCache.this.capacity) {
+                    return false;
+                }
+                sourceListIds.remove(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    public synchronized Integer find(String sourceListId) {
+        return tradeIds.get(sourceListId);
+    }
+
+    /**
+     * Follows trade changes once their transaction has committed; a rolled back insert is never remembered.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTradeChanged(TradeChangedEvent event) {
+        if (event.tradeId() == null) {
+            return;
+        }
+        forget(event.tradeId());
+        // A cancelled trade keeps its sourceListId booked
+        if (event.sourceListId() != null) {
+            Integer replaced = tradeIds.put(event.sourceListId(), event.tradeId());
+            if (replaced != null) {
+                sourceListIds.remove(replaced);
+            }
+            sourceListIds.put(event.tradeId(), event.sourceListId());
+        }
+    }
+
+    /**
+     * Archived trades are no longer in the trade table, where a hit must point.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTradesArchived(TradesArchivedEvent event) {
+        event.tradeIds().forEach(this::forget);
+    }
+
+    private void forget(Integer tradeId) {
+        String sourceListId = sourceListIds.remove(tradeId);
+        if (sourceListId != null) {
+            tradeIds.remove(sourceListId);
+        }
+    }
+
+    synchronized int size() {
+        return tradeIds.size();
+    }
+}
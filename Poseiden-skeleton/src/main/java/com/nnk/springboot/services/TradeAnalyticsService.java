@@ -0,0 +1,201 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.BucketWidth;
+import com.nnk.springboot.dto.TradeBucket;
+import com.nnk.springboot.dto.TradeBucketRow;
+import com.nnk.springboot.dto.TradeFill;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * VWAP, TWAP, volume and trade count of a security per time bucket, aggregated by the database.
+ * Closed buckets (ended before now) are cached per security and width; only the missing closed buckets
+ * and the open ones are queried. A committed trade change evicts the buckets holding its old and new date.
+ * Only the trade table is aggregated: trades moved to the archive no longer count, nor do cancelled trades.
+ */
+@Service
+public class TradeAnalyticsService implements ITradeAnalyticsService {
+
+    static final int MAX_BUCKETS = 10_000;
+    private static final int MAX_CACHED_BUCKETS = 100_000;
+
+    private final TradeRepository tradeRepository;
+    private final Map<Key, Cached> cache = new ConcurrentHashMap<>();
+
+    public TradeAnalyticsService(TradeRepository tradeRepository) {
+        this.tradeRepository = tradeRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TradeBucket> findBuckets(String security, BucketWidth width, LocalDateTime from, LocalDateTime to) {
+        if (security == null || security.isBlank()) {
+            throw new IllegalArgumentException("Security is mandatory");
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("The window must start before it ends");
+        }
+        long seconds = width.getSeconds();
+        long first = index(from, seconds);
+        long last = index(to.minusNanos(1), seconds);
+        if (last - first + 1 > MAX_BUCKETS) {
+            throw new IllegalArgumentException("A window holds at most " + MAX_BUCKETS + " buckets");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long open = index(now, seconds);
+        Map<Long, TradeBucket> buckets = new TreeMap<>();
+
+        long lastClosed = Math.min(last, open - 1);
+        if (first <= lastClosed) {
+            Cached cached = cache.computeIfAbsent(new Key(security, width), key -> new Cached());
+            long generation;
+            long firstMissing = Long.MAX_VALUE;
+            long lastMissing = Long.MIN_VALUE;
+            synchronized (cached) {
+                generation = cached.generation;
+                for (long i = first; i <= lastClosed; i++) {
+                    TradeBucket bucket = cached.buckets.get(i);
+                    if (bucket != null) {
+                        buckets.put(i, bucket);
+                    } else {
+                        firstMissing = Math.min(firstMissing, i);
+                        lastMissing = i;
+                    }
+                }
+            }
+            if (firstMissing <= lastMissing) {
+                Map<Long, TradeBucket> computed = query(security, seconds, firstMissing, lastMissing, now);
+                cached.store(computed, generation);
+                buckets.putAll(computed);
+            }
+        }
+
+        long firstOpen = Math.max(first, open);
+        if (firstOpen <= last) {
+            buckets.putAll(query(security, seconds, firstOpen, last, now));
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    /**
+     * Evicts the cached buckets of a trade once its change has committed. A bulk delete or cancellation does
+     * not say where the trade was, so it empties the whole cache.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradeChanged(TradeChangedEvent event) {
+        if (event.previous() == null && event.fill() == null) {
+            cache.values().forEach(Cached::clear);
+            return;
+        }
+        evict(event.previous());
+        evict(event.fill());
+    }
+
+    /**
+     * Archived trades leave the aggregates: evicts every cached bucket that may hold one.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradesArchived(TradesArchivedEvent event) {
+        cache.forEach((key, cached) -> cached.evictUpTo(index(event.before(), key.width().getSeconds())));
+    }
+
+    private void evict(TradeFill fill) {
+        if (fill == null || fill.security() == null || fill.tradeDate() == null) {
+            return;
+        }
+        for (BucketWidth width : BucketWidth.values()) {
+            Cached cached = cache.get(new Key(fill.security(), width));
+            if (cached != null) {
+                cached.evict(index(fill.tradeDate(), width.getSeconds()));
+            }
+        }
+    }
+
+    private Map<Long, TradeBucket> query(String security, long seconds, long first, long last, LocalDateTime now) {
+        Map<Long, TradeBucketRow> rows = new HashMap<>();
+        for (TradeBucketRow row : tradeRepository.aggregateBuckets(security, start(first, seconds),
+                start(last + 1, seconds), seconds, now)) {
+            rows.put(first + row.getBucket().longValue(), row);
+        }
+        Map<Long, TradeBucket> buckets = new TreeMap<>();
+        for (long i = first; i <= last; i++) {
+            LocalDateTime end = start(i + 1, seconds);
+            buckets.put(i, toBucket(start(i, seconds), end, !end.isAfter(now), rows.get(i)));
+        }
+        return buckets;
+    }
+
+    private static TradeBucket toBucket(LocalDateTime start, LocalDateTime end, boolean closed, TradeBucketRow row) {
+        if (row == null) {
+            return new TradeBucket(start, end, 0, 0.0, null, null, closed);
+        }
+        double volume = row.getVolume().doubleValue();
+        double weight = row.getSeconds() == null ? 0 : row.getSeconds().doubleValue();
+        return new TradeBucket(start, end, row.getTrades().longValue(), volume,
+                volume > 0 ? row.getNotional().doubleValue() / volume : null,
+                weight > 0 ? row.getPriceSeconds().doubleValue() / weight : null,
+                closed);
+    }
+
+    // Buckets are numbered from 1970-01-01T00:00, on the local date-times stored in trade_date
+    private static long index(LocalDateTime time, long seconds) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), seconds);
+    }
+
+    private static LocalDateTime start(long index, long seconds) {
+        return LocalDateTime.ofEpochSecond(index * seconds, 0, ZoneOffset.UTC);
+    }
+
+    private record Key(String security, BucketWidth width) {
+    }
+
+    /**
+     * Closed buckets of one security and width. Every eviction bumps the generation, so a query that
+     * started before a commit cannot store what it read once the commit has evicted it.
+     */
+    private static final class Cached {
+        private final Map<Long, TradeBucket> buckets = new HashMap<>();
+        private long generation;
+
+        synchronized void store(Map<Long, TradeBucket> computed, long expectedGeneration) {
+            if (generation != expectedGeneration) {
+                return;
+            }
+            if (buckets.size() + computed.size() > MAX_CACHED_BUCKETS) {
+                buckets.clear();
+            }
+            computed.forEach((index, bucket) -> {
+                if (bucket.closed()) {
+                    buckets.put(index, bucket);
+                }
+            });
+        }
+
+        synchronized void evict(long index) {
+            generation++;
+            buckets.remove(index);
+        }
+
+        synchronized void evictUpTo(long index) {
+            generation++;
+            buckets.keySet().removeIf(i -> i <= index);
+        }
+
+        synchronized void clear() {
+            generation++;
+            buckets.clear();
+        }
+    }
+}
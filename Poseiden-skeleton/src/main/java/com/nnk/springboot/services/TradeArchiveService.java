@@ -0,0 +1,118 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.ArchivedTrade;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.ArchivedTradeRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves the trades traded more than {@code app.trade.archive.retention-days} ago from the trade table to
+ * trade_archive, so the trade table only grows with the retention period, not with the whole history.
+ * Each batch is copied with one INSERT ... SELECT and removed with one DELETE in its own short transaction.
+ * Only trades found in the trade table are deduplicated by sourceListId: a trade resent after it was
+ * archived is booked again.
+ */
+@Service
+public class TradeArchiveService implements ITradeArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeArchiveService.class);
+
+    private final TradeRepository tradeRepository;
+    private final ArchivedTradeRepository archivedTradeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int retentionDays;
+    private final int batchSize;
+
+    // No archived trade is dated after latest (null: empty archive); read once, then raised by every batch
+    private volatile LocalDateTime latest;
+    private volatile boolean latestKnown;
+
+    public TradeArchiveService(TradeRepository tradeRepository,
+                               ArchivedTradeRepository archivedTradeRepository,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${app.trade.archive.retention-days:365}") int retentionDays,
+                               @Value("${app.trade.archive.batch-size:1000}") int batchSize) {
+        this.tradeRepository = tradeRepository;
+        this.archivedTradeRepository = archivedTradeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.retentionDays = Math.max(0, retentionDays);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Archives every trade traded before the start of the day {@code retention-days} ago, batch after batch.
+     * A failed batch is rolled back and ends the run; the next run starts over from the oldest trades.
+     */
+    @Override
+    @Scheduled(cron = "${app.trade.archive.cron:-}")
+    public long archive() {
+        LocalDateTime before = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        long archived = 0;
+        try {
+            int moved;
+            do {
+                moved = transactionTemplate.execute(status -> archiveBatch(before));
+                archived += moved;
+            } while (moved == batchSize);
+        } catch (DataAccessException | IllegalStateException e) {
+            logger.warn("Trade archival stopped after {} trades: {}", archived, e.getMessage());
+        }
+        logger.info("Trade archival: {} trades traded before {} archived", archived, before);
+        return archived;
+    }
+
+    private int archiveBatch(LocalDateTime before) {
+        List<Integer> ids = tradeRepository.findIdsTradedBefore(before, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Raised before the rows move, so a date-range read never misses a trade between the two tables
+        raiseLatest(before);
+        int copied = archivedTradeRepository.copyFromTrades(ids, before);
+        int deleted = tradeRepository.deleteTradedBefore(ids, before);
+        if (copied != deleted) {
+            throw new IllegalStateException("Trades changed while being archived");
+        }
+        eventPublisher.publishEvent(new TradesArchivedEvent(ids, before));
+        return ids.size();
+    }
+
+    /**
+     * Archived trades in [from, to), without a query when the range starts after the newest archived trade.
+     */
+    @Override
+    public List<Trade> findByTradeDate(LocalDateTime from, LocalDateTime to) {
+        if (!latestKnown) {
+            raiseLatest(archivedTradeRepository.findMaxTradeDate());
+            latestKnown = true;
+        }
+        LocalDateTime newest = latest;
+        if (newest == null || from.isAfter(newest)) {
+            return List.of();
+        }
+        return archivedTradeRepository.findByTradeDate(from, to).stream().map(ArchivedTrade::toTrade).toList();
+    }
+
+    private synchronized void raiseLatest(LocalDateTime date) {
+        if (date != null && (latest == null || date.isAfter(latest))) {
+            latest = date;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.TradeStatus;
+import com.nnk.springboot.dto.CaptureReport;
+import com.nnk.springboot.dto.TradeAck;
+import com.nnk.springboot.repositories.TradeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Captures a stream of trades sent as NDJSON or as one JSON array.
+ * Records are parsed one at a time with a streaming parser and validated with the Trade constraints;
+ * valid trades are written in batches, each batch in its own transaction so a bad batch never rolls back the others.
+ * Hibernate groups the inserts of a batch into JDBC batches (hibernate.jdbc.batch_size).
+ * One acknowledgement per record is written as NDJSON, in request order, once its batch has committed.
+ * Capture is idempotent on sourceListId: a resent trade is acknowledged as a duplicate of the booked one.
+ * A malformed record is rejected on its own; a syntax error ends the stream, keeping the batches already written.
+ */
+@Service
+public class TradeCaptureService implements ITradeCaptureService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeCaptureService.class);
+
+    private final TradeRepository tradeRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SourceListIdCache sourceListIdCache;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader tradeReader;
+    private final int batchSize;
+
+    public TradeCaptureService(TradeRepository tradeRepository,
+                               EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               SourceListIdCache sourceListIdCache,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               @Value("${app.trade.capture.batch-size:1000}") int batchSize) {
+        this.tradeRepository = tradeRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.sourceListIdCache = sourceListIdCache;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.tradeReader = objectMapper.readerFor(Trade.class);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public CaptureReport capture(InputStream input, String username, OutputStream acks) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(acks, StandardCharsets.UTF_8));
+        Run run = new Run(objectMapper.writer().withRootValueSeparator("\n").writeValues(writer));
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                JsonNode node = parser.readValueAsTree();
+                run.received++;
+                run.pending.add(read(run.received, node, username));
+                if (run.pending.size() >= batchSize) {
+                    write(run);
+                }
+                token = parser.nextToken();
+            }
+            write(run);
+        } catch (JsonProcessingException e) {
+            write(run);
+            run.received++;
+            run.pending.add(Pending.rejected(run.received, null, "Malformed JSON at line "
+                    + e.getLocation().getLineNr() + ", column " + e.getLocation().getColumnNr()
+                    + ": " + e.getOriginalMessage()));
+            write(run);
+        }
+        run.json.flush();
+        writer.write('\n');
+        writer.flush();
+
+        logger.info("Trade capture by {}: received={}, created={}, duplicates={}, rejected={}",
+                username, run.received, run.created, run.duplicates, run.rejected);
+        return new CaptureReport(run.received, run.created, run.duplicates, run.rejected);
+    }
+
+    private Pending read(long index, JsonNode node, String username) {
+        String sourceListId = node.path("sourceListId").isTextual() ? node.get("sourceListId").asText() : null;
+        if (!node.isObject()) {
+            return Pending.rejected(index, sourceListId, "Expected a JSON object");
+        }
+        Trade trade;
+        try {
+            trade = tradeReader.readValue(node);
+        } catch (IOException e) {
+            String message = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+            return Pending.rejected(index, sourceListId, "Malformed trade: " + message);
+        }
+
+        Set<ConstraintViolation<Trade>> violations = validator.validate(trade);
+        if (!violations.isEmpty()) {
+            return Pending.rejected(index, sourceListId, violations.stream()
+                    .map(v -> v.getPropertyPath().toString().isEmpty()
+                            ? v.getMessage()
+                            : v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        try {
+            trade.setStatus(TradeStatus.booked(trade.getStatus()));
+        } catch (IllegalArgumentException e) {
+            return Pending.rejected(index, sourceListId, "status: " + e.getMessage());
+        }
+        trade.setTradeId(null);
+        trade.setCreationName(username);
+        return new Pending(index, sourceListId, trade);
+    }
+
+    /**
+     * Writes the valid trades of the pending records in one transaction, then acknowledges every pending record.
+     * A trade whose sourceListId is already booked, or taken by an earlier record, is acknowledged as a duplicate
+     * of that trade instead of being written.
+     * If the batch fails, its trades are retried one by one so only the offending records are rejected.
+     */
+    private void write(Run run) throws IOException {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        List<Pending> valid = run.pending.stream().filter(p -> p.trade != null).toList();
+        if (!valid.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    withoutDuplicates(valid).forEach(p -> p.tradeId = insert(p.trade, now));
+                    detachWritten();
+                });
+            } catch (DataAccessException e) {
+                logger.warn("Capture batch of {} trades failed, retrying one by one: {}", valid.size(), e.getMessage());
+                for (Pending pending : valid) {
+                    if (pending.duplicate || pending.original != null) {
+                        continue;
+                    }
+                    try {
+                        pending.tradeId = transactionTemplate.execute(status -> {
+                            Integer tradeId = insert(pending.trade, now);
+                            detachWritten();
+                            return tradeId;
+                        });
+                    } catch (DataAccessException tradeFailure) {
+                        // Lost a race with another writer of the same sourceListId
+                        Optional<Trade> existing = pending.trade.getSourceListId() == null
+                                ? Optional.empty()
+                                : tradeRepository.findBySourceListId(pending.trade.getSourceListId());
+                        pending.tradeId = existing.map(Trade::getTradeId).orElse(null);
+                        pending.duplicate = existing.isPresent();
+                        if (existing.isEmpty()) {
+                            pending.error = NestedExceptionUtils.getMostSpecificCause(tradeFailure).getMessage();
+                        }
+                    }
+                }
+                // Drops the booked trades the lookups above loaded
+                entityManager.clear();
+            }
+        }
+        for (Pending pending : run.pending) {
+            if (pending.original != null) {
+                pending.tradeId = pending.original.tradeId;
+                pending.error = pending.original.error;
+                pending.duplicate = pending.error == null;
+            }
+            if (pending.error != null) {
+                run.rejected++;
+                run.json.write(TradeAck.rejected(pending.index, pending.sourceListId, pending.error));
+            } else if (pending.duplicate) {
+                run.duplicates++;
+                run.json.write(TradeAck.duplicate(pending.index, pending.sourceListId, pending.tradeId));
+            } else {
+                run.created++;
+                run.json.write(TradeAck.created(pending.index, pending.sourceListId, pending.tradeId));
+            }
+        }
+        run.json.flush();
+        run.pending.clear();
+    }
+
+    /**
+     * Marks the records whose sourceListId is already booked, asking the cache first and the database,
+     * in one query, for the rest; returns the trades left to insert.
+     */
+    private List<Pending> withoutDuplicates(List<Pending> valid) {
+        Map<String, Pending> first = new HashMap<>();
+        List<String> unknown = new ArrayList<>();
+        for (Pending pending : valid) {
+            String sourceListId = pending.trade.getSourceListId();
+            if (sourceListId == null || sourceListId.isBlank()) {
+                continue;
+            }
+            Pending earlier = first.putIfAbsent(sourceListId, pending);
+            if (earlier != null) {
+                pending.original = earlier;
+                continue;
+            }
+            Integer tradeId = sourceListIdCache.find(sourceListId);
+            if (tradeId != null) {
+                pending.tradeId = tradeId;
+                pending.duplicate = true;
+            } else {
+                unknown.add(sourceListId);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            for (Trade existing : tradeRepository.findBySourceListIdIn(unknown)) {
+                // A case-insensitive collation can return another spelling: the unique index then rejects
+                // the insert and the retry finds the booked trade
+                Pending pending = first.get(existing.getSourceListId());
+                if (pending != null) {
+                    pending.tradeId = existing.getTradeId();
+                    pending.duplicate = true;
+                }
+            }
+        }
+        return valid.stream().filter(p -> !p.duplicate && p.original == null).toList();
+    }
+
+    /**
+     * Flushes the written trades and detaches them: with open-in-view the request's EntityManager outlives the
+     * batch's transaction, and would otherwise keep every captured trade of the stream managed.
+     */
+    private void detachWritten() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Integer insert(Trade trade, LocalDateTime now) {
+        TradeService.prepareInsert(trade, now);
+        Trade saved = tradeRepository.save(trade);
+        eventPublisher.publishEvent(TradeChangedEvent.saved(saved));
+        return saved.getTradeId();
+    }
+
+    /**
+     * A record waiting for its batch: either a valid trade or the reason it was rejected.
+     */
+    private static final class Pending {
+        private final long index;
+        private final String sourceListId;
+        private final Trade trade;
+        private Integer tradeId;
+        private String error;
+        // Already booked as tradeId, or same sourceListId as an earlier record of the batch
+        private boolean duplicate;
+        private Pending original;
+
+        Pending(long index, String sourceListId, Trade trade) {
+            this.index = index;
+            this.sourceListId = sourceListId;
+            this.trade = trade;
+        }
+
+        static Pending rejected(long index, String sourceListId, String error) {
+            Pending pending = new Pending(index, sourceListId, null);
+            pending.error = error;
+            return pending;
+        }
+    }
+
+    private static final class Run {
+        private final SequenceWriter json;
+        private final List<Pending> pending = new ArrayList<>();
+        private long received;
+        private long created;
+        private long duplicates;
+        private long rejected;
+
+        Run(SequenceWriter json) {
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.TradeStatus;
+import com.nnk.springboot.dto.TradeFill;
+
+/**
+ * Published inside the transaction that saves, cancels or deletes a trade.
+ * {@code previous} is the trade before an update or a delete (null on creation, or when a bulk change
+ * did not read it); {@code fill} is null when the trade was deleted or cancelled, since a cancelled trade no
+ * longer counts. {@code sourceListId} is the upstream reference of the saved trade.
+ */
+public record TradeChangedEvent(Integer tradeId, String sourceListId, TradeFill previous, TradeFill fill) {
+
+    public static TradeChangedEvent saved(Trade trade) {
+        return new TradeChangedEvent(trade.getTradeId(), trade.getSourceListId(), null, TradeFill.of(trade));
+    }
+
+    public static TradeChangedEvent updated(TradeFill previous, Trade trade) {
+        TradeFill fill = TradeStatus.CANCELLED.name().equals(trade.getStatus()) ? null : TradeFill.of(trade);
+        return new TradeChangedEvent(trade.getTradeId(), trade.getSourceListId(), previous, fill);
+    }
+
+    /**
+     * A trade cancelled by a set-based status move, which reads neither its previous fill nor its sourceListId.
+     */
+    public static TradeChangedEvent cancelled(Integer tradeId) {
+        return new TradeChangedEvent(tradeId, null, null, null);
+    }
+
+    public static TradeChangedEvent deleted(Integer tradeId, TradeFill previous) {
+        return new TradeChangedEvent(tradeId, null, previous, null);
+    }
+
+    public static TradeChangedEvent deleted(Integer tradeId) {
+        return deleted(tradeId, null);
+    }
+}
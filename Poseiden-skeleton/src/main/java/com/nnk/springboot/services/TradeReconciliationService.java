@@ -0,0 +1,299 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.ImportReport;
+import com.nnk.springboot.dto.ReconciliationKey;
+import com.nnk.springboot.dto.ReconciliationReport;
+import com.nnk.springboot.dto.ReconciliationReport.Break;
+import com.nnk.springboot.dto.ReconciliationReport.BreakType;
+import com.nnk.springboot.dto.ReconciliationReport.FieldBreak;
+import com.nnk.springboot.dto.TradeTerms;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Reconciles the trades against a counterparty CSV file in one pass, in constant memory.
+ * Both sides are read in key order, the trades from a database cursor and the file line by line, and
+ * merge-joined: a key on one side only is a missing trade, a key on both sides has its quantities and prices
+ * compared within {@code app.trade.reconciliation.tolerance}.
+ * The file must be sorted by the key: by code point for sourceListId (e.g. {@code LC_ALL=C sort}), numerically
+ * for tradeId. Rows out of order are rejected. The trade side is sorted by the database, so sourceListId needs
+ * a column collation sorting in code point order; the run fails if it does not. Archived trades are not read.
+ */
+@Service
+public class TradeReconciliationService implements ITradeReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeReconciliationService.class);
+
+    static final int MAX_REPORTED_BREAKS = 1000;
+
+    private static final Map<String, Function<TradeTerms, Double>> COMPARED_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COMPARED_COLUMNS.put("buyQuantity", TradeTerms::buyQuantity);
+        COMPARED_COLUMNS.put("buyPrice", TradeTerms::buyPrice);
+        COMPARED_COLUMNS.put("sellQuantity", TradeTerms::sellQuantity);
+        COMPARED_COLUMNS.put("sellPrice", TradeTerms::sellPrice);
+    }
+
+    private final TradeRepository tradeRepository;
+    private final double tolerance;
+
+    public TradeReconciliationService(TradeRepository tradeRepository,
+                                      @Value("${app.trade.reconciliation.tolerance:0.000001}") double tolerance) {
+        this.tradeRepository = tradeRepository;
+        this.tolerance = Math.max(0, tolerance);
+    }
+
+    /**
+     * Reconciles the CSV file read from {@code input}. Its header must name the key column; the compared columns
+     * (buyQuantity, buyPrice, sellQuantity, sellPrice) are checked when present, any other column is ignored.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ReconciliationReport reconcile(InputStream input, ReconciliationKey key) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Run run = new Run(key);
+        CounterpartyFile file = CounterpartyFile.open(reader, key, run);
+        if (file == null) {
+            return run.report();
+        }
+        Comparator<String> order = order(key);
+        Function<TradeTerms, String> tradeKey = tradeKey(key);
+
+        try (Stream<TradeTerms> stream = key == ReconciliationKey.TRADE_ID
+                ? tradeRepository.streamTermsByTradeId() : tradeRepository.streamTermsBySourceListId()) {
+            Iterator<TradeTerms> trades = stream.iterator();
+            TradeTerms trade = null;
+            String previous = null;
+            if (trades.hasNext()) {
+                trade = trades.next();
+                run.tradesRead++;
+            }
+            Row row = file.next();
+            while (trade != null || row != null) {
+                String ours = trade == null ? null : tradeKey.apply(trade);
+                int comparison = trade == null ? 1 : row == null ? -1 : order.compare(ours, row.key());
+                if (comparison < 0) {
+                    run.breakFound(new Break(BreakType.MISSING_FROM_FILE, ours, trade.tradeId(), null, List.of()));
+                } else if (comparison > 0) {
+                    run.breakFound(new Break(BreakType.MISSING_FROM_TRADES, row.key(), null, row.line(), List.of()));
+                } else {
+                    compare(trade, row, run);
+                }
+                if (comparison >= 0) {
+                    row = file.next();
+                }
+                if (comparison <= 0) {
+                    previous = ours;
+                    trade = null;
+                    if (trades.hasNext()) {
+                        trade = trades.next();
+                        run.tradesRead++;
+                        if (order.compare(previous, tradeKey.apply(trade)) > 0) {
+                            throw new IllegalStateException("Trades are not read in " + key.getColumn()
+                                    + " order: the database collation does not sort by code point");
+                        }
+                    }
+                }
+            }
+        }
+
+        logger.info("Trade reconciliation by {}: trades={}, rows={}, matched={}, mismatched={}, missingFromFile={},"
+                        + " missingFromTrades={}, rejected={}", key.getColumn(), run.tradesRead, run.rowsRead,
+                run.matched, run.mismatched, run.missingFromFile, run.missingFromTrades, run.rejected);
+        return run.report();
+    }
+
+    private void compare(TradeTerms trade, Row row, Run run) {
+        List<FieldBreak> fields = new ArrayList<>();
+        row.values().forEach((column, counterparty) -> {
+            Double ours = COMPARED_COLUMNS.get(column).apply(trade);
+            if (!same(ours, counterparty)) {
+                fields.add(new FieldBreak(column, ours, counterparty));
+            }
+        });
+        if (fields.isEmpty()) {
+            run.matched++;
+        } else {
+            run.breakFound(new Break(BreakType.MISMATCH, row.key(), trade.tradeId(), row.line(), fields));
+        }
+    }
+
+    private boolean same(Double ours, Double counterparty) {
+        if (ours == null || counterparty == null) {
+            return ours == counterparty;
+        }
+        return Math.abs(ours - counterparty) <= tolerance;
+    }
+
+    private static Comparator<String> order(ReconciliationKey key) {
+        return key == ReconciliationKey.TRADE_ID ? Comparator.comparingLong(Long::parseLong) : Comparator.naturalOrder();
+    }
+
+    private static Function<TradeTerms, String> tradeKey(ReconciliationKey key) {
+        return key == ReconciliationKey.TRADE_ID ? trade -> trade.tradeId().toString() : TradeTerms::sourceListId;
+    }
+
+    /**
+     * A file row: its key and the compared columns it holds, null when blank.
+     */
+    private record Row(long line, String key, Map<String, Double> values) {
+    }
+
+    /**
+     * Reads the rows of the counterparty file in key order, rejecting those that cannot be read or are out of
+     * order, so the merge only ever sees increasing keys.
+     */
+    private static final class CounterpartyFile {
+
+        private final BufferedReader reader;
+        private final ReconciliationKey key;
+        private final Run run;
+        private final List<String> header;
+        private final int keyColumn;
+        private final Comparator<String> order;
+        private long lineNumber = 1;
+        private String previous;
+
+        private CounterpartyFile(BufferedReader reader, ReconciliationKey key, Run run, List<String> header) {
+            this.reader = reader;
+            this.key = key;
+            this.run = run;
+            this.header = header;
+            this.keyColumn = header.indexOf(key.getColumn());
+            this.order = order(key);
+        }
+
+        /**
+         * Reads the header; null for an empty file.
+         */
+        static CounterpartyFile open(BufferedReader reader, ReconciliationKey key, Run run) throws IOException {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return null;
+            }
+            List<String> header = Csv.split(headerLine.startsWith("\uFEFF") ? headerLine.substring(1) : headerLine)
+                    .stream().map(String::trim).toList();
+            if (!header.contains(key.getColumn())) {
+                throw new IllegalArgumentException("Missing key column in header: " + key.getColumn());
+            }
+            return new CounterpartyFile(reader, key, run, header);
+        }
+
+        /**
+         * The next readable row with a key greater than the previous one; null at the end of the file.
+         */
+        Row next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.rowsRead++;
+                try {
+                    Row row = parse(line);
+                    if (previous != null && order.compare(previous, row.key()) >= 0) {
+                        throw new IllegalArgumentException(key.getColumn() + " " + row.key()
+                                + (previous.equals(row.key()) ? " is repeated" : " is out of order"));
+                    }
+                    previous = row.key();
+                    return row;
+                } catch (IllegalArgumentException e) {
+                    run.reject(lineNumber, e.getMessage());
+                }
+            }
+            return null;
+        }
+
+        private Row parse(String line) {
+            List<String> fields = Csv.split(line);
+            if (fields.size() != header.size()) {
+                throw new IllegalArgumentException("Expected " + header.size() + " fields but found " + fields.size());
+            }
+            String rowKey = fields.get(keyColumn).trim();
+            if (rowKey.isEmpty()) {
+                throw new IllegalArgumentException(key.getColumn() + ": missing");
+            }
+            if (key == ReconciliationKey.TRADE_ID) {
+                try {
+                    rowKey = Integer.valueOf(rowKey).toString();
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(key.getColumn() + ": not a number '" + rowKey + "'");
+                }
+            }
+            Map<String, Double> values = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                String column = header.get(i);
+                if (!COMPARED_COLUMNS.containsKey(column)) {
+                    continue;
+                }
+                String value = fields.get(i).trim();
+                try {
+                    values.put(column, value.isEmpty() ? null : Double.valueOf(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(column + ": not a number '" + value + "'");
+                }
+            }
+            return new Row(lineNumber, rowKey, values);
+        }
+    }
+
+    private static final class Run {
+        private final ReconciliationKey key;
+        private long tradesRead;
+        private long rowsRead;
+        private long matched;
+        private long mismatched;
+        private long missingFromFile;
+        private long missingFromTrades;
+        private long rejected;
+        private final List<Break> breaks = new ArrayList<>();
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+
+        Run(ReconciliationKey key) {
+            this.key = key;
+        }
+
+        void breakFound(Break found) {
+            switch (found.type()) {
+                case MISMATCH -> mismatched++;
+                case MISSING_FROM_FILE -> missingFromFile++;
+                case MISSING_FROM_TRADES -> missingFromTrades++;
+            }
+            if (breaks.size() < MAX_REPORTED_BREAKS) {
+                breaks.add(found);
+            }
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_BREAKS) {
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        ReconciliationReport report() {
+            return new ReconciliationReport(key, tradesRead, rowsRead, matched, mismatched, missingFromFile,
+                    missingFromTrades, rejected, List.copyOf(breaks), List.copyOf(errors));
+        }
+    }
+}
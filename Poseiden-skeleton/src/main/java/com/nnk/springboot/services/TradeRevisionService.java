@@ -0,0 +1,142 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nnk.springboot.domain.ArchivedTrade;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.TradeRevision;
+import com.nnk.springboot.dto.TradeAmendment;
+import com.nnk.springboot.repositories.ArchivedTradeRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.TradeRevisionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Append-only log of trade amendments, written by the transaction that amends the trade.
+ * Each revision stores reverse diffs: the previous value of the fields it changed, as JSON, never a copy of
+ * the row. A past revision is rebuilt from the current trade (live or archived) by undoing the newer revisions,
+ * newest first. The trade table does not reference the log, so reading a trade never touches it.
+ */
+@Service
+public class TradeRevisionService implements ITradeRevisionService {
+
+    // Identify the trade or describe the revision itself, so they are not diffed
+    private static final Set<String> NOT_DIFFED = Set.of("tradeId", "revisionName", "revisionDate");
+
+    private final TradeRevisionRepository tradeRevisionRepository;
+    private final TradeRepository tradeRepository;
+    private final ArchivedTradeRepository archivedTradeRepository;
+    private final ObjectMapper objectMapper;
+
+    public TradeRevisionService(TradeRevisionRepository tradeRevisionRepository,
+                                TradeRepository tradeRepository,
+                                ArchivedTradeRepository archivedTradeRepository,
+                                ObjectMapper objectMapper) {
+        this.tradeRevisionRepository = tradeRevisionRepository;
+        this.tradeRepository = tradeRepository;
+        this.archivedTradeRepository = archivedTradeRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends the revision turning {@code current} into {@code next}. Must run before {@code next} is merged
+     * into {@code current}, with the trade row locked so revisions are numbered in commit order.
+     */
+    @Override
+    public void recordUpdate(Trade current, Trade next) {
+        ObjectNode before = objectMapper.valueToTree(current);
+        ObjectNode after = objectMapper.valueToTree(next);
+        ObjectNode changes = objectMapper.createObjectNode();
+        before.properties().forEach(field -> {
+            if (!NOT_DIFFED.contains(field.getKey()) && !field.getValue().equals(after.get(field.getKey()))) {
+                changes.set(field.getKey(), field.getValue());
+            }
+        });
+        int revision = tradeRevisionRepository.findLastRevision(current.getTradeId()) + 1;
+        tradeRevisionRepository.save(new TradeRevision(current.getTradeId(), revision,
+                next.getRevisionDate(), next.getRevisionName(), changes.toString()));
+    }
+
+    /**
+     * Appends a status change to the given trades, with one INSERT ... SELECT per distinct previous status.
+     * Must run before the status is updated, with the trade rows locked.
+     */
+    @Override
+    public void recordStatusChange(Map<Integer, String> previousStatuses, String status, String username,
+                                   LocalDateTime now) {
+        Map<String, List<Integer>> idsByStatus = new HashMap<>();
+        previousStatuses.forEach((tradeId, previous) ->
+                idsByStatus.computeIfAbsent(previous, key -> new ArrayList<>()).add(tradeId));
+        idsByStatus.forEach((previous, tradeIds) -> {
+            ObjectNode changes = objectMapper.createObjectNode();
+            if (!Objects.equals(previous, status)) {
+                changes.put("status", previous);
+            }
+            tradeRevisionRepository.appendToTrades(tradeIds, changes.toString(), username, now);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TradeAmendment> findRevisions(Integer tradeId) {
+        return tradeRevisionRepository.findByTradeIdOrderByRevision(tradeId).stream()
+                .map(revision -> new TradeAmendment(revision.getRevision(), revision.getRevisionDate(),
+                        revision.getRevisionName(), changes(revision).properties().stream()
+                                .map(Map.Entry::getKey)
+                                .toList()))
+                .toList();
+    }
+
+    /**
+     * The trade as it was right after {@code revision}; empty when the trade or the revision does not exist.
+     * Revision 0 is the trade as booked, with no revision name or date.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Trade> findAsOf(Integer tradeId, int revision) {
+        if (revision < 0) {
+            throw new IllegalArgumentException("Revision must be positive or zero");
+        }
+        Optional<Trade> current = tradeRepository.findById(tradeId)
+                .or(() -> archivedTradeRepository.findById(tradeId).map(ArchivedTrade::toTrade));
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        List<TradeRevision> newestFirst =
+                tradeRevisionRepository.findByTradeIdAndRevisionGreaterThanEqualOrderByRevisionDesc(tradeId, revision);
+        TradeRevision target = newestFirst.isEmpty() ? null : newestFirst.get(newestFirst.size() - 1);
+        boolean found = revision == 0 || (target != null && target.getRevision() == revision);
+        if (!found) {
+            return Optional.empty();
+        }
+
+        ObjectNode state = objectMapper.valueToTree(current.get());
+        newestFirst.stream()
+                .filter(newer -> newer.getRevision() > revision)
+                .forEach(newer -> state.setAll(changes(newer)));
+        Trade trade = objectMapper.convertValue(state, Trade.class);
+        trade.setRevisionName(revision == 0 ? null : target.getRevisionName());
+        trade.setRevisionDate(revision == 0 ? null : target.getRevisionDate());
+        return Optional.of(trade);
+    }
+
+    private ObjectNode changes(TradeRevision revision) {
+        try {
+            return (ObjectNode) objectMapper.readTree(revision.getChanges());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable changes in revision " + revision.getRevision()
+                    + " of trade " + revision.getTradeId(), e);
+        }
+    }
+}
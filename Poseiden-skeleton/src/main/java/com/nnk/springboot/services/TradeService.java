@@ -1,17 +1,37 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.TradeStatus;
+import com.nnk.springboot.dto.BulkOutcome;
+import com.nnk.springboot.dto.BulkResult;
+import com.nnk.springboot.dto.TradeCreation;
+import com.nnk.springboot.dto.TradeFill;
+import com.nnk.springboot.dto.TradeStatusRow;
 import com.nnk.springboot.repositories.TradeRepository;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 
 @Service
 @Validated
@@ -19,9 +39,21 @@ import java.util.Optional;
 public class TradeService implements ITradeService {
 
     private final TradeRepository tradeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SourceListIdCache sourceListIdCache;
+    private final ITradeArchiveService tradeArchiveService;
+    private final ITradeRevisionService tradeRevisionService;
+    private final TransactionTemplate transactionTemplate;
 
-    public TradeService(TradeRepository tradeRepository) {
+    public TradeService(TradeRepository tradeRepository, ApplicationEventPublisher eventPublisher,
+                        SourceListIdCache sourceListIdCache, ITradeArchiveService tradeArchiveService,
+                        ITradeRevisionService tradeRevisionService, PlatformTransactionManager transactionManager) {
         this.tradeRepository = tradeRepository;
+        this.eventPublisher = eventPublisher;
+        this.sourceListIdCache = sourceListIdCache;
+        this.tradeArchiveService = tradeArchiveService;
+        this.tradeRevisionService = tradeRevisionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -39,37 +71,132 @@ public class TradeService implements ITradeService {
         return tradeRepository.findById(id);
     }
 
+    /**
+     * Trades traded in [from, to), ordered by trade date. The archive is only read when the range reaches
+     * back to archived trades. A trade archived between the two reads is seen twice and kept once.
+     */
     @Override
-    public Trade create(@Valid Trade trade) {
+    @Transactional(readOnly = true)
+    public List<Trade> findByTradeDate(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("The window must start before it ends");
+        }
+        List<Trade> trades = new ArrayList<>(tradeRepository.findByTradeDate(from, to));
+        Set<Integer> ids = trades.stream().map(Trade::getTradeId).collect(Collectors.toCollection(HashSet::new));
+        tradeArchiveService.findByTradeDate(from, to).stream()
+                .filter(trade -> ids.add(trade.getTradeId()))
+                .forEach(trades::add);
+        trades.sort(Comparator.comparing(Trade::getTradeDate).thenComparing(Trade::getTradeId));
+        return trades;
+    }
+
+    /**
+     * Creates a trade, unless a trade with the same sourceListId exists: a resent trade is then reported as a
+     * duplicate of the existing one, without a write. A sourceListId the cache knows is answered from memory;
+     * any other trade goes straight to the insert, in a transaction of its own, and only when the unique index
+     * rejects it is the booked trade looked up by sourceListId.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TradeCreation create(@Valid Trade trade) {
         if (trade == null) {
             throw new IllegalArgumentException("Trade cannot be null");
         }
-        trade.setTradeId(null);
+        prepareInsert(trade, LocalDateTime.now());
+        String sourceListId = trade.getSourceListId();
+        if (sourceListId != null) {
+            Integer tradeId = sourceListIdCache.find(sourceListId);
+            if (tradeId != null) {
+                return TradeCreation.duplicate(tradeId);
+            }
+        }
+        try {
+            Trade saved = transactionTemplate.execute(status -> {
+                Trade inserted = tradeRepository.saveAndFlush(trade);
+                eventPublisher.publishEvent(TradeChangedEvent.saved(inserted));
+                return inserted;
+            });
+            return TradeCreation.created(saved);
+        } catch (DataIntegrityViolationException e) {
+            // uk_trade_source_list_id: the trade was booked by an earlier request, or by a concurrent one
+            Optional<Trade> existing = sourceListId == null
+                    ? Optional.empty()
+                    : tradeRepository.findBySourceListId(sourceListId);
+            return TradeCreation.duplicate(existing.map(Trade::getTradeId).orElseThrow(() -> e));
+        }
+    }
 
+    /**
+     * Saves the trades in one call so Hibernate sends the inserts as JDBC batches.
+     */
+    @Override
+    public List<Trade> createAll(@NotNull List<@Valid Trade> trades) {
+        if (trades == null) {
+            throw new IllegalArgumentException("Trades cannot be null");
+        }
         LocalDateTime now = LocalDateTime.now();
+        trades.forEach(trade -> prepareInsert(trade, now));
+        List<Trade> saved = tradeRepository.saveAll(trades);
+        saved.forEach(trade -> eventPublisher.publishEvent(TradeChangedEvent.saved(trade)));
+        return saved;
+    }
+
+    static void prepareInsert(Trade trade, LocalDateTime now) {
+        trade.setTradeId(null);
+        trade.setStatus(TradeStatus.booked(trade.getStatus()));
+        clearBlankSourceListId(trade);
         if (trade.getCreationDate() == null) {
             trade.setCreationDate(now);
         }
         if (trade.getTradeDate() == null) {
             trade.setTradeDate(now);
         }
+    }
+
+    private static String nextStatus(String current, String requested) {
+        if (requested == null || requested.isBlank() || requested.trim().equalsIgnoreCase(current)) {
+            return current;
+        }
+        TradeStatus next = TradeStatus.fromParameter(requested);
+        if (!allows(current, next)) {
+            throw new IllegalArgumentException("A " + current + " trade cannot become " + next);
+        }
+        return next.name();
+    }
+
+    private static boolean allows(String current, TradeStatus next) {
+        return next.sources().stream().anyMatch(source -> source.name().equals(current));
+    }
 
-        return tradeRepository.save(trade);
+    // source_list_id is unique: a blank reference is stored as no reference
+    private static void clearBlankSourceListId(Trade trade) {
+        if (trade.getSourceListId() != null && trade.getSourceListId().isBlank()) {
+            trade.setSourceListId(null);
+        }
     }
 
+    /**
+     * Overwrites a trade and appends what changed to its revision log, in the same transaction.
+     * The status is kept unless the amendment requests a transition the lifecycle allows.
+     */
     @Override
     public Trade update(@NotNull Integer id, @Valid Trade trade) {
         if (id == null || id <= 0) {
             throw new IllegalArgumentException("Invalid ID: " + id);
         }
-        if (!tradeRepository.existsById(id)) {
-            throw new IllegalArgumentException("Trade not found with id: " + id);
-        }
+        Trade current = tradeRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new IllegalArgumentException("Trade not found with id: " + id));
+        TradeFill previous = TradeFill.of(current);
         trade.setTradeId(id);
+        trade.setStatus(nextStatus(current.getStatus(), trade.getStatus()));
+        clearBlankSourceListId(trade);
 
         trade.setRevisionDate(LocalDateTime.now());
+        tradeRevisionService.recordUpdate(current, trade);
 
-        return tradeRepository.save(trade);
+        Trade saved = tradeRepository.save(trade);
+        eventPublisher.publishEvent(TradeChangedEvent.updated(previous, saved));
+        return saved;
     }
 
     @Override
@@ -77,10 +204,125 @@ public class TradeService implements ITradeService {
         if (id == null || id <= 0) {
             throw new IllegalArgumentException("Invalid ID: " + id);
         }
+        TradeFill previous = tradeRepository.findById(id).map(TradeFill::of).orElse(null);
         try {
             tradeRepository.deleteById(id);
         } catch (EmptyResultDataAccessException e) {
             throw new IllegalArgumentException("Trade not found with id: " + id);
         }
+        eventPublisher.publishEvent(TradeChangedEvent.deleted(id, previous));
+    }
+
+    /**
+     * Bulk delete; only the trades actually deleted (DONE) are announced, so positions reverse nothing else.
+     */
+    @Override
+    public BulkResult deleteAll(List<Integer> ids) {
+        BulkResult result = applyToExisting(ids, tradeRepository::deleteAllByIdIn);
+        result.outcomes().forEach((id, outcome) -> {
+            if (outcome == BulkOutcome.DONE) {
+                eventPublisher.publishEvent(TradeChangedEvent.deleted(id));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Moves the trades to {@code status} where the lifecycle allows it; a trade already in that status is left
+     * as is. Per chunk of ids: one locking read of the current statuses, then per source status one set-based
+     * revision insert and one conditional UPDATE. No trade is loaded.
+     */
+    @Override
+    public BulkResult updateStatus(List<Integer> ids, String status, String username) {
+        TradeStatus next = TradeStatus.fromParameter(status);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, BulkOutcome> outcomes = BulkIds.prepare(ids);
+        for (List<Integer> chunk : BulkIds.pendingChunks(outcomes)) {
+            chunk.forEach(id -> outcomes.put(id, BulkOutcome.NOT_FOUND));
+            Map<Integer, String> moving = new HashMap<>();
+            for (TradeStatusRow row : tradeRepository.findStatusesForUpdate(chunk)) {
+                if (next.name().equals(row.getStatus())) {
+                    outcomes.put(row.getTradeId(), BulkOutcome.DONE);
+                } else if (allows(row.getStatus(), next)) {
+                    moving.put(row.getTradeId(), row.getStatus());
+                    outcomes.put(row.getTradeId(), BulkOutcome.DONE);
+                } else {
+                    outcomes.put(row.getTradeId(), BulkOutcome.ILLEGAL_TRANSITION);
+                }
+            }
+            transition(moving, next, username, now);
+        }
+        return BulkResult.of(outcomes);
+    }
+
+    /**
+     * End-of-day settlement: moves every CONFIRMED trade traded before {@code tradedBefore} to SETTLED. Each
+     * chunk of ids is read and locked from the (status, trade_date) index, then settled with one revision insert
+     * and one conditional UPDATE, in a transaction of its own: the locks are held for one chunk, not the whole
+     * run. A failure keeps the chunks already committed settled; settling again picks up the rest.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long settleAll(@NotNull LocalDateTime tradedBefore, String username) {
+        if (tradedBefore == null) {
+            throw new IllegalArgumentException("The settlement cut-off is mandatory");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        String confirmed = TradeStatus.CONFIRMED.name();
+        long settled = 0;
+        Settled chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> {
+                List<Integer> ids = tradeRepository.findIdsByStatusForUpdate(confirmed, tradedBefore,
+                        Limit.of(BulkIds.CHUNK_SIZE));
+                Map<Integer, String> moving = new HashMap<>();
+                ids.forEach(id -> moving.put(id, confirmed));
+                return new Settled(ids.size(), transition(moving, TradeStatus.SETTLED, username, now));
+            });
+            settled += chunk.moved();
+        } while (chunk.found() == BulkIds.CHUNK_SIZE);
+        return settled;
+    }
+
+    private record Settled(int found, int moved) {
+    }
+
+    /**
+     * Moves the trades, mapped to their locked current status, to {@code next}. A cancelled trade no longer
+     * counts, so one TradeChangedEvent per cancelled id lets the positions reverse its fill and the snapshot
+     * read it again; the other moves change nothing they hold.
+     */
+    private int transition(Map<Integer, String> moving, TradeStatus next, String username, LocalDateTime now) {
+        if (moving.isEmpty()) {
+            return 0;
+        }
+        tradeRevisionService.recordStatusChange(moving, next.name(), username, now);
+        Map<String, List<Integer>> idsByStatus = moving.entrySet().stream().collect(Collectors.groupingBy(
+                Map.Entry::getValue, Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        int moved = 0;
+        for (Map.Entry<String, List<Integer>> group : idsByStatus.entrySet()) {
+            moved += tradeRepository.updateStatus(group.getValue(), group.getKey(), next.name(), username, now);
+        }
+        if (next == TradeStatus.CANCELLED) {
+            moving.keySet().forEach(id -> eventPublisher.publishEvent(TradeChangedEvent.cancelled(id)));
+        }
+        return moved;
+    }
+
+    /**
+     * Runs one locking id probe and one set-based DELETE per chunk of ids instead of a statement per trade.
+     * When the DELETE reports fewer rows than probed, the chunk is read again and the trades still there are
+     * reported NOT_FOUND instead of DONE.
+     */
+    private BulkResult applyToExisting(List<Integer> ids, ToIntFunction<List<Integer>> delete) {
+        Map<Integer, BulkOutcome> outcomes = BulkIds.prepare(ids);
+        for (List<Integer> chunk : BulkIds.pendingChunks(outcomes)) {
+            Set<Integer> existing = new HashSet<>(tradeRepository.findExistingIdsForUpdate(chunk));
+            chunk.forEach(id -> outcomes.put(id, existing.contains(id) ? BulkOutcome.DONE : BulkOutcome.NOT_FOUND));
+            if (!existing.isEmpty() && delete.applyAsInt(List.copyOf(existing)) < existing.size()) {
+                tradeRepository.findExistingIds(existing).forEach(id -> outcomes.put(id, BulkOutcome.NOT_FOUND));
+            }
+        }
+        return BulkResult.of(outcomes);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,401 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.SnapshotQuery;
+import com.nnk.springboot.dto.TradeAggregate;
+import com.nnk.springboot.dto.TradeSnapshotRow;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable column-oriented copy of the trade table, ordered by tradeId, queried with plain loops over
+ * primitive arrays. Quantities and prices are doubles (NaN when null), trade dates epoch milliseconds in UTC
+ * ({@link Long#MIN_VALUE} when null), and account, book, security and trader are codes into per-column
+ * dictionaries, so each distinct string is held once. A date window is scanned through positions ordered by
+ * trade date, the rest of the filters row by row. A refresh builds a new snapshot; readers keep the one they
+ * started with.
+ */
+public final class TradeSnapshot {
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int ANY = -1;
+
+    private final Instant refreshedAt;
+    private final int size;
+    private final int[] tradeId;
+    private final int[] account;
+    private final int[] book;
+    private final int[] security;
+    private final int[] trader;
+    private final double[] buyQuantity;
+    private final double[] buyPrice;
+    private final double[] sellQuantity;
+    private final double[] sellPrice;
+    private final long[] tradeDate;
+    // Row positions ordered by trade date, so a date window is only the rows between two binary searches
+    private final int[] byDate;
+    private final Dictionary accounts;
+    private final Dictionary books;
+    private final Dictionary securities;
+    private final Dictionary traders;
+
+    private TradeSnapshot(Builder builder, Instant refreshedAt) {
+        this.refreshedAt = refreshedAt;
+        this.size = builder.size;
+        this.tradeId = Arrays.copyOf(builder.tradeId, size);
+        this.account = Arrays.copyOf(builder.account, size);
+        this.book = Arrays.copyOf(builder.book, size);
+        this.security = Arrays.copyOf(builder.security, size);
+        this.trader = Arrays.copyOf(builder.trader, size);
+        this.buyQuantity = Arrays.copyOf(builder.buyQuantity, size);
+        this.buyPrice = Arrays.copyOf(builder.buyPrice, size);
+        this.sellQuantity = Arrays.copyOf(builder.sellQuantity, size);
+        this.sellPrice = Arrays.copyOf(builder.sellPrice, size);
+        this.tradeDate = Arrays.copyOf(builder.tradeDate, size);
+        this.byDate = sortByDate(tradeDate);
+        this.accounts = builder.accounts.freeze();
+        this.books = builder.books.freeze();
+        this.securities = builder.securities.freeze();
+        this.traders = builder.traders.freeze();
+    }
+
+    public static TradeSnapshot empty() {
+        return new Builder(0).build(Instant.EPOCH);
+    }
+
+    /**
+     * Rows to add must come in tradeId order.
+     */
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public Instant getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A copy where the given trades are replaced by {@code rows}, their current version ordered by tradeId:
+     * a changed trade without a row has been deleted or cancelled. Dictionaries are extended, never rebuilt, so codes
+     * stay stable from one refresh to the next.
+     */
+    public TradeSnapshot refresh(Collection<Integer> changedIds, List<TradeSnapshotRow> rows, Instant refreshedAt) {
+        int[] changed = changedIds.stream().mapToInt(Integer::intValue).sorted().toArray();
+        Builder builder = new Builder(this, size + rows.size());
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            while (next < rows.size() && rows.get(next).tradeId() < tradeId[i]) {
+                builder.add(rows.get(next++));
+            }
+            if (Arrays.binarySearch(changed, tradeId[i]) < 0) {
+                builder.copy(this, i);
+            }
+        }
+        while (next < rows.size()) {
+            builder.add(rows.get(next++));
+        }
+        return builder.build(refreshedAt);
+    }
+
+    /**
+     * Totals of the trades matching the query, one per group, by group key (null first).
+     */
+    public List<TradeAggregate> aggregate(SnapshotQuery query) {
+        int accountCode = accounts.filter(query.account());
+        int bookCode = books.filter(query.book());
+        int securityCode = securities.filter(query.security());
+        int traderCode = traders.filter(query.trader());
+        if (accountCode == Dictionary.ABSENT || bookCode == Dictionary.ABSENT
+                || securityCode == Dictionary.ABSENT || traderCode == Dictionary.ABSENT) {
+            return List.of();
+        }
+        long from = query.from() == null ? NO_DATE : epochMillis(query.from());
+        long to = query.to() == null ? Long.MAX_VALUE : epochMillis(query.to());
+
+        int[] groupColumn = null;
+        Dictionary groupDictionary = null;
+        if (query.groupBy() != null) {
+            switch (query.groupBy()) {
+                case ACCOUNT -> { groupColumn = account; groupDictionary = accounts; }
+                case BOOK -> { groupColumn = book; groupDictionary = books; }
+                case SECURITY -> { groupColumn = security; groupDictionary = securities; }
+                case TRADER -> { groupColumn = trader; groupDictionary = traders; }
+            }
+        }
+        int groups = groupDictionary == null ? 1 : groupDictionary.size();
+        long[] trades = new long[groups];
+        double[] bought = new double[groups];
+        double[] paid = new double[groups];
+        double[] sold = new double[groups];
+        double[] received = new double[groups];
+
+        boolean window = query.from() != null || query.to() != null;
+        int start = window ? firstOnOrAfter(from) : 0;
+        int end = window ? firstOnOrAfter(to) : size;
+        for (int k = start; k < end; k++) {
+            int i = window ? byDate[k] : k;
+            if ((accountCode != ANY && account[i] != accountCode)
+                    || (bookCode != ANY && book[i] != bookCode)
+                    || (securityCode != ANY && security[i] != securityCode)
+                    || (traderCode != ANY && trader[i] != traderCode)) {
+                continue;
+            }
+            int g = groupColumn == null ? 0 : groupColumn[i];
+            trades[g]++;
+            // NaN fails every comparison, so a missing quantity or price leaves the side out
+            double quantity = buyQuantity[i];
+            double price = buyPrice[i];
+            if (quantity > 0 && price == price) {
+                bought[g] += quantity;
+                paid[g] += quantity * price;
+            }
+            quantity = sellQuantity[i];
+            price = sellPrice[i];
+            if (quantity > 0 && price == price) {
+                sold[g] += quantity;
+                received[g] += quantity * price;
+            }
+        }
+
+        List<TradeAggregate> aggregates = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            if (trades[g] > 0) {
+                double quantity = bought[g] + sold[g];
+                aggregates.add(new TradeAggregate(groupDictionary == null ? null : groupDictionary.value(g),
+                        trades[g], bought[g], paid[g], sold[g], received[g],
+                        quantity > 0 ? (paid[g] + received[g]) / quantity : null));
+            }
+        }
+        aggregates.sort(Comparator.comparing(TradeAggregate::key, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return aggregates;
+    }
+
+    /**
+     * Index in {@link #byDate} of the first trade dated {@code date} or later.
+     */
+    private int firstOnOrAfter(long date) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (tradeDate[byDate[middle]] < date) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Positions 0..n-1 stably sorted by date: a bottom-up merge sort on primitives, as trades mostly come
+     * in date order already and boxing half a million positions on every refresh is not worth it.
+     */
+    private static int[] sortByDate(long[] dates) {
+        int n = dates.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int low = 0; low < n - width; low += 2 * width) {
+                int middle = low + width;
+                int high = Math.min(low + 2 * width, n);
+                if (dates[order[middle - 1]] <= dates[order[middle]]) {
+                    continue;
+                }
+                int left = low;
+                int right = middle;
+                for (int k = low; k < high; k++) {
+                    buffer[k] = right >= high || (left < middle && dates[order[left]] <= dates[order[right]])
+                            ? order[left++] : order[right++];
+                }
+                System.arraycopy(buffer, low, order, low, high - low);
+            }
+        }
+        return order;
+    }
+
+    private static long epochMillis(LocalDateTime date) {
+        return date.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static double value(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    /**
+     * Appends rows in tradeId order, then builds the snapshot.
+     */
+    public static final class Builder {
+
+        private int size;
+        private int[] tradeId;
+        private int[] account;
+        private int[] book;
+        private int[] security;
+        private int[] trader;
+        private double[] buyQuantity;
+        private double[] buyPrice;
+        private double[] sellQuantity;
+        private double[] sellPrice;
+        private long[] tradeDate;
+        private final Dictionary accounts;
+        private final Dictionary books;
+        private final Dictionary securities;
+        private final Dictionary traders;
+
+        private Builder(int capacity) {
+            allocate(Math.max(16, capacity));
+            accounts = new Dictionary();
+            books = new Dictionary();
+            securities = new Dictionary();
+            traders = new Dictionary();
+        }
+
+        private Builder(TradeSnapshot base, int capacity) {
+            allocate(Math.max(16, capacity));
+            accounts = base.accounts.copy();
+            books = base.books.copy();
+            securities = base.securities.copy();
+            traders = base.traders.copy();
+        }
+
+        private void allocate(int capacity) {
+            tradeId = new int[capacity];
+            account = new int[capacity];
+            book = new int[capacity];
+            security = new int[capacity];
+            trader = new int[capacity];
+            buyQuantity = new double[capacity];
+            buyPrice = new double[capacity];
+            sellQuantity = new double[capacity];
+            sellPrice = new double[capacity];
+            tradeDate = new long[capacity];
+        }
+
+        public Builder add(TradeSnapshotRow row) {
+            int i = append(row.tradeId());
+            account[i] = accounts.code(row.account());
+            book[i] = books.code(row.book());
+            security[i] = securities.code(row.security());
+            trader[i] = traders.code(row.trader());
+            buyQuantity[i] = value(row.buyQuantity());
+            buyPrice[i] = value(row.buyPrice());
+            sellQuantity[i] = value(row.sellQuantity());
+            sellPrice[i] = value(row.sellPrice());
+            tradeDate[i] = row.tradeDate() == null ? NO_DATE : epochMillis(row.tradeDate());
+            return this;
+        }
+
+        /**
+         * Copies row {@code i} of the snapshot this builder extends: same dictionaries, so the codes are kept.
+         */
+        private void copy(TradeSnapshot base, int from) {
+            int i = append(base.tradeId[from]);
+            account[i] = base.account[from];
+            book[i] = base.book[from];
+            security[i] = base.security[from];
+            trader[i] = base.trader[from];
+            buyQuantity[i] = base.buyQuantity[from];
+            buyPrice[i] = base.buyPrice[from];
+            sellQuantity[i] = base.sellQuantity[from];
+            sellPrice[i] = base.sellPrice[from];
+            tradeDate[i] = base.tradeDate[from];
+        }
+
+        private int append(int id) {
+            if (size == tradeId.length) {
+                int capacity = size * 2;
+                tradeId = Arrays.copyOf(tradeId, capacity);
+                account = Arrays.copyOf(account, capacity);
+                book = Arrays.copyOf(book, capacity);
+                security = Arrays.copyOf(security, capacity);
+                trader = Arrays.copyOf(trader, capacity);
+                buyQuantity = Arrays.copyOf(buyQuantity, capacity);
+                buyPrice = Arrays.copyOf(buyPrice, capacity);
+                sellQuantity = Arrays.copyOf(sellQuantity, capacity);
+                sellPrice = Arrays.copyOf(sellPrice, capacity);
+                tradeDate = Arrays.copyOf(tradeDate, capacity);
+            }
+            tradeId[size] = id;
+            return size++;
+        }
+
+        public TradeSnapshot build(Instant refreshedAt) {
+            return new TradeSnapshot(this, refreshedAt);
+        }
+    }
+
+    /**
+     * Distinct values of a column, null included, numbered in order of appearance.
+     */
+    private static final class Dictionary {
+
+        static final int ABSENT = -2;
+
+        private final Map<String, Integer> codes;
+        private final List<String> values;
+        private String[] frozen;
+
+        Dictionary() {
+            this(new HashMap<>(), new ArrayList<>());
+        }
+
+        private Dictionary(Map<String, Integer> codes, List<String> values) {
+            this.codes = codes;
+            this.values = values;
+        }
+
+        int code(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        /**
+         * {@link #ANY} without a filter, {@link #ABSENT} when no trade holds the value.
+         */
+        int filter(String value) {
+            if (value == null) {
+                return ANY;
+            }
+            Integer code = codes.get(value);
+            return code == null ? ABSENT : code;
+        }
+
+        String value(int code) {
+            return frozen[code];
+        }
+
+        int size() {
+            return frozen.length;
+        }
+
+        Dictionary copy() {
+            return new Dictionary(new HashMap<>(codes), new ArrayList<>(values));
+        }
+
+        Dictionary freeze() {
+            frozen = values.toArray(String[]::new);
+            return this;
+        }
+    }
+}
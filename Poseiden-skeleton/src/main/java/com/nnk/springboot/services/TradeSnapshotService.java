@@ -0,0 +1,151 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.SnapshotQuery;
+import com.nnk.springboot.dto.SnapshotReport;
+import com.nnk.springboot.dto.TradeSnapshotRow;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Serves the dashboards from an in-memory {@link TradeSnapshot} of the trade table, so a query never reaches
+ * the database. The snapshot is loaded once the application is up, then refreshed every
+ * {@code app.trade.snapshot.refresh-ms}: only the trades changed or archived since the last refresh are read
+ * again, unless they are more than half of the table. Queries can lag a commit by up to one refresh period.
+ * Only the counted trades of the trade table are held: archived and cancelled trades leave the snapshot.
+ */
+@Service
+public class TradeSnapshotService implements ITradeSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeSnapshotService.class);
+
+    private final TradeRepository tradeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile TradeSnapshot snapshot = TradeSnapshot.empty();
+
+    // Trades committed since the last refresh started; null until the first load, which reads them anyway.
+    // Guarded by its own lock, so committing threads never wait for a refresh (which holds this)
+    private final Object changedLock = new Object();
+    private Set<Integer> changed;
+
+    public TradeSnapshotService(TradeRepository tradeRepository, PlatformTransactionManager transactionManager) {
+        this.tradeRepository = tradeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public SnapshotReport aggregate(SnapshotQuery query) {
+        if (query.from() != null && query.to() != null && !query.from().isBefore(query.to())) {
+            throw new IllegalArgumentException("The window must start before it ends");
+        }
+        TradeSnapshot current = snapshot;
+        return new SnapshotReport(current.getRefreshedAt(), current.size(), current.aggregate(query));
+    }
+
+    /**
+     * Reads the whole trade table, by tradeId, but for the cancelled trades.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        synchronized (changedLock) {
+            changed = new HashSet<>();
+        }
+        Instant start = Instant.now();
+        TradeSnapshot loaded = readOnlyTransaction.execute(status -> {
+            TradeSnapshot.Builder builder = TradeSnapshot.builder((int) tradeRepository.count());
+            try (Stream<TradeSnapshotRow> rows = tradeRepository.streamSnapshotRows()) {
+                rows.forEach(builder::add);
+            }
+            return builder.build(start);
+        });
+        snapshot = loaded;
+        logger.info("Trade snapshot loaded: {} trades", loaded.size());
+    }
+
+    /**
+     * Reads again the trades changed since the last refresh, or the whole table when most of it changed.
+     */
+    @Scheduled(fixedDelayString = "${app.trade.snapshot.refresh-ms:1000}",
+            initialDelayString = "${app.trade.snapshot.refresh-ms:1000}")
+    public synchronized void refresh() {
+        Set<Integer> ids = drain();
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        TradeSnapshot current = snapshot;
+        if (ids.size() > current.size() / 2) {
+            load();
+            return;
+        }
+        Instant start = Instant.now();
+        List<Integer> sorted = ids.stream().sorted().toList();
+        List<TradeSnapshotRow> rows = new ArrayList<>(sorted.size());
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                for (int from = 0; from < sorted.size(); from += BulkIds.CHUNK_SIZE) {
+                    rows.addAll(tradeRepository.findSnapshotRows(
+                            sorted.subList(from, Math.min(sorted.size(), from + BulkIds.CHUNK_SIZE))));
+                }
+            });
+        } catch (DataAccessException e) {
+            // Read again by the next refresh
+            mark(sorted);
+            logger.warn("Trade snapshot refresh failed, {} trades left for the next one: {}", ids.size(), e.getMessage());
+            return;
+        }
+        snapshot = current.refresh(ids, rows, start);
+        logger.debug("Trade snapshot refreshed: {} trades read again, {} held", ids.size(), snapshot.size());
+    }
+
+    private Set<Integer> drain() {
+        synchronized (changedLock) {
+            Set<Integer> drained = changed;
+            if (drained != null) {
+                changed = new HashSet<>();
+            }
+            return drained;
+        }
+    }
+
+    /**
+     * Incremental refresh hook: TradeService, capture and matching publish a TradeChangedEvent for every trade
+     * they save, cancel or delete. Recorded once the transaction has committed, so the refresh reads the committed row.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradeChanged(TradeChangedEvent event) {
+        if (event.tradeId() != null) {
+            mark(List.of(event.tradeId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradesArchived(TradesArchivedEvent event) {
+        mark(event.tradeIds());
+    }
+
+    private void mark(Collection<Integer> tradeIds) {
+        synchronized (changedLock) {
+            if (changed != null) {
+                changed.addAll(tradeIds);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published inside the transaction that moves a batch of trades, all traded before {@code before},
+ * from the trade table to the archive. The trades still exist, so positions keep them; caches over
+ * the trade table drop them.
+ */
+public record TradesArchivedEvent(List<Integer> tradeIds, LocalDateTime before) {
+}
@@ -0,0 +1,138 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.dto.CurveNode;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.CurveCache;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A rate at a random term of one of 10 curves of 200 points, read by 4 threads: scanning the
+ * {@code BigDecimal} entities of {@code CurvePointService.findAll()} (before) against {@link CurveCache}.
+ * Not part of the regular build (surefire only runs *Test classes); run it explicitly with
+ * {@code mvn test -Dtest=CurveBenchmark -Djacoco.skip=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class CurveBenchmark {
+
+    private static final int CURVES = 10;
+    private static final int POINTS = 200;
+    private static final int LOOKUPS = 1024;
+
+    private List<CurvePoint> entities;
+    private CurveCache cache;
+    private final int[] curveIds = new int[LOOKUPS];
+    private final double[] terms = new double[LOOKUPS];
+    private final BigDecimal[] decimalTerms = new BigDecimal[LOOKUPS];
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        entities = new ArrayList<>(CURVES * POINTS);
+        CurvePointRepository repository = mock(CurvePointRepository.class);
+        for (int curveId = 1; curveId <= CURVES; curveId++) {
+            List<CurveNode> nodes = new ArrayList<>(POINTS);
+            for (int i = 0; i < POINTS; i++) {
+                BigDecimal term = BigDecimal.valueOf(i * 25, 2);
+                BigDecimal value = BigDecimal.valueOf(100 + curveId * 10 + i + random.nextInt(5), 4);
+                entities.add(new CurvePoint(curveId, term, value));
+                nodes.add(new CurveNode(term, value));
+            }
+            when(repository.findNodesAsOf(eq(curveId), any())).thenReturn(nodes);
+        }
+        cache = new CurveCache(repository, mock(PlatformTransactionManager.class), 64);
+        for (int i = 0; i < LOOKUPS; i++) {
+            curveIds[i] = 1 + random.nextInt(CURVES);
+            terms[i] = random.nextDouble() * (POINTS - 1) * 0.25;
+            decimalTerms[i] = BigDecimal.valueOf(terms[i]);
+            cache.get(curveIds[i]);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal entities(Cursor cursor) {
+        int i = cursor.next++ & (LOOKUPS - 1);
+        Integer curveId = curveIds[i];
+        BigDecimal term = decimalTerms[i];
+        CurvePoint below = null;
+        CurvePoint above = null;
+        for (CurvePoint point : entities) {
+            if (!curveId.equals(point.getCurveId())) {
+                continue;
+            }
+            if (point.getTerm().compareTo(term) <= 0
+                    && (below == null || point.getTerm().compareTo(below.getTerm()) > 0)) {
+                below = point;
+            } else if (point.getTerm().compareTo(term) > 0
+                    && (above == null || point.getTerm().compareTo(above.getTerm()) < 0)) {
+                above = point;
+            }
+        }
+        BigDecimal weight = term.subtract(below.getTerm())
+                .divide(above.getTerm().subtract(below.getTerm()), MathContext.DECIMAL64);
+        return below.getValue().add(weight.multiply(above.getValue().subtract(below.getValue())));
+    }
+
+    @Benchmark
+    public double linear(Cursor cursor) {
+        int i = cursor.next++ & (LOOKUPS - 1);
+        return cache.get(curveIds[i]).linear(terms[i]);
+    }
+
+    @Benchmark
+    public double monotoneCubic(Cursor cursor) {
+        int i = cursor.next++ & (LOOKUPS - 1);
+        return cache.get(curveIds[i]).monotoneCubic(terms[i]);
+    }
+
+    @Test
+    void runBenchmark() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(CurveBenchmark.class.getName() + "\\.")
+                .addProfiler("gc")
+                .build()).run();
+
+        assertThat(results).isNotEmpty();
+    }
+}
@@ -0,0 +1,109 @@
+package com.nnk.springboot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.dto.CurveNode;
+import com.nnk.springboot.dto.Interpolation;
+import com.nnk.springboot.dto.ScenarioResult;
+import com.nnk.springboot.dto.ScenarioType;
+import com.nnk.springboot.services.Curve;
+import com.nnk.springboot.services.CurveScenarioService;
+import com.nnk.springboot.services.CurveScenarios;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scenarios per second: 3 shapes x 401 shifts (+-200bp by 1bp) of a 200-point curve, each read at 500 terms,
+ * evaluated on one thread and on the fork-join common pool, and written as NDJSON by the service.
+ * Not part of the regular build (surefire only runs *Test classes); run it explicitly with
+ * {@code mvn test -Dtest=CurveScenarioBenchmark -Djacoco.skip=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CurveScenarioBenchmark.SCENARIOS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurveScenarioBenchmark {
+
+    static final int SCENARIOS = 3 * 401;
+    private static final int POINTS = 200;
+    private static final int TERMS = 500;
+
+    private CurveScenarios linear;
+    private CurveScenarios monotoneCubic;
+    private CurveScenarioService service;
+
+    @Setup
+    public void setUp() {
+        List<CurveNode> nodes = new ArrayList<>(POINTS);
+        for (int i = 0; i < POINTS; i++) {
+            // An upward sloping curve in percent, flattening at the long end
+            nodes.add(new CurveNode(BigDecimal.valueOf(i * 25, 2),
+                    BigDecimal.valueOf(2 + 3 * (1 - Math.exp(-i / 40.0))).setScale(4, java.math.RoundingMode.HALF_UP)));
+        }
+        Curve curve = Curve.of(nodes);
+        double[] terms = new double[TERMS];
+        for (int j = 0; j < TERMS; j++) {
+            terms[j] = j * 0.1;
+        }
+        List<ScenarioType> types = List.of(ScenarioType.values());
+        linear = new CurveScenarios(curve, terms, Interpolation.LINEAR, types, 200, 1, 0.01);
+        monotoneCubic = new CurveScenarios(curve, terms, Interpolation.MONOTONE_CUBIC, types, 200, 1, 0.01);
+        service = new CurveScenarioService(null, new ObjectMapper(), 0.01);
+        assertThat(linear.size()).isEqualTo(SCENARIOS);
+    }
+
+    @Benchmark
+    public List<ScenarioResult> linearSequential() {
+        return linear.evaluate(0, SCENARIOS, false);
+    }
+
+    @Benchmark
+    public List<ScenarioResult> linearParallel() {
+        return linear.evaluate(0, SCENARIOS, true);
+    }
+
+    @Benchmark
+    public List<ScenarioResult> monotoneCubicParallel() {
+        return monotoneCubic.evaluate(0, SCENARIOS, true);
+    }
+
+    @Benchmark
+    public long monotoneCubicNdjson() throws IOException {
+        return service.stream(monotoneCubic, OutputStream.nullOutputStream());
+    }
+
+    @Test
+    void runBenchmark() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(CurveScenarioBenchmark.class.getName() + "\\.")
+                .build()).run();
+
+        assertThat(results).isNotEmpty();
+    }
+}
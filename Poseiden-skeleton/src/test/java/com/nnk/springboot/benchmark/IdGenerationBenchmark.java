@@ -0,0 +1,157 @@
+package com.nnk.springboot.benchmark;
+
+import org.h2.tools.Server;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of IDENTITY ids (before) against the pooled sequence ids now used by the entities (after),
+ * in rows per second. Both mappings are identical apart from the id generator. H2 runs behind a loopback TCP
+ * server so that, as with MySQL, every statement costs a network round trip. The two rows are plain classes
+ * mapped by {@code benchmark/id-generation-orm.xml} on a session factory of their own, so the application's
+ * entity scan never sees them.
+ * Not part of the regular build (surefire only runs *Test classes); run it explicitly with
+ * {@code mvn test -Dtest=IdGenerationBenchmark -Djacoco.skip=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    private static final int CHUNK_SIZE = 1_000;
+
+    private Server h2Server;
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() throws SQLException {
+        h2Server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:tcp://localhost:" + h2Server.getPort() + "/mem:idbench;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addResource("benchmark/id-generation-orm.xml")
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    // Keeps the tables small over the run
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        sessionFactory.inTransaction(session -> {
+            session.createNativeMutationQuery("truncate table benchmark_identity_bid_list").executeUpdate();
+            session.createNativeMutationQuery("truncate table benchmark_pooled_bid_list").executeUpdate();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        h2Server.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public void identityIds() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                session.persist(new IdentityBidList("ACC" + i, "LIMIT", (double) i));
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public void pooledIds() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                session.persist(new PooledBidList("ACC" + i, "LIMIT", (double) i));
+            }
+        });
+    }
+
+    @Test
+    void runBenchmark() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(IdGenerationBenchmark.class.getName() + "\\.")
+                .build()).run();
+
+        assertThat(results).isNotEmpty();
+    }
+
+    /**
+     * Id mapping used before: one INSERT and one generated-key read per row, no JDBC batching.
+     */
+    static class IdentityBidList {
+
+        private Integer id;
+        private String account;
+        private String type;
+        private Double bidQuantity;
+
+        protected IdentityBidList() {
+        }
+
+        IdentityBidList(String account, String type, Double bidQuantity) {
+            this.account = account;
+            this.type = type;
+            this.bidQuantity = bidQuantity;
+        }
+    }
+
+    /**
+     * Id mapping used now: one sequence call per 50 rows, inserts sent in JDBC batches.
+     */
+    static class PooledBidList {
+
+        private Integer id;
+        private String account;
+        private String type;
+        private Double bidQuantity;
+
+        protected PooledBidList() {
+        }
+
+        PooledBidList(String account, String type, Double bidQuantity) {
+            this.account = account;
+            this.type = type;
+            this.bidQuantity = bidQuantity;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.services.MatchingEngine;
+import com.nnk.springboot.services.MatchingEngine.Fill;
+import com.nnk.springboot.services.MatchingEngine.Order;
+import com.nnk.springboot.services.MatchingEngine.Side;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Matching throughput of {@link MatchingEngine} on one shard against one shard per core.
+ * Each invocation matches the same random flow of orders over many securities against empty books;
+ * the {@code orders} and {@code matches} counters are reported per second.
+ * Not part of the regular build (surefire only runs *Test classes); run it explicitly with
+ * {@code mvn test -Dtest=MatchingEngineBenchmark -Djacoco.skip=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchingEngineBenchmark {
+
+    private static final int ORDERS = 200_000;
+
+    @Param({"256"})
+    public int securities;
+
+    // "all" = one shard per available processor
+    @Param({"1", "all"})
+    public String shards;
+
+    private MatchingEngine engine;
+    private List<Order> orders;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long orders;
+        public long matches;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            orders = 0;
+            matches = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int shardCount = "all".equals(shards) ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(shards);
+        engine = new MatchingEngine(shardCount, 0.01);
+        orders = randomOrders(securities, ORDERS, new Random(42));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public List<Fill> match(Counters counters) {
+        List<Fill> fills = engine.match(orders);
+        counters.orders += orders.size();
+        counters.matches += fills.size();
+        return fills;
+    }
+
+    /**
+     * Orders around a mid of 100 with a few ticks of noise, so roughly half of them cross on arrival.
+     */
+    private static List<Order> randomOrders(int securities, int count, Random random) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Side side = random.nextBoolean() ? Side.BUY : Side.SELL;
+            double price = 100.0 + (random.nextInt(11) - 5) * 0.25;
+            double quantity = 1 + random.nextInt(100);
+            orders.add(new Order(i + 1, "SEC" + random.nextInt(securities), side, price, quantity));
+        }
+        return orders;
+    }
+
+    @Test
+    void runBenchmark() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(MatchingEngineBenchmark.class.getName() + "\\.match$")
+                .build()).run();
+
+        assertThat(results).isNotEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.dto.NettingLine;
+import com.nnk.springboot.dto.TradeFill;
+import com.nnk.springboot.services.NettingSnapshot;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Netting of one million fills over a thousand (account, book, security) groups: a grouping collector
+ * summing boxed Doubles per trade (before) against {@link NettingSnapshot} on one thread and on every core.
+ * Not part of the regular build (surefire only runs *Test classes); run it explicitly with
+ * {@code mvn test -Dtest=NettingBenchmark -Djacoco.skip=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NettingBenchmark {
+
+    private static final int FILLS = 1_000_000;
+    private static final LocalDateTime TRADE_DATE = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    private List<TradeFill> fills;
+    private NettingSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        fills = new ArrayList<>(FILLS);
+        snapshot = new NettingSnapshot();
+        for (int i = 0; i < FILLS; i++) {
+            boolean buy = random.nextBoolean();
+            Double quantity = 1.0 + random.nextInt(100);
+            Double price = 100.0 + random.nextInt(11) * 0.25;
+            TradeFill fill = new TradeFill(i, "ACC" + random.nextInt(10), "B" + random.nextInt(10),
+                    "SEC" + random.nextInt(10), buy ? quantity : null, buy ? price : null,
+                    buy ? null : quantity, buy ? null : price, TRADE_DATE);
+            fills.add(fill);
+            snapshot.add(fill);
+        }
+    }
+
+    @Benchmark
+    public Map<List<String>, Double[]> boxed() {
+        return fills.stream().collect(Collectors.groupingBy(
+                fill -> List.of(fill.account(), fill.book(), fill.security()),
+                Collectors.reducing(new Double[] {0.0, 0.0, 0.0, 0.0}, fill -> new Double[] {
+                        fill.hasBuy() ? fill.buyQuantity() : 0.0,
+                        fill.hasBuy() ? fill.buyQuantity() * fill.buyPrice() : 0.0,
+                        fill.hasSell() ? fill.sellQuantity() : 0.0,
+                        fill.hasSell() ? fill.sellQuantity() * fill.sellPrice() : 0.0},
+                        (a, b) -> new Double[] {a[0] + b[0], a[1] + b[1], a[2] + b[2], a[3] + b[3]})));
+    }
+
+    @Benchmark
+    public List<NettingLine> sequential() {
+        return snapshot.net(false);
+    }
+
+    @Benchmark
+    public List<NettingLine> parallel() {
+        return snapshot.net(true);
+    }
+
+    @Test
+    void runBenchmark() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(NettingBenchmark.class.getName() + "\\.")
+                .build()).run();
+
+        assertThat(results).isNotEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.dto.CaptureReport;
+import com.nnk.springboot.services.ITradeCaptureService;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end time per trade of {@link ITradeCaptureService} against the in-memory H2 database: NDJSON parsing,
+ * validation, batched inserts and the trade events consumed by positions and analytics. Each iteration
+ * captures a fresh body of 100k trades.
+ * Not part of the regular build (surefire only runs *Test classes); run it explicitly with
+ * {@code mvn test -Dtest=TradeCaptureBenchmark -Djacoco.skip=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TradeCaptureBenchmark {
+
+    private static final int TRADES = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private ITradeCaptureService tradeCaptureService;
+    private int run;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .run("--spring.jpa.show-sql=false", "--server.port=0");
+        tradeCaptureService = context.getBean(ITradeCaptureService.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareBody() {
+        body = ndjson("RUN" + run++, TRADES);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRADES)
+    public CaptureReport capture() throws IOException {
+        CaptureReport report = tradeCaptureService.capture(new ByteArrayInputStream(body), "benchmark",
+                OutputStream.nullOutputStream());
+        if (report.created() != TRADES) {
+            throw new IllegalStateException("Expected " + TRADES + " trades created, got " + report.created());
+        }
+        return report;
+    }
+
+    @Test
+    void runBenchmark() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(TradeCaptureBenchmark.class.getName() + "\\.")
+                .build()).run();
+
+        assertThat(results).isNotEmpty();
+    }
+
+    // sourceListIds are unique per prefix: no iteration resends the trades of another
+    private static byte[] ndjson(String prefix, int trades) {
+        StringBuilder body = new StringBuilder(trades * 200);
+        for (int i = 0; i < trades; i++) {
+            body.append(String.format(Locale.ROOT,
+                    "{\"account\":\"ACC%d\",\"type\":\"FX\",\"security\":\"SEC%d\",\"book\":\"BOOK\","
+                            + "\"buyQuantity\":%d,\"buyPrice\":%.2f,\"sourceListId\":\"%s-%d\"}%n",
+                    i % 50, i % 200, 1 + i % 100, 100 + (i % 40) * 0.25, prefix, i));
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
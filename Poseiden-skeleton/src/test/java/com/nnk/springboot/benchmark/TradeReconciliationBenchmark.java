@@ -0,0 +1,135 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.ReconciliationKey;
+import com.nnk.springboot.dto.ReconciliationReport;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.ITradeReconciliationService;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reconciliation of 300k trades against a counterparty file of the same size, one trade in a thousand
+ * mismatched and one missing on each side. The file is read from disk as an upload would be, so the heap
+ * only holds the current row of each side and the reported breaks. JMH reports the time per trade.
+ * Not part of the regular build (surefire only runs *Test classes); run it explicitly with
+ * {@code mvn test -Dtest=TradeReconciliationBenchmark -Djacoco.skip=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TradeReconciliationBenchmark {
+
+    private static final int TRADES = 300_000;
+    private static final int CHUNK_SIZE = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private ITradeReconciliationService tradeReconciliationService;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(Application.class)
+                .run("--spring.jpa.show-sql=false", "--server.port=0");
+        tradeReconciliationService = context.getBean(ITradeReconciliationService.class);
+        book(context.getBean(TradeRepository.class),
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class)));
+        file = Files.createTempFile("counterparty", ".csv");
+        writeCounterpartyFile(file, TRADES);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRADES)
+    public ReconciliationReport reconcile() throws IOException {
+        ReconciliationReport report;
+        try (InputStream input = Files.newInputStream(file)) {
+            report = tradeReconciliationService.reconcile(input, ReconciliationKey.SOURCE_LIST_ID);
+        }
+        if (report.tradesRead() != TRADES || report.mismatched() != TRADES / 1000
+                || report.missingFromFile() != 1 || report.missingFromTrades() != 1) {
+            throw new IllegalStateException("Unexpected reconciliation: " + report.tradesRead() + " trades read, "
+                    + report.mismatched() + " mismatched, " + report.missingFromFile() + " missing from the file, "
+                    + report.missingFromTrades() + " missing from the trades");
+        }
+        return report;
+    }
+
+    @Test
+    void runBenchmark() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(TradeReconciliationBenchmark.class.getName() + "\\.")
+                .build()).run();
+
+        assertThat(results).isNotEmpty();
+    }
+
+    private static void book(TradeRepository tradeRepository, TransactionTemplate transaction) {
+        for (int from = 0; from < TRADES; from += CHUNK_SIZE) {
+            List<Trade> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = from; i < Math.min(TRADES, from + CHUNK_SIZE); i++) {
+                Trade trade = new Trade("ACC" + (i % 100), "FX", 10.0, null);
+                trade.setBuyPrice(1.1);
+                trade.setSourceListId(sourceListId(i));
+                chunk.add(trade);
+            }
+            transaction.executeWithoutResult(status -> tradeRepository.saveAll(chunk));
+        }
+    }
+
+    /**
+     * The booked trades but the first, plus one the trades do not hold; every thousandth has another price.
+     */
+    private static void writeCounterpartyFile(Path file, int trades) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("sourceListId,buyQuantity,buyPrice\n");
+            for (int i = 1; i <= trades; i++) {
+                writer.write(sourceListId(i) + ",10," + (i % 1000 == 1 ? "1.2" : "1.1") + "\n");
+            }
+        }
+    }
+
+    private static String sourceListId(int i) {
+        return String.format("CP-%08d", i);
+    }
+}
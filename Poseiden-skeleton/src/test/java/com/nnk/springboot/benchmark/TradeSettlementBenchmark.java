@@ -0,0 +1,109 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.ITradeService;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-of-day settlement of 100k confirmed trades through {@code ITradeService#settleAll}: each chunk of ids is
+ * locked, logged as revisions and moved with one conditional UPDATE, instead of one load and save per trade.
+ * Each iteration books a fresh 100k confirmed trades and settles them; JMH reports the time per trade.
+ * Not part of the regular build (surefire only runs *Test classes); run it explicitly with
+ * {@code mvn test -Dtest=TradeSettlementBenchmark -Djacoco.skip=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TradeSettlementBenchmark {
+
+    private static final int TRADES = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+    private static final LocalDateTime TRADE_DATE = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    private ConfigurableApplicationContext context;
+    private TradeRepository tradeRepository;
+    private TransactionTemplate transaction;
+    private ITradeService tradeService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .run("--spring.jpa.show-sql=false", "--server.port=0");
+        tradeRepository = context.getBean(TradeRepository.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tradeService = context.getBean(ITradeService.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void book() {
+        for (int from = 0; from < TRADES; from += CHUNK_SIZE) {
+            List<Trade> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = from; i < Math.min(TRADES, from + CHUNK_SIZE); i++) {
+                Trade trade = new Trade("ACC" + (i % 100), "FX", 10.0, null);
+                trade.setBuyPrice(1.1);
+                trade.setStatus("CONFIRMED");
+                trade.setTradeDate(TRADE_DATE);
+                chunk.add(trade);
+            }
+            transaction.executeWithoutResult(status -> tradeRepository.saveAll(chunk));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRADES)
+    public long settle() {
+        long settled = tradeService.settleAll(TRADE_DATE.plusHours(8), "eod");
+        if (settled != TRADES) {
+            throw new IllegalStateException("Expected " + TRADES + " trades settled, got " + settled);
+        }
+        return settled;
+    }
+
+    @Test
+    void runBenchmark() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(TradeSettlementBenchmark.class.getName() + "\\.")
+                .build()).run();
+
+        assertThat(results).isNotEmpty();
+    }
+}
@@ -0,0 +1,175 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.dto.SnapshotQuery;
+import com.nnk.springboot.dto.TradeAggregate;
+import com.nnk.springboot.dto.TradeDimension;
+import com.nnk.springboot.dto.TradeSnapshotRow;
+import com.nnk.springboot.services.TradeSnapshot;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two dashboard queries over 500k trades, as SQL on an indexed in-memory H2 table (the database at its best,
+ * no network) against {@link TradeSnapshot}: the day's totals of one book per security, which the
+ * (book, trade_date) index narrows to a few hundred rows, and the totals of the whole table per trader.
+ * Not part of the regular build (surefire only runs *Test classes); run it explicitly with
+ * {@code mvn test -Dtest=TradeSnapshotBenchmark -Djacoco.skip=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TradeSnapshotBenchmark {
+
+    private static final int TRADES = 500_000;
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime DAY = FIRST_DAY.plusDays(20);
+
+    private static final String TOTALS = "select %s, count(*),"
+            + " sum(case when buy_quantity > 0 and buy_price is not null then buy_quantity else 0 end),"
+            + " sum(case when buy_quantity > 0 and buy_price is not null then buy_quantity * buy_price else 0 end),"
+            + " sum(case when sell_quantity > 0 and sell_price is not null then sell_quantity else 0 end),"
+            + " sum(case when sell_quantity > 0 and sell_price is not null then sell_quantity * sell_price else 0 end)"
+            + " from trade";
+    private static final String DAY_OF_BOOK = TOTALS.formatted("security")
+            + " where book = ? and trade_date >= ? and trade_date < ? group by security";
+    private static final String BY_TRADER = TOTALS.formatted("trader") + " group by trader";
+
+    private Connection connection;
+    private TradeSnapshot snapshot;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:snapshotbench;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table trade (trade_id int primary key, account varchar(30), book varchar(125),"
+                    + " security varchar(125), trader varchar(125), buy_quantity double, buy_price double,"
+                    + " sell_quantity double, sell_price double, trade_date timestamp)");
+            statement.execute("create index idx_trade_book_date on trade (book, trade_date)");
+        }
+        Random random = new Random(42);
+        TradeSnapshot.Builder builder = TradeSnapshot.builder(TRADES);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into trade values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= TRADES; i++) {
+                boolean buy = random.nextBoolean();
+                Double quantity = 1.0 + random.nextInt(100);
+                Double price = 100.0 + random.nextInt(11) * 0.25;
+                TradeSnapshotRow row = new TradeSnapshotRow(i, "ACC" + random.nextInt(50), "B" + random.nextInt(10),
+                        "SEC" + random.nextInt(200), "T" + random.nextInt(20), buy ? quantity : null,
+                        buy ? price : null, buy ? null : quantity, buy ? null : price,
+                        FIRST_DAY.plusSeconds(random.nextInt(60 * 86_400)));
+                builder.add(row);
+                insert.setInt(1, row.tradeId());
+                insert.setString(2, row.account());
+                insert.setString(3, row.book());
+                insert.setString(4, row.security());
+                insert.setString(5, row.trader());
+                insert.setObject(6, row.buyQuantity());
+                insert.setObject(7, row.buyPrice());
+                insert.setObject(8, row.sellQuantity());
+                insert.setObject(9, row.sellPrice());
+                insert.setTimestamp(10, Timestamp.valueOf(row.tradeDate()));
+                insert.addBatch();
+                if (i % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        snapshot = builder.build(Instant.now());
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<TradeAggregate> sqlDayOfBook() throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(DAY_OF_BOOK)) {
+            query.setString(1, "B3");
+            query.setTimestamp(2, Timestamp.valueOf(DAY));
+            query.setTimestamp(3, Timestamp.valueOf(DAY.plusDays(1)));
+            return read(query);
+        }
+    }
+
+    @Benchmark
+    public List<TradeAggregate> snapshotDayOfBook() {
+        return snapshot.aggregate(new SnapshotQuery(TradeDimension.SECURITY, null, "B3", null, null,
+                DAY, DAY.plusDays(1)));
+    }
+
+    @Benchmark
+    public List<TradeAggregate> sqlByTrader() throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(BY_TRADER)) {
+            return read(query);
+        }
+    }
+
+    @Benchmark
+    public List<TradeAggregate> snapshotByTrader() {
+        return snapshot.aggregate(new SnapshotQuery(TradeDimension.TRADER, null, null, null, null, null, null));
+    }
+
+    private static List<TradeAggregate> read(PreparedStatement query) throws SQLException {
+        List<TradeAggregate> aggregates = new ArrayList<>();
+        try (ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                double bought = rows.getDouble(3);
+                double sold = rows.getDouble(5);
+                aggregates.add(new TradeAggregate(rows.getString(1), rows.getLong(2), bought, rows.getDouble(4),
+                        sold, rows.getDouble(6), (rows.getDouble(4) + rows.getDouble(6)) / (bought + sold)));
+            }
+        }
+        return aggregates;
+    }
+
+    @Test
+    void runBenchmark() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(TradeSnapshotBenchmark.class.getName() + "\\.")
+                .build()).run();
+
+        assertThat(results).isNotEmpty();
+    }
+}
@@ -1,25 +1,42 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListFilter;
+import com.nnk.springboot.dto.BidListSummary;
+import com.nnk.springboot.dto.BulkOutcome;
+import com.nnk.springboot.dto.BulkResult;
+import com.nnk.springboot.dto.FileFormat;
+import com.nnk.springboot.dto.ImportReport;
+import com.nnk.springboot.dto.KeysetPage;
+import com.nnk.springboot.services.IBidListImportService;
 import com.nnk.springboot.services.IBidListService;
+import com.nnk.springboot.services.IExportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.security.access.AccessDeniedException;
 
-import java.util.Arrays;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,25 +53,35 @@ class BidListControllerTest {
     @MockBean
     private IBidListService bidListService;
 
+    @MockBean
+    private IBidListImportService bidListImportService;
+
+    @MockBean
+    private IExportService exportService;
+
     private BidList validBidList;
-    private List<BidList> bidLists;
+    private List<BidListSummary> summaries;
 
     @BeforeEach
     void setUp() {
         validBidList = new BidList("TestAccount", "TestType", 100.0);
         validBidList.setBidListId(1);
 
-        BidList bidList2 = new BidList("Account2", "Type2", 200.0);
-        bidList2.setBidListId(2);
+        summaries = List.of(summary(1, "TestAccount"), summary(2, "Account2"));
+    }
 
-        bidLists = Arrays.asList(validBidList, bidList2);
+    private BidListSummary summary(Integer id, String account) {
+        return new SpelAwareProxyProjectionFactory().createProjection(BidListSummary.class, Map.of(
+                "bidListId", id, "account", account, "type", "Type" + id,
+                "bidQuantity", 100.0 * id, "creationName", "user"));
     }
 
     @Test
-    @DisplayName("GET /bidList/list should display all BidLists")
+    @DisplayName("GET /bidList/list should display first page of BidLists")
     void shouldDisplayAllBidLists() throws Exception {
         
-        when(bidListService.findAll()).thenReturn(bidLists);
+        when(bidListService.findSummaryPage(any(BidListFilter.class), eq("bidListId"), eq("asc"), isNull(), isNull(), eq(50)))
+                .thenReturn(new KeysetPage<>(summaries, false, null, null));
 
         
         mockMvc.perform(get("/bidList/list"))
@@ -67,14 +94,58 @@ class BidListControllerTest {
                         hasProperty("account", is("Account2")))))
                 .andExpect(view().name("bidList/list"));
 
-        verify(bidListService).findAll();
+        verify(bidListService).findSummaryPage(any(BidListFilter.class), eq("bidListId"), eq("asc"), isNull(), isNull(), eq(50));
+        verify(bidListService, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("GET /bidList/list should pass keyset cursor and expose next cursor")
+    void shouldPassKeysetCursor() throws Exception {
+
+        KeysetPage<BidListSummary> page = new KeysetPage<>(summaries, true, 1, "TestAccount");
+        when(bidListService.findSummaryPage(any(BidListFilter.class), eq("account"), eq("desc"), eq(2), eq("Account2"), eq(2)))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/bidList/list")
+                .param("sort", "account")
+                .param("dir", "desc")
+                .param("after", "2")
+                .param("afterKey", "Account2")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("page", page))
+                .andExpect(content().string(containsString("after=1&amp;afterKey=TestAccount")))
+                .andExpect(view().name("bidList/list"));
+    }
+
+    @Test
+    @DisplayName("GET /bidList/list should bind filter criteria and keep them in paging links")
+    void shouldBindFilterCriteria() throws Exception {
+
+        when(bidListService.findSummaryPage(any(BidListFilter.class), any(), any(), any(), any(), anyInt()))
+                .thenReturn(new KeysetPage<>(summaries, true, 2, null));
+
+        mockMvc.perform(get("/bidList/list")
+                .param("status", "OPEN")
+                .param("book", "B1")
+                .param("from", "2024-01-01")
+                .param("to", "2024-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("filter", allOf(
+                        hasProperty("status", is("OPEN")),
+                        hasProperty("book", is("B1")),
+                        hasProperty("from", is(LocalDate.of(2024, 1, 1))),
+                        hasProperty("to", is(LocalDate.of(2024, 1, 31))),
+                        hasProperty("account", nullValue()))))
+                .andExpect(content().string(containsString("status=OPEN&amp;book=B1&amp;from=2024-01-01&amp;to=2024-01-31")));
     }
 
     @Test
     @DisplayName("GET /bidList/list should display empty list when no BidLists")
     void shouldDisplayEmptyListWhenNoBidLists() throws Exception {
         
-        when(bidListService.findAll()).thenReturn(Arrays.asList());
+        when(bidListService.findSummaryPage(any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(new KeysetPage<>(List.of(), false, null, null));
 
         
         mockMvc.perform(get("/bidList/list"))
@@ -83,6 +154,74 @@ class BidListControllerTest {
                 .andExpect(view().name("bidList/list"));
     }
 
+    @Test
+    @DisplayName("POST /bidList/import should import file and display report")
+    void shouldImportFileAndDisplayReport() throws Exception {
+        ImportReport report = new ImportReport(3, 2, 1, List.of(new ImportReport.RowError(3, "account: Account is mandatory")));
+        when(bidListImportService.importBids(any(), eq(FileFormat.NDJSON), eq("user"))).thenReturn(report);
+
+        mockMvc.perform(multipart("/bidList/import")
+                .file(new MockMultipartFile("file", "bids.ndjson", "application/x-ndjson", "{}".getBytes()))
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(view().name("bidList/import"))
+                .andExpect(model().attribute("report", report))
+                .andExpect(content().string(containsString("Account is mandatory")));
+    }
+
+    @Test
+    @DisplayName("POST /bidList/import should show error for rejected file")
+    void shouldShowErrorForRejectedImportFile() throws Exception {
+        when(bidListImportService.importBids(any(), eq(FileFormat.CSV), any()))
+                .thenThrow(new IllegalArgumentException("Unknown column in header: foo"));
+
+        mockMvc.perform(multipart("/bidList/import")
+                .file(new MockMultipartFile("file", "bids.csv", "text/csv", "foo\n1".getBytes()))
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("errorMessage", "Unknown column in header: foo"));
+    }
+
+    @Test
+    @DisplayName("POST /bidList/import should refuse an empty upload")
+    void shouldRefuseEmptyImportFile() throws Exception {
+        mockMvc.perform(multipart("/bidList/import")
+                .file(new MockMultipartFile("file", "bids.csv", "text/csv", new byte[0]))
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeExists("errorMessage"));
+
+        verifyNoInteractions(bidListImportService);
+    }
+
+    @Test
+    @DisplayName("GET /bidList/export should stream the export as an attachment")
+    void shouldStreamBidListExport() throws Exception {
+        when(exportService.exportBidLists(eq(FileFormat.NDJSON), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("{\"bidListId\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/bidList/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("bidlists.ndjson")))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"bidListId\":1}\n"));
+    }
+
+    @Test
+    @DisplayName("GET /bidList/export should reject an unknown format")
+    void shouldRejectUnknownExportFormat() throws Exception {
+        mockMvc.perform(get("/bidList/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportService);
+    }
+
     @Test
     @DisplayName("GET /bidList/add should display add form")
     void shouldDisplayAddForm() throws Exception {
@@ -289,6 +428,35 @@ class BidListControllerTest {
                 .andExpect(flash().attributeExists("errorMessage"));
     }
 
+    @Test
+    @DisplayName("POST /bidList/bulk/delete should return per-id outcomes as JSON")
+    @WithMockUser(username = "user")
+    void shouldBulkDeleteBidLists() throws Exception {
+        when(bidListService.deleteAll(eq(List.of(1, 2)), any(UserDetails.class)))
+                .thenReturn(BulkResult.of(Map.of(1, BulkOutcome.DONE)));
+
+        mockMvc.perform(post("/bidList/bulk/delete")
+                .with(csrf())
+                .param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.outcomes.1").value("DONE"));
+    }
+
+    @Test
+    @DisplayName("POST /bidList/bulk/status should answer 400 for a rejected request")
+    @WithMockUser(username = "user")
+    void shouldRejectInvalidBulkStatus() throws Exception {
+        when(bidListService.updateStatus(any(), eq(""), any(UserDetails.class)))
+                .thenThrow(new IllegalArgumentException("Status is mandatory"));
+
+        mockMvc.perform(post("/bidList/bulk/status")
+                .with(csrf())
+                .param("ids", "1")
+                .param("status", ""))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should use flash attributes for success messages")
     void shouldUseFlashAttributesForSuccess() throws Exception {
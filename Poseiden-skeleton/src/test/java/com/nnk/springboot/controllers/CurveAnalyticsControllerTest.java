@@ -0,0 +1,60 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.CurveAnalytics;
+import com.nnk.springboot.services.ICurveAnalyticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CurveAnalyticsController.class)
+@DisplayName("CurveAnalyticsController Tests")
+@WithMockUser
+class CurveAnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ICurveAnalyticsService curveAnalyticsService;
+
+    @Test
+    @DisplayName("GET /curvePoint/analytics/{curveId} should return the bootstrapped pillars")
+    void shouldReturnAnalytics() throws Exception {
+        when(curveAnalyticsService.analytics(7)).thenReturn(new CurveAnalytics(7, 1,
+                List.of(new CurveAnalytics.Pillar(1.0, 5.0, 0.95, 4.88, 4.88))));
+
+        mockMvc.perform(get("/curvePoint/analytics/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.curveId").value(7))
+                .andExpect(jsonPath("$.pillars[0].discountFactor").value(0.95))
+                .andExpect(jsonPath("$.pillars[0].zeroRate").value(4.88));
+    }
+
+    @Test
+    @DisplayName("GET /curvePoint/analytics/{curveId} should answer 404 for a curve without points")
+    void shouldReturnNotFoundForEmptyCurve() throws Exception {
+        when(curveAnalyticsService.analytics(9)).thenThrow(new IllegalArgumentException("Curve 9 has no points"));
+
+        mockMvc.perform(get("/curvePoint/analytics/9"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /curvePoint/analytics/{curveId} should answer 409 for a curve that cannot be bootstrapped")
+    void shouldReturnConflictForBrokenCurve() throws Exception {
+        when(curveAnalyticsService.analytics(3)).thenThrow(new IllegalStateException("discount factor -0.5"));
+
+        mockMvc.perform(get("/curvePoint/analytics/3"))
+                .andExpect(status().isConflict());
+    }
+}
@@ -1,5 +1,7 @@
 package com.nnk.springboot.controllers;
 
+import com.nnk.springboot.config.CustomUserDetailsService;
+import com.nnk.springboot.config.SecurityConfig;
 import com.nnk.springboot.domain.CurvePoint;
 import com.nnk.springboot.services.ICurvePointService;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -19,12 +22,15 @@ import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CurvePointController.class)
+@Import(SecurityConfig.class)
 @DisplayName("CurvePointController Tests")
 @org.springframework.security.test.context.support.WithMockUser
 class CurvePointControllerTest {
@@ -35,6 +41,9 @@ class CurvePointControllerTest {
     @MockBean
     private ICurvePointService curvePointService;
 
+    @MockBean
+    private CustomUserDetailsService customUserDetailsService;
+
     private CurvePoint validCurvePoint;
     private List<CurvePoint> curvePoints;
 
@@ -348,4 +357,45 @@ class CurvePointControllerTest {
                 .param("value", "2.7500"))
                 .andExpect(status().is3xxRedirection());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /curvePoint/replace/{curveId} should replace the curve and report it")
+    void shouldReplaceCurve() throws Exception {
+        // Arrange
+        when(curvePointService.replaceCurve(eq(7), anyList(), any(), any(UserDetails.class))).thenReturn(2);
+
+        // Act & Assert
+        mockMvc.perform(post("/curvePoint/replace/7")
+                .param("asOfDate", "2024-03-01T17:00:00")
+                .contentType("application/json")
+                .content("[{\"term\": 1.0, \"value\": 2.5}, {\"term\": 2.0, \"value\": 2.75}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.curveId").value(7))
+                .andExpect(jsonPath("$.points").value(2))
+                .andExpect(jsonPath("$.asOfDate").value("2024-03-01T17:00:00"));
+
+        verify(curvePointService).replaceCurve(eq(7), argThat(points -> points.size() == 2
+                && points.get(1).value().compareTo(new java.math.BigDecimal("2.75")) == 0),
+                eq(java.time.LocalDateTime.of(2024, 3, 1, 17, 0)), any(UserDetails.class));
+    }
+
+    @Test
+    @DisplayName("POST /curvePoint/replace/{curveId} should answer 400 on a rejected curve and 403 when not allowed")
+    void shouldRejectCurveReplacement() throws Exception {
+        // Arrange
+        when(curvePointService.replaceCurve(eq(7), anyList(), any(), any(UserDetails.class)))
+                .thenThrow(new IllegalArgumentException("Term 1.0 is given twice"));
+        when(curvePointService.replaceCurve(eq(8), anyList(), any(), any(UserDetails.class)))
+                .thenThrow(new AccessDeniedException("You are not authorized to replace this curve"));
+
+        // Act & Assert
+        mockMvc.perform(post("/curvePoint/replace/7")
+                .contentType("application/json")
+                .content("[{\"term\": 1.0, \"value\": 2.5}, {\"term\": 1.0, \"value\": 2.6}]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/curvePoint/replace/8")
+                .contentType("application/json")
+                .content("[{\"term\": 1.0, \"value\": 2.5}]"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,82 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.config.CustomUserDetailsService;
+import com.nnk.springboot.config.SecurityConfig;
+import com.nnk.springboot.services.CurveScenarios;
+import com.nnk.springboot.services.ICurveScenarioService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CurveScenarioController.class)
+@Import(SecurityConfig.class)
+@DisplayName("CurveScenarioController Tests")
+@WithMockUser(username = "risk", roles = "USER")
+class CurveScenarioControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ICurveScenarioService curveScenarioService;
+
+    @MockBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Test
+    @DisplayName("POST /curvePoint/scenarios should stream the scenarios of the service")
+    void shouldStreamScenarios() throws Exception {
+        CurveScenarios scenarios = mock(CurveScenarios.class);
+        when(curveScenarioService.prepare(argThat(request -> request.curveId() == 7 && request.maxBp() == 200
+                && request.terms().size() == 2))).thenReturn(scenarios);
+        when(curveScenarioService.stream(eq(scenarios), any())).thenAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(1);
+            output.write("{\"scenario\":0,\"type\":\"PARALLEL\",\"shiftBp\":-200.0,\"values\":[1.0,2.0]}\n"
+                    .getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(post("/curvePoint/scenarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"curveId\":7,\"types\":[\"PARALLEL\"],\"maxBp\":200,\"stepBp\":1,\"terms\":[1,2]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"scenario\":0,\"type\":\"PARALLEL\",\"shiftBp\":-200.0,\"values\":[1.0,2.0]}\n"));
+    }
+
+    @Test
+    @DisplayName("POST /curvePoint/scenarios should answer 400 on a run the service refuses")
+    void shouldRejectInvalidRun() throws Exception {
+        when(curveScenarioService.prepare(any())).thenThrow(new IllegalArgumentException("Curve 7 has no points"));
+
+        mockMvc.perform(post("/curvePoint/scenarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"curveId\":7,\"maxBp\":10,\"stepBp\":1,\"terms\":[1]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(curveScenarioService, never()).stream(any(), any());
+    }
+}
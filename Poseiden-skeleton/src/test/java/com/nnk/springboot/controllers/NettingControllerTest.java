@@ -0,0 +1,54 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.NettingLine;
+import com.nnk.springboot.dto.NettingReport;
+import com.nnk.springboot.services.INettingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(NettingController.class)
+@DisplayName("NettingController Tests")
+@WithMockUser(roles = "ADMIN")
+class NettingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private INettingService nettingService;
+
+    @Test
+    @DisplayName("GET /trade/netting should return the netting of the requested day")
+    void shouldReturnNetting() throws Exception {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        when(nettingService.findNetting(day)).thenReturn(new NettingReport(day, 2,
+                List.of(new NettingLine("ACC1", "B1", "BOND", 2, 10, 4, 6, 1000, 404, 596))));
+
+        mockMvc.perform(get("/trade/netting").param("day", "2024-03-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trades").value(2))
+                .andExpect(jsonPath("$.lines[0].netQuantity").value(6.0))
+                .andExpect(jsonPath("$.lines[0].netNotional").value(596.0));
+    }
+
+    @Test
+    @DisplayName("GET /trade/netting should answer 400 for a malformed day")
+    void shouldRejectMalformedDay() throws Exception {
+        mockMvc.perform(get("/trade/netting").param("day", "yesterday"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(nettingService);
+    }
+}
@@ -0,0 +1,69 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.OrderBookSnapshot;
+import com.nnk.springboot.dto.PriceLevel;
+import com.nnk.springboot.dto.TopOfBook;
+import com.nnk.springboot.services.IOrderBookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(OrderBookController.class)
+@DisplayName("OrderBookController Tests")
+@WithMockUser
+class OrderBookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IOrderBookService orderBookService;
+
+    private final TopOfBook top = new TopOfBook("BOND", new PriceLevel(99.0, 10.0, 2), new PriceLevel(101.0, 5.0, 1),
+            1, 1, 10.0, 5.0, Instant.parse("2024-01-01T00:00:00Z"));
+
+    @Test
+    @DisplayName("GET /orderBook/{security} should return the top of book")
+    void shouldReturnTopOfBook() throws Exception {
+        when(orderBookService.findTopOfBook("BOND")).thenReturn(Optional.of(top));
+
+        mockMvc.perform(get("/orderBook/BOND"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bestBid.price").value(99.0))
+                .andExpect(jsonPath("$.bestAsk.quantity").value(5.0))
+                .andExpect(jsonPath("$.spread").value(2.0));
+    }
+
+    @Test
+    @DisplayName("GET /orderBook/{security} should answer 404 for an unknown security")
+    void shouldReturnNotFoundForUnknownSecurity() throws Exception {
+        when(orderBookService.findTopOfBook("NONE")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/orderBook/NONE"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /orderBook/{security}/depth should pass the requested number of levels")
+    void shouldReturnDepth() throws Exception {
+        when(orderBookService.findDepth("BOND", 3))
+                .thenReturn(Optional.of(new OrderBookSnapshot(top, List.of(top.bestBid()), List.of(top.bestAsk()))));
+
+        mockMvc.perform(get("/orderBook/BOND/depth").param("levels", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bids[0].orders").value(2))
+                .andExpect(jsonPath("$.asks[0].price").value(101.0));
+    }
+}
@@ -0,0 +1,65 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.Position;
+import com.nnk.springboot.services.IPositionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PositionController.class)
+@DisplayName("PositionController Tests")
+@WithMockUser
+class PositionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IPositionService positionService;
+
+    private final Position position = new Position("ACC", "BOOK", "BOND", 15.0, 105.0, 75.0, 20.0, 5.0, 3,
+            Instant.parse("2024-01-01T00:00:00Z"));
+
+    @Test
+    @DisplayName("GET /position should pass the filters to the service")
+    void shouldListFilteredPositions() throws Exception {
+        when(positionService.findPositions("ACC", null, "BOND")).thenReturn(List.of(position));
+
+        mockMvc.perform(get("/position").param("account", "ACC").param("security", "BOND"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].netQuantity").value(15.0))
+                .andExpect(jsonPath("$[0].averageCost").value(105.0))
+                .andExpect(jsonPath("$[0].realizedPnl").value(75.0));
+    }
+
+    @Test
+    @DisplayName("GET /position/{account}/{security} should return the position of a book")
+    void shouldReturnOnePosition() throws Exception {
+        when(positionService.findPosition("ACC", "BOOK", "BOND")).thenReturn(Optional.of(position));
+
+        mockMvc.perform(get("/position/ACC/BOND").param("book", "BOOK"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trades").value(3));
+    }
+
+    @Test
+    @DisplayName("GET /position/{account}/{security} should answer 404 for an unknown position")
+    void shouldReturnNotFoundForUnknownPosition() throws Exception {
+        when(positionService.findPosition("ACC", null, "NONE")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/position/ACC/NONE"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,57 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.BucketWidth;
+import com.nnk.springboot.dto.TradeBucket;
+import com.nnk.springboot.services.ITradeAnalyticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TradeAnalyticsController.class)
+@DisplayName("TradeAnalyticsController Tests")
+@WithMockUser(roles = "ADMIN")
+class TradeAnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ITradeAnalyticsService tradeAnalyticsService;
+
+    @Test
+    @DisplayName("GET /trade/analytics should return the buckets of the window")
+    void shouldReturnBuckets() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 10, 0);
+        when(tradeAnalyticsService.findBuckets("BOND", BucketWidth.HOUR, from, from.plusHours(1)))
+                .thenReturn(List.of(new TradeBucket(from, from.plusHours(1), 2, 10.0, 105.0, 104.0, true)));
+
+        mockMvc.perform(get("/trade/analytics").param("security", "BOND").param("bucket", "1h")
+                        .param("from", "2024-01-01T10:00").param("to", "2024-01-01T11:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].vwap").value(105.0))
+                .andExpect(jsonPath("$[0].twap").value(104.0))
+                .andExpect(jsonPath("$[0].trades").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /trade/analytics should answer 400 for an unknown bucket width")
+    void shouldRejectUnknownBucket() throws Exception {
+        mockMvc.perform(get("/trade/analytics").param("security", "BOND").param("bucket", "2h")
+                        .param("from", "2024-01-01T10:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(tradeAnalyticsService, never()).findBuckets(any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,68 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.CaptureReport;
+import com.nnk.springboot.services.ITradeCaptureService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TradeCaptureController.class)
+@DisplayName("TradeCaptureController Tests")
+@WithMockUser(username = "oms", roles = "ADMIN")
+class TradeCaptureControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ITradeCaptureService tradeCaptureService;
+
+    @Test
+    @DisplayName("POST /trade/capture should stream the acknowledgements of the service")
+    void shouldStreamAcknowledgements() throws Exception {
+        when(tradeCaptureService.capture(any(), eq("oms"), any())).thenAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(2);
+            output.write("{\"index\":1,\"status\":\"CREATED\",\"tradeId\":5}\n".getBytes(StandardCharsets.UTF_8));
+            return new CaptureReport(1, 1, 0, 0);
+        });
+
+        MvcResult result = mockMvc.perform(post("/trade/capture").with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"account\":\"ACC\",\"type\":\"FX\",\"buyQuantity\":1}\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"index\":1,\"status\":\"CREATED\",\"tradeId\":5}\n"));
+    }
+
+    @Test
+    @DisplayName("POST /trade/capture should refuse bodies that are not JSON")
+    void shouldRefuseNonJsonBodies() throws Exception {
+        mockMvc.perform(post("/trade/capture").with(csrf())
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("account=ACC"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(tradeCaptureService);
+    }
+}
@@ -1,6 +1,13 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.BulkOutcome;
+import com.nnk.springboot.dto.BulkResult;
+import com.nnk.springboot.dto.FileFormat;
+import com.nnk.springboot.dto.MatchReport;
+import com.nnk.springboot.dto.TradeCreation;
+import com.nnk.springboot.services.IExportService;
+import com.nnk.springboot.services.IMatchingService;
 import com.nnk.springboot.services.ITradeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,14 +15,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,6 +44,12 @@ class TradeControllerTest {
     @MockBean
     private ITradeService tradeService;
 
+    @MockBean
+    private IExportService exportService;
+
+    @MockBean
+    private IMatchingService matchingService;
+
     private Trade validTrade;
     private List<Trade> trades;
 
@@ -65,6 +83,25 @@ class TradeControllerTest {
         verify(tradeService).findAll();
     }
 
+        @Test
+        @WithMockUser
+        @DisplayName("GET /trade/export should stream the CSV export by default")
+        void shouldStreamTradeExport() throws Exception {
+        // Arrange
+        when(exportService.exportTrades(eq(FileFormat.CSV), any())).thenReturn(0L);
+
+        // Act & Assert
+        MvcResult result = mockMvc.perform(get("/trade/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("trades.csv")));
+
+        verify(exportService).exportTrades(eq(FileFormat.CSV), any());
+    }
+
         @Test
         @WithMockUser
         @DisplayName("GET /trade/list should display empty list when no Trades")
@@ -96,7 +133,7 @@ class TradeControllerTest {
         @DisplayName("POST /trade/validate should create Trade and redirect")
         void shouldCreateTradeAndRedirect() throws Exception {
         // Arrange
-        when(tradeService.create(any(Trade.class))).thenReturn(validTrade);
+        when(tradeService.create(any(Trade.class))).thenReturn(TradeCreation.created(validTrade));
 
         // Act & Assert
         mockMvc.perform(post("/trade/validate")
@@ -112,6 +149,27 @@ class TradeControllerTest {
         verify(tradeService).create(any(Trade.class));
     }
 
+        @Test
+        @WithMockUser
+        @DisplayName("POST /trade/validate should report a resent sourceListId instead of a creation")
+        void shouldReportDuplicateTrade() throws Exception {
+        // Arrange
+        when(tradeService.create(any(Trade.class))).thenReturn(TradeCreation.duplicate(42));
+
+        // Act & Assert
+        mockMvc.perform(post("/trade/validate")
+                .with(csrf())
+                .param("account", "TestAccount")
+                .param("type", "BUY")
+                .param("buyQuantity", "100.0")
+                .param("buyPrice", "50.0")
+                .param("sourceListId", "OMS-1"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/trade/list"))
+                .andExpect(flash().attribute("errorMessage", containsString("already booked as trade 42")))
+                .andExpect(flash().attributeCount(1));
+    }
+
         @Test
         @WithMockUser
         @DisplayName("POST /trade/validate should return to form with validation errors")
@@ -291,7 +349,7 @@ class TradeControllerTest {
         @DisplayName("Should use flash attributes for success messages")
         void shouldUseFlashAttributesForSuccess() throws Exception {
         // Arrange
-        when(tradeService.create(any(Trade.class))).thenReturn(validTrade);
+        when(tradeService.create(any(Trade.class))).thenReturn(TradeCreation.created(validTrade));
 
         // Act & Assert
         mockMvc.perform(post("/trade/validate")
@@ -340,7 +398,7 @@ class TradeControllerTest {
         @DisplayName("Should handle null optional fields")
         void shouldHandleNullOptionalFields() throws Exception {
         // Arrange
-        when(tradeService.create(any(Trade.class))).thenReturn(validTrade);
+        when(tradeService.create(any(Trade.class))).thenReturn(TradeCreation.created(validTrade));
 
         // Act & Assert
         mockMvc.perform(post("/trade/validate")
@@ -357,7 +415,7 @@ class TradeControllerTest {
         @DisplayName("Should accept trade with both buy and sell operations")
         void shouldAcceptTradeWithBothOperations() throws Exception {
         // Arrange
-        when(tradeService.create(any(Trade.class))).thenReturn(validTrade);
+        when(tradeService.create(any(Trade.class))).thenReturn(TradeCreation.created(validTrade));
 
         // Act & Assert
         mockMvc.perform(post("/trade/validate")
@@ -370,4 +428,78 @@ class TradeControllerTest {
                 .param("sellPrice", "50.0"))
                 .andExpect(status().is3xxRedirection());
     }
-}
\ No newline at end of file
+
+        @Test
+        @WithMockUser(username = "ops")
+        @DisplayName("POST /trade/bulk/status should update all Trades in one call")
+        void shouldBulkUpdateTradeStatus() throws Exception {
+        // Arrange
+        when(tradeService.updateStatus(List.of(1, 2), "SETTLED", "ops"))
+                .thenReturn(BulkResult.of(Map.of(1, BulkOutcome.DONE, 2, BulkOutcome.NOT_FOUND)));
+
+        // Act & Assert
+        mockMvc.perform(post("/trade/bulk/status")
+                .with(csrf())
+                .param("ids", "1", "2")
+                .param("status", "SETTLED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.outcomes.2").value("NOT_FOUND"));
+    }
+
+        @Test
+        @WithMockUser(username = "eod")
+        @DisplayName("POST /trade/settle should settle the confirmed Trades traded before the cut-off")
+        void shouldSettleConfirmedTrades() throws Exception {
+        // Arrange
+        LocalDateTime cutOff = LocalDateTime.of(2024, 3, 1, 18, 0);
+        when(tradeService.settleAll(cutOff, "eod")).thenReturn(42L);
+
+        // Act & Assert
+        mockMvc.perform(post("/trade/settle")
+                .with(csrf())
+                .param("before", "2024-03-01T18:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.settled").value(42))
+                .andExpect(jsonPath("$.tradedBefore").value("2024-03-01T18:00:00"));
+    }
+
+        @Test
+        @WithMockUser
+        @DisplayName("POST /trade/bulk/delete should answer 400 without ids")
+        void shouldRejectBulkDeleteWithoutIds() throws Exception {
+        mockMvc.perform(post("/trade/bulk/delete")
+                .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verify(tradeService, never()).deleteAll(any());
+    }
+
+        @Test
+        @WithMockUser(username = "ops")
+        @DisplayName("POST /trade/match should run the matching engine and return its report")
+        void shouldRunMatching() throws Exception {
+        // Arrange
+        when(matchingService.match("ops")).thenReturn(new MatchReport(10, 1, 3, 6, 5, 4, 12));
+
+        // Act & Assert
+        mockMvc.perform(post("/trade/match")
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fills").value(3))
+                .andExpect(jsonPath("$.tradesCreated").value(6));
+    }
+
+        @Test
+        @WithMockUser
+        @DisplayName("POST /trade/match should answer 409 when the bid lists changed during the run")
+        void shouldAnswerConflictWhenMatchingAborts() throws Exception {
+        // Arrange
+        when(matchingService.match(any())).thenThrow(new OptimisticLockingFailureException("changed"));
+
+        // Act & Assert
+        mockMvc.perform(post("/trade/match")
+                .with(csrf()))
+                .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,61 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.ReconciliationKey;
+import com.nnk.springboot.dto.ReconciliationReport;
+import com.nnk.springboot.services.ITradeReconciliationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TradeReconciliationController.class)
+@DisplayName("TradeReconciliationController Tests")
+@WithMockUser(roles = "ADMIN")
+class TradeReconciliationControllerTest {
+
+    private static final MockMultipartFile FILE =
+            new MockMultipartFile("file", "counterparty.csv", "text/csv", "tradeId\n1\n".getBytes());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ITradeReconciliationService tradeReconciliationService;
+
+    @Test
+    @DisplayName("POST /trade/reconcile should return the reconciliation report")
+    void shouldReconcile() throws Exception {
+        when(tradeReconciliationService.reconcile(any(), eq(ReconciliationKey.TRADE_ID))).thenReturn(
+                new ReconciliationReport(ReconciliationKey.TRADE_ID, 1, 1, 1, 0, 0, 0, 0, List.of(), List.of()));
+
+        mockMvc.perform(multipart("/trade/reconcile").file(FILE).param("key", "tradeId").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.key").value("TRADE_ID"))
+                .andExpect(jsonPath("$.matched").value(1));
+    }
+
+    @Test
+    @DisplayName("POST /trade/reconcile should answer 400 for an unknown key and 409 for unsorted trades")
+    void shouldRejectReconciliation() throws Exception {
+        when(tradeReconciliationService.reconcile(any(), eq(ReconciliationKey.SOURCE_LIST_ID)))
+                .thenThrow(new IllegalStateException("Trades are not read in sourceListId order"));
+
+        mockMvc.perform(multipart("/trade/reconcile").file(FILE).param("key", "account").with(csrf()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(multipart("/trade/reconcile").file(FILE).with(csrf()))
+                .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,59 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeAmendment;
+import com.nnk.springboot.services.ITradeRevisionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TradeRevisionController.class)
+@DisplayName("TradeRevisionController Tests")
+@WithMockUser(roles = "ADMIN")
+class TradeRevisionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ITradeRevisionService tradeRevisionService;
+
+    @Test
+    @DisplayName("GET /trade/{id}/revisions should list the amendments")
+    void shouldListRevisions() throws Exception {
+        when(tradeRevisionService.findRevisions(7)).thenReturn(List.of(
+                new TradeAmendment(1, LocalDateTime.of(2024, 3, 1, 12, 0), "ops", List.of("buyQuantity"))));
+
+        mockMvc.perform(get("/trade/7/revisions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].revision").value(1))
+                .andExpect(jsonPath("$[0].changedFields[0]").value("buyQuantity"));
+    }
+
+    @Test
+    @DisplayName("GET /trade/{id}/revisions/{revision} should return the trade as of that revision, or 404")
+    void shouldReturnTradeAsOfRevision() throws Exception {
+        Trade trade = new Trade("ACC", "FX", 10.0, null);
+        trade.setTradeId(7);
+        when(tradeRevisionService.findAsOf(7, 0)).thenReturn(Optional.of(trade));
+        when(tradeRevisionService.findAsOf(7, 9)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/trade/7/revisions/0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.buyQuantity").value(10.0));
+        mockMvc.perform(get("/trade/7/revisions/9"))
+                .andExpect(status().isNotFound());
+    }
+}
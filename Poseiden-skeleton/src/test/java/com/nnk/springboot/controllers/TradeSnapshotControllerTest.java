@@ -0,0 +1,61 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.SnapshotQuery;
+import com.nnk.springboot.dto.SnapshotReport;
+import com.nnk.springboot.dto.TradeAggregate;
+import com.nnk.springboot.dto.TradeDimension;
+import com.nnk.springboot.services.ITradeSnapshotService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TradeSnapshotController.class)
+@DisplayName("TradeSnapshotController Tests")
+@WithMockUser(roles = "ADMIN")
+class TradeSnapshotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ITradeSnapshotService tradeSnapshotService;
+
+    @Test
+    @DisplayName("GET /trade/snapshot should return the totals of the requested groups")
+    void shouldAggregate() throws Exception {
+        SnapshotQuery query = new SnapshotQuery(TradeDimension.SECURITY, null, "B1", null, null,
+                LocalDateTime.of(2024, 3, 1, 0, 0), null);
+        when(tradeSnapshotService.aggregate(query)).thenReturn(new SnapshotReport(Instant.EPOCH, 10,
+                List.of(new TradeAggregate("BOND", 2, 10, 1000, 5, 515, 101.0))));
+
+        mockMvc.perform(get("/trade/snapshot")
+                        .param("groupBy", "security")
+                        .param("book", "B1")
+                        .param("from", "2024-03-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshotTrades").value(10))
+                .andExpect(jsonPath("$.groups[0].key").value("BOND"))
+                .andExpect(jsonPath("$.groups[0].vwap").value(101.0));
+    }
+
+    @Test
+    @DisplayName("GET /trade/snapshot should answer 400 for an unknown dimension")
+    void shouldRejectUnknownDimension() throws Exception {
+        mockMvc.perform(get("/trade/snapshot").param("groupBy", "status"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tradeSnapshotService);
+    }
+}
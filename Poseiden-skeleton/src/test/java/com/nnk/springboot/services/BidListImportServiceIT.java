@@ -0,0 +1,61 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.FileFormat;
+import com.nnk.springboot.dto.ImportReport;
+import com.nnk.springboot.repositories.BidListRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BidListImportServiceIT {
+
+    private static final String ACCOUNT = "IMPORT-IT";
+
+    @Autowired
+    private IBidListImportService importService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    @AfterEach
+    void tearDown() {
+        bidListRepository.deleteAll(bidListRepository.findAll().stream()
+                .filter(bidList -> ACCOUNT.equals(bidList.getAccount())).toList());
+    }
+
+    @Test
+    void importBids_shouldNotKeepImportedBidsManagedByTheRequestEntityManager() throws Exception {
+        String csv = "account,type,bidQuantity\n" + (ACCOUNT + ",LIMIT,10\n").repeat(2500);
+        // Bound to the thread for the whole request, as open-in-view does
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            ImportReport report = importService.importBids(
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), FileFormat.CSV, "importer");
+
+            assertEquals(2500, report.imported());
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+        assertEquals(2500, bidListRepository.findAll().stream()
+                .map(BidList::getAccount).filter(ACCOUNT::equals).count());
+    }
+}
@@ -0,0 +1,176 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.FileFormat;
+import com.nnk.springboot.dto.ImportReport;
+import com.nnk.springboot.repositories.BidListRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BidListImportService Tests")
+class BidListImportServiceTest {
+
+    @Mock
+    private BidListRepository bidListRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BidListImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new BidListImportService(bidListRepository, entityManager, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), eventPublisher, 2);
+    }
+
+    private InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should import CSV rows in chunks")
+    void shouldImportCsvInChunks() throws Exception {
+        String csv = "account,type,bidQuantity,commentary\n"
+                + "ACC1,LIMIT,10,\"quoted, with comma\"\n"
+                + "ACC2,LIMIT,20,\n"
+                + "ACC3,MARKET,30,\n";
+
+        ImportReport report = importService.importBids(input(csv), FileFormat.CSV, "trader1");
+
+        assertThat(report.rowsRead()).isEqualTo(3);
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.rejected()).isZero();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BidList>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(bidListRepository, times(2)).saveAll(chunks.capture());
+        assertThat(chunks.getAllValues().get(0)).hasSize(2);
+        assertThat(chunks.getAllValues().get(1)).hasSize(1);
+        BidList first = chunks.getAllValues().get(0).get(0);
+        assertThat(first.getCommentary()).isEqualTo("quoted, with comma");
+        assertThat(first.getCreationName()).isEqualTo("trader1");
+        assertThat(first.getBidQuantity()).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("Should detach each written chunk before its transaction commits")
+    void shouldDetachEachChunk() throws Exception {
+        String csv = "account,type,bidQuantity\nACC1,LIMIT,10\nACC2,LIMIT,20\nACC3,MARKET,30\n";
+
+        importService.importBids(input(csv), FileFormat.CSV, "trader1");
+
+        org.mockito.InOrder inOrder = inOrder(bidListRepository, entityManager, transactionManager);
+        for (int chunk = 0; chunk < 2; chunk++) {
+            inOrder.verify(bidListRepository).saveAll(anyList());
+            inOrder.verify(entityManager).flush();
+            inOrder.verify(entityManager).clear();
+            inOrder.verify(transactionManager).commit(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Should report invalid rows and keep importing")
+    void shouldReportInvalidRows() throws Exception {
+        String csv = "account,type,bidQuantity\n"
+                + ",LIMIT,10\n"
+                + "ACC2,LIMIT,abc\n"
+                + "ACC3,LIMIT\n"
+                + "ACC4,LIMIT,-5\n"
+                + "ACC5,LIMIT,5\n";
+
+        ImportReport report = importService.importBids(input(csv), FileFormat.CSV, "trader1");
+
+        assertThat(report.rowsRead()).isEqualTo(5);
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(4);
+        assertThat(report.errors()).extracting(ImportReport.RowError::line).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(report.errors().get(0).message()).contains("account");
+        assertThat(report.errors().get(1).message()).contains("not a number");
+        assertThat(report.errors().get(2).message()).contains("Expected 3 fields");
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV header with unknown columns")
+    void shouldRejectUnknownHeader() {
+        assertThatThrownBy(() -> importService.importBids(input("account,bogus\n"), FileFormat.CSV, "trader1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("bogus");
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON rows")
+    void shouldImportNdjson() throws Exception {
+        String ndjson = "{\"account\":\"ACC1\",\"type\":\"LIMIT\",\"bidQuantity\":10}\n"
+                + "\n"
+                + "{\"account\":\"ACC2\",\"type\":\n";
+
+        ImportReport report = importService.importBids(input(ndjson), FileFormat.NDJSON, "trader1");
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.errors().get(0).line()).isEqualTo(3);
+        assertThat(report.errors().get(0).message()).startsWith("Malformed JSON");
+    }
+
+    @Test
+    @DisplayName("Should retry a failed chunk row by row")
+    void shouldRetryFailedChunkRowByRow() throws Exception {
+        when(bidListRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("chunk failed"));
+        when(bidListRepository.save(any(BidList.class))).thenAnswer(invocation -> {
+            BidList bidList = invocation.getArgument(0);
+            if ("BAD".equals(bidList.getAccount())) {
+                throw new DataIntegrityViolationException("duplicate");
+            }
+            return bidList;
+        });
+        String csv = "account,type,bidQuantity\nBAD,LIMIT,1\nGOOD,LIMIT,2\n";
+
+        ImportReport report = importService.importBids(input(csv), FileFormat.CSV, "trader1");
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.errors().get(0).line()).isEqualTo(2);
+        verify(bidListRepository).save(argThat(b -> "GOOD".equals(b.getAccount())));
+        verify(eventPublisher, times(1)).publishEvent(any(BidListChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should return an empty report for an empty file")
+    void shouldHandleEmptyFile() throws Exception {
+        ImportReport report = importService.importBids(input(""), FileFormat.CSV, "trader1");
+
+        assertThat(report.rowsRead()).isZero();
+        verifyNoInteractions(bidListRepository);
+    }
+}
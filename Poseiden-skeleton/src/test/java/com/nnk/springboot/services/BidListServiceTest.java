@@ -1,6 +1,10 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListSummary;
+import com.nnk.springboot.dto.BulkOutcome;
+import com.nnk.springboot.dto.BulkResult;
+import com.nnk.springboot.dto.KeysetPage;
 import com.nnk.springboot.repositories.BidListRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,18 +13,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +44,9 @@ class BidListServiceTest {
     @Mock
     private BidListRepository bidListRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BidListService bidListService;
 
@@ -56,6 +73,7 @@ class BidListServiceTest {
         assertThat(created.getAccount()).isEqualTo("TestAccount");
         assertThat(created.getCreationDate()).isNotNull();
         verify(bidListRepository).save(any(BidList.class));
+        verify(eventPublisher).publishEvent(BidListChangedEvent.saved(validBidList));
     }
 
     @Test
@@ -159,6 +177,55 @@ class BidListServiceTest {
         verify(bidListRepository).findAll();
     }
 
+    private BidListSummary summary(Integer id, String account) {
+        return new SpelAwareProxyProjectionFactory().createProjection(BidListSummary.class,
+                Map.of("bidListId", id, "account", account));
+    }
+
+    @Test
+    @DisplayName("Should read first keyset page ordered by id")
+    void shouldReadFirstKeysetPage() {
+        when(bidListRepository.findSummaries(any(), any(KeysetScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(summary(1, "TestAccount"), summary(2, "Account2")), ScrollPosition::offset, true));
+
+        KeysetPage<BidListSummary> page = bidListService.findSummaryPage(null, null, null, null, null, 2);
+
+        assertThat(page.content()).hasSize(2);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.nextAfter()).isEqualTo(2);
+        assertThat(page.nextAfterKey()).isNull();
+        verify(bidListRepository).findSummaries(any(), eq(ScrollPosition.keyset()),
+                eq(Sort.by(Sort.Direction.ASC, "bidListId")), eq(Limit.of(2)));
+    }
+
+    @Test
+    @DisplayName("Should seek after cursor with secondary sort key")
+    void shouldSeekAfterCursorWithSortKey() {
+        when(bidListRepository.findSummaries(any(), any(KeysetScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(summary(1, "TestAccount")), ScrollPosition::offset, false));
+
+        KeysetPage<BidListSummary> page = bidListService.findSummaryPage(null, "account", "desc", 7, "Zulu", 10);
+
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextAfter()).isNull();
+        verify(bidListRepository).findSummaries(any(),
+                argThat(position -> position.getKeys().equals(Map.of("account", "Zulu", "bidListId", 7))),
+                eq(Sort.by(Sort.Direction.DESC, "account").and(Sort.by(Sort.Direction.DESC, "bidListId"))),
+                eq(Limit.of(10)));
+    }
+
+    @Test
+    @DisplayName("Should fall back to id order and clamp page size")
+    void shouldFallBackToIdOrderAndClampSize() {
+        when(bidListRepository.findSummaries(any(), any(KeysetScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset, false));
+
+        bidListService.findSummaryPage(null, "commentary", "sideways", null, null, 100_000);
+
+        verify(bidListRepository).findSummaries(any(), eq(ScrollPosition.keyset()),
+                eq(Sort.by(Sort.Direction.ASC, "bidListId")), eq(Limit.of(BidListService.MAX_PAGE_SIZE)));
+    }
+
     @Test
     @DisplayName("Should find BidList by ID")
     void shouldFindBidListById() {
@@ -208,17 +275,29 @@ class BidListServiceTest {
     void shouldDeleteBidListSuccessfully() {
         UserDetails userDetails = mock(UserDetails.class);
         when(userDetails.getUsername()).thenReturn("ownerUser");
-        
-        BidList bidToDelete = new BidList();
-        bidToDelete.setBidListId(1);
-        bidToDelete.setCreationName("ownerUser");
-        when(bidListRepository.findById(1)).thenReturn(Optional.of(bidToDelete));
+        when(bidListRepository.deleteIfAllowed(1, "ownerUser", false)).thenReturn(1);
 
         // Act
         bidListService.deleteById(1, userDetails);
 
         // Assert
-        verify(bidListRepository).delete(bidToDelete);
+        verify(bidListRepository).deleteIfAllowed(1, "ownerUser", false);
+        verify(bidListRepository, never()).findById(any());
+        verify(bidListRepository, never()).existsById(any());
+        verify(eventPublisher).publishEvent(BidListChangedEvent.deleted(1));
+    }
+
+    @Test
+    @DisplayName("Should delete any BidList when admin")
+    void shouldDeleteBidListWhenAdmin() {
+        UserDetails admin = mock(UserDetails.class);
+        when(admin.getUsername()).thenReturn("admin");
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))).when(admin).getAuthorities();
+        when(bidListRepository.deleteIfAllowed(1, "admin", true)).thenReturn(1);
+
+        bidListService.deleteById(1, admin);
+
+        verify(bidListRepository).deleteIfAllowed(1, "admin", true);
     }
 
     @Test
@@ -228,24 +307,21 @@ class BidListServiceTest {
         when(hacker.getUsername()).thenReturn("hacker");
         doReturn(List.of(new SimpleGrantedAuthority("ROLE_USER"))).when(hacker).getAuthorities();
 
-        BidList bidToDelete = new BidList();
-        bidToDelete.setBidListId(1);
-        bidToDelete.setCreationName("ownerUser");
-
-        when(bidListRepository.findById(1)).thenReturn(Optional.of(bidToDelete));
+        when(bidListRepository.deleteIfAllowed(1, "hacker", false)).thenReturn(0);
+        when(bidListRepository.existsById(1)).thenReturn(true);
 
         // Act & Assert
         assertThatThrownBy(() -> bidListService.deleteById(1, hacker))
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessageContaining("not authorized");
-        
-        verify(bidListRepository, never()).delete(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent BidList")
     void shouldThrowExceptionWhenDeletingNonExistent() {
         UserDetails userDetails = mock(UserDetails.class);
+        when(bidListRepository.existsById(999)).thenReturn(false);
 
         // Act & Assert
         assertThatThrownBy(() -> bidListService.deleteById(999, userDetails))
@@ -260,5 +336,104 @@ class BidListServiceTest {
 
         assertThatThrownBy(() -> bidListService.deleteById(null, userDetails))
                 .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(bidListRepository);
+    }
+
+    private BidListSummary owned(Integer id, String creationName) {
+        return new SpelAwareProxyProjectionFactory().createProjection(BidListSummary.class,
+                Map.of("bidListId", id, "creationName", creationName));
+    }
+
+    @Test
+    @DisplayName("Should bulk delete owned BidLists and report per-id outcomes")
+    void shouldBulkDeleteWithPerIdOutcomes() {
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("ownerUser");
+        when(bidListRepository.findSummariesForUpdate(List.of(1, 2, 3)))
+                .thenReturn(List.of(owned(1, "ownerUser"), owned(2, "otherUser")));
+        when(bidListRepository.deleteAllIfAllowed(List.of(1), "ownerUser", false)).thenReturn(1);
+
+        BulkResult result = bidListService.deleteAll(Arrays.asList(1, 2, 3, 1, -4), userDetails);
+
+        assertThat(result.outcomes()).containsExactly(
+                Map.entry(1, BulkOutcome.DONE),
+                Map.entry(2, BulkOutcome.FORBIDDEN),
+                Map.entry(3, BulkOutcome.NOT_FOUND),
+                Map.entry(-4, BulkOutcome.INVALID));
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(3);
+        verify(bidListRepository).deleteAllIfAllowed(List.of(1), "ownerUser", false);
+        verify(eventPublisher).publishEvent(BidListChangedEvent.deleted(1));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should bulk update status of any BidList when admin")
+    void shouldBulkUpdateStatusWhenAdmin() {
+        UserDetails admin = mock(UserDetails.class);
+        when(admin.getUsername()).thenReturn("admin");
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))).when(admin).getAuthorities();
+        when(bidListRepository.findSummariesForUpdate(List.of(1, 2)))
+                .thenReturn(List.of(owned(1, "ownerUser"), owned(2, "otherUser")));
+        when(bidListRepository.updateStatusIfAllowed(eq(List.of(1, 2)), eq("CANCELLED"), eq("admin"), eq(true), any()))
+                .thenReturn(2);
+
+        BulkResult result = bidListService.updateStatus(List.of(1, 2), " CANCELLED ", admin);
+
+        assertThat(result.succeeded()).isEqualTo(2);
+        verify(bidListRepository, never()).findSummariesByBidListIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should report the BidLists a bulk delete did not reach as forbidden and not announce them")
+    void shouldRecheckShortBulkDelete() {
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("ownerUser");
+        when(bidListRepository.findSummariesForUpdate(List.of(1, 2)))
+                .thenReturn(List.of(owned(1, "ownerUser"), owned(2, "ownerUser")));
+        when(bidListRepository.deleteAllIfAllowed(List.of(1, 2), "ownerUser", false)).thenReturn(1);
+        when(bidListRepository.findSummariesByBidListIdIn(List.of(1, 2))).thenReturn(List.of(owned(2, "otherUser")));
+
+        BulkResult result = bidListService.deleteAll(List.of(1, 2), userDetails);
+
+        assertThat(result.outcomes()).containsExactly(
+                Map.entry(1, BulkOutcome.DONE),
+                Map.entry(2, BulkOutcome.FORBIDDEN));
+        verify(eventPublisher).publishEvent(BidListChangedEvent.deleted(1));
+        verify(eventPublisher, never()).publishEvent(BidListChangedEvent.deleted(2));
+    }
+
+    @Test
+    @DisplayName("Should report the BidLists gone before a bulk status update as not found")
+    void shouldRecheckShortBulkUpdate() {
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("ownerUser");
+        when(bidListRepository.findSummariesForUpdate(List.of(1, 2, 3))).thenReturn(List.of(
+                owned(1, "ownerUser"), owned(2, "ownerUser"), owned(3, "ownerUser")));
+        when(bidListRepository.updateStatusIfAllowed(eq(List.of(1, 2, 3)), eq("CLOSED"), eq("ownerUser"), eq(false), any()))
+                .thenReturn(1);
+        when(bidListRepository.findSummariesByBidListIdIn(List.of(1, 2, 3)))
+                .thenReturn(List.of(owned(1, "ownerUser"), owned(3, "otherUser")));
+
+        BulkResult result = bidListService.updateStatus(List.of(1, 2, 3), "CLOSED", userDetails);
+
+        assertThat(result.outcomes()).containsExactly(
+                Map.entry(1, BulkOutcome.DONE),
+                Map.entry(2, BulkOutcome.NOT_FOUND),
+                Map.entry(3, BulkOutcome.FORBIDDEN));
+    }
+
+    @Test
+    @DisplayName("Should reject bulk requests without ids, with too many ids or with an invalid status")
+    void shouldRejectInvalidBulkRequests() {
+        UserDetails userDetails = mock(UserDetails.class);
+
+        assertThatThrownBy(() -> bidListService.deleteAll(List.of(), userDetails))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bidListService.deleteAll(Collections.nCopies(BulkIds.MAX_IDS + 1, 1), userDetails))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bidListService.updateStatus(List.of(1), "WAY_TOO_LONG_STATUS", userDetails))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(bidListRepository);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.CurveAnalytics;
+import com.nnk.springboot.dto.CurveNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CurveAnalyticsService Tests")
+class CurveAnalyticsServiceTest {
+
+    @Mock
+    private CurveCache curveCache;
+
+    private CurveAnalyticsService curveAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        curveAnalyticsService = new CurveAnalyticsService(curveCache, 0.01);
+    }
+
+    private static Curve curve(String value) {
+        return Curve.of(List.of(new CurveNode(BigDecimal.ONE, new BigDecimal(value)),
+                new CurveNode(BigDecimal.TEN, new BigDecimal(value))));
+    }
+
+    @Test
+    @DisplayName("Should bootstrap a curve once per version and again only once its points change")
+    void shouldRecomputeOnlyChangedCurves() {
+        // Arrange
+        Curve first = curve("2.0");
+        Curve reread = curve("2.0");
+        Curve changed = curve("3.0");
+        Curve other = curve("4.0");
+        when(curveCache.get(1)).thenReturn(first, first, reread, changed);
+        when(curveCache.get(2)).thenReturn(other);
+
+        // Act
+        CurveBootstrap bootstrapped = curveAnalyticsService.bootstrap(1);
+        CurveBootstrap otherCurve = curveAnalyticsService.bootstrap(2);
+        CurveBootstrap again = curveAnalyticsService.bootstrap(1);
+        CurveBootstrap afterReread = curveAnalyticsService.bootstrap(1);
+        CurveBootstrap afterWrite = curveAnalyticsService.bootstrap(1);
+
+        // Assert
+        assertThat(again).isSameAs(bootstrapped);
+        assertThat(afterReread).isSameAs(bootstrapped);
+        assertThat(afterWrite).isNotSameAs(bootstrapped);
+        assertThat(afterWrite.parRate(0)).isCloseTo(0.03, within(1e-15));
+        assertThat(otherCurve.parRate(0)).isCloseTo(0.04, within(1e-15));
+    }
+
+    @Test
+    @DisplayName("Should give the rates in the units of the curve values")
+    void shouldReportRatesInCurveUnits() {
+        // Arrange
+        when(curveCache.get(1)).thenReturn(curve("5.0"));
+
+        // Act
+        CurveAnalytics analytics = curveAnalyticsService.analytics(1);
+
+        // Assert
+        assertThat(analytics.points()).isEqualTo(2);
+        CurveAnalytics.Pillar pillar = analytics.pillars().get(0);
+        assertThat(pillar.term()).isEqualTo(1.0);
+        assertThat(pillar.parRate()).isCloseTo(5.0, within(1e-12));
+        assertThat(pillar.discountFactor()).isCloseTo(1 / 1.05, within(1e-14));
+        assertThat(pillar.zeroRate()).isCloseTo(100 * Math.log(1.05), within(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should reject a curve without points")
+    void shouldRejectEmptyCurve() {
+        // Arrange
+        when(curveCache.get(9)).thenReturn(Curve.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> curveAnalyticsService.bootstrap(9))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Curve 9");
+    }
+}
@@ -0,0 +1,106 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.CurveNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("CurveBootstrap Tests")
+class CurveBootstrapTest {
+
+    private static CurveNode node(String term, String value) {
+        return new CurveNode(new BigDecimal(term), new BigDecimal(value));
+    }
+
+    @Test
+    @DisplayName("Should discount a flat par curve at its yield, even across a gap between pillars")
+    void shouldBootstrapFlatCurve() {
+        // Arrange
+        Curve curve = Curve.of(List.of(node("0", "5"), node("1", "5"), node("2", "5"), node("5", "5")));
+
+        // Act
+        CurveBootstrap bootstrap = CurveBootstrap.of(curve, 0.01);
+
+        // Assert
+        assertThat(bootstrap.size()).isEqualTo(3);
+        assertThat(bootstrap.discountFactor(0)).isCloseTo(1 / 1.05, within(1e-14));
+        assertThat(bootstrap.discountFactor(1)).isCloseTo(Math.pow(1.05, -2), within(1e-14));
+        assertThat(bootstrap.discountFactor(2)).isCloseTo(Math.pow(1.05, -5), within(1e-14));
+        for (int i = 0; i < bootstrap.size(); i++) {
+            assertThat(bootstrap.zeroRate(i)).isCloseTo(Math.log(1.05), within(1e-14));
+            assertThat(bootstrap.forwardRate(i)).isCloseTo(Math.log(1.05), within(1e-14));
+        }
+        assertThat(bootstrap.discountFactorAt(0)).isEqualTo(1.0);
+        assertThat(bootstrap.discountFactorAt(3.5)).isCloseTo(Math.pow(1.05, -3.5), within(1e-14));
+        assertThat(bootstrap.zeroRateAt(30)).isCloseTo(Math.log(1.05), within(1e-14));
+    }
+
+    @Test
+    @DisplayName("Should price every pillar's bond at par on the bootstrapped discount factors")
+    void shouldRepriceEveryPillarAtPar() {
+        // Arrange
+        Curve curve = Curve.of(List.of(node("0.25", "1.5"), node("0.5", "2.0"), node("1", "2.5"),
+                node("2.5", "3.0"), node("5", "3.25"), node("10", "4.0"), node("30", "3.5")));
+
+        // Act
+        CurveBootstrap bootstrap = CurveBootstrap.of(curve, 0.01);
+
+        // Assert
+        for (int k = 0; k < bootstrap.size(); k++) {
+            double term = bootstrap.term(k);
+            double coupon = bootstrap.parRate(k);
+            double price;
+            if (term <= 1) {
+                price = (1 + coupon * term) * bootstrap.discountFactorAt(term);
+            } else {
+                double stub = term - (Math.ceil(term) - 1);
+                price = coupon * stub * bootstrap.discountFactorAt(stub);
+                for (double time = stub + 1; time <= term + 1e-9; time++) {
+                    price += coupon * bootstrap.discountFactorAt(time);
+                }
+                price += bootstrap.discountFactorAt(term);
+            }
+            assertThat(price).as("price of the %s year bond", term).isCloseTo(1.0, within(1e-12));
+        }
+        assertThat(bootstrap.forwardRateAt(5, 10)).isCloseTo(bootstrap.forwardRate(5), within(1e-14));
+    }
+
+    @Test
+    @DisplayName("Should bootstrap a steep curve whose long pillar discounts many coupons on its own line")
+    void shouldBootstrapSteepCurve() {
+        // Arrange
+        Curve curve = Curve.of(List.of(node("1", "1"), node("30", "25")));
+
+        // Act
+        CurveBootstrap bootstrap = CurveBootstrap.of(curve, 0.01);
+
+        // Assert
+        double price = bootstrap.discountFactorAt(30);
+        for (int time = 1; time <= 30; time++) {
+            price += 0.25 * bootstrap.discountFactorAt(time);
+        }
+        assertThat(bootstrap.discountFactor(1)).isPositive();
+        assertThat(price).isCloseTo(1.0, within(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should refuse a curve with nothing to discount or no positive discount factor at par")
+    void shouldRejectCurvesThatCannotBeBootstrapped() {
+        assertThatThrownBy(() -> CurveBootstrap.of(Curve.empty(), 0.01))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> CurveBootstrap.of(Curve.of(List.of(node("0", "5"))), 0.01))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> CurveBootstrap.of(Curve.of(List.of(node("1", "-150"))), 0.01))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("term 1.0");
+        assertThatThrownBy(() -> CurveBootstrap.of(Curve.of(List.of(node("20", "1"), node("21", "60"))), 0.01))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("term 21.0");
+    }
+}
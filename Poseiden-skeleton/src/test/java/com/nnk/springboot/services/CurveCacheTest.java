@@ -0,0 +1,169 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.CurveNode;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CurveCache Tests")
+class CurveCacheTest {
+
+    @Mock
+    private CurvePointRepository curvePointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CurveCache curveCache;
+
+    @BeforeEach
+    void setUp() {
+        curveCache = new CurveCache(curvePointRepository, transactionManager, 2);
+    }
+
+    private static List<CurveNode> nodes(String value) {
+        return List.of(new CurveNode(BigDecimal.ONE, new BigDecimal(value)),
+                new CurveNode(BigDecimal.TEN, new BigDecimal(value)));
+    }
+
+    @Test
+    @DisplayName("Should read a curve once and again after a committed write to it")
+    void shouldReloadChangedCurve() {
+        // Arrange
+        when(curvePointRepository.findNodesAsOf(eq(1), any())).thenReturn(nodes("1.0"), nodes("2.0"));
+        when(curvePointRepository.findNodesAsOf(eq(2), any())).thenReturn(nodes("3.0"));
+        Curve first = curveCache.get(1);
+        curveCache.get(2);
+
+        // Act
+        Curve cached = curveCache.get(1);
+        curveCache.onCurveChanged(new CurveChangedEvent(1));
+        Curve reloaded = curveCache.get(1);
+
+        // Assert
+        assertThat(cached).isSameAs(first);
+        assertThat(reloaded.linear(5)).isEqualTo(2.0);
+        assertThat(curveCache.get(2).linear(5)).isEqualTo(3.0);
+        verify(curvePointRepository, times(2)).findNodesAsOf(eq(1), any());
+        verify(curvePointRepository).findNodesAsOf(eq(2), any());
+    }
+
+    @Test
+    @DisplayName("Should not cache a curve read before a write that committed during the read")
+    void shouldNotCacheCurveReadBeforeWrite() {
+        // Arrange: the write commits while the first read is in flight
+        when(curvePointRepository.findNodesAsOf(eq(1), any())).thenAnswer(invocation -> {
+            curveCache.onCurveChanged(CurveChangedEvent.all());
+            return nodes("1.0");
+        }).thenReturn(nodes("2.0"));
+
+        // Act
+        Curve stale = curveCache.get(1);
+        Curve fresh = curveCache.get(1);
+
+        // Assert
+        assertThat(stale.linear(5)).isEqualTo(1.0);
+        assertThat(fresh.linear(5)).isEqualTo(2.0);
+        assertThat(curveCache.get(1)).isSameAs(fresh);
+    }
+
+    @Test
+    @DisplayName("Should swap in a replaced curve without reading it again")
+    void shouldSwapReplacedCurve() {
+        // Arrange
+        when(curvePointRepository.findNodesAsOf(eq(1), any())).thenReturn(nodes("1.0"));
+        curveCache.get(1);
+        Curve replacement = Curve.of(nodes("2.0"));
+
+        // Act
+        curveCache.onCurveChanged(CurveChangedEvent.replaced(1, replacement, null));
+
+        // Assert
+        assertThat(curveCache.get(1)).isSameAs(replacement);
+        verify(curvePointRepository).findNodesAsOf(eq(1), any());
+    }
+
+    @Test
+    @DisplayName("Should keep the current curve until the next version takes over")
+    void shouldReloadOnceNextVersionTakesOver() {
+        // Arrange
+        Curve untilTomorrow = Curve.of(nodes("1.0"));
+        Curve untilNow = Curve.of(nodes("2.0"));
+        when(curvePointRepository.findNodesAsOf(eq(2), any())).thenReturn(nodes("3.0"));
+
+        // Act
+        curveCache.onCurveChanged(CurveChangedEvent.replaced(1, untilTomorrow, LocalDateTime.now().plusDays(1)));
+        curveCache.onCurveChanged(CurveChangedEvent.replaced(2, untilNow, LocalDateTime.now()));
+
+        // Assert
+        assertThat(curveCache.get(1)).isSameAs(untilTomorrow);
+        assertThat(curveCache.get(2).linear(5)).isEqualTo(3.0);
+        verify(curvePointRepository, never()).findNodesAsOf(eq(1), any());
+    }
+
+    @Test
+    @DisplayName("Should read the version standing at a date, and keep the most recent dates asked for")
+    void shouldReadCurveAsOfDate() {
+        // Arrange
+        LocalDateTime monday = LocalDateTime.of(2024, 3, 4, 17, 0);
+        LocalDateTime tuesday = monday.plusDays(1);
+        LocalDateTime wednesday = tuesday.plusDays(1);
+        when(curvePointRepository.findNodesAsOf(1, monday)).thenReturn(nodes("1.0"));
+        when(curvePointRepository.findNodesAsOf(1, tuesday)).thenReturn(List.of(
+                new CurveNode(BigDecimal.ONE, new BigDecimal("1.0")),
+                new CurveNode(BigDecimal.TEN, new BigDecimal("2.0"))));
+        when(curvePointRepository.findNodesAsOf(1, wednesday)).thenReturn(nodes("3.0"));
+
+        // Act
+        Curve onTuesday = curveCache.getAsOf(1, tuesday);
+        curveCache.getAsOf(1, monday);
+        curveCache.getAsOf(1, tuesday);
+        curveCache.getAsOf(1, wednesday);
+        curveCache.getAsOf(1, tuesday);
+
+        // Assert: tuesday stayed, monday was the least recently used
+        assertThat(onTuesday.linear(1)).isEqualTo(1.0);
+        assertThat(onTuesday.linear(10)).isEqualTo(2.0);
+        assertThat(curveCache.historySize()).isEqualTo(2);
+        verify(curvePointRepository).findNodesAsOf(1, tuesday);
+        verify(curvePointRepository).findNodesAsOf(1, wednesday);
+    }
+
+    @Test
+    @DisplayName("Should drop the past versions of a curve written to, and only of that curve")
+    void shouldDropPastVersionsOfChangedCurve() {
+        // Arrange
+        LocalDateTime monday = LocalDateTime.of(2024, 3, 4, 17, 0);
+        when(curvePointRepository.findNodesAsOf(1, monday)).thenReturn(nodes("1.0"));
+        when(curvePointRepository.findNodesAsOf(2, monday)).thenReturn(nodes("2.0"));
+        curveCache.getAsOf(1, monday);
+        curveCache.getAsOf(2, monday);
+
+        // Act
+        curveCache.onCurveChanged(new CurveChangedEvent(1));
+        curveCache.getAsOf(1, monday);
+        curveCache.getAsOf(2, monday);
+
+        // Assert
+        verify(curvePointRepository, times(2)).findNodesAsOf(1, monday);
+        verify(curvePointRepository).findNodesAsOf(2, monday);
+    }
+}
@@ -0,0 +1,88 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.CurveNode;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class CurvePointServiceIT {
+
+    // One curve per test: the test transactions never commit, so the cached curves are never dropped
+    private static final int CURVE_ID = 901;
+    private static final int OTHER_CURVE_ID = 902;
+    private static final int DROPPED_TERM_CURVE_ID = 903;
+    private static final LocalDateTime FIRST = LocalDateTime.of(2024, 3, 1, 17, 0);
+    private static final LocalDateTime SECOND = LocalDateTime.of(2024, 3, 2, 17, 0);
+
+    private final UserDetails admin = new User("admin", "n/a", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    @Autowired
+    private ICurvePointService curvePointService;
+
+    @Autowired
+    private CurvePointRepository curvePointRepository;
+
+    @Autowired
+    private CurveCache curveCache;
+
+    @Test
+    void replaceCurve_shouldKeepEarlierVersionsReadable() {
+        curvePointService.replaceCurve(CURVE_ID, nodes("2.0", "3.0"), FIRST, admin);
+        curvePointService.replaceCurve(CURVE_ID, nodes("2.5", "3.5"), SECOND, admin);
+
+        Curve first = curveCache.getAsOf(CURVE_ID, FIRST);
+        assertEquals(2.0, first.linear(1.0), 1e-12);
+        assertEquals(3.0, first.linear(2.0), 1e-12);
+        Curve current = Curve.of(curvePointRepository.findNodesAsOf(CURVE_ID, LocalDateTime.now()));
+        assertEquals(2.5, current.linear(1.0), 1e-12);
+        assertEquals(3.5, current.linear(2.0), 1e-12);
+    }
+
+    @Test
+    void replaceCurve_shouldServeOnlyTheTermsOfTheCurrentVersion() {
+        curvePointService.replaceCurve(DROPPED_TERM_CURVE_ID, List.of(
+                new CurveNode(BigDecimal.ONE, new BigDecimal("2.0")),
+                new CurveNode(BigDecimal.valueOf(2), new BigDecimal("3.0")),
+                new CurveNode(BigDecimal.valueOf(5), new BigDecimal("9.0"))), FIRST, admin);
+        curvePointService.replaceCurve(DROPPED_TERM_CURVE_ID, nodes("2.5", "3.5"), SECOND, admin);
+        curvePointService.replaceCurve(DROPPED_TERM_CURVE_ID, nodes("7.0", "8.0"),
+                LocalDateTime.now().plusDays(1), admin);
+
+        // Term 5 was dropped by the second version; the future-dated version is not current yet
+        Curve current = curveCache.get(DROPPED_TERM_CURVE_ID);
+        assertEquals(2, current.size());
+        assertEquals(2.0, current.term(1), 1e-12);
+        assertEquals(3.5, current.linear(5.0), 1e-12);
+        assertEquals(3, curveCache.getAsOf(DROPPED_TERM_CURVE_ID, FIRST).size());
+    }
+
+    @Test
+    void replaceCurve_shouldOverwriteOnlyTheVersionWritten() {
+        curvePointService.replaceCurve(OTHER_CURVE_ID, nodes("2.0", "3.0"), FIRST, admin);
+        curvePointService.replaceCurve(OTHER_CURVE_ID, nodes("2.5", "3.5"), SECOND, admin);
+        curvePointService.replaceCurve(OTHER_CURVE_ID, nodes("2.1", "3.1"), FIRST, admin);
+
+        assertEquals(2.1, curveCache.getAsOf(OTHER_CURVE_ID, FIRST).linear(1.0), 1e-12);
+        assertEquals(2.5, Curve.of(curvePointRepository.findNodesAsOf(OTHER_CURVE_ID, SECOND)).linear(1.0), 1e-12);
+        assertEquals(2, curvePointRepository.findNodesAsOf(OTHER_CURVE_ID, FIRST).size());
+    }
+
+    // Points at terms 1 and 2
+    private static List<CurveNode> nodes(String first, String second) {
+        return List.of(new CurveNode(BigDecimal.ONE, new BigDecimal(first)),
+                new CurveNode(BigDecimal.valueOf(2), new BigDecimal(second)));
+    }
+}
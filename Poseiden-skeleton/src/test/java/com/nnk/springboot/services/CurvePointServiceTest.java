@@ -1,6 +1,7 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.dto.CurveNode;
 import com.nnk.springboot.repositories.CurvePointRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.access.AccessDeniedException;
@@ -30,6 +32,9 @@ class CurvePointServiceTest {
     @Mock
     private CurvePointRepository curvePointRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CurvePointService curvePointService;
 
@@ -104,6 +109,7 @@ class CurvePointServiceTest {
     void shouldUpdateCurvePointSuccessfully() {
         // Arrange
         when(curvePointRepository.existsById(1)).thenReturn(true);
+        when(curvePointRepository.findCurveIdById(1)).thenReturn(Optional.of(1));
         when(curvePointRepository.save(any(CurvePoint.class))).thenReturn(validCurvePoint);
 
         // Act
@@ -111,8 +117,42 @@ class CurvePointServiceTest {
 
         // Assert
         assertThat(updated).isNotNull();
-        verify(curvePointRepository).existsById(1);
+        verify(curvePointRepository).findCurveIdById(1);
         verify(curvePointRepository).save(any(CurvePoint.class));
+        verify(eventPublisher).publishEvent(new CurveChangedEvent(1));
+    }
+
+    @Test
+    @DisplayName("Should report both curves changed when a point moves to another curve")
+    void shouldReportBothCurvesWhenPointMoves() {
+        // Arrange
+        when(curvePointRepository.existsById(1)).thenReturn(true);
+        when(curvePointRepository.findCurveIdById(1)).thenReturn(Optional.of(7));
+        when(curvePointRepository.save(any(CurvePoint.class))).thenReturn(validCurvePoint);
+
+        // Act
+        curvePointService.update(1, validCurvePoint);
+
+        // Assert
+        verify(eventPublisher).publishEvent(new CurveChangedEvent(7));
+        verify(eventPublisher).publishEvent(new CurveChangedEvent(1));
+    }
+
+    @Test
+    @DisplayName("Should update a point without a curve id and report only the curve it joins")
+    void shouldUpdatePointWithoutCurveId() {
+        // Arrange
+        when(curvePointRepository.existsById(1)).thenReturn(true);
+        when(curvePointRepository.findCurveIdById(1)).thenReturn(Optional.empty());
+        when(curvePointRepository.save(any(CurvePoint.class))).thenReturn(validCurvePoint);
+
+        // Act
+        CurvePoint updated = curvePointService.update(1, validCurvePoint);
+
+        // Assert
+        assertThat(updated).isSameAs(validCurvePoint);
+        verify(eventPublisher).publishEvent(new CurveChangedEvent(1));
+        verifyNoMoreInteractions(eventPublisher);
     }
 
     @Test
@@ -121,6 +161,7 @@ class CurvePointServiceTest {
         // Arrange
         validCurvePoint.setId(999); 
         when(curvePointRepository.existsById(1)).thenReturn(true);
+        when(curvePointRepository.findCurveIdById(1)).thenReturn(Optional.of(1));
         when(curvePointRepository.save(any(CurvePoint.class))).thenReturn(validCurvePoint);
 
         // Act
@@ -232,18 +273,16 @@ class CurvePointServiceTest {
         UserDetails userDetails = mock(UserDetails.class);
         when(userDetails.getUsername()).thenReturn("ownerUser");
 
-        // 2. Mock du CurvePoint existant
-        CurvePoint cp = new CurvePoint();
-        cp.setId(1);
-        cp.setCreationName("ownerUser"); // Correspond au username
-
-        when(curvePointRepository.findById(1)).thenReturn(Optional.of(cp));
+        // 2. Le DELETE conditionnel supprime une ligne
+        when(curvePointRepository.deleteIfAllowed(1, "ownerUser", false)).thenReturn(1);
 
         // Act
         curvePointService.deleteById(1, userDetails);
 
         // Assert
-        verify(curvePointRepository).delete(cp);
+        verify(curvePointRepository).deleteIfAllowed(1, "ownerUser", false);
+        verify(curvePointRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(CurveChangedEvent.all());
     }
 
     @Test
@@ -255,18 +294,14 @@ class CurvePointServiceTest {
         // On simule l'autorité ADMIN
         doReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))).when(adminUser).getAuthorities();
 
-        // 2. Mock d'un CurvePoint appartenant à quelqu'un d'autre
-        CurvePoint cp = new CurvePoint();
-        cp.setId(1);
-        cp.setCreationName("otherUser"); 
-
-        when(curvePointRepository.findById(1)).thenReturn(Optional.of(cp));
+        // 2. Le flag admin lève la condition sur le propriétaire
+        when(curvePointRepository.deleteIfAllowed(1, "admin", true)).thenReturn(1);
 
         // Act
         curvePointService.deleteById(1, adminUser);
 
         // Assert
-        verify(curvePointRepository).delete(cp);
+        verify(curvePointRepository).deleteIfAllowed(1, "admin", true);
     }
 
     @Test
@@ -277,18 +312,13 @@ class CurvePointServiceTest {
 
         doReturn(List.of(new SimpleGrantedAuthority("ROLE_USER"))).when(hacker).getAuthorities();
 
-        CurvePoint cp = new CurvePoint();
-        cp.setId(1);
-        cp.setCreationName("owner");
-
-        when(curvePointRepository.findById(1)).thenReturn(Optional.of(cp));
+        when(curvePointRepository.deleteIfAllowed(1, "hacker", false)).thenReturn(0);
+        when(curvePointRepository.existsById(1)).thenReturn(true);
 
         // Act & Assert
         assertThatThrownBy(() -> curvePointService.deleteById(1, hacker))
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessageContaining("not authorized");
-
-        verify(curvePointRepository, never()).delete(any());
     }
 
     @Test
@@ -296,7 +326,7 @@ class CurvePointServiceTest {
     void shouldThrowExceptionWhenDeletingNonExistent() {
         UserDetails userDetails = mock(UserDetails.class);
 
-        when(curvePointRepository.findById(455999)).thenReturn(Optional.empty());
+        when(curvePointRepository.existsById(455999)).thenReturn(false);
 
         // Act & Assert
         assertThatThrownBy(() -> curvePointService.deleteById(455999, userDetails))
@@ -312,4 +342,76 @@ class CurvePointServiceTest {
         assertThatThrownBy(() -> curvePointService.deleteById(null, userDetails))
                 .isInstanceOf(IllegalArgumentException.class);
     }
-}
\ No newline at end of file
+
+    // REPLACE Tests
+    @Test
+    @DisplayName("Should replace a curve version with one delete and one batch, then swap the cached curve")
+    void shouldReplaceCurve() {
+        // Arrange
+        UserDetails adminUser = mock(UserDetails.class);
+        when(adminUser.getUsername()).thenReturn("admin");
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))).when(adminUser).getAuthorities();
+        java.time.LocalDateTime asOfDate = java.time.LocalDateTime.of(2024, 3, 1, 17, 0);
+        List<CurveNode> points = List.of(
+                new CurveNode(new java.math.BigDecimal("2"), new java.math.BigDecimal("3.0")),
+                new CurveNode(new java.math.BigDecimal("1"), new java.math.BigDecimal("2.0")));
+
+        // Act
+        int replaced = curvePointService.replaceCurve(7, points, asOfDate, adminUser);
+
+        // Assert
+        assertThat(replaced).isEqualTo(2);
+        org.mockito.InOrder inOrder = inOrder(curvePointRepository);
+        inOrder.verify(curvePointRepository).deleteByCurveIdAndAsOfDate(7, asOfDate);
+        inOrder.verify(curvePointRepository).saveAll(argThat((List<CurvePoint> saved) -> saved.size() == 2
+                && saved.get(0).getTerm().intValue() == 1
+                && saved.stream().allMatch(cp -> cp.getCurveId() == 7 && asOfDate.equals(cp.getAsOfDate())
+                        && "admin".equals(cp.getCreationName()))));
+        inOrder.verify(curvePointRepository).findNextAsOfDate(7, asOfDate);
+        verify(curvePointRepository, never()).existsPointNotCreatedBy(any(), any());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof CurveChangedEvent changed
+                && changed.curveId() == 7 && changed.curve().linear(1.5) == 2.5 && changed.until() == null));
+    }
+
+    @Test
+    @DisplayName("Should only drop the cached curve when the version replaced is not the current one")
+    void shouldNotSwapCurveForOtherVersions() {
+        // Arrange
+        UserDetails adminUser = mock(UserDetails.class);
+        when(adminUser.getUsername()).thenReturn("admin");
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))).when(adminUser).getAuthorities();
+        java.time.LocalDateTime backDated = java.time.LocalDateTime.of(2024, 3, 1, 17, 0);
+        java.time.LocalDateTime future = java.time.LocalDateTime.now().plusDays(1);
+        when(curvePointRepository.findNextAsOfDate(7, backDated)).thenReturn(Optional.of(backDated.plusDays(1)));
+        List<CurveNode> points = List.of(new CurveNode(java.math.BigDecimal.ONE, java.math.BigDecimal.ONE));
+
+        // Act
+        curvePointService.replaceCurve(7, points, backDated, adminUser);
+        curvePointService.replaceCurve(7, points, future, adminUser);
+
+        // Assert
+        verify(eventPublisher, times(2)).publishEvent(new CurveChangedEvent(7));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should refuse a curve with a repeated term, or owned by others for a non admin")
+    void shouldRejectCurveReplacement() {
+        // Arrange
+        UserDetails user = mock(UserDetails.class);
+        when(user.getUsername()).thenReturn("user");
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_USER"))).when(user).getAuthorities();
+        when(curvePointRepository.existsPointNotCreatedBy(7, "user")).thenReturn(true);
+        CurveNode point = new CurveNode(java.math.BigDecimal.ONE, java.math.BigDecimal.ONE);
+
+        // Act & Assert
+        assertThatThrownBy(() -> curvePointService.replaceCurve(7,
+                List.of(point, new CurveNode(new java.math.BigDecimal("1.00"), java.math.BigDecimal.TEN)), null, user))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("twice");
+        assertThatThrownBy(() -> curvePointService.replaceCurve(7, List.of(point), null, user))
+                .isInstanceOf(AccessDeniedException.class);
+        verify(curvePointRepository, never()).deleteByCurveIdAndAsOfDate(any(), any());
+        verify(curvePointRepository, never()).saveAll(any());
+    }
+}
@@ -0,0 +1,122 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.dto.CurveNode;
+import com.nnk.springboot.dto.Interpolation;
+import com.nnk.springboot.dto.ScenarioRequest;
+import com.nnk.springboot.dto.ScenarioResult;
+import com.nnk.springboot.dto.ScenarioType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CurveScenarioService Tests")
+class CurveScenarioServiceTest {
+
+    @Mock
+    private CurveCache curveCache;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CurveScenarioService curveScenarioService;
+
+    // Flat at 2% from 0 to 10 years, values in percent
+    private final Curve flat = Curve.of(List.of(
+            new CurveNode(BigDecimal.ZERO, new BigDecimal("2.0")),
+            new CurveNode(new BigDecimal("5"), new BigDecimal("2.0")),
+            new CurveNode(BigDecimal.TEN, new BigDecimal("2.0"))));
+
+    @BeforeEach
+    void setUp() {
+        curveScenarioService = new CurveScenarioService(curveCache, objectMapper, 0.01);
+    }
+
+    private static ScenarioRequest request(LocalDateTime asOf, List<ScenarioType> types, double maxBp,
+                                           double stepBp, List<Double> terms) {
+        return new ScenarioRequest(7, asOf, types, maxBp, stepBp, terms, Interpolation.LINEAR);
+    }
+
+    @Test
+    @DisplayName("Should shift the curve in parallel, twist it and bend it around its middle")
+    void shouldApplyScenarioShapes() {
+        // Arrange
+        when(curveCache.get(7)).thenReturn(flat);
+
+        // Act: -10bp, 0, +10bp of each type
+        CurveScenarios scenarios = curveScenarioService.prepare(request(null, null, 10, 10, List.of(0.0, 5.0, 10.0)));
+
+        // Assert
+        assertThat(scenarios.size()).isEqualTo(9);
+        ScenarioResult parallel = scenarios.evaluate(2);
+        ScenarioResult twist = scenarios.evaluate(5);
+        ScenarioResult butterfly = scenarios.evaluate(8);
+        assertThat(parallel.type()).isEqualTo(ScenarioType.PARALLEL);
+        assertThat(parallel.shiftBp()).isEqualTo(10);
+        assertThat(parallel.values()).containsExactly(new double[] {2.1, 2.1, 2.1}, within(1e-12));
+        assertThat(twist.type()).isEqualTo(ScenarioType.TWIST);
+        assertThat(twist.values()).containsExactly(new double[] {1.95, 2.0, 2.05}, within(1e-12));
+        assertThat(butterfly.type()).isEqualTo(ScenarioType.BUTTERFLY);
+        assertThat(butterfly.values()).containsExactly(new double[] {2.1, 1.9, 2.1}, within(1e-12));
+        assertThat(scenarios.evaluate(0).values()).containsExactly(new double[] {1.9, 1.9, 1.9}, within(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should stream one NDJSON line per scenario, in scenario order, across chunks")
+    void shouldStreamScenariosInOrder() throws Exception {
+        // Arrange: a past version of the curve, 2 x 401 scenarios
+        LocalDateTime asOf = LocalDateTime.of(2024, 3, 1, 17, 0);
+        when(curveCache.getAsOf(7, asOf)).thenReturn(flat);
+        CurveScenarios scenarios = curveScenarioService.prepare(request(asOf,
+                List.of(ScenarioType.PARALLEL, ScenarioType.TWIST), 200, 1, List.of(1.0, 7.5)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long evaluated = curveScenarioService.stream(scenarios, output);
+
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(evaluated).isEqualTo(802);
+        assertThat(lines).hasSize(802);
+        for (int i = 0; i < lines.length; i++) {
+            assertThat(objectMapper.readTree(lines[i]).get("scenario").asInt()).isEqualTo(i);
+        }
+        JsonNode last = objectMapper.readTree(lines[801]);
+        assertThat(last.get("type").asText()).isEqualTo("TWIST");
+        assertThat(last.get("shiftBp").asDouble()).isEqualTo(200);
+        assertThat(last.get("values").size()).isEqualTo(2);
+        verify(curveCache).getAsOf(7, asOf);
+    }
+
+    @Test
+    @DisplayName("Should refuse a run without terms, with too many scenarios or on a curve without points")
+    void shouldRejectInvalidRuns() {
+        when(curveCache.get(8)).thenReturn(Curve.empty());
+
+        assertThatThrownBy(() -> curveScenarioService.prepare(request(null, null, 10, 1, List.of())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> curveScenarioService.prepare(request(null, null, 10, 1e-300, List.of(1.0))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("At most");
+        assertThatThrownBy(() -> curveScenarioService.prepare(
+                new ScenarioRequest(8, null, null, 10, 1, List.of(1.0), null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("no points");
+    }
+}
@@ -0,0 +1,61 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.CurveNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Curve Tests")
+class CurveTest {
+
+    private static CurveNode node(String term, String value) {
+        return new CurveNode(new BigDecimal(term), new BigDecimal(value));
+    }
+
+    private final Curve curve = Curve.of(List.of(
+            node("1", "1.0"), node("2", "2.0"), node("5", "2.0"), node("10", "4.0")));
+
+    @Test
+    @DisplayName("Should interpolate linearly between terms and stay flat outside them")
+    void shouldInterpolateLinearly() {
+        assertThat(curve.linear(1.5)).isCloseTo(1.5, within(1e-12));
+        assertThat(curve.linear(7.5)).isCloseTo(3.0, within(1e-12));
+        assertThat(curve.linear(5)).isEqualTo(2.0);
+        assertThat(curve.linear(0.25)).isEqualTo(1.0);
+        assertThat(curve.linear(30)).isEqualTo(4.0);
+        assertThat(curve.linear(Double.NaN)).isNaN();
+    }
+
+    @Test
+    @DisplayName("Should go through every term without overshooting a monotone stretch")
+    void shouldInterpolateMonotoneCubic() {
+        for (int i = 0; i < curve.size(); i++) {
+            assertThat(curve.monotoneCubic(curve.term(i))).isCloseTo(curve.value(i), within(1e-12));
+        }
+        double previous = curve.monotoneCubic(1);
+        for (double term = 1.01; term <= 10; term += 0.01) {
+            double value = curve.monotoneCubic(term);
+            assertThat(value).isGreaterThanOrEqualTo(previous - 1e-12).isBetween(1.0, 4.0);
+            previous = value;
+        }
+        // Flat between 2 and 5, where both values are 2
+        assertThat(curve.monotoneCubic(3.3)).isCloseTo(2.0, within(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should keep the last node of a repeated term and refuse an empty curve")
+    void shouldKeepLastNodeOfRepeatedTerm() {
+        Curve amended = Curve.of(List.of(node("1", "1.0"), node("1.0000", "1.5"), node("2", "2.0")));
+
+        assertThat(amended.size()).isEqualTo(2);
+        assertThat(amended.linear(1)).isEqualTo(1.5);
+        assertThat(Curve.of(List.of())).isSameAs(Curve.empty());
+        assertThatThrownBy(() -> Curve.empty().linear(1)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.FileFormat;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportService Tests")
+class ExportServiceTest {
+
+    @Mock
+    private BidListRepository bidListRepository;
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(bidListRepository, tradeRepository, entityManager,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    @DisplayName("Should write bids as CSV, escape fields, detach rows and close the cursor")
+    void shouldExportBidListsAsCsv() throws Exception {
+        BidList first = new BidList("ACC1", "LIMIT", 10.0);
+        first.setBidListId(1);
+        first.setCommentary("quoted, \"with\" comma");
+        BidList second = new BidList("ACC2", "MARKET", 20.0);
+        second.setBidListId(2);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(bidListRepository.streamAll()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long rows = exportService.exportBidLists(FileFormat.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("bidListId,account,type,bidQuantity,");
+        assertThat(lines[1]).startsWith("1,ACC1,LIMIT,10.0,").contains(",\"quoted, \"\"with\"\" comma\",");
+        assertThat(lines[2]).startsWith("2,ACC2,MARKET,20.0,");
+        assertThat(Csv.split(lines[1])).hasSize(Csv.split(lines[0]).size());
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should write trades as one JSON object per line")
+    void shouldExportTradesAsNdjson() throws Exception {
+        Trade trade = new Trade("ACC1", "BUY", 100.0, null);
+        trade.setTradeId(7);
+        when(tradeRepository.streamAll()).thenReturn(Stream.of(trade, new Trade("ACC2", "SELL", null, 5.0)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long rows = exportService.exportTrades(FileFormat.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode json = new ObjectMapper().readTree(lines[0]);
+        assertThat(json.get("tradeId").asInt()).isEqualTo(7);
+        assertThat(json.get("account").asText()).isEqualTo("ACC1");
+        assertThat(json.get("buyQuantity").asDouble()).isEqualTo(100.0);
+        verify(entityManager, times(2)).detach(any());
+    }
+
+    @Test
+    @DisplayName("Should write only the header when there is nothing to export")
+    void shouldExportEmptyTableAsHeaderOnly() throws Exception {
+        when(bidListRepository.streamAll()).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long rows = exportService.exportBidLists(FileFormat.CSV, output);
+
+        assertThat(rows).isZero();
+        assertThat(output.toString(StandardCharsets.UTF_8)).startsWith("bidListId,").endsWith("side\n");
+        verifyNoInteractions(entityManager);
+    }
+}
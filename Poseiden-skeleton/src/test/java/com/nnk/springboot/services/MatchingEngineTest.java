@@ -0,0 +1,93 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.services.MatchingEngine.Fill;
+import com.nnk.springboot.services.MatchingEngine.Order;
+import com.nnk.springboot.services.MatchingEngine.Side;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MatchingEngine Tests")
+class MatchingEngineTest {
+
+    private final MatchingEngine engine = new MatchingEngine(4, 0.01);
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    @DisplayName("Should fill the best price first, then the oldest order at that price, at the resting price")
+    void shouldApplyPriceTimePriority() {
+        // Arrange
+        List<Order> orders = List.of(
+                new Order(1, "AAPL", Side.SELL, 101.0, 10.0),
+                new Order(2, "AAPL", Side.SELL, 100.0, 10.0),
+                new Order(3, "AAPL", Side.SELL, 100.0, 10.0),
+                new Order(4, "AAPL", Side.BUY, 102.0, 15.0));
+
+        // Act
+        List<Fill> fills = engine.match(orders);
+
+        // Assert
+        assertThat(fills).containsExactly(
+                new Fill("AAPL", 4, 2, 100.0, 10.0),
+                new Fill("AAPL", 4, 3, 100.0, 5.0));
+    }
+
+    @Test
+    @DisplayName("Should rest an order that does not cross and fill it from a later order")
+    void shouldRestUncrossedOrders() {
+        // Arrange
+        List<Order> orders = List.of(
+                new Order(1, "AAPL", Side.BUY, 99.0, 10.0),
+                new Order(2, "AAPL", Side.SELL, 100.0, 10.0),
+                new Order(3, "AAPL", Side.SELL, 98.0, 4.0));
+
+        // Act
+        List<Fill> fills = engine.match(orders);
+
+        // Assert
+        assertThat(fills).containsExactly(new Fill("AAPL", 1, 3, 99.0, 4.0));
+    }
+
+    @Test
+    @DisplayName("Should never match orders of different securities")
+    void shouldKeepSecuritiesApart() {
+        // Arrange
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            orders.add(new Order(2 * i, "SEC" + i, Side.BUY, 100.0, 1.0));
+            orders.add(new Order(2 * i + 1, "SEC" + (i + 1), Side.SELL, 100.0, 1.0));
+        }
+
+        // Act
+        List<Fill> fills = engine.match(orders);
+
+        // Assert
+        assertThat(fills).hasSize(49);
+        assertThat(fills).allSatisfy(fill -> assertThat(fill.buyOrderId()).isEqualTo(fill.sellOrderId() + 1));
+    }
+
+    @Test
+    @DisplayName("Should ignore quantities below the minimum")
+    void shouldIgnoreDustQuantities() {
+        // Arrange
+        List<Order> orders = List.of(
+                new Order(1, "AAPL", Side.SELL, 100.0, 10.005),
+                new Order(2, "AAPL", Side.BUY, 100.0, 10.0),
+                new Order(3, "AAPL", Side.BUY, 100.0, 5.0));
+
+        // Act
+        List<Fill> fills = engine.match(orders);
+
+        // Assert
+        assertThat(fills).containsExactly(new Fill("AAPL", 2, 1, 100.0, 10.0));
+    }
+}
@@ -0,0 +1,147 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.MatchReport;
+import com.nnk.springboot.repositories.BidListRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatchingService Tests")
+class MatchingServiceTest {
+
+    @Mock
+    private BidListRepository bidListRepository;
+
+    @Mock
+    private ITradeService tradeService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MatchingService matchingService;
+
+    @BeforeEach
+    void setUp() {
+        matchingService = new MatchingService(bidListRepository, tradeService, entityManager, eventPublisher,
+                transactionManager, 2, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchingService.close();
+    }
+
+    private static BidList bidList(int id, String account, Double bid, Double bidQuantity, Double ask, Double askQuantity) {
+        BidList bidList = new BidList(account, "LIMIT", bidQuantity);
+        bidList.setBidListId(id);
+        bidList.setSecurity("BOND");
+        bidList.setBid(bid);
+        bidList.setAsk(ask);
+        bidList.setAskQuantity(askQuantity);
+        return bidList;
+    }
+
+    @Test
+    @DisplayName("Should book a buyer and a seller trade per fill and reduce the matched quantities")
+    @SuppressWarnings("unchecked")
+    void shouldBookTradesAndReduceQuantities() {
+        // Arrange
+        when(bidListRepository.streamMatchable()).thenReturn(Stream.of(
+                bidList(1, "SELLER", null, 0.0, 100.0, 10.0),
+                bidList(2, "BUYER", 101.0, 4.0, null, null)));
+        BidList seller = bidList(1, "SELLER", null, 0.0, 100.0, 10.0);
+        BidList buyer = bidList(2, "BUYER", 101.0, 4.0, null, null);
+        when(bidListRepository.findAllForUpdate(anyList())).thenReturn(List.of(seller, buyer));
+        when(tradeService.createAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        MatchReport report = matchingService.match("ops");
+
+        // Assert
+        assertThat(report.fills()).isEqualTo(1);
+        assertThat(report.tradesCreated()).isEqualTo(2);
+        assertThat(report.bidListsUpdated()).isEqualTo(2);
+        assertThat(seller.getAskQuantity()).isEqualTo(6.0);
+        assertThat(buyer.getBidQuantity()).isEqualTo(0.0);
+        verify(eventPublisher, times(2)).publishEvent(any(BidListChangedEvent.class));
+
+        ArgumentCaptor<List<Trade>> trades = ArgumentCaptor.forClass(List.class);
+        verify(tradeService).createAll(trades.capture());
+        assertThat(trades.getValue()).satisfiesExactly(
+                trade -> {
+                    assertThat(trade.getAccount()).isEqualTo("BUYER");
+                    assertThat(trade.getBuyQuantity()).isEqualTo(4.0);
+                    assertThat(trade.getBuyPrice()).isEqualTo(100.0);
+                    assertThat(trade.getSide()).isEqualTo("BUY");
+                },
+                trade -> {
+                    assertThat(trade.getAccount()).isEqualTo("SELLER");
+                    assertThat(trade.getSellQuantity()).isEqualTo(4.0);
+                    assertThat(trade.getSellPrice()).isEqualTo(100.0);
+                    assertThat(trade.getSide()).isEqualTo("SELL");
+                });
+        assertThat(trades.getValue()).extracting(Trade::getSourceListId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should abort without trades when a matched row changed since it was read")
+    void shouldAbortWhenRowChanged() {
+        // Arrange
+        when(bidListRepository.streamMatchable()).thenReturn(Stream.of(
+                bidList(1, "SELLER", null, 0.0, 100.0, 10.0),
+                bidList(2, "BUYER", 101.0, 4.0, null, null)));
+        when(bidListRepository.findAllForUpdate(anyList())).thenReturn(List.of(
+                bidList(1, "SELLER", null, 0.0, 100.0, 2.0),
+                bidList(2, "BUYER", 101.0, 4.0, null, null)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> matchingService.match("ops"))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(tradeService, never()).createAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should skip rows whose account is not a valid Trade account or whose bid crosses their own ask")
+    void shouldSkipRowsThatCannotBeBooked() {
+        // Arrange
+        when(bidListRepository.streamMatchable()).thenReturn(Stream.of(
+                bidList(1, "BAD ACCOUNT", null, 0.0, 100.0, 10.0),
+                bidList(2, "SELF", 101.0, 4.0, 100.0, 4.0)));
+
+        // Act
+        MatchReport report = matchingService.match("ops");
+
+        // Assert
+        assertThat(report.rowsRead()).isEqualTo(2);
+        assertThat(report.rowsSkipped()).isEqualTo(2);
+        assertThat(report.fills()).isZero();
+        verifyNoInteractions(tradeService);
+    }
+}
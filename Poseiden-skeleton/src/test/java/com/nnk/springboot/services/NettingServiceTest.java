@@ -0,0 +1,87 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.NettingLine;
+import com.nnk.springboot.dto.NettingReport;
+import com.nnk.springboot.dto.TradeFill;
+import com.nnk.springboot.repositories.ArchivedTradeRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NettingService Tests")
+class NettingServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+    private static final LocalDateTime NOON = DAY.atTime(12, 0);
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private ArchivedTradeRepository archivedTradeRepository;
+
+    private NettingService nettingService;
+
+    @BeforeEach
+    void setUp() {
+        nettingService = new NettingService(tradeRepository, archivedTradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should net the live and archived trades of the day per account, book and security")
+    void shouldNetTradesPerGroup() {
+        // Arrange
+        when(tradeRepository.streamFillsByTradeDate(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()))
+                .thenReturn(Stream.of(
+                        new TradeFill(1, "ACC2", "B1", "BOND", 10.0, 100.0, null, null, NOON),
+                        new TradeFill(2, "ACC1", "B1", "BOND", 10.0, 99.0, 4.0, 101.0, NOON),
+                        new TradeFill(3, "ACC1", "B1", "BOND", null, null, 10.0, 102.0, NOON)));
+        when(archivedTradeRepository.streamFillsByTradeDate(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()))
+                .thenReturn(Stream.of(new TradeFill(4, "ACC1", null, "BOND", 5.0, null, null, null, NOON)));
+
+        // Act
+        NettingReport report = nettingService.findNetting(DAY);
+
+        // Assert: a side without a price does not count
+        assertThat(report.trades()).isEqualTo(4);
+        assertThat(report.lines()).containsExactly(
+                new NettingLine("ACC1", null, "BOND", 1, 0, 0, 0, 0, 0, 0),
+                new NettingLine("ACC1", "B1", "BOND", 2, 10, 14, -4, 990, 1424, -434),
+                new NettingLine("ACC2", "B1", "BOND", 1, 10, 0, 10, 1000, 0, 1000));
+    }
+
+    @Test
+    @DisplayName("Should give the same totals in parallel as sequentially")
+    void shouldNetInParallel() {
+        // Arrange: whole quantities and notionals, so the sums are exact in any order
+        NettingSnapshot snapshot = new NettingSnapshot();
+        IntStream.range(0, 100_000).forEach(i -> snapshot.add(new TradeFill(i, "ACC" + (i % 7), "B" + (i % 3),
+                "SEC" + (i % 11), (double) (i % 5), 2.0, (double) (i % 4), 3.0, NOON)));
+
+        // Act & Assert
+        assertThat(snapshot.size()).isEqualTo(100_000);
+        assertThat(snapshot.net(true)).hasSize(7 * 3 * 11).isEqualTo(snapshot.net(false));
+    }
+
+    @Test
+    @DisplayName("Should reject a missing day")
+    void shouldRejectMissingDay() {
+        assertThatThrownBy(() -> nettingService.findNetting(null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(tradeRepository, archivedTradeRepository);
+    }
+}
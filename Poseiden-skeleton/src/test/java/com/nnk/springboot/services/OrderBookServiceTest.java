@@ -0,0 +1,110 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.BidListQuote;
+import com.nnk.springboot.dto.OrderBookSnapshot;
+import com.nnk.springboot.dto.PriceLevel;
+import com.nnk.springboot.dto.TopOfBook;
+import com.nnk.springboot.repositories.BidListRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderBookService Tests")
+class OrderBookServiceTest {
+
+    @Mock
+    private BidListRepository bidListRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderBookService orderBookService;
+
+    @BeforeEach
+    void setUp() {
+        orderBookService = new OrderBookService(bidListRepository, transactionManager);
+    }
+
+    private static BidListQuote quote(int id, String security, Double bid, Double bidQuantity, Double ask, Double askQuantity) {
+        return new BidListQuote(id, security, bid, bidQuantity, ask, askQuantity);
+    }
+
+    private void change(BidListQuote quote) {
+        orderBookService.onBidListChanged(new BidListChangedEvent(quote.bidListId(), quote));
+    }
+
+    @Test
+    @DisplayName("Should load the book at startup and aggregate quantities per price level")
+    void shouldLoadAndAggregateLevels() {
+        when(bidListRepository.streamQuotes()).thenReturn(Stream.of(
+                quote(1, "BOND", 99.0, 10.0, 101.0, 5.0),
+                quote(2, "BOND", 99.5, 3.0, null, null),
+                quote(3, "BOND", 99.0, 2.0, 100.5, 1.0),
+                quote(4, "BOND", null, null, null, null)));
+
+        orderBookService.load();
+
+        TopOfBook top = orderBookService.findTopOfBook("BOND").orElseThrow();
+        assertThat(top.bestBid()).isEqualTo(new PriceLevel(99.5, 3.0, 1));
+        assertThat(top.bestAsk()).isEqualTo(new PriceLevel(100.5, 1.0, 1));
+        assertThat(top.spread()).isEqualTo(1.0);
+        assertThat(top.bidDepth()).isEqualTo(15.0);
+        OrderBookSnapshot depth = orderBookService.findDepth("BOND", 10).orElseThrow();
+        assertThat(depth.bids()).containsExactly(new PriceLevel(99.5, 3.0, 1), new PriceLevel(99.0, 12.0, 2));
+        assertThat(depth.asks()).containsExactly(new PriceLevel(100.5, 1.0, 1), new PriceLevel(101.0, 5.0, 1));
+    }
+
+    @Test
+    @DisplayName("Should move a quote on update and drop the security when its last quote is deleted")
+    void shouldApplyIncrementalChanges() {
+        change(quote(1, "BOND", 99.0, 10.0, null, null));
+        change(quote(2, "BOND", 98.0, 5.0, null, null));
+
+        change(quote(1, "BOND", 97.0, 4.0, null, null));
+        assertThat(orderBookService.findTopOfBook("BOND").orElseThrow().bestBid())
+                .isEqualTo(new PriceLevel(98.0, 5.0, 1));
+
+        change(quote(2, "EQUITY", 98.0, 5.0, null, null));
+        assertThat(orderBookService.findAllTopOfBook()).extracting(TopOfBook::security).containsExactly("BOND", "EQUITY");
+
+        orderBookService.onBidListChanged(BidListChangedEvent.deleted(1));
+        assertThat(orderBookService.findTopOfBook("BOND")).isEmpty();
+        assertThat(orderBookService.findDepth("EQUITY", 1).orElseThrow().bids()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should keep a change committed during the startup load instead of the loaded row")
+    void shouldPreferChangesCommittedDuringLoad() {
+        when(bidListRepository.streamQuotes()).thenAnswer(invocation -> {
+            orderBookService.onBidListChanged(BidListChangedEvent.deleted(1));
+            return Stream.of(quote(1, "BOND", 99.0, 10.0, null, null), quote(2, "BOND", 98.0, 1.0, null, null));
+        });
+
+        orderBookService.load();
+
+        assertThat(orderBookService.findTopOfBook("BOND").orElseThrow().bestBid().price()).isEqualTo(98.0);
+    }
+
+    @Test
+    @DisplayName("Should limit the depth to the requested number of levels")
+    void shouldLimitDepth() {
+        change(quote(1, "BOND", 99.0, 1.0, 101.0, 1.0));
+        change(quote(2, "BOND", 98.0, 1.0, 102.0, 1.0));
+
+        OrderBookSnapshot depth = orderBookService.findDepth("BOND", 1).orElseThrow();
+
+        assertThat(depth.bids()).extracting(PriceLevel::price).containsExactly(99.0);
+        assertThat(depth.asks()).extracting(PriceLevel::price).containsExactly(101.0);
+        assertThat(depth.top().bidLevels()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,151 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.Position;
+import com.nnk.springboot.dto.TradeFill;
+import com.nnk.springboot.repositories.ArchivedTradeRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PositionService Tests")
+class PositionServiceTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private ArchivedTradeRepository archivedTradeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PositionService positionService;
+
+    @BeforeEach
+    void setUp() {
+        positionService = new PositionService(tradeRepository, archivedTradeRepository, transactionManager, 3);
+    }
+
+    private static TradeFill buy(int id, double quantity, double price) {
+        return new TradeFill(id, "ACC", "BOOK", "BOND", quantity, price, null, null, null);
+    }
+
+    private static TradeFill sell(int id, double quantity, double price) {
+        return new TradeFill(id, "ACC", "BOOK", "BOND", null, null, quantity, price, null);
+    }
+
+    private void save(TradeFill fill) {
+        positionService.onTradeChanged(new TradeChangedEvent(fill.tradeId(), null, null, fill));
+    }
+
+    private Position position() {
+        return positionService.findPosition("ACC", "BOOK", "BOND").orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should keep net quantity, average cost and realized P&L as trades come in")
+    void shouldFoldTradesIncrementally() {
+        save(buy(1, 10.0, 100.0));
+        save(buy(2, 10.0, 110.0));
+        save(sell(3, 5.0, 120.0));
+
+        Position position = position();
+        assertThat(position.netQuantity()).isEqualTo(15.0);
+        assertThat(position.averageCost()).isEqualTo(105.0);
+        assertThat(position.realizedPnl()).isEqualTo(75.0);
+        assertThat(position.trades()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should replace the contribution of an updated trade and drop a deleted one")
+    void shouldApplyUpdatesAndDeletes() {
+        save(buy(1, 10.0, 100.0));
+        save(sell(2, 4.0, 90.0));
+
+        save(sell(2, 4.0, 130.0));
+        assertThat(position().realizedPnl()).isEqualTo(120.0);
+
+        positionService.onTradeChanged(TradeChangedEvent.deleted(2));
+        assertThat(position().netQuantity()).isEqualTo(10.0);
+        assertThat(position().realizedPnl()).isZero();
+
+        positionService.onTradeChanged(TradeChangedEvent.deleted(1));
+        assertThat(positionService.findPosition("ACC", "BOOK", "BOND")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should show the average sell price as the cost of a short position")
+    void shouldReportShortPositions() {
+        save(sell(1, 0.1, 100.0));
+        save(sell(2, 0.2, 100.0));
+        save(buy(3, 0.1, 99.0));
+
+        Position position = position();
+        assertThat(position.netQuantity()).isCloseTo(-0.2, within(1e-12));
+        assertThat(position.averageCost()).isEqualTo(100.0);
+        assertThat(position.realizedPnl()).isCloseTo(0.1, within(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should rebuild from live and archived id ranges at startup and keep trades changed during the load")
+    void shouldLoadRangesAndSkipTradesChangedMeanwhile() {
+        when(tradeRepository.findMinId()).thenReturn(4);
+        when(tradeRepository.findMaxId()).thenReturn(9);
+        when(archivedTradeRepository.findMinId()).thenReturn(1);
+        when(archivedTradeRepository.findMaxId()).thenReturn(4);
+        // Trades 1 to 3 are archived; trade 4 is archived while the load reads both tables
+        when(archivedTradeRepository.streamFills(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int from = invocation.getArgument(0);
+            return from == 1 ? IntStream.rangeClosed(1, 3).mapToObj(id -> buy(id, 10.0, 100.0))
+                    : from == 4 ? Stream.of(buy(4, 10.0, 100.0)) : Stream.empty();
+        });
+        when(tradeRepository.streamFills(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int from = invocation.getArgument(0);
+            int to = invocation.getArgument(1);
+            if (from == 1) {
+                // Trade 1 is updated by a commit while its range is being read
+                positionService.onTradeChanged(new TradeChangedEvent(1, null, null, buy(1, 1.0, 50.0)));
+            }
+            return IntStream.rangeClosed(Math.max(from, 4), to).mapToObj(id -> buy(id, 10.0, 100.0));
+        });
+
+        positionService.load();
+
+        verify(tradeRepository, times(3)).streamFills(anyInt(), anyInt());
+        verify(archivedTradeRepository, times(3)).streamFills(anyInt(), anyInt());
+        Position position = position();
+        assertThat(position.trades()).isEqualTo(9);
+        assertThat(position.netQuantity()).isEqualTo(81.0);
+        assertThat(positionService.findPositions("ACC", null, null)).hasSize(1);
+        assertThat(positionService.findPositions("OTHER", null, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stay empty when there are no trades")
+    void shouldLoadNothingWithoutTrades() {
+        when(tradeRepository.findMinId()).thenReturn(null);
+        when(tradeRepository.findMaxId()).thenReturn(null);
+        when(archivedTradeRepository.findMinId()).thenReturn(null);
+        when(archivedTradeRepository.findMaxId()).thenReturn(null);
+
+        positionService.load();
+
+        assertThat(positionService.findPositions(null, null, null)).isEqualTo(List.of());
+        verify(tradeRepository, never()).streamFills(anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,73 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SourceListIdCache Tests")
+class SourceListIdCacheTest {
+
+    private final SourceListIdCache cache = new SourceListIdCache(2);
+
+    private static Trade trade(int id, String sourceListId) {
+        Trade trade = new Trade("ACC", "FX", 1.0, null);
+        trade.setTradeId(id);
+        trade.setSourceListId(sourceListId);
+        return trade;
+    }
+
+    @Test
+    @DisplayName("Should remember saved trades and evict the least recently used one")
+    void shouldEvictLeastRecentlyUsed() {
+        cache.onTradeChanged(TradeChangedEvent.saved(trade(1, "A")));
+        cache.onTradeChanged(TradeChangedEvent.saved(trade(2, "B")));
+        assertThat(cache.find("A")).isEqualTo(1);
+
+        cache.onTradeChanged(TradeChangedEvent.saved(trade(3, "C")));
+
+        assertThat(cache.find("B")).isNull();
+        assertThat(cache.find("A")).isEqualTo(1);
+        assertThat(cache.find("C")).isEqualTo(3);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should follow a changed sourceListId and forget deleted trades")
+    void shouldForgetUpdatedAndDeletedTrades() {
+        cache.onTradeChanged(TradeChangedEvent.saved(trade(1, "A")));
+        cache.onTradeChanged(TradeChangedEvent.saved(trade(2, "B")));
+
+        cache.onTradeChanged(TradeChangedEvent.updated(null, trade(1, "A2")));
+        cache.onTradeChanged(TradeChangedEvent.deleted(2));
+
+        assertThat(cache.find("A")).isNull();
+        assertThat(cache.find("A2")).isEqualTo(1);
+        assertThat(cache.find("B")).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forget archived trades")
+    void shouldForgetArchivedTrades() {
+        cache.onTradeChanged(TradeChangedEvent.saved(trade(1, "A")));
+        cache.onTradeChanged(TradeChangedEvent.saved(trade(2, "B")));
+
+        cache.onTradesArchived(new TradesArchivedEvent(List.of(1), LocalDateTime.now()));
+
+        assertThat(cache.find("A")).isNull();
+        assertThat(cache.find("B")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should ignore trades without a sourceListId")
+    void shouldIgnoreTradesWithoutSourceListId() {
+        cache.onTradeChanged(TradeChangedEvent.saved(trade(1, null)));
+
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,137 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.BucketWidth;
+import com.nnk.springboot.dto.TradeBucket;
+import com.nnk.springboot.dto.TradeBucketRow;
+import com.nnk.springboot.dto.TradeFill;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TradeAnalyticsService Tests")
+class TradeAnalyticsServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    private TradeAnalyticsService tradeAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        tradeAnalyticsService = new TradeAnalyticsService(tradeRepository);
+    }
+
+    private static TradeBucketRow row(long bucket, long trades, double volume, double notional,
+                                      double priceSeconds, double seconds) {
+        return new TradeBucketRow() {
+            public Number getBucket() { return bucket; }
+            public Number getTrades() { return trades; }
+            public Number getVolume() { return volume; }
+            public Number getNotional() { return notional; }
+            public Number getPriceSeconds() { return priceSeconds; }
+            public Number getSeconds() { return seconds; }
+        };
+    }
+
+    @Test
+    @DisplayName("Should compute VWAP and TWAP per bucket and fill empty buckets")
+    void shouldComputeBuckets() {
+        // Arrange
+        when(tradeRepository.aggregateBuckets(eq("BOND"), eq(FROM), eq(FROM.plusMinutes(3)), eq(60L), any()))
+                .thenReturn(List.of(row(0, 2, 10.0, 1050.0, 6300.0, 60.0), row(2, 1, 4.0, 400.0, 3000.0, 30.0)));
+
+        // Act
+        List<TradeBucket> buckets = tradeAnalyticsService.findBuckets("BOND", BucketWidth.MINUTE, FROM, FROM.plusMinutes(3));
+
+        // Assert
+        assertThat(buckets).hasSize(3);
+        assertThat(buckets.get(0).vwap()).isEqualTo(105.0);
+        assertThat(buckets.get(0).twap()).isEqualTo(105.0);
+        assertThat(buckets.get(0).closed()).isTrue();
+        assertThat(buckets.get(1).trades()).isZero();
+        assertThat(buckets.get(1).vwap()).isNull();
+        assertThat(buckets.get(2).start()).isEqualTo(FROM.plusMinutes(2));
+        assertThat(buckets.get(2).twap()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("Should serve closed buckets from the cache until a trade in them changes")
+    void shouldCacheClosedBucketsUntilEvicted() {
+        // Arrange
+        when(tradeRepository.aggregateBuckets(eq("BOND"), any(), any(), anyLong(), any()))
+                .thenReturn(List.of(row(0, 1, 2.0, 200.0, 6000.0, 60.0)));
+
+        // Act
+        tradeAnalyticsService.findBuckets("BOND", BucketWidth.MINUTE, FROM, FROM.plusMinutes(5));
+        tradeAnalyticsService.findBuckets("BOND", BucketWidth.MINUTE, FROM, FROM.plusMinutes(5));
+        TradeFill fill = new TradeFill(1, "ACC", null, "BOND", 1.0, 100.0, null, null, FROM.plusMinutes(3));
+        tradeAnalyticsService.onTradeChanged(new TradeChangedEvent(1, null, null, fill));
+        tradeAnalyticsService.findBuckets("BOND", BucketWidth.MINUTE, FROM, FROM.plusMinutes(5));
+
+        // Assert: the window once, then only the evicted bucket
+        verify(tradeRepository).aggregateBuckets(eq("BOND"), eq(FROM), eq(FROM.plusMinutes(5)), eq(60L), any());
+        verify(tradeRepository).aggregateBuckets(eq("BOND"), eq(FROM.plusMinutes(3)), eq(FROM.plusMinutes(4)), eq(60L), any());
+        verifyNoMoreInteractions(tradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should evict the cached buckets that may hold archived trades")
+    void shouldEvictBucketsOfArchivedTrades() {
+        // Arrange
+        when(tradeRepository.aggregateBuckets(eq("BOND"), any(), any(), anyLong(), any())).thenReturn(List.of());
+
+        // Act
+        tradeAnalyticsService.findBuckets("BOND", BucketWidth.MINUTE, FROM, FROM.plusMinutes(5));
+        tradeAnalyticsService.onTradesArchived(new TradesArchivedEvent(List.of(1), FROM.plusMinutes(2)));
+        tradeAnalyticsService.findBuckets("BOND", BucketWidth.MINUTE, FROM, FROM.plusMinutes(5));
+
+        // Assert: buckets up to the one holding the archival bound are read again
+        verify(tradeRepository).aggregateBuckets(eq("BOND"), eq(FROM), eq(FROM.plusMinutes(5)), eq(60L), any());
+        verify(tradeRepository).aggregateBuckets(eq("BOND"), eq(FROM), eq(FROM.plusMinutes(3)), eq(60L), any());
+        verifyNoMoreInteractions(tradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should query the open bucket on every request")
+    void shouldRecomputeOpenBucket() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.now().minusHours(1);
+
+        // Act
+        tradeAnalyticsService.findBuckets("BOND", BucketWidth.DAY, from, from.plusHours(2));
+        List<TradeBucket> buckets = tradeAnalyticsService.findBuckets("BOND", BucketWidth.DAY, from, from.plusHours(2));
+
+        // Assert
+        assertThat(buckets).last().extracting(TradeBucket::closed).isEqualTo(false);
+        verify(tradeRepository, atLeast(2)).aggregateBuckets(eq("BOND"), any(), any(), eq(86_400L), any());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty window, a blank security and too many buckets")
+    void shouldRejectInvalidWindows() {
+        assertThatThrownBy(() -> tradeAnalyticsService.findBuckets("BOND", BucketWidth.MINUTE, FROM, FROM))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tradeAnalyticsService.findBuckets(" ", BucketWidth.MINUTE, FROM, FROM.plusHours(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tradeAnalyticsService.findBuckets("BOND", BucketWidth.MINUTE, FROM, FROM.plusYears(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(tradeRepository);
+    }
+}
@@ -0,0 +1,136 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.ArchivedTrade;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.ArchivedTradeRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TradeArchiveService Tests")
+class TradeArchiveServiceTest {
+
+    private static final LocalDateTime BEFORE = LocalDate.now().minusDays(30).atStartOfDay();
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private ArchivedTradeRepository archivedTradeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TradeArchiveService tradeArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        tradeArchiveService = new TradeArchiveService(tradeRepository, archivedTradeRepository,
+                transactionManager, eventPublisher, 30, 2);
+    }
+
+    @Test
+    @DisplayName("Should move aged trades batch after batch until a batch is not full")
+    void shouldArchiveInBatches() {
+        // Arrange
+        when(tradeRepository.findIdsTradedBefore(BEFORE, Limit.of(2)))
+                .thenReturn(List.of(1, 2), List.of(3));
+        when(archivedTradeRepository.copyFromTrades(anyList(), eq(BEFORE))).thenReturn(2, 1);
+        when(tradeRepository.deleteTradedBefore(anyList(), eq(BEFORE))).thenReturn(2, 1);
+
+        // Act
+        long archived = tradeArchiveService.archive();
+
+        // Assert
+        assertThat(archived).isEqualTo(3);
+        ArgumentCaptor<TradesArchivedEvent> events = ArgumentCaptor.forClass(TradesArchivedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(TradesArchivedEvent::tradeIds)
+                .containsExactly(List.of(1, 2), List.of(3));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should roll back and stop when a trade changed while being archived")
+    void shouldRollBackOnConcurrentChange() {
+        // Arrange
+        when(tradeRepository.findIdsTradedBefore(BEFORE, Limit.of(2))).thenReturn(List.of(1, 2));
+        when(archivedTradeRepository.copyFromTrades(anyList(), eq(BEFORE))).thenReturn(2);
+        when(tradeRepository.deleteTradedBefore(anyList(), eq(BEFORE))).thenReturn(1);
+
+        // Act
+        long archived = tradeArchiveService.archive();
+
+        // Assert
+        assertThat(archived).isZero();
+        verify(transactionManager).rollback(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should only read the archive when the range reaches archived trades")
+    void shouldSkipArchiveForRecentRanges() {
+        // Arrange
+        LocalDateTime newest = LocalDateTime.of(2024, 1, 1, 12, 0);
+        ArchivedTrade archived = new ArchivedTrade();
+        archived.setTradeId(7);
+        archived.setAccount("ACC");
+        archived.setTradeDate(newest);
+        when(archivedTradeRepository.findMaxTradeDate()).thenReturn(newest);
+        when(archivedTradeRepository.findByTradeDate(any(), any())).thenReturn(List.of(archived));
+
+        // Act
+        List<Trade> recent = tradeArchiveService.findByTradeDate(newest.plusSeconds(1), newest.plusDays(1));
+        List<Trade> old = tradeArchiveService.findByTradeDate(newest.minusDays(1), newest.plusDays(1));
+
+        // Assert
+        assertThat(recent).isEmpty();
+        assertThat(old).singleElement().satisfies(trade -> {
+            assertThat(trade.getTradeId()).isEqualTo(7);
+            assertThat(trade.getAccount()).isEqualTo("ACC");
+        });
+        verify(archivedTradeRepository, times(1)).findMaxTradeDate();
+        verify(archivedTradeRepository, times(1)).findByTradeDate(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should never read an empty archive until trades are archived")
+    void shouldSkipEmptyArchive() {
+        // Arrange
+        when(archivedTradeRepository.findMaxTradeDate()).thenReturn(null);
+        when(tradeRepository.findIdsTradedBefore(BEFORE, Limit.of(2))).thenReturn(List.of(1));
+        when(archivedTradeRepository.copyFromTrades(anyList(), eq(BEFORE))).thenReturn(1);
+        when(tradeRepository.deleteTradedBefore(anyList(), eq(BEFORE))).thenReturn(1);
+
+        // Act
+        List<Trade> beforeArchival = tradeArchiveService.findByTradeDate(BEFORE.minusDays(1), BEFORE);
+        tradeArchiveService.archive();
+        tradeArchiveService.findByTradeDate(BEFORE.minusDays(1), BEFORE);
+
+        // Assert
+        assertThat(beforeArchival).isEmpty();
+        verify(archivedTradeRepository, times(1)).findByTradeDate(BEFORE.minusDays(1), BEFORE);
+    }
+}
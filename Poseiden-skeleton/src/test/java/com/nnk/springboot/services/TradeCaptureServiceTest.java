@@ -0,0 +1,278 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.CaptureReport;
+import com.nnk.springboot.dto.TradeFill;
+import com.nnk.springboot.repositories.TradeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TradeCaptureService Tests")
+class TradeCaptureServiceTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicInteger ids = new AtomicInteger(100);
+    private final SourceListIdCache sourceListIdCache = new SourceListIdCache(10);
+
+    private TradeCaptureService captureService;
+
+    @BeforeEach
+    void setUp() {
+        captureService = new TradeCaptureService(tradeRepository, entityManager, transactionManager, eventPublisher, sourceListIdCache,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, 2);
+    }
+
+    private void assignIds() {
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(invocation -> {
+            Trade trade = invocation.getArgument(0);
+            trade.setTradeId(ids.incrementAndGet());
+            return trade;
+        });
+    }
+
+    private List<JsonNode> capture(String body, CaptureReport[] report) throws Exception {
+        ByteArrayOutputStream acks = new ByteArrayOutputStream();
+        report[0] = captureService.capture(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), "oms", acks);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : acks.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    @DisplayName("Should write NDJSON trades in batches and acknowledge every record in order")
+    void shouldCaptureNdjsonInBatches() throws Exception {
+        // Arrange
+        assignIds();
+        String body = """
+                {"account":"ACC1","type":"FX","buyQuantity":10,"buyPrice":1.1,"sourceListId":"OMS-1"}
+                {"account":"ACC2","type":"FX","sellQuantity":5,"sellPrice":1.2,"tradeDate":"2024-01-01T10:00:00"}
+                {"account":"ACC3","type":"FX","buyQuantity":1,"buyPrice":1.3}
+                """;
+        CaptureReport[] report = new CaptureReport[1];
+
+        // Act
+        List<JsonNode> acks = capture(body, report);
+
+        // Assert
+        assertThat(report[0].received()).isEqualTo(3);
+        assertThat(report[0].created()).isEqualTo(3);
+        assertThat(acks).extracting(ack -> ack.get("index").asLong()).containsExactly(1L, 2L, 3L);
+        assertThat(acks).extracting(ack -> ack.get("status").asText()).containsOnly("CREATED");
+        assertThat(acks.get(0).get("tradeId").asInt()).isEqualTo(101);
+        assertThat(acks.get(0).get("sourceListId").asText()).isEqualTo("OMS-1");
+
+        // Batches of 2: one transaction for the first two trades, one for the last
+        verify(transactionManager, times(2)).commit(any());
+        ArgumentCaptor<Trade> saved = ArgumentCaptor.forClass(Trade.class);
+        verify(tradeRepository, times(3)).save(saved.capture());
+        Trade second = saved.getAllValues().get(1);
+        assertThat(second.getCreationName()).isEqualTo("oms");
+        assertThat(second.getTradeDate()).hasHour(10);
+        verify(eventPublisher, times(3)).publishEvent(any(TradeChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid records of a JSON array on their own")
+    void shouldRejectInvalidRecordsOfAnArray() throws Exception {
+        // Arrange
+        assignIds();
+        String body = """
+                [{"account":"ACC1","type":"FX","buyQuantity":10,"buyPrice":1.1},
+                 {"account":"ACC2","type":"FX","sourceListId":"NO-QTY"},
+                 {"account":"ACC3","type":"FX","buyQuantity":"lots"},
+                 42,
+                 {"account":"ACC5","type":"FX","sellQuantity":2,"sellPrice":1.0}]
+                """;
+        CaptureReport[] report = new CaptureReport[1];
+
+        // Act
+        List<JsonNode> acks = capture(body, report);
+
+        // Assert
+        assertThat(report[0].created()).isEqualTo(2);
+        assertThat(report[0].rejected()).isEqualTo(3);
+        assertThat(acks).extracting(ack -> ack.get("status").asText())
+                .containsExactly("CREATED", "REJECTED", "REJECTED", "REJECTED", "CREATED");
+        assertThat(acks.get(1).get("error").asText()).contains("At least one operation");
+        assertThat(acks.get(1).get("sourceListId").asText()).isEqualTo("NO-QTY");
+        assertThat(acks.get(2).get("error").asText()).startsWith("Malformed trade");
+        assertThat(acks.get(3).get("error").asText()).isEqualTo("Expected a JSON object");
+    }
+
+    @Test
+    @DisplayName("Should book captured trades as NEW and reject any other booking status")
+    void shouldRejectTradesBookedPastNew() throws Exception {
+        // Arrange
+        assignIds();
+        String body = """
+                {"account":"ACC1","type":"FX","buyQuantity":10,"status":"new"}
+                {"account":"ACC2","type":"FX","buyQuantity":10,"status":"SETTLED"}
+                """;
+        CaptureReport[] report = new CaptureReport[1];
+
+        // Act
+        List<JsonNode> acks = capture(body, report);
+
+        // Assert
+        assertThat(acks).extracting(ack -> ack.get("status").asText()).containsExactly("CREATED", "REJECTED");
+        assertThat(acks.get(1).get("error").asText()).isEqualTo("status: A trade is booked as NEW, not SETTLED");
+        ArgumentCaptor<Trade> saved = ArgumentCaptor.forClass(Trade.class);
+        verify(tradeRepository).save(saved.capture());
+        assertThat(saved.getValue().getStatus()).isEqualTo("NEW");
+    }
+
+    @Test
+    @DisplayName("Should keep the committed batches and stop at a syntax error")
+    void shouldStopAtSyntaxError() throws Exception {
+        // Arrange
+        assignIds();
+        String body = """
+                {"account":"ACC1","type":"FX","buyQuantity":10,"buyPrice":1.1}
+                {"account":"ACC2","type":"FX",,}
+                {"account":"ACC3","type":"FX","buyQuantity":1,"buyPrice":1.3}
+                """;
+        CaptureReport[] report = new CaptureReport[1];
+
+        // Act
+        List<JsonNode> acks = capture(body, report);
+
+        // Assert
+        assertThat(report[0].created()).isEqualTo(1);
+        assertThat(acks).hasSize(2);
+        assertThat(acks.get(1).get("index").asLong()).isEqualTo(2);
+        assertThat(acks.get(1).get("error").asText()).startsWith("Malformed JSON at line 2");
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch trade by trade and reject only the offending trade")
+    void shouldRetryFailedBatchOneByOne() throws Exception {
+        // Arrange
+        // The batch fails on its second trade; retried alone, the first one is saved again
+        when(tradeRepository.save(any(Trade.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DataIntegrityViolationException("batch failed"))
+                .thenAnswer(invocation -> {
+                    Trade trade = invocation.getArgument(0);
+                    trade.setTradeId(7);
+                    return trade;
+                })
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        String body = """
+                {"account":"ACC1","type":"FX","buyQuantity":10,"buyPrice":1.1}
+                {"account":"ACC2","type":"FX","buyQuantity":10,"buyPrice":1.1}
+                """;
+        CaptureReport[] report = new CaptureReport[1];
+
+        // Act
+        List<JsonNode> acks = capture(body, report);
+
+        // Assert
+        assertThat(report[0].created()).isEqualTo(1);
+        assertThat(report[0].rejected()).isEqualTo(1);
+        assertThat(acks.get(0).get("tradeId").asInt()).isEqualTo(7);
+        assertThat(acks.get(1).get("error").asText()).isEqualTo("duplicate");
+        verify(transactionManager, times(2)).rollback(any());
+        // Only the retried trade that was saved is flushed; the EntityManager is cleared once more after the retries
+        verify(entityManager).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("Should detach each written batch before its transaction commits")
+    void shouldDetachEachBatch() throws Exception {
+        // Arrange
+        assignIds();
+        String body = """
+                {"account":"ACC1","type":"FX","buyQuantity":1,"buyPrice":1.1}
+                {"account":"ACC2","type":"FX","buyQuantity":2,"buyPrice":1.1}
+                {"account":"ACC3","type":"FX","buyQuantity":3,"buyPrice":1.1}
+                {"account":"ACC4","type":"FX","buyQuantity":4,"buyPrice":1.1}
+                """;
+
+        // Act
+        capture(body, new CaptureReport[1]);
+
+        // Assert
+        InOrder inOrder = inOrder(tradeRepository, entityManager, transactionManager);
+        for (int batch = 0; batch < 2; batch++) {
+            inOrder.verify(tradeRepository, times(2)).save(any(Trade.class));
+            inOrder.verify(entityManager).flush();
+            inOrder.verify(entityManager).clear();
+            inOrder.verify(transactionManager).commit(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Should acknowledge resent trades as duplicates of the booked trade without writing them")
+    void shouldAcknowledgeDuplicates() throws Exception {
+        // Arrange
+        assignIds();
+        Trade booked = new Trade("ACC1", "FX");
+        booked.setTradeId(7);
+        booked.setSourceListId("OMS-7");
+        sourceListIdCache.onTradeChanged(new TradeChangedEvent(8, "OMS-8", null, TradeFill.of(booked)));
+        when(tradeRepository.findBySourceListIdIn(anyCollection())).thenReturn(List.of());
+        when(tradeRepository.findBySourceListIdIn(List.of("OMS-7"))).thenReturn(List.of(booked));
+        String body = """
+                {"account":"ACC1","type":"FX","buyQuantity":10,"buyPrice":1.1,"sourceListId":"OMS-7"}
+                {"account":"ACC1","type":"FX","buyQuantity":10,"buyPrice":1.1,"sourceListId":"OMS-8"}
+                {"account":"ACC1","type":"FX","buyQuantity":10,"buyPrice":1.1,"sourceListId":"OMS-9"}
+                {"account":"ACC1","type":"FX","buyQuantity":10,"buyPrice":1.1,"sourceListId":"OMS-9"}
+                """;
+        CaptureReport[] report = new CaptureReport[1];
+
+        // Act
+        List<JsonNode> acks = capture(body, report);
+
+        // Assert: OMS-7 is in the database, OMS-8 in the cache, OMS-9 is sent twice
+        assertThat(acks).extracting(ack -> ack.get("status").asText())
+                .containsExactly("DUPLICATE", "DUPLICATE", "CREATED", "DUPLICATE");
+        assertThat(acks).extracting(ack -> ack.get("tradeId").asInt()).containsExactly(7, 8, 101, 101);
+        assertThat(report[0].created()).isEqualTo(1);
+        assertThat(report[0].duplicates()).isEqualTo(3);
+        verify(tradeRepository, times(1)).save(any(Trade.class));
+        verify(tradeRepository).findBySourceListIdIn(List.of("OMS-9"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.ImportReport;
+import com.nnk.springboot.dto.ReconciliationKey;
+import com.nnk.springboot.dto.ReconciliationReport;
+import com.nnk.springboot.dto.ReconciliationReport.Break;
+import com.nnk.springboot.dto.ReconciliationReport.BreakType;
+import com.nnk.springboot.dto.ReconciliationReport.FieldBreak;
+import com.nnk.springboot.dto.TradeTerms;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TradeReconciliationService Tests")
+class TradeReconciliationServiceTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    private TradeReconciliationService tradeReconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        tradeReconciliationService = new TradeReconciliationService(tradeRepository, 0.0001);
+    }
+
+    private ReconciliationReport reconcile(String csv, ReconciliationKey key) throws IOException {
+        return tradeReconciliationService.reconcile(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), key);
+    }
+
+    @Test
+    @DisplayName("Should merge-join both sorted sides and report matches, mismatches and missing trades")
+    void shouldMergeJoinBothSides() throws IOException {
+        // Arrange
+        when(tradeRepository.streamTermsBySourceListId()).thenReturn(Stream.of(
+                new TradeTerms(1, "A1", 10.0, 1.5, null, null),
+                new TradeTerms(2, "B2", 10.0, 1.5, null, null),
+                new TradeTerms(3, "C3", null, null, 5.0, 2.0),
+                new TradeTerms(4, "E5", 1.0, 1.0, null, null)));
+        String csv = """
+                sourceListId,counterparty,buyQuantity,buyPrice,sellQuantity
+                A1,BANK,10,1.50001,
+                C3,BANK,,,4
+                D4,BANK,7,1.1,
+                E5,BANK,1,1,
+                """;
+
+        // Act
+        ReconciliationReport report = reconcile(csv, ReconciliationKey.SOURCE_LIST_ID);
+
+        // Assert
+        assertThat(report.tradesRead()).isEqualTo(4);
+        assertThat(report.rowsRead()).isEqualTo(4);
+        assertThat(report.matched()).isEqualTo(2);
+        assertThat(report.mismatched()).isEqualTo(1);
+        assertThat(report.missingFromFile()).isEqualTo(1);
+        assertThat(report.missingFromTrades()).isEqualTo(1);
+        assertThat(report.breaks()).containsExactly(
+                new Break(BreakType.MISSING_FROM_FILE, "B2", 2, null, List.of()),
+                new Break(BreakType.MISMATCH, "C3", 3, 3L, List.of(new FieldBreak("sellQuantity", 5.0, 4.0))),
+                new Break(BreakType.MISSING_FROM_TRADES, "D4", null, 4L, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should reject unreadable and out-of-order rows without losing the merge")
+    void shouldRejectUnsortedRows() throws IOException {
+        // Arrange
+        when(tradeRepository.streamTermsByTradeId()).thenReturn(Stream.of(
+                new TradeTerms(9, null, 1.0, 1.0, null, null),
+                new TradeTerms(10, null, 2.0, 1.0, null, null)));
+        String csv = """
+                tradeId,buyQuantity
+                9,1
+                x,1
+                2,1
+                10,2
+                10,2
+                """;
+
+        // Act
+        ReconciliationReport report = reconcile(csv, ReconciliationKey.TRADE_ID);
+
+        // Assert: 10 sorts after 9 numerically, not as text
+        assertThat(report.matched()).isEqualTo(2);
+        assertThat(report.breaks()).isEmpty();
+        assertThat(report.rejected()).isEqualTo(3);
+        assertThat(report.errors()).containsExactly(
+                new ImportReport.RowError(3, "tradeId: not a number 'x'"),
+                new ImportReport.RowError(4, "tradeId 2 is out of order"),
+                new ImportReport.RowError(6, "tradeId 10 is repeated"));
+    }
+
+    @Test
+    @DisplayName("Should reject a file without the key column before reading any trade")
+    void shouldRejectFileWithoutKeyColumn() {
+        assertThatThrownBy(() -> reconcile("tradeId,buyQuantity\n1,1\n", ReconciliationKey.SOURCE_LIST_ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Missing key column in header: sourceListId");
+        verifyNoInteractions(tradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should stop when the database does not return the trades in code point order")
+    void shouldFailOnUnsortedTrades() {
+        when(tradeRepository.streamTermsBySourceListId()).thenReturn(Stream.of(
+                new TradeTerms(1, "b", 1.0, 1.0, null, null),
+                new TradeTerms(2, "B", 1.0, 1.0, null, null)));
+
+        assertThatThrownBy(() -> reconcile("sourceListId\nb\n", ReconciliationKey.SOURCE_LIST_ID))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("collation");
+    }
+}
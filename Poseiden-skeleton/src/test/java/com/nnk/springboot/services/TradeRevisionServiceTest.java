@@ -0,0 +1,142 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.TradeRevision;
+import com.nnk.springboot.dto.TradeAmendment;
+import com.nnk.springboot.repositories.ArchivedTradeRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.TradeRevisionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TradeRevisionService Tests")
+class TradeRevisionServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Mock
+    private TradeRevisionRepository tradeRevisionRepository;
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private ArchivedTradeRepository archivedTradeRepository;
+
+    private TradeRevisionService tradeRevisionService;
+
+    @BeforeEach
+    void setUp() {
+        tradeRevisionService = new TradeRevisionService(tradeRevisionRepository, tradeRepository,
+                archivedTradeRepository, new ObjectMapper().findAndRegisterModules());
+    }
+
+    private static Trade trade(double buyQuantity, String status) {
+        Trade trade = new Trade("ACC", "FX", buyQuantity, null);
+        trade.setTradeId(7);
+        trade.setBuyPrice(100.0);
+        trade.setStatus(status);
+        return trade;
+    }
+
+    @Test
+    @DisplayName("Should log only the previous value of the changed fields")
+    void shouldRecordReverseDiff() {
+        // Arrange
+        Trade next = trade(20.0, "NEW");
+        next.setRevisionName("ops");
+        next.setRevisionDate(NOW);
+        when(tradeRevisionRepository.findLastRevision(7)).thenReturn(2);
+
+        // Act
+        tradeRevisionService.recordUpdate(trade(10.0, "NEW"), next);
+
+        // Assert
+        ArgumentCaptor<TradeRevision> saved = ArgumentCaptor.forClass(TradeRevision.class);
+        verify(tradeRevisionRepository).save(saved.capture());
+        assertThat(saved.getValue().getRevision()).isEqualTo(3);
+        assertThat(saved.getValue().getRevisionName()).isEqualTo("ops");
+        assertThat(saved.getValue().getChanges()).isEqualTo("{\"buyQuantity\":10.0}");
+    }
+
+    @Test
+    @DisplayName("Should append one status change per distinct previous status")
+    void shouldRecordStatusChangesSetBased() {
+        Map<Integer, String> previous = new LinkedHashMap<>();
+        previous.put(1, "NEW");
+        previous.put(2, "NEW");
+        previous.put(3, "SETTLED");
+
+        tradeRevisionService.recordStatusChange(previous, "SETTLED", "ops", NOW);
+
+        verify(tradeRevisionRepository).appendToTrades(List.of(1, 2), "{\"status\":\"NEW\"}", "ops", NOW);
+        verify(tradeRevisionRepository).appendToTrades(List.of(3), "{}", "ops", NOW);
+        verifyNoMoreInteractions(tradeRevisionRepository);
+    }
+
+    @Test
+    @DisplayName("Should rebuild a trade as of a past revision by undoing the newer ones")
+    void shouldRebuildPastRevision() {
+        // Arrange: booked with 10 NEW, revision 1 set 20, revision 2 set CONFIRMED
+        when(tradeRepository.findById(7)).thenReturn(Optional.of(trade(20.0, "CONFIRMED")));
+        TradeRevision first = new TradeRevision(7, 1, NOW, "ops", "{\"buyQuantity\":10.0}");
+        TradeRevision second = new TradeRevision(7, 2, NOW.plusHours(1), "desk", "{\"status\":\"NEW\"}");
+        when(tradeRevisionRepository.findByTradeIdAndRevisionGreaterThanEqualOrderByRevisionDesc(eq(7), any()))
+                .thenReturn(List.of(second, first));
+
+        // Act
+        Trade asBooked = tradeRevisionService.findAsOf(7, 0).orElseThrow();
+        Trade afterFirst = tradeRevisionService.findAsOf(7, 1).orElseThrow();
+
+        // Assert
+        assertThat(asBooked.getBuyQuantity()).isEqualTo(10.0);
+        assertThat(asBooked.getStatus()).isEqualTo("NEW");
+        assertThat(asBooked.getRevisionName()).isNull();
+        assertThat(afterFirst.getBuyQuantity()).isEqualTo(20.0);
+        assertThat(afterFirst.getStatus()).isEqualTo("NEW");
+        assertThat(afterFirst.getRevisionName()).isEqualTo("ops");
+        assertThat(afterFirst.getBuyPrice()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("Should return nothing for an unknown revision and reject a negative one")
+    void shouldHandleUnknownRevisions() {
+        when(tradeRepository.findById(7)).thenReturn(Optional.of(trade(20.0, "NEW")));
+        when(tradeRevisionRepository.findByTradeIdAndRevisionGreaterThanEqualOrderByRevisionDesc(7, 5))
+                .thenReturn(List.of());
+
+        assertThat(tradeRevisionService.findAsOf(7, 5)).isEmpty();
+        assertThatThrownBy(() -> tradeRevisionService.findAsOf(7, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should list the revisions with the fields they changed")
+    void shouldListRevisions() {
+        when(tradeRevisionRepository.findByTradeIdOrderByRevision(7)).thenReturn(List.of(
+                new TradeRevision(7, 1, NOW, "ops", "{\"buyQuantity\":10.0,\"status\":null}")));
+
+        List<TradeAmendment> revisions = tradeRevisionService.findRevisions(7);
+
+        assertThat(revisions).containsExactly(new TradeAmendment(1, NOW, "ops", List.of("buyQuantity", "status")));
+    }
+}
@@ -0,0 +1,75 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.BulkOutcome;
+import com.nnk.springboot.dto.NettingLine;
+import com.nnk.springboot.dto.Position;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TradeServiceIT {
+
+    private static final String ACCOUNT = "CANCELIT";
+    private static final String SECURITY = "CANCEL-IT";
+    private static final LocalDate DAY = LocalDate.of(2020, 1, 15);
+
+    @Autowired
+    private ITradeService tradeService;
+
+    @Autowired
+    private IPositionService positionService;
+
+    @Autowired
+    private INettingService nettingService;
+
+    private final List<Integer> tradeIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        tradeService.deleteAll(tradeIds);
+    }
+
+    private Integer book(double quantity, double price) {
+        Trade trade = new Trade(ACCOUNT, "BUY", quantity, null);
+        trade.setBuyPrice(price);
+        trade.setSecurity(SECURITY);
+        trade.setTradeDate(DAY.atTime(12, 0));
+        Integer tradeId = tradeService.create(trade).tradeId();
+        tradeIds.add(tradeId);
+        return tradeId;
+    }
+
+    private List<NettingLine> netting() {
+        return nettingService.findNetting(DAY).lines().stream()
+                .filter(line -> ACCOUNT.equals(line.account()))
+                .toList();
+    }
+
+    @Test
+    void updateStatus_shouldTakeCancelledTradeOutOfPositionAndNetting() {
+        book(10.0, 100.0);
+        Integer cancelled = book(5.0, 101.0);
+        assertEquals(15.0, positionService.findPosition(ACCOUNT, null, SECURITY).orElseThrow().boughtQuantity());
+
+        assertEquals(BulkOutcome.DONE,
+                tradeService.updateStatus(List.of(cancelled), "CANCELLED", "ops").outcomes().get(cancelled));
+
+        Position position = positionService.findPosition(ACCOUNT, null, SECURITY).orElseThrow();
+        assertEquals(1, position.trades());
+        assertEquals(10.0, position.boughtQuantity());
+        List<NettingLine> lines = netting();
+        assertEquals(1, lines.size());
+        assertEquals(1, lines.get(0).trades());
+        assertEquals(10.0, lines.get(0).buyQuantity());
+        assertEquals(1000.0, lines.get(0).buyNotional());
+    }
+}
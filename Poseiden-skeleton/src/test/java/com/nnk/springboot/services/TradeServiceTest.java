@@ -1,6 +1,10 @@
 package com.nnk.springboot.services;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.BulkOutcome;
+import com.nnk.springboot.dto.BulkResult;
+import com.nnk.springboot.dto.TradeCreation;
+import com.nnk.springboot.dto.TradeStatusRow;
 import com.nnk.springboot.repositories.TradeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,15 +13,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +42,21 @@ class TradeServiceTest {
     @Mock
     private TradeRepository tradeRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SourceListIdCache sourceListIdCache;
+
+    @Mock
+    private ITradeArchiveService tradeArchiveService;
+
+    @Mock
+    private ITradeRevisionService tradeRevisionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private TradeService tradeService;
 
@@ -43,16 +73,101 @@ class TradeServiceTest {
     @DisplayName("Should create Trade successfully")
     void shouldCreateTradeSuccessfully() {
         // Arrange
-        when(tradeRepository.save(any(Trade.class))).thenReturn(validTrade);
+        when(tradeRepository.saveAndFlush(any(Trade.class))).thenReturn(validTrade);
 
         // Act
-        Trade created = tradeService.create(validTrade);
+        TradeCreation created = tradeService.create(validTrade);
 
         // Assert
-        assertThat(created).isNotNull();
-        assertThat(created.getAccount()).isEqualTo("TestAccount");
-        assertThat(created.getCreationDate()).isNotNull();
-        verify(tradeRepository).save(any(Trade.class));
+        assertThat(created.duplicate()).isFalse();
+        assertThat(created.trade().getAccount()).isEqualTo("TestAccount");
+        assertThat(created.trade().getCreationDate()).isNotNull();
+        verify(tradeRepository).saveAndFlush(any(Trade.class));
+        verify(eventPublisher).publishEvent(any(TradeChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should answer a resent sourceListId from the cache without reading the database")
+    void shouldReturnCachedTradeForResentSourceListId() {
+        // Arrange
+        validTrade.setSourceListId("OMS-1");
+        when(sourceListIdCache.find("OMS-1")).thenReturn(42);
+
+        // Act
+        TradeCreation created = tradeService.create(validTrade);
+
+        // Assert
+        assertThat(created.duplicate()).isTrue();
+        assertThat(created.tradeId()).isEqualTo(42);
+        verifyNoInteractions(tradeRepository, transactionManager, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should insert a sourceListId the cache does not know without looking it up first")
+    void shouldInsertUnknownSourceListIdDirectly() {
+        // Arrange
+        validTrade.setSourceListId("OMS-1");
+        when(sourceListIdCache.find("OMS-1")).thenReturn(null);
+        when(tradeRepository.saveAndFlush(any(Trade.class))).thenReturn(validTrade);
+
+        // Act
+        TradeCreation created = tradeService.create(validTrade);
+
+        // Assert
+        assertThat(created.duplicate()).isFalse();
+        verify(tradeRepository, never()).findBySourceListId(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should report the booked trade when the unique index rejects a resent sourceListId")
+    void shouldReturnStoredTradeWhenInsertIsRejected() {
+        // Arrange
+        validTrade.setSourceListId("OMS-1");
+        Trade existing = new Trade("TestAccount", "BUY");
+        existing.setTradeId(42);
+        when(sourceListIdCache.find("OMS-1")).thenReturn(null);
+        when(tradeRepository.saveAndFlush(any(Trade.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_trade_source_list_id"));
+        when(tradeRepository.findBySourceListId("OMS-1")).thenReturn(Optional.of(existing));
+
+        // Act
+        TradeCreation created = tradeService.create(validTrade);
+
+        // Assert
+        assertThat(created.duplicate()).isTrue();
+        assertThat(created.tradeId()).isEqualTo(42);
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should rethrow an integrity violation that no booked trade explains")
+    void shouldRethrowUnexplainedIntegrityViolation() {
+        // Arrange
+        validTrade.setSourceListId("OMS-1");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("other constraint");
+        when(sourceListIdCache.find("OMS-1")).thenReturn(null);
+        when(tradeRepository.saveAndFlush(any(Trade.class))).thenThrow(violation);
+        when(tradeRepository.findBySourceListId("OMS-1")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> tradeService.create(validTrade)).isSameAs(violation);
+    }
+
+    @Test
+    @DisplayName("Should store a blank sourceListId as null")
+    void shouldClearBlankSourceListId() {
+        // Arrange
+        validTrade.setSourceListId("  ");
+        when(tradeRepository.saveAndFlush(any(Trade.class))).thenReturn(validTrade);
+
+        // Act
+        tradeService.create(validTrade);
+
+        // Assert
+        verify(tradeRepository).saveAndFlush(argThat(trade -> trade.getSourceListId() == null));
+        verifyNoInteractions(sourceListIdCache);
     }
 
     @Test
@@ -60,13 +175,35 @@ class TradeServiceTest {
     void shouldForceNullIdWhenCreating() {
         // Arrange
         validTrade.setTradeId(999); // ID existant
-        when(tradeRepository.save(any(Trade.class))).thenReturn(validTrade);
+        when(tradeRepository.saveAndFlush(any(Trade.class))).thenReturn(validTrade);
 
         // Act
         tradeService.create(validTrade);
 
         // Assert
-        verify(tradeRepository).save(argThat(trade -> trade.getTradeId() == null));
+        verify(tradeRepository).saveAndFlush(argThat(trade -> trade.getTradeId() == null));
+    }
+
+    @Test
+    @DisplayName("Should save all Trades in one call with null IDs and default dates")
+    void shouldCreateAllTradesInOneCall() {
+        // Arrange
+        Trade other = new Trade("Other", "SELL", null, 10.0);
+        other.setTradeId(7);
+        List<Trade> batch = List.of(validTrade, other);
+        when(tradeRepository.saveAll(batch)).thenReturn(batch);
+
+        // Act
+        List<Trade> created = tradeService.createAll(batch);
+
+        // Assert
+        assertThat(created).hasSize(2);
+        assertThat(created).allSatisfy(trade -> {
+            assertThat(trade.getTradeId()).isNull();
+            assertThat(trade.getCreationDate()).isNotNull();
+            assertThat(trade.getTradeDate()).isNotNull();
+        });
+        verify(tradeRepository).saveAll(batch);
     }
 
     @Test
@@ -83,13 +220,13 @@ class TradeServiceTest {
     void shouldAutoGenerateCreationDate() {
         // Arrange
         validTrade.setCreationDate(null);
-        when(tradeRepository.save(any(Trade.class))).thenReturn(validTrade);
+        when(tradeRepository.saveAndFlush(any(Trade.class))).thenReturn(validTrade);
 
         // Act
         tradeService.create(validTrade);
 
         // Assert
-        verify(tradeRepository).save(argThat(trade -> trade.getCreationDate() != null));
+        verify(tradeRepository).saveAndFlush(argThat(trade -> trade.getCreationDate() != null));
     }
 
     @Test
@@ -97,20 +234,20 @@ class TradeServiceTest {
     void shouldAutoGenerateTradeDate() {
         // Arrange
         validTrade.setTradeDate(null);
-        when(tradeRepository.save(any(Trade.class))).thenReturn(validTrade);
+        when(tradeRepository.saveAndFlush(any(Trade.class))).thenReturn(validTrade);
 
         // Act
         tradeService.create(validTrade);
 
         // Assert
-        verify(tradeRepository).save(argThat(trade -> trade.getTradeDate() != null));
+        verify(tradeRepository).saveAndFlush(argThat(trade -> trade.getTradeDate() != null));
     }
 
     @Test
     @DisplayName("Should update Trade successfully")
     void shouldUpdateTradeSuccessfully() {
         // Arrange
-        when(tradeRepository.existsById(1)).thenReturn(true);
+        when(tradeRepository.findByIdForUpdate(1)).thenReturn(Optional.of(new Trade("TestAccount", "BUY", 50.0, null)));
         when(tradeRepository.save(any(Trade.class))).thenReturn(validTrade);
 
         // Act
@@ -119,8 +256,11 @@ class TradeServiceTest {
         // Assert
         assertThat(updated).isNotNull();
         assertThat(updated.getRevisionDate()).isNotNull();
-        verify(tradeRepository).existsById(1);
+        verify(tradeRepository).findByIdForUpdate(1);
+        verify(tradeRevisionService).recordUpdate(any(Trade.class), eq(validTrade));
         verify(tradeRepository).save(any(Trade.class));
+        verify(eventPublisher).publishEvent(argThat((TradeChangedEvent event) ->
+                event.previous().buyQuantity() == 50.0 && event.fill().buyQuantity() == 100.0));
     }
 
     @Test
@@ -128,7 +268,7 @@ class TradeServiceTest {
     void shouldForceIdWhenUpdating() {
         // Arrange
         validTrade.setTradeId(999); // ID différent
-        when(tradeRepository.existsById(1)).thenReturn(true);
+        when(tradeRepository.findByIdForUpdate(1)).thenReturn(Optional.of(new Trade("TestAccount", "BUY")));
         when(tradeRepository.save(any(Trade.class))).thenReturn(validTrade);
 
         // Act
@@ -142,7 +282,7 @@ class TradeServiceTest {
     @DisplayName("Should throw exception when updating non-existent Trade")
     void shouldThrowExceptionWhenUpdatingNonExistent() {
         // Arrange
-        when(tradeRepository.existsById(999)).thenReturn(false);
+        when(tradeRepository.findByIdForUpdate(999)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> tradeService.update(999, validTrade))
@@ -182,6 +322,43 @@ class TradeServiceTest {
         verify(tradeRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Should merge live and archived Trades of a date range, once each, by trade date")
+    void shouldFindTradesByDateAcrossArchive() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 1, 1, 0, 0);
+        Trade live = trade(3, LocalDateTime.of(2024, 6, 1, 10, 0));
+        Trade late = trade(2, LocalDateTime.of(2023, 6, 1, 10, 0));
+        Trade archived = trade(1, LocalDateTime.of(2023, 3, 1, 10, 0));
+        when(tradeRepository.findByTradeDate(from, to)).thenReturn(List.of(live, late));
+        // Trade 2 was archived between the two reads
+        when(tradeArchiveService.findByTradeDate(from, to)).thenReturn(List.of(archived, trade(2, late.getTradeDate())));
+
+        // Act
+        List<Trade> result = tradeService.findByTradeDate(from, to);
+
+        // Assert
+        assertThat(result).extracting(Trade::getTradeId).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty date range")
+    void shouldRejectEmptyDateRange() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThatThrownBy(() -> tradeService.findByTradeDate(now, now))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(tradeRepository, tradeArchiveService);
+    }
+
+    private static Trade trade(int id, LocalDateTime tradeDate) {
+        Trade trade = new Trade("ACC", "FX", 1.0, null);
+        trade.setTradeId(id);
+        trade.setTradeDate(tradeDate);
+        return trade;
+    }
+
     @Test
     @DisplayName("Should find Trade by ID")
     void shouldFindTradeById() {
@@ -236,6 +413,7 @@ class TradeServiceTest {
 
         // Assert
         verify(tradeRepository).deleteById(1);
+        verify(eventPublisher).publishEvent(TradeChangedEvent.deleted(1));
     }
 
     @Test
@@ -266,4 +444,139 @@ class TradeServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Invalid ID");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should bulk delete existing Trades in one statement")
+    void shouldBulkDeleteExistingTrades() {
+        when(tradeRepository.findExistingIdsForUpdate(List.of(1, 2, 3))).thenReturn(List.of(1, 3));
+        when(tradeRepository.deleteAllByIdIn(any())).thenReturn(2);
+
+        BulkResult result = tradeService.deleteAll(List.of(1, 2, 3));
+
+        assertThat(result.outcomes()).containsExactly(
+                Map.entry(1, BulkOutcome.DONE),
+                Map.entry(2, BulkOutcome.NOT_FOUND),
+                Map.entry(3, BulkOutcome.DONE));
+        verify(tradeRepository).deleteAllByIdIn(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1, 3))));
+        verify(tradeRepository, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(TradeChangedEvent.deleted(1));
+        verify(eventPublisher).publishEvent(TradeChangedEvent.deleted(3));
+    }
+
+    @Test
+    @DisplayName("Should report the Trades a bulk delete did not reach as not found and not announce them")
+    void shouldRecheckShortBulkDelete() {
+        when(tradeRepository.findExistingIdsForUpdate(List.of(1, 2))).thenReturn(List.of(1, 2));
+        when(tradeRepository.deleteAllByIdIn(any())).thenReturn(1);
+        when(tradeRepository.findExistingIds(Set.of(1, 2))).thenReturn(List.of(2));
+
+        BulkResult result = tradeService.deleteAll(List.of(1, 2));
+
+        assertThat(result.outcomes()).containsExactly(
+                Map.entry(1, BulkOutcome.DONE),
+                Map.entry(2, BulkOutcome.NOT_FOUND));
+        verify(eventPublisher).publishEvent(TradeChangedEvent.deleted(1));
+        verify(eventPublisher, never()).publishEvent(TradeChangedEvent.deleted(2));
+    }
+
+    @Test
+    @DisplayName("Should bulk move Trades along the lifecycle with one conditional UPDATE per source status")
+    void shouldBulkUpdateTradeStatus() {
+        when(tradeRepository.findStatusesForUpdate(List.of(1, 2, 3, 4))).thenReturn(List.of(
+                statusRow(1, "CONFIRMED"), statusRow(2, "NEW"), statusRow(3, "SETTLED")));
+        when(tradeRepository.updateStatus(eq(List.of(1)), eq("CONFIRMED"), eq("SETTLED"), eq("ops"), any())).thenReturn(1);
+
+        BulkResult result = tradeService.updateStatus(List.of(1, 2, 3, 4), "settled", "ops");
+
+        assertThat(result.outcomes()).containsExactly(
+                Map.entry(1, BulkOutcome.DONE),
+                Map.entry(2, BulkOutcome.ILLEGAL_TRANSITION),
+                Map.entry(3, BulkOutcome.DONE),
+                Map.entry(4, BulkOutcome.NOT_FOUND));
+        verify(tradeRevisionService).recordStatusChange(eq(Map.of(1, "CONFIRMED")), eq("SETTLED"), eq("ops"), any());
+        verify(tradeRepository).updateStatus(eq(List.of(1)), eq("CONFIRMED"), eq("SETTLED"), eq("ops"), any());
+        verify(tradeRepository, times(1)).updateStatus(anyList(), any(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should publish a TradeChangedEvent without fill for every trade cancelled in bulk")
+    void shouldPublishBulkCancellations() {
+        when(tradeRepository.findStatusesForUpdate(List.of(1, 2, 3))).thenReturn(List.of(
+                statusRow(1, "NEW"), statusRow(2, "CONFIRMED"), statusRow(3, "SETTLED")));
+        when(tradeRepository.updateStatus(anyList(), any(), eq("CANCELLED"), eq("ops"), any())).thenReturn(1);
+
+        tradeService.updateStatus(List.of(1, 2, 3), "cancelled", "ops");
+
+        verify(eventPublisher).publishEvent(TradeChangedEvent.cancelled(1));
+        verify(eventPublisher).publishEvent(TradeChangedEvent.cancelled(2));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown target status")
+    void shouldRejectUnknownStatus() {
+        assertThatThrownBy(() -> tradeService.updateStatus(List.of(1), "DONE", "ops"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown trade status");
+        verifyNoInteractions(tradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should settle confirmed Trades one transaction per chunk until a chunk is not full")
+    void shouldSettleAllConfirmedTrades() {
+        LocalDateTime cutOff = LocalDateTime.of(2024, 3, 1, 18, 0);
+        List<Integer> full = IntStream.rangeClosed(1, BulkIds.CHUNK_SIZE).boxed().toList();
+        when(tradeRepository.findIdsByStatusForUpdate("CONFIRMED", cutOff, Limit.of(BulkIds.CHUNK_SIZE)))
+                .thenReturn(full, List.of(5000));
+        when(tradeRepository.updateStatus(anyList(), eq("CONFIRMED"), eq("SETTLED"), eq("eod"), any()))
+                .thenReturn(BulkIds.CHUNK_SIZE, 1);
+
+        long settled = tradeService.settleAll(cutOff, "eod");
+
+        assertThat(settled).isEqualTo(BulkIds.CHUNK_SIZE + 1);
+        verify(tradeRevisionService, times(2)).recordStatusChange(any(), eq("SETTLED"), eq("eod"), any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(tradeRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should book Trades as NEW and refuse any other booking status")
+    void shouldBookTradesAsNew() {
+        when(tradeRepository.saveAndFlush(any(Trade.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Trade booked = tradeService.create(validTrade).trade();
+        Trade confirmed = new Trade("TestAccount", "BUY", 1.0, null);
+        confirmed.setStatus("CONFIRMED");
+
+        assertThat(booked.getStatus()).isEqualTo("NEW");
+        assertThatThrownBy(() -> tradeService.create(confirmed))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("booked as NEW");
+    }
+
+    @Test
+    @DisplayName("Should keep the status on amendment unless a legal transition is requested")
+    void shouldEnforceLifecycleOnUpdate() {
+        Trade current = new Trade("TestAccount", "BUY", 50.0, null);
+        current.setStatus("CONFIRMED");
+        when(tradeRepository.findByIdForUpdate(1)).thenReturn(Optional.of(current));
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Trade kept = tradeService.update(1, new Trade("TestAccount", "BUY", 60.0, null));
+        Trade reopened = new Trade("TestAccount", "BUY", 60.0, null);
+        reopened.setStatus("NEW");
+
+        assertThat(kept.getStatus()).isEqualTo("CONFIRMED");
+        assertThatThrownBy(() -> tradeService.update(1, reopened))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cannot become NEW");
+    }
+
+    private static TradeStatusRow statusRow(int tradeId, String status) {
+        return new TradeStatusRow() {
+            public Integer getTradeId() { return tradeId; }
+            public String getStatus() { return status; }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.SnapshotQuery;
+import com.nnk.springboot.dto.SnapshotReport;
+import com.nnk.springboot.dto.TradeSnapshotRow;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TradeSnapshotService Tests")
+class TradeSnapshotServiceTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 3, 1, 12, 0);
+    private static final SnapshotQuery ALL = new SnapshotQuery(null, null, null, null, null, null, null);
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TradeSnapshotService tradeSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        tradeSnapshotService = new TradeSnapshotService(tradeRepository, transactionManager);
+    }
+
+    private static TradeSnapshotRow row(int tradeId, double buyQuantity) {
+        return new TradeSnapshotRow(tradeId, "ACC", "B1", "BOND", "T1", buyQuantity, 100.0, null, null, NOON);
+    }
+
+    private void load(TradeSnapshotRow... rows) {
+        when(tradeRepository.count()).thenReturn((long) rows.length);
+        when(tradeRepository.streamSnapshotRows()).thenReturn(Stream.of(rows));
+        tradeSnapshotService.load();
+    }
+
+    @Test
+    @DisplayName("Should only read again the trades committed since the last refresh")
+    void shouldRefreshIncrementally() {
+        // Arrange
+        load(row(1, 10), row(2, 10), row(3, 10), row(4, 10), row(5, 10));
+        when(tradeRepository.findSnapshotRows(List.of(2, 6))).thenReturn(List.of(row(2, 30), row(6, 10)));
+
+        // Act
+        tradeSnapshotService.onTradeChanged(TradeChangedEvent.deleted(6));
+        tradeSnapshotService.onTradeChanged(TradeChangedEvent.deleted(2));
+        tradeSnapshotService.refresh();
+        tradeSnapshotService.refresh();
+
+        // Assert
+        SnapshotReport report = tradeSnapshotService.aggregate(ALL);
+        assertThat(report.snapshotTrades()).isEqualTo(6);
+        assertThat(report.groups()).singleElement()
+                .satisfies(total -> assertThat(total.buyQuantity()).isEqualTo(80.0));
+        verify(tradeRepository, times(1)).findSnapshotRows(any());
+        verify(tradeRepository, times(1)).streamSnapshotRows();
+    }
+
+    @Test
+    @DisplayName("Should drop archived trades and keep the trades of a failed refresh for the next one")
+    void shouldRetryFailedRefresh() {
+        // Arrange
+        load(row(1, 10), row(2, 10), row(3, 10));
+        when(tradeRepository.findSnapshotRows(List.of(3)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of());
+
+        // Act
+        tradeSnapshotService.onTradesArchived(new TradesArchivedEvent(List.of(3), NOON.plusDays(1)));
+        tradeSnapshotService.refresh();
+        int afterFailure = tradeSnapshotService.aggregate(ALL).snapshotTrades();
+        tradeSnapshotService.refresh();
+
+        // Assert
+        assertThat(afterFailure).isEqualTo(3);
+        assertThat(tradeSnapshotService.aggregate(ALL).snapshotTrades()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload the whole table when most of it changed, and reject an empty window")
+    void shouldReloadWhenMostTradesChanged() {
+        load(row(1, 10), row(2, 10));
+        tradeSnapshotService.onTradeChanged(TradeChangedEvent.deleted(1));
+        tradeSnapshotService.onTradeChanged(TradeChangedEvent.deleted(2));
+        when(tradeRepository.streamSnapshotRows()).thenReturn(Stream.of(row(1, 10)));
+
+        tradeSnapshotService.refresh();
+
+        assertThat(tradeSnapshotService.aggregate(ALL).snapshotTrades()).isEqualTo(1);
+        verify(tradeRepository, never()).findSnapshotRows(any());
+        assertThatThrownBy(() -> tradeSnapshotService.aggregate(
+                new SnapshotQuery(null, null, null, null, null, NOON, NOON)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
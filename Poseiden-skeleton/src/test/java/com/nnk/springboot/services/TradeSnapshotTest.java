@@ -0,0 +1,122 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.dto.SnapshotQuery;
+import com.nnk.springboot.dto.TradeAggregate;
+import com.nnk.springboot.dto.TradeDimension;
+import com.nnk.springboot.dto.TradeSnapshotRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TradeSnapshot Tests")
+class TradeSnapshotTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2024, 3, 1, 9, 0);
+    private static final LocalDateTime EVENING = LocalDateTime.of(2024, 3, 1, 18, 0);
+
+    private static TradeSnapshotRow buy(int tradeId, String book, String security, double quantity, Double price,
+                                        LocalDateTime tradeDate) {
+        return new TradeSnapshotRow(tradeId, "ACC", book, security, "T1", quantity, price, null, null, tradeDate);
+    }
+
+    private static TradeSnapshotRow sell(int tradeId, String book, String security, double quantity, double price,
+                                         LocalDateTime tradeDate) {
+        return new TradeSnapshotRow(tradeId, "ACC", book, security, "T1", null, null, quantity, price, tradeDate);
+    }
+
+    private static TradeSnapshot snapshot(TradeSnapshotRow... rows) {
+        TradeSnapshot.Builder builder = TradeSnapshot.builder(rows.length);
+        for (TradeSnapshotRow row : rows) {
+            builder.add(row);
+        }
+        return builder.build(Instant.EPOCH);
+    }
+
+    @Test
+    @DisplayName("Should filter, group and total the trades, leaving out a side without a price")
+    void shouldAggregateByGroup() {
+        // Arrange
+        TradeSnapshot snapshot = snapshot(
+                buy(1, "B1", "BOND", 10, 100.0, MORNING),
+                sell(2, "B1", "BOND", 5, 103.0, MORNING),
+                buy(3, "B1", "EQ", 4, null, MORNING),
+                buy(4, "B2", "BOND", 1, 99.0, MORNING),
+                buy(5, "B1", null, 2, 50.0, EVENING));
+
+        // Act
+        List<TradeAggregate> bySecurity = snapshot.aggregate(
+                new SnapshotQuery(TradeDimension.SECURITY, null, "B1", null, null, null, null));
+        List<TradeAggregate> morning = snapshot.aggregate(
+                new SnapshotQuery(null, "ACC", null, null, "T1", MORNING, EVENING));
+
+        // Assert
+        assertThat(bySecurity).containsExactly(
+                new TradeAggregate(null, 1, 2, 100, 0, 0, 50.0),
+                new TradeAggregate("BOND", 2, 10, 1000, 5, 515, 101.0),
+                new TradeAggregate("EQ", 1, 0, 0, 0, 0, null));
+        assertThat(morning).singleElement()
+                .satisfies(total -> assertThat(total.trades()).isEqualTo(4));
+    }
+
+    @Test
+    @DisplayName("Should select a date window whatever the order the trades were booked in")
+    void shouldSelectDateWindowOutOfOrder() {
+        // Arrange
+        TradeSnapshot snapshot = snapshot(
+                buy(1, "B1", "BOND", 1, 100.0, EVENING),
+                buy(2, "B1", "BOND", 2, 100.0, null),
+                buy(3, "B1", "BOND", 4, 100.0, MORNING),
+                buy(4, "B1", "BOND", 8, 100.0, EVENING.plusDays(1)),
+                buy(5, "B1", "BOND", 16, 100.0, MORNING.minusDays(1)));
+
+        // Act
+        List<TradeAggregate> day = snapshot.aggregate(
+                new SnapshotQuery(null, null, null, null, null, MORNING, EVENING.plusHours(1)));
+        List<TradeAggregate> untilMorning = snapshot.aggregate(
+                new SnapshotQuery(null, null, null, null, null, null, MORNING));
+
+        // Assert
+        assertThat(day).singleElement().satisfies(total -> assertThat(total.buyQuantity()).isEqualTo(5));
+        assertThat(untilMorning).singleElement().satisfies(total -> assertThat(total.buyQuantity()).isEqualTo(18));
+    }
+
+    @Test
+    @DisplayName("Should find nothing for a filter value no trade holds")
+    void shouldReturnNothingForUnknownValue() {
+        TradeSnapshot snapshot = snapshot(buy(1, "B1", "BOND", 10, 100.0, MORNING));
+
+        assertThat(snapshot.aggregate(new SnapshotQuery(null, null, null, "GOLD", null, null, null))).isEmpty();
+        assertThat(TradeSnapshot.empty().aggregate(new SnapshotQuery(null, null, null, null, null, null, null)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replace, add and drop the changed trades on refresh, keeping the others")
+    void shouldRefreshChangedTrades() {
+        // Arrange
+        TradeSnapshot snapshot = snapshot(
+                buy(1, "B1", "BOND", 10, 100.0, MORNING),
+                buy(3, "B1", "BOND", 10, 100.0, MORNING),
+                buy(5, "B1", "BOND", 10, 100.0, MORNING));
+
+        // Act: 3 amended, 4 created, 5 deleted or archived
+        TradeSnapshot refreshed = snapshot.refresh(Set.of(3, 4, 5), List.of(
+                buy(3, "B1", "BOND", 20, 100.0, MORNING),
+                buy(4, "B2", "EQ", 1, 10.0, MORNING)), Instant.ofEpochSecond(60));
+
+        // Assert
+        assertThat(refreshed.size()).isEqualTo(3);
+        assertThat(refreshed.getRefreshedAt()).isEqualTo(Instant.ofEpochSecond(60));
+        assertThat(refreshed.aggregate(new SnapshotQuery(TradeDimension.BOOK, null, null, null, null, null, null)))
+                .containsExactly(
+                        new TradeAggregate("B1", 2, 30, 3000, 0, 0, 100.0),
+                        new TradeAggregate("B2", 1, 1, 10, 0, 0, 10.0));
+        assertThat(snapshot.size()).isEqualTo(3);
+    }
+}